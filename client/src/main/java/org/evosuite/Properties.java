@@ -122,6 +122,9 @@ public class Properties {
     @Parameter(key = "reset_static_field_gets", group = "Test Creation", description = "Call static constructors also after each static field was read")
     public static boolean RESET_STATIC_FIELD_GETS = false;
 
+    @Parameter(key = "reset_static_fields_snapshot", group = "Test Creation", description = "Restore static fields from a snapshot instead of calling static constructors, for classes whose static fields only hold immutable values")
+    public static boolean RESET_STATIC_FIELDS_SNAPSHOT = false;
+
     @Parameter(key = "reset_all_classes_during_test_generation", group = "Test Creation", description = "Test Generation does not apply the selective method of selection of class re-initalization")
     public static boolean RESET_ALL_CLASSES_DURING_TEST_GENERATION = false;
 
@@ -173,6 +176,10 @@ public class Properties {
     @Parameter(key = "dynamic_pool_size", group = "Test Creation", description = "Number of dynamic constants to keep")
     public static int DYNAMIC_POOL_SIZE = 50;
 
+    @Parameter(key = "dynamic_pool_sampling", group = "Test Creation", description = "Only add every n-th new primitive value observed during execution to the dynamic pool")
+    @IntValue(min = 1)
+    public static int DYNAMIC_POOL_SAMPLING = 1;
+
     @Parameter(key = "p_special_type_call", group = "Test Creation", description = "Probability of using a non-standard call on a special case (collection/numeric)")
     @DoubleValue(min = 0.0, max = 1.0)
     public static double P_SPECIAL_TYPE_CALL = 0.05;
@@ -193,6 +200,9 @@ public class Properties {
     @Parameter(key = "max_generic_depth", group = "Test Creation", description = "Maximum level of nesting for generic types")
     public static int MAX_GENERIC_DEPTH = 3;
 
+    @Parameter(key = "generic_type_cache_size", group = "Test Creation", description = "Maximum number of entries in each cache of generic type computations (0 to disable caching)")
+    public static int GENERIC_TYPE_CACHE_SIZE = 100000;
+
     @Parameter(key = "string_length", group = "Test Creation", description = "Maximum length of randomly generated strings")
     public static int STRING_LENGTH = 20;
 
@@ -332,6 +342,10 @@ public class Properties {
     @Parameter(key = "ranking_type", group = "Runtime", description = "type of ranking to use in MOSA")
     public static RankingType RANKING_TYPE = RankingType.PREFERENCE_SORTING;
 
+    @Parameter(key = "goal_evaluation_threads", group = "Runtime", description = "Number of threads used by DynaMOSA to evaluate an executed test against its current goals (1 for sequential)")
+    @IntValue(min = 1)
+    public static int GOAL_EVALUATION_THREADS = 1;
+
     public enum MapElitesChoice {
         ALL,
         SINGLE,
@@ -370,6 +384,13 @@ public class Properties {
     @Parameter(key = "random_seed", group = "Search Algorithm", description = "Seed used for random generator. If left empty, use current time")
     public static Long RANDOM_SEED = null;
 
+    public enum RandomGenerator {
+        MERSENNE_TWISTER, SPLITMIX
+    }
+
+    @Parameter(key = "random_generator", group = "Search Algorithm", description = "Generator used for random numbers. SPLITMIX is faster, and gives each worker its own stream")
+    public static RandomGenerator RANDOM_GENERATOR = RandomGenerator.MERSENNE_TWISTER;
+
     @Parameter(key = "check_best_length", group = "Search Algorithm", description = "Check length against length of best individual")
     public static boolean CHECK_BEST_LENGTH = true;
 
@@ -1078,6 +1099,9 @@ public class Properties {
     @Deprecated
     public static boolean MINIMIZE_OLD = false;
 
+    @Parameter(key = "minimize_chunks", group = "Output", description = "Minimize test cases by deleting chunks of statements (delta debugging) rather than one statement at a time")
+    public static boolean MINIMIZE_CHUNKS = false;
+
     @Parameter(key = "minimize_values", group = "Output", description = "Minimize constants and method calls")
     public static boolean MINIMIZE_VALUES = false;
 
@@ -1212,18 +1236,28 @@ public class Properties {
     public static boolean SERIALIZE_DSE = false;
 
     public enum StatisticsBackend {
-        NONE, CONSOLE, CSV, HTML, DEBUG
+        NONE, CONSOLE, CSV, HTML, DEBUG, COLUMNAR
     }
 
     @Parameter(key = "statistics_backend", group = "Output", description = "Which backend to use to collect data")
     public static StatisticsBackend STATISTICS_BACKEND = StatisticsBackend.CSV;
 
+    @Parameter(key = "columnar_compaction_threshold", group = "Output", description = "Number of parts of the same level after which the columnar statistics backend merges them into one part (0 to never merge)")
+    @IntValue(min = 0)
+    public static int COLUMNAR_COMPACTION_THRESHOLD = 32;
+
     @Parameter(key = "timeline_interval", group = "Output", description = "Time interval in milliseconds for timeline statistics")
     public static long TIMELINE_INTERVAL = 60 * 1000;
 
     @Parameter(key = "timeline_interpolation", group = "Output", description = "Interpolate timeline values")
     public static boolean TIMELINE_INTERPOLATION = true;
 
+    @Parameter(key = "statistics_stream", group = "Output", description = "Compute timeline values on the client, and send them to the master in batches of binary encoded events instead of sending individuals")
+    public static boolean STATISTICS_STREAM = false;
+
+    @Parameter(key = "statistics_stream_file", group = "Output", description = "File to which the master appends all the statistics event batches it receives, for offline analysis. Empty for none")
+    public static String STATISTICS_STREAM_FILE = "";
+
     public enum OutputGranularity {
         MERGED, TESTCASE
     }
@@ -1231,6 +1265,10 @@ public class Properties {
     @Parameter(key = "output_granularity", group = "Output", description = "Write all test cases for a class into a single file or to separate files.")
     public static OutputGranularity OUTPUT_GRANULARITY = OutputGranularity.MERGED;
 
+    @Parameter(key = "max_test_class_size", group = "Output", description = "Maximum number of characters of a merged test class, larger test suites are split into several classes (0 for no limit)")
+    @IntValue(min = 0)
+    public static int MAX_TEST_CLASS_SIZE = 0;
+
     @Parameter(key = "max_coverage_depth", group = "Output", description = "Maximum depth in the calltree to count a branch as covered")
     public static int MAX_COVERAGE_DEPTH = -1;
 
@@ -1287,6 +1325,18 @@ public class Properties {
     @Parameter(key = "inheritance_file", description = "Cached version of inheritance tree")
     public static String INHERITANCE_FILE = "";
 
+    @Parameter(key = "classpath_index_file", description = "File in which classes and class headers of the jars on the classpath are indexed, to speed up the startup of later clients")
+    public static String CLASSPATH_INDEX_FILE = "";
+
+    @Parameter(key = "classpath_scan_threads", description = "Number of threads used to scan the classpath and parse class headers (1 for sequential)")
+    public static int CLASSPATH_SCAN_THREADS = 1;
+
+    @Parameter(key = "class_analysis_cache_size", description = "Maximum number of parsed classes kept in memory for the static analyses")
+    public static int CLASS_ANALYSIS_CACHE_SIZE = 2000;
+
+    @Parameter(key = "class_analysis_cache_file", description = "File in which the call sites of analyzed classes are stored, to avoid parsing unchanged classes in later runs")
+    public static String CLASS_ANALYSIS_CACHE_FILE = "";
+
     @Parameter(key = "branch_eval", description = "Jeremy's branch evaluation")
     public static boolean BRANCH_EVAL = false;
 
@@ -1348,7 +1398,7 @@ public class Properties {
     public static TestFactory TEST_FACTORY = TestFactory.ARCHIVE;
 
     public enum ArchiveType {
-        COVERAGE, MIO
+        COVERAGE, MIO, INDEXED
     }
 
     /**
@@ -1366,6 +1416,9 @@ public class Properties {
     @Parameter(key = "selected_junit", description = "List of fully qualified class names (separated by ':') indicating which JUnit test suites the user has selected (e.g., for seeding)")
     public static String SELECTED_JUNIT = null;
 
+    @Parameter(key = "carving_workers", description = "Number of JVMs carving the JUnit classes of selected_junit in parallel")
+    public static int CARVING_WORKERS = 1;
+
     @Parameter(key = "junit_strict", description = "Only include test files containing the target classname")
     public static boolean JUNIT_STRICT = false;
 
@@ -1445,6 +1498,10 @@ public class Properties {
     @Parameter(key = "timeout_reset", group = "Test Execution", description = "Milliseconds allowed to execute the static reset of a test")
     public static int TIMEOUT_RESET = 2000;
 
+    @Parameter(key = "execution_cache_size", group = "Test Execution", description = "Maximum number of execution results reused for tests with identical code (0 to disable)")
+    @IntValue(min = 0)
+    public static int EXECUTION_CACHE_SIZE = 0;
+
 
     @Parameter(key = "concolic_timeout", group = "Test Execution", description = "Milliseconds allowed per test during concolic execution")
     public static int CONCOLIC_TIMEOUT = 15000;
@@ -51,10 +51,12 @@ import org.evosuite.setup.TestCluster;
 import org.evosuite.setup.TestClusterGenerator;
 import org.evosuite.symbolic.dse.DSEStatistics;
 import org.evosuite.testcarver.extraction.CarvingManager;
+import org.evosuite.testcase.execution.ExecutionResultCache;
 import org.evosuite.testcase.execution.ExecutionTracer;
 import org.evosuite.testcase.execution.TestCaseExecutor;
 import org.evosuite.testcase.execution.reset.ClassReInitializer;
 import org.evosuite.utils.ArrayUtil;
+import org.evosuite.utils.generic.GenericTypeCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -173,6 +175,7 @@ public class TestGenerationContext {
         // DependencyAnalysis.analyse is called
         TestCluster.reset();
         CastClassManager.getInstance().clear();
+        GenericTypeCache.getInstance().clear();
         ConcreteClassAnalyzer.getInstance().clear();
         // This counts the current level of recursion during test generation
         org.evosuite.testcase.TestFactory.getInstance().reset();
@@ -185,6 +188,7 @@ public class TestGenerationContext {
         Properties.resetTargetClass();
 
         TestCaseExecutor.initExecutor();
+        ExecutionResultCache.getInstance().clear();
 
         Archive.getArchiveInstance().reset();
 
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.classpath;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * The part of a class file needed to build the inheritance tree, ie name,
+ * access flags, super types and declared methods.
+ * Small enough to be stored in the {@link ClassPathIndex}.
+ */
+public class ClassHeader {
+
+    /**
+     * Internal name, eg org/some/Foo
+     */
+    private final String name;
+
+    private final int access;
+
+    /**
+     * Internal name of the superclass, {@code null} for java/lang/Object and module-info
+     */
+    private final String superName;
+
+    private final String[] interfaces;
+
+    /**
+     * Names and descriptors of the declared methods, at the same indices
+     */
+    private final String[] methodNames;
+    private final String[] methodDescriptors;
+
+    public ClassHeader(String name, int access, String superName, String[] interfaces,
+                       String[] methodNames, String[] methodDescriptors) {
+        assert methodNames.length == methodDescriptors.length;
+        this.name = name;
+        this.access = access;
+        this.superName = superName;
+        this.interfaces = interfaces;
+        this.methodNames = methodNames;
+        this.methodDescriptors = methodDescriptors;
+    }
+
+    /**
+     * Parse the header of the class file in the given stream. The stream is closed.
+     *
+     * @param input
+     * @return
+     * @throws IOException
+     */
+    public static ClassHeader read(InputStream input) throws IOException {
+        ClassReader reader;
+        try {
+            reader = new ClassReader(input);
+        } finally {
+            input.close(); //VERY IMPORTANT, as ASM does not close the stream
+        }
+        ClassNode cn = new ClassNode();
+        reader.accept(cn, ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG
+                | ClassReader.SKIP_CODE);
+        return fromClassNode(cn);
+    }
+
+    public static ClassHeader fromClassNode(ClassNode cn) {
+        List<MethodNode> methods = cn.methods;
+        String[] names = new String[methods.size()];
+        String[] descriptors = new String[methods.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = methods.get(i).name;
+            descriptors[i] = methods.get(i).desc;
+        }
+        List<String> interfaces = cn.interfaces;
+        return new ClassHeader(cn.name, cn.access, cn.superName,
+                interfaces.toArray(new String[0]), names, descriptors);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getAccess() {
+        return access;
+    }
+
+    public String getSuperName() {
+        return superName;
+    }
+
+    public String[] getInterfaces() {
+        return interfaces;
+    }
+
+    public int getNumberOfMethods() {
+        return methodNames.length;
+    }
+
+    public String getMethodName(int index) {
+        return methodNames[index];
+    }
+
+    public String getMethodDescriptor(int index) {
+        return methodDescriptors[index];
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeInt(access);
+        out.writeBoolean(superName != null);
+        if (superName != null) {
+            out.writeUTF(superName);
+        }
+        out.writeShort(interfaces.length);
+        for (String i : interfaces) {
+            out.writeUTF(i);
+        }
+        out.writeShort(methodNames.length);
+        for (int i = 0; i < methodNames.length; i++) {
+            out.writeUTF(methodNames[i]);
+            out.writeUTF(methodDescriptors[i]);
+        }
+    }
+
+    static ClassHeader readFrom(DataInput in) throws IOException {
+        String name = in.readUTF();
+        int access = in.readInt();
+        String superName = in.readBoolean() ? in.readUTF() : null;
+        String[] interfaces = new String[in.readUnsignedShort()];
+        for (int i = 0; i < interfaces.length; i++) {
+            interfaces[i] = in.readUTF();
+        }
+        int numMethods = in.readUnsignedShort();
+        String[] names = new String[numMethods];
+        String[] descriptors = new String[numMethods];
+        for (int i = 0; i < numMethods; i++) {
+            names[i] = in.readUTF();
+            descriptors[i] = in.readUTF();
+        }
+        return new ClassHeader(name, access, superName, interfaces, names, descriptors);
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.classpath;
+
+import org.evosuite.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * On-disk index of the classes and class headers contained in jar files.
+ * Each jar is keyed by its absolute path, size and last modification time,
+ * so that a changed jar is simply scanned again.
+ *
+ * <p>
+ * The index is stored in {@link Properties#CLASSPATH_INDEX_FILE} (if any),
+ * and shared by all the clients using the same file. Clients merge what they
+ * indexed with the current content of the file when saving.
+ */
+public class ClassPathIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassPathIndex.class);
+
+    private static final int MAGIC = 0x45564349; // "EVCI"
+    private static final int VERSION = 2;
+
+    private static ClassPathIndex instance = null;
+
+    private static class JarData {
+        final long size;
+        final long lastModified;
+
+        /**
+         * Class names, in the order they appear in the jar
+         */
+        final List<String> classNames;
+
+        /**
+         * Index of a class in {@link #classNames} -> its header (null if the
+         * class cannot be parsed). Only for the classes read so far
+         */
+        final Map<Integer, ClassHeader> headers = new HashMap<>();
+
+        JarData(long size, long lastModified, List<String> classNames) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.classNames = classNames;
+        }
+
+        boolean isValidFor(File jar) {
+            return jar.length() == size && jar.lastModified() == lastModified;
+        }
+
+        boolean isSameJarAs(JarData other) {
+            return size == other.size && lastModified == other.lastModified && classNames.equals(other.classNames);
+        }
+    }
+
+    /**
+     * Key -> absolute path of the jar file
+     */
+    private final Map<String, JarData> jars = new LinkedHashMap<>();
+
+    /**
+     * File the index is persisted to, null if it is only kept in memory
+     */
+    private final File file;
+
+    /**
+     * Keys of the jars indexed or changed since the index was loaded or saved
+     */
+    private final Set<String> changedJars = new HashSet<>();
+
+    ClassPathIndex(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Index backed by {@link Properties#CLASSPATH_INDEX_FILE}, loaded the
+     * first time this method is called
+     *
+     * @return
+     */
+    public static synchronized ClassPathIndex getInstance() {
+        String fileName = Properties.CLASSPATH_INDEX_FILE;
+        if (instance == null || !sameFile(instance.file, fileName)) {
+            instance = fileName == null || fileName.isEmpty()
+                    ? new ClassPathIndex(null)
+                    : load(new File(fileName));
+        }
+        return instance;
+    }
+
+    public static synchronized void resetSingleton() {
+        instance = null;
+    }
+
+    private static boolean sameFile(File file, String fileName) {
+        if (file == null) {
+            return fileName == null || fileName.isEmpty();
+        }
+        return file.getPath().equals(fileName);
+    }
+
+    /**
+     * Load the index from the given file. A missing, corrupted or outdated
+     * file results in an empty index that will be written back to the same file.
+     *
+     * @param file
+     * @return
+     */
+    public static ClassPathIndex load(File file) {
+        ClassPathIndex index = new ClassPathIndex(file);
+        if (!file.exists()) {
+            return index;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                logger.info("Ignoring classpath index in unknown format: {}", file);
+                return index;
+            }
+            int numJars = in.readInt();
+            for (int i = 0; i < numJars; i++) {
+                String path = in.readUTF();
+                long size = in.readLong();
+                long lastModified = in.readLong();
+                int numClasses = in.readInt();
+                List<String> classNames = new ArrayList<>(numClasses);
+                for (int j = 0; j < numClasses; j++) {
+                    classNames.add(in.readUTF());
+                }
+                JarData data = new JarData(size, lastModified, classNames);
+                int numHeaders = in.readInt();
+                for (int j = 0; j < numHeaders; j++) {
+                    int position = in.readInt();
+                    data.headers.put(position, in.readBoolean() ? ClassHeader.readFrom(in) : null);
+                }
+                index.jars.put(path, data);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to read classpath index {}: {}", file, e.getMessage());
+            index.jars.clear();
+        }
+        logger.debug("Loaded classpath index for {} jar files from {}", index.jars.size(), file);
+        return index;
+    }
+
+    /**
+     * Write the index to its file, if it has changed since it was loaded.
+     * The entries written by other clients in the meantime are merged in,
+     * while holding a lock on the file, so that no client loses the work of
+     * another. The file is replaced atomically, so that clients running in
+     * parallel never see a partially written index.
+     */
+    public synchronized void save() {
+        if (file == null || changedJars.isEmpty()) {
+            return;
+        }
+        File tmp = null;
+        File folder = file.getAbsoluteFile().getParentFile();
+        if (folder != null && !folder.exists()) {
+            folder.mkdirs();
+        }
+        File lockFile = new File(folder, file.getName() + ".lock");
+        try (FileChannel channel = new RandomAccessFile(lockFile, "rw").getChannel();
+             FileLock lock = channel.lock()) {
+            mergeFrom(load(file));
+            tmp = File.createTempFile(file.getName(), ".tmp", folder);
+            write(tmp);
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            changedJars.clear();
+        } catch (IOException e) {
+            logger.warn("Failed to write classpath index {}: {}", file, e.getMessage());
+            if (tmp != null) {
+                tmp.delete();
+            }
+        }
+    }
+
+    /**
+     * Add the entries of the other index that this one has not changed, and
+     * the headers it has that this one has not read yet
+     */
+    private void mergeFrom(ClassPathIndex other) {
+        for (Map.Entry<String, JarData> entry : other.jars.entrySet()) {
+            String key = entry.getKey();
+            JarData theirs = entry.getValue();
+            JarData ours = jars.get(key);
+            if (ours == null || !changedJars.contains(key)) {
+                jars.put(key, theirs);
+            } else if (ours.isSameJarAs(theirs)) {
+                for (Map.Entry<Integer, ClassHeader> header : theirs.headers.entrySet()) {
+                    if (!ours.headers.containsKey(header.getKey())) {
+                        ours.headers.put(header.getKey(), header.getValue());
+                    }
+                }
+            }
+        }
+    }
+
+    private void write(File destination) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(destination)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(jars.size());
+            for (Map.Entry<String, JarData> entry : jars.entrySet()) {
+                JarData data = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeLong(data.size);
+                out.writeLong(data.lastModified);
+                out.writeInt(data.classNames.size());
+                for (String className : data.classNames) {
+                    out.writeUTF(className);
+                }
+                out.writeInt(data.headers.size());
+                for (Map.Entry<Integer, ClassHeader> header : data.headers.entrySet()) {
+                    out.writeInt(header.getKey());
+                    out.writeBoolean(header.getValue() != null);
+                    if (header.getValue() != null) {
+                        header.getValue().writeTo(out);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param jar
+     * @return the class names in the given jar, or {@code null} if the jar
+     * is not indexed or has changed since it was indexed
+     */
+    public synchronized List<String> getClassNames(File jar) {
+        JarData data = getValidData(jar);
+        return data == null ? null : Collections.unmodifiableList(data.classNames);
+    }
+
+    public synchronized void putClassNames(File jar, List<String> classNames) {
+        if (file == null) {
+            return; // nothing to gain by keeping all this data in memory
+        }
+        String key = jar.getAbsolutePath();
+        JarData old = jars.get(key);
+        if (old != null && old.isValidFor(jar) && old.classNames.equals(classNames)) {
+            return;
+        }
+        jars.put(key, new JarData(jar.length(), jar.lastModified(), new ArrayList<>(classNames)));
+        changedJars.add(key);
+    }
+
+    /**
+     * @param jar
+     * @param positions indices of classes in the class names of the jar
+     * @return index of a class -> its header ({@code null} if it cannot be
+     * parsed), for the given classes whose headers are indexed. Empty if the
+     * jar is not indexed or has changed
+     */
+    public synchronized Map<Integer, ClassHeader> getHeaders(File jar, Collection<Integer> positions) {
+        Map<Integer, ClassHeader> headers = new HashMap<>();
+        JarData data = getValidData(jar);
+        if (data == null) {
+            return headers;
+        }
+        for (Integer position : positions) {
+            if (data.headers.containsKey(position)) {
+                headers.put(position, data.headers.get(position));
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * Store headers of a jar whose class names are already in the index
+     *
+     * @param jar
+     * @param headers index of a class in the class names of the jar -> its
+     *                header, or {@code null} if it cannot be parsed
+     */
+    public synchronized void putHeaders(File jar, Map<Integer, ClassHeader> headers) {
+        JarData data = file == null ? null : getValidData(jar);
+        if (data == null) {
+            return;
+        }
+        for (Map.Entry<Integer, ClassHeader> header : headers.entrySet()) {
+            int position = header.getKey();
+            if (position >= 0 && position < data.classNames.size() && !data.headers.containsKey(position)) {
+                data.headers.put(position, header.getValue());
+                changedJars.add(jar.getAbsolutePath());
+            }
+        }
+    }
+
+    private JarData getValidData(File jar) {
+        JarData data = jars.get(jar.getAbsolutePath());
+        if (data == null || !data.isValidFor(jar)) {
+            return null;
+        }
+        return data;
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.classpath;
+
+import org.evosuite.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Scans classpath entries (folders and jar files) for classes, and parses
+ * class headers, on a fork-join pool. Each entry is handled independently,
+ * and results are always returned in the order of the entries, so that
+ * callers can merge them deterministically.
+ *
+ * <p>
+ * Class names of jar files are read from (and stored to) the {@link ClassPathIndex}.
+ */
+public class ClassPathScanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassPathScanner.class);
+
+    private ClassPathScanner() {
+    }
+
+    /**
+     * Return, for each of the given classpath entries (absolute paths of
+     * existing folders or jar files), the names of the classes it contains.
+     * The {@link ClassPathIndex} is not saved, as saving rewrites the whole
+     * file: callers save it after bulk scans.
+     *
+     * @param entries
+     * @return
+     */
+    public static List<List<String>> scanEntries(List<String> entries) {
+        ClassPathIndex index = ClassPathIndex.getInstance();
+        return map(entries, entry -> scanEntry(entry, index));
+    }
+
+    /**
+     * Return, for each classpath entry, the headers of the given classes in it.
+     * The headers of jar files are cached in the {@link ClassPathIndex}.
+     *
+     * @param entries    absolute paths of classpath entries
+     * @param classNames for each entry, the names of the classes to read from it
+     * @return
+     */
+    public static List<List<ClassHeader>> readHeaders(List<String> entries, List<? extends Iterable<String>> classNames) {
+        if (entries.size() != classNames.size()) {
+            throw new IllegalArgumentException("Expected class names for " + entries.size()
+                    + " entries, but got " + classNames.size());
+        }
+        List<Integer> positions = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            positions.add(i);
+        }
+        ClassPathIndex index = ClassPathIndex.getInstance();
+        List<List<ClassHeader>> headers = map(positions,
+                i -> readHeaders(entries.get(i), classNames.get(i), index));
+        index.save();
+        return headers;
+    }
+
+    /**
+     * Apply the given function to all elements, in parallel using
+     * {@link Properties#CLASSPATH_SCAN_THREADS} threads
+     *
+     * @return the results, in the same order as the elements
+     */
+    static <T, R> List<R> map(List<T> elements, Function<T, R> function) {
+        if (Properties.CLASSPATH_SCAN_THREADS <= 1 || elements.size() <= 1) {
+            List<R> results = new ArrayList<>(elements.size());
+            for (T element : elements) {
+                results.add(function.apply(element));
+            }
+            return results;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Properties.CLASSPATH_SCAN_THREADS);
+        try {
+            return pool.invoke(new MapTask<>(elements, function, 0, elements.size()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static class MapTask<T, R> extends RecursiveTask<List<R>> {
+
+        private static final long serialVersionUID = 2843104538724418237L;
+
+        private final List<T> elements;
+        private final Function<T, R> function;
+        private final int from;
+        private final int to;
+
+        MapTask(List<T> elements, Function<T, R> function, int from, int to) {
+            this.elements = elements;
+            this.function = function;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<R> compute() {
+            if (to - from == 1) {
+                return Collections.singletonList(function.apply(elements.get(from)));
+            }
+            int middle = (from + to) >>> 1;
+            MapTask<T, R> left = new MapTask<>(elements, function, from, middle);
+            MapTask<T, R> right = new MapTask<>(elements, function, middle, to);
+            left.fork();
+            List<R> results = new ArrayList<>(to - from);
+            List<R> rightResults = right.compute();
+            results.addAll(left.join());
+            results.addAll(rightResults);
+            return results;
+        }
+    }
+
+    private static List<String> scanEntry(String classPathElement, ClassPathIndex index) {
+        File file = new File(classPathElement);
+        List<String> classes = new ArrayList<>();
+        if (file.isDirectory()) {
+            scanDirectory(file, classPathElement, classes);
+        } else {
+            List<String> indexed = index.getClassNames(file);
+            if (indexed != null) {
+                return indexed;
+            }
+            scanJar(file, classes);
+            index.putClassNames(file, classes);
+        }
+        return classes;
+    }
+
+    private static void scanDirectory(File directory, String classPathFolder, List<String> classes) {
+        if (!directory.canRead()) {
+            logger.warn("No permission to read: " + directory.getAbsolutePath());
+            return;
+        }
+
+        File[] fileList = directory.listFiles();
+        if (fileList == null) {
+            return;
+        }
+        for (File file : fileList) {
+            if (file.isDirectory()) {
+                /*
+                 * recursion till we get to a file that is not a folder.
+                 */
+                scanDirectory(file, classPathFolder, classes);
+            } else if (file.getName().endsWith(".class")) {
+                String relativeFilePath = file.getAbsolutePath().replace(classPathFolder + File.separator, "");
+                classes.add(ResourceList.getClassNameFromResourcePath(relativeFilePath));
+            }
+        }
+    }
+
+    private static void scanJar(File jar, List<String> classes) {
+        try {
+            for (String entryName : JarCentralDirectory.getEntryNames(jar)) {
+                if (entryName.endsWith(".class")) {
+                    classes.add(ResourceList.getClassNameFromResourcePath(entryName));
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Error while reading jar file " + jar + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static List<ClassHeader> readHeaders(String classPathElement, Iterable<String> classNames,
+                                                 ClassPathIndex index) {
+        File file = new File(classPathElement);
+        List<ClassHeader> headers = new ArrayList<>();
+        if (file.isDirectory()) {
+            for (String className : classNames) {
+                File classFile = new File(file, className.replace('.', File.separatorChar) + ".class");
+                try {
+                    headers.add(readHeader(new FileInputStream(classFile)));
+                } catch (IOException e) {
+                    logger.error("Error while reading class file " + classFile + ": " + e.getMessage());
+                }
+            }
+            headers.removeIf(Objects::isNull);
+            return headers;
+        }
+
+        /*
+         * Headers are indexed per class, and only for the classes read so far:
+         * classes shadowed by other classpath entries are never parsed
+         */
+        List<String> jarClasses = scanEntry(classPathElement, index);
+        Set<String> wanted = new HashSet<>();
+        for (String className : classNames) {
+            wanted.add(className);
+        }
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < jarClasses.size(); i++) {
+            if (wanted.contains(jarClasses.get(i))) {
+                positions.add(i);
+            }
+        }
+
+        Map<Integer, ClassHeader> jarHeaders = index.getHeaders(file, positions);
+        if (jarHeaders.size() < positions.size()) {
+            List<Integer> missing = new ArrayList<>();
+            for (Integer position : positions) {
+                if (!jarHeaders.containsKey(position)) {
+                    missing.add(position);
+                }
+            }
+            Map<Integer, ClassHeader> read = readJarHeaders(file, jarClasses, missing);
+            if (read == null) {
+                return headers;
+            }
+            index.putHeaders(file, read);
+            jarHeaders.putAll(read);
+        }
+
+        for (Integer position : positions) {
+            ClassHeader header = jarHeaders.get(position);
+            if (header != null) {
+                headers.add(header);
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * @return index of a class -> its header, or {@code null} if it cannot be
+     * parsed, for the classes at the given positions; or {@code null} if the
+     * jar cannot be read
+     */
+    private static Map<Integer, ClassHeader> readJarHeaders(File jar, List<String> classNames,
+                                                            List<Integer> positions) {
+        Map<Integer, ClassHeader> headers = new HashMap<>();
+        try (ZipFile zf = new ZipFile(jar)) {
+            for (Integer position : positions) {
+                String className = classNames.get(position);
+                ZipEntry entry = zf.getEntry(className.replace('.', '/') + ".class");
+                if (entry == null) {
+                    logger.error("Error: could not find " + className + " inside of jar file " + jar);
+                    headers.put(position, null);
+                } else {
+                    headers.put(position, readHeader(zf.getInputStream(entry)));
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to open/analyze jar file " + jar + " , " + e.getMessage());
+            return null;
+        }
+        return headers;
+    }
+
+    private static ClassHeader readHeader(InputStream input) throws IOException {
+        try {
+            return ClassHeader.read(input);
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            logger.error("ASM Error while reading class (" + e.getMessage() + ")");
+            return null;
+        }
+    }
+}
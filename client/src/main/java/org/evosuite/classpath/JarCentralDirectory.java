@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.classpath;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Lists the entry names of a jar file by reading only its central directory,
+ * without inflating or even opening the single entries.
+ *
+ * <p>
+ * Archives that cannot be handled this way (eg Zip64) are listed through
+ * {@link JarFile} instead.
+ */
+public class JarCentralDirectory {
+
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int CENTRAL_SIGNATURE = 0x02014b50;
+
+    private static final int END_SIZE = 22;
+    private static final int CENTRAL_SIZE = 46;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+    private JarCentralDirectory() {
+    }
+
+    /**
+     * Return the names of all the entries in the given jar file, in the
+     * order in which they appear in the central directory
+     *
+     * @param jar
+     * @return
+     * @throws IOException if the file cannot be read at all
+     */
+    public static List<String> getEntryNames(File jar) throws IOException {
+        try {
+            List<String> names = readCentralDirectory(jar);
+            if (names != null) {
+                return names;
+            }
+        } catch (IndexOutOfBoundsException | IllegalArgumentException | BufferUnderflowException e) {
+            // malformed archive, let JarFile decide what to do with it
+        }
+        return readWithJarFile(jar);
+    }
+
+    /**
+     * The central directory is read into heap buffers rather than mapped, as
+     * a mapped buffer would keep the jar file locked (on Windows) until it is
+     * garbage collected.
+     *
+     * @return {@code null} if the central directory cannot be parsed directly
+     */
+    private static List<String> readCentralDirectory(File jar) throws IOException {
+        try (FileChannel channel = FileChannel.open(jar.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < END_SIZE || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            int tailSize = (int) Math.min(size, END_SIZE + MAX_COMMENT_SIZE);
+            int tailOffset = (int) size - tailSize;
+            ByteBuffer tail = read(channel, tailOffset, tailSize);
+
+            int end = findEndRecord(tail, tailSize);
+            if (end < 0) {
+                return null;
+            }
+
+            int numEntries = tail.getShort(end + 10) & 0xFFFF;
+            long centralSize = tail.getInt(end + 12) & 0xFFFFFFFFL;
+            long centralOffset = tail.getInt(end + 16) & 0xFFFFFFFFL;
+            if (numEntries == 0xFFFF || centralOffset == 0xFFFFFFFFL
+                    || centralOffset + centralSize > tailOffset + end) {
+                return null; // Zip64, or some data prepended to the archive
+            }
+
+            ByteBuffer buffer = read(channel, centralOffset, (int) centralSize);
+            List<String> names = new ArrayList<>(numEntries);
+            int position = 0;
+            byte[] nameBytes = new byte[256];
+            for (int i = 0; i < numEntries; i++) {
+                if (buffer.getInt(position) != CENTRAL_SIGNATURE) {
+                    return null;
+                }
+                int nameLength = buffer.getShort(position + 28) & 0xFFFF;
+                int extraLength = buffer.getShort(position + 30) & 0xFFFF;
+                int commentLength = buffer.getShort(position + 32) & 0xFFFF;
+
+                if (nameBytes.length < nameLength) {
+                    nameBytes = new byte[nameLength];
+                }
+                buffer.position(position + CENTRAL_SIZE);
+                buffer.get(nameBytes, 0, nameLength);
+                names.add(new String(nameBytes, 0, nameLength, StandardCharsets.UTF_8));
+
+                position += CENTRAL_SIZE + nameLength + extraLength + commentLength;
+            }
+            return names;
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of " + channel);
+            }
+        }
+        buffer.clear();
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    /**
+     * The end of central directory record is at the end of the archive, followed
+     * only by an optional comment
+     */
+    private static int findEndRecord(ByteBuffer buffer, int size) {
+        for (int i = size - END_SIZE; i >= 0; i--) {
+            if (buffer.getInt(i) == END_SIGNATURE) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static List<String> readWithJarFile(File jar) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (JarFile jarFile = new JarFile(jar)) {
+            Enumeration<JarEntry> e = jarFile.entries();
+            while (e.hasMoreElements()) {
+                names.add(e.nextElement().getName());
+            }
+        }
+        return names;
+    }
+}
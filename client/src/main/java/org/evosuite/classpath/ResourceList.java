@@ -473,124 +473,74 @@ public class ResourceList {
 
         String cp = ClassPathHandler.getInstance().getTargetProjectClasspath();
 
-        for (String entry : cp.split(File.pathSeparator)) {
-            addEntry(entry);
-        }
+        addEntries(Arrays.asList(cp.split(File.pathSeparator)));
+        ClassPathIndex.getInstance().save();
     }
 
     private void addEntry(String classPathElement) throws IllegalArgumentException {
-        final File file = new File(classPathElement);
-
-        classPathElement = file.getAbsolutePath();
-
-        if (getCache().mapCPtoClasses.containsKey(classPathElement)) {
-            return; //this classpath entry has already been analyzed
-        }
-
-        getCache().mapCPtoClasses.put(classPathElement, new LinkedHashSet<>());
-
-
-        if (!file.exists()) {
-            throw new IllegalArgumentException("The class path resource "
-                    + file.getAbsolutePath() + " does not exist");
-        }
-
-        if (file.isDirectory()) {
-            scanDirectory(file, classPathElement);
-        } else if (file.getName().endsWith(".jar")) {
-            scanJar(classPathElement);
-        } else {
-            throw new IllegalArgumentException("The class path resource "
-                    + file.getAbsolutePath() + " is not valid");
-        }
+        addEntries(Collections.singletonList(classPathElement));
     }
 
-    private void scanDirectory(final File directory,
-                               final String classPathFolder) {
+    /**
+     * Scan the given classpath entries in parallel, and then add their classes
+     * to the cache in classpath order
+     */
+    private void addEntries(List<String> classPathElements) throws IllegalArgumentException {
+        List<String> toScan = new ArrayList<>();
 
-        if (!directory.exists()) {
-            return;
-        }
-        if (!directory.isDirectory()) {
-            return;
-        }
-        if (!directory.canRead()) {
-            logger.warn("No permission to read: " + directory.getAbsolutePath());
-            return;
-        }
+        for (String classPathElement : classPathElements) {
+            final File file = new File(classPathElement);
 
-        String prefix = directory.getAbsolutePath().replace(classPathFolder + File.separator, "");
-        prefix = prefix.replace(File.separatorChar, '.');
+            classPathElement = file.getAbsolutePath();
 
-        File[] fileList = directory.listFiles();
-        for (final File file : fileList) {
-            if (file.isDirectory()) {
-                /*
-                 * recursion till we get to a file that is not a folder.
-                 */
-                scanDirectory(file, classPathFolder);
-            } else {
-                if (!file.getName().endsWith(".class")) {
-                    continue; // we are only interested in class files
-                }
-                String relativeFilePath = file.getAbsolutePath().replace(classPathFolder + File.separator, "");
-                String className = getClassNameFromResourcePath(relativeFilePath);
+            if (getCache().mapCPtoClasses.containsKey(classPathElement) || toScan.contains(classPathElement)) {
+                continue; //this classpath entry has already been analyzed
+            }
 
-                // The same class may exist in different classpath entries
-                // and only the first one is kept
-                if (getCache().mapClassToCP.containsKey(className))
-                    continue;
+            if (!file.exists()) {
+                throw new IllegalArgumentException("The class path resource "
+                        + file.getAbsolutePath() + " does not exist");
+            }
 
-                // If there is an outer class, then we also have a classpath
-                // problem and should ignore this
-                if (className.contains("$")) {
-                    String outerClass = className.substring(0, className.indexOf('$'));
-                    if (getCache().mapClassToCP.containsKey(outerClass)) {
-                        if (!getCache().mapClassToCP.get(outerClass).equals(classPathFolder)) {
-                            continue;
-                        }
-                    }
-                }
+            if (!file.isDirectory() && !file.getName().endsWith(".jar")) {
+                throw new IllegalArgumentException("The class path resource "
+                        + file.getAbsolutePath() + " is not valid");
+            }
 
+            toScan.add(classPathElement);
+        }
 
-                getCache().mapClassToCP.put(className, classPathFolder);
-                getCache().mapCPtoClasses.get(classPathFolder).add(className);
-                getCache().addPrefix(prefix, classPathFolder);
-            }
+        List<List<String>> classes = ClassPathScanner.scanEntries(toScan);
+        for (int i = 0; i < toScan.size(); i++) {
+            registerClasses(toScan.get(i), classes.get(i));
         }
     }
 
-    private void scanJar(String jarEntry) {
-        JarFile zf = getCache().getJar(jarEntry);
-
-        Enumeration<?> e = zf.entries();
-        while (e.hasMoreElements()) {
-            JarEntry ze = (JarEntry) e.nextElement();
-            String entryName = ze.getName();
-
-            if (!entryName.endsWith(".class")) {
-                continue;
-            }
+    private void registerClasses(String classPathElement, List<String> classNames) {
+        Set<String> classesInEntry = new LinkedHashSet<>();
+        getCache().mapCPtoClasses.put(classPathElement, classesInEntry);
 
-            String className = getClassNameFromResourcePath(entryName);
+        for (String className : classNames) {
 
             // The same class may exist in different classpath entries
             // and only the first one is kept
             if (getCache().mapClassToCP.containsKey(className))
                 continue;
 
+            // If there is an outer class, then we also have a classpath
+            // problem and should ignore this
             if (className.contains("$")) {
                 String outerClass = className.substring(0, className.indexOf('$'));
                 if (getCache().mapClassToCP.containsKey(outerClass)) {
-                    if (!getCache().mapClassToCP.get(outerClass).equals(jarEntry)) {
+                    if (!getCache().mapClassToCP.get(outerClass).equals(classPathElement)) {
                         continue;
                     }
                 }
             }
 
-            getCache().mapClassToCP.put(className, jarEntry);//getPackageName
-            getCache().mapCPtoClasses.get(jarEntry).add(className);
-            getCache().addPrefix(getParentPackageName(className), jarEntry);
+            getCache().mapClassToCP.put(className, classPathElement);
+            classesInEntry.add(className);
+            getCache().addPrefix(getParentPackageName(className), classPathElement);
         }
     }
 
@@ -175,7 +175,7 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
                 callCount.put(name, 1);
                 if (branchlessMethodCoverageMap.containsKey(name)) {
                     TestFitnessFunction goal = branchlessMethodCoverageMap.get(name);
-                    test.getTestCase().addCoveredGoal(goal);
+                    test.addCoveredGoal(goal);
                     toRemoveRootBranches.add(name);
                     if (Properties.TEST_ARCHIVE) {
                         Archive.getArchiveInstance().updateArchive(goal, test, 0.0);
@@ -201,7 +201,7 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
             // if this is a target branch or not
             if (branchlessMethodCoverageMap.containsKey(entry.getKey())) {
                 TestFitnessFunction goal = branchlessMethodCoverageMap.get(entry.getKey());
-                test.getTestCase().addCoveredGoal(goal);
+                test.addCoveredGoal(goal);
                 toRemoveRootBranches.add(entry.getKey());
                 if (Properties.TEST_ARCHIVE) {
                     Archive.getArchiveInstance().updateArchive(goal, test, 0.0);
@@ -240,7 +240,7 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
             BranchCoverageTestFitness goal = (BranchCoverageTestFitness) this.branchCoverageTrueMap.get(entry.getKey());
             assert goal != null;
             if ((Double.compare(entry.getValue(), 0.0) == 0)) {
-                test.getTestCase().addCoveredGoal(goal);
+                test.addCoveredGoal(goal);
                 toRemoveBranchesT.add(entry.getKey());
             }
             if (Properties.TEST_ARCHIVE) {
@@ -264,7 +264,7 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
             BranchCoverageTestFitness goal = (BranchCoverageTestFitness) this.branchCoverageFalseMap.get(entry.getKey());
             assert goal != null;
             if ((Double.compare(entry.getValue(), 0.0) == 0)) {
-                test.getTestCase().addCoveredGoal(goal);
+                test.addCoveredGoal(goal);
                 toRemoveBranchesF.add(entry.getKey());
             }
             if (Properties.TEST_ARCHIVE) {
@@ -277,7 +277,7 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
     /**
      * Iterate over all execution results and summarize statistics
      *
-     * @param results
+     * @param suite
      * @param predicateCount
      * @param callCount
      * @param trueDistance
@@ -285,20 +285,17 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
      * @return
      */
     private boolean analyzeTraces(TestSuiteChromosome suite,
-                                  List<ExecutionResult> results,
                                   Map<Integer, Integer> predicateCount, Map<String, Integer> callCount,
                                   Map<Integer, Double> trueDistance, Map<Integer, Double> falseDistance) {
         boolean hasTimeoutOrTestException = false;
-        for (ExecutionResult result : results) {
+        for (TestChromosome testChromosome : suite.getTestChromosomes()) {
+            ExecutionResult result = testChromosome.getLastExecutionResult();
             if (result.hasTimeout() || result.hasTestException()) {
                 hasTimeoutOrTestException = true;
                 continue;
             }
 
-            TestChromosome test = new TestChromosome();
-            test.setTestCase(result.test);
-            test.setLastExecutionResult(result);
-            test.setChanged(false);
+            TestChromosome test = TestChromosome.forEvaluation(testChromosome);
 
             handleBranchlessMethods(test, result, callCount);
             handlePredicateCount(result, predicateCount);
@@ -377,14 +374,14 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
         logger.trace("Calculating branch fitness");
         double fitness = 0.0;
 
-        List<ExecutionResult> results = runTestSuite(suite);
+        runTestSuite(suite);
         Map<Integer, Double> trueDistance = new LinkedHashMap<>();
         Map<Integer, Double> falseDistance = new LinkedHashMap<>();
         Map<Integer, Integer> predicateCount = new LinkedHashMap<>();
         Map<String, Integer> callCount = new LinkedHashMap<>();
 
         // Collect stats in the traces
-        boolean hasTimeoutOrTestException = analyzeTraces(suite, results, predicateCount,
+        boolean hasTimeoutOrTestException = analyzeTraces(suite, predicateCount,
                 callCount, trueDistance,
                 falseDistance);
 
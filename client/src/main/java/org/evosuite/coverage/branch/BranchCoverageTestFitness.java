@@ -169,10 +169,10 @@ public class BranchCoverageTestFitness extends TestFitnessFunction {
         updateIndividual(individual, fitness);
 
         if (fitness == 0.0) {
-            individual.getTestCase().addCoveredGoal(this);
+            individual.addCoveredGoal(this);
         }
 
-        if (Properties.TEST_ARCHIVE) {
+        if (isArchiveUpdateEnabled()) {
             // the next if condition is needed for DynaMOSA when branch coverage is not
             // set as coverage criterion to optimize. However, branches are
             // the backbone for all other criteria and thus they are always used in DynaMOSA
@@ -21,8 +21,8 @@ package org.evosuite.coverage.branch;
 
 import org.evosuite.coverage.ControlFlowDistance;
 import org.evosuite.coverage.TestCoverageGoal;
-import org.evosuite.graphs.cfg.BytecodeInstruction;
-import org.evosuite.graphs.cfg.ControlDependency;
+import org.evosuite.graphs.cdg.ControlDependenceGraph;
+import org.evosuite.graphs.cdg.ControlDependenceTable;
 import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testcase.execution.MethodCall;
 import org.evosuite.testcase.statements.ConstructorStatement;
@@ -31,10 +31,7 @@ import org.objectweb.asm.Type;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
 /**
  * This class holds static methods used to calculate ControlFlowDistances or in
@@ -64,6 +61,10 @@ import java.util.Set;
  * given Branch is control dependent on is returned, after adding one to that
  * distance's approach level.
  * <p>
+ * The distances to all the branches of a method are computed together, in one
+ * pass over each call of the method, and cached in the ExecutionResult, so that
+ * evaluating many goals on the same result is cheap.
+ * <p>
  * TODO make method that just takes a BytecodeInstruction and returns the
  * minimum over all distances to it's control dependent branches
  *
@@ -203,163 +204,209 @@ public class ControlFlowDistanceCalculator {
             throw new IllegalStateException(
                     "expect this method only to be called if this goal does not try to cover the root branch");
 
-        String className = branch.getClassName();
-        String methodName = branch.getMethodName();
-
-        ControlFlowDistance r = new ControlFlowDistance();
-        r.setApproachLevel(branch.getInstruction().getActualCFG().getDiameter() + 1);
-
-        // Minimal distance between target node and path
-        for (MethodCall call : result.getTrace().getMethodCalls()) {
-            if (call.className.equals(className) && call.methodName.equals(methodName)) {
-                ControlFlowDistance d2;
-                Set<Branch> handled = new HashSet<>();
-                //				result.intermediateDistances = new HashMap<Branch,ControlFlowDistance>();
-                d2 = getNonRootDistance(result, call, branch, value, className,
-                        methodName, handled);
-                if (d2.compareTo(r) < 0) {
-                    r = d2;
-                }
-            }
-        }
+        ControlDependenceTable table = branch.getInstruction().getCDG().getControlDependenceTable();
+        ControlFlowDistance r = getDistances(result, table).getDistance(branch, value);
+        if (r == null)
+            throw new IllegalStateException("expect the table of a method to contain all its branches: "
+                    + branch);
 
         return r;
     }
 
-    private static ControlFlowDistance getNonRootDistance(ExecutionResult result,
-                                                          MethodCall call, Branch branch, boolean value, String className,
-                                                          String methodName, Set<Branch> handled) {
-
-        if (branch == null)
-            throw new IllegalStateException(
-                    "expect getNonRootDistance() to only be called if this goal's branch is not a root branch");
-        if (call == null)
-            throw new IllegalArgumentException("null given");
-
-        //		ControlFlowDistance r = result.intermediateDistances.get(branch);
-
-        if (handled.contains(branch)) {
-            //			if(r== null)
-            return worstPossibleDistanceForMethod(branch);
-            //			else {
-            //				return r;
-            //			}
+    /**
+     * Calculates the ControlFlowDistances to both outcomes of all the goals of
+     * the given method in one pass over each call of the method. The result is
+     * cached in the given ExecutionResult.
+     * <p>
+     * Timeouts and covered branches are not handled here, see
+     * {@link #getDistance(ExecutionResult, Branch, boolean, String, String)}
+     *
+     * @param result a {@link org.evosuite.testcase.execution.ExecutionResult} object.
+     * @param table  the branches of the method, see {@link ControlDependenceGraph#getControlDependenceTable()}
+     * @return a {@link MethodBranchDistances} object.
+     */
+    public static MethodBranchDistances getDistances(ExecutionResult result, ControlDependenceTable table) {
+        Map<ControlDependenceTable, MethodBranchDistances> cache = result.getBranchDistanceCache();
+        MethodBranchDistances distances = cache.get(table);
+        if (distances == null) {
+            distances = computeDistances(result, table);
+            cache.put(table, distances);
         }
-        handled.add(branch);
+        return distances;
+    }
 
-        List<Double> trueDistances = call.trueDistanceTrace;
-        List<Double> falseDistances = call.falseDistanceTrace;
+    /**
+     * Calculates the ControlFlowDistances for several goals at once, sharing
+     * the work for goals in the same method.
+     *
+     * @param result a {@link org.evosuite.testcase.execution.ExecutionResult} object.
+     * @param goals  the goals
+     * @return the distance of each goal
+     */
+    public static Map<BranchCoverageGoal, ControlFlowDistance> getDistances(ExecutionResult result,
+                                                                           Collection<BranchCoverageGoal> goals) {
+        Map<BranchCoverageGoal, ControlFlowDistance> distances = new LinkedHashMap<>();
+        for (BranchCoverageGoal goal : goals) {
+            distances.put(goal, goal.getDistance(result));
+        }
+        return distances;
+    }
 
-        // IDEA:
-        // if this goal's branch is traced in the given path, return the
-        // true_/false_distance, depending on this.value
-        // otherwise, look at all Branches this.branch is control dependent on
-        // and return 1 + minimum of the branch coverage goal distance over all
-        // such branches taking as value the branchExpressionValue
+    private static MethodBranchDistances computeDistances(ExecutionResult result,
+                                                          ControlDependenceTable table) {
+        int numGoals = 2 * table.size();
+        int[] approachLevels = new int[numGoals];
+        double[] branchDistances = new double[numGoals];
+        // Same as the distance of a method that is never called
+        Arrays.fill(approachLevels, table.getDiameter() + 1);
 
-        Set<Integer> branchTracePositions = determineBranchTracePositions(call, branch);
+        CallDistances callDistances = new CallDistances(table);
+        for (MethodCall call : result.getTrace().getMethodCalls()) {
+            if (call.className.equals(table.getClassName())
+                    && call.methodName.equals(table.getMethodName())) {
+                callDistances.compute(call);
+                for (int goal = 0; goal < numGoals; goal++) {
+                    int approachLevel = callDistances.getApproachLevel(goal);
+                    double branchDistance = callDistances.getBranchDistance(goal);
+                    if (approachLevel < approachLevels[goal]
+                            || (approachLevel == approachLevels[goal]
+                            && branchDistance < branchDistances[goal])) {
+                        approachLevels[goal] = approachLevel;
+                        branchDistances[goal] = branchDistance;
+                    }
+                }
+            }
+        }
 
-        if (!branchTracePositions.isEmpty()) {
+        return new MethodBranchDistances(table, approachLevels, branchDistances);
+    }
 
-            // branch was traced in given path
-            ControlFlowDistance r = new ControlFlowDistance(0, Double.MAX_VALUE);
+    /**
+     * Distances of a single method call, reusing its arrays for all the calls.
+     * <p>
+     * A branch that was traced has approach level 0 and the minimal branch
+     * distance over its trace positions. Otherwise, its distance (for both
+     * outcomes) is the minimum over the branches it is control dependent on,
+     * plus one approach level, and a branch only dependent on the root branch
+     * has distance (1, 0). As all approach levels increase by one along a
+     * dependency, this is a shortest path problem over the dependencies,
+     * solved with Dijkstra's algorithm, which also handles loops.
+     */
+    private static class CallDistances {
 
-            for (Integer branchTracePosition : branchTracePositions)
-                if (value)
-                    r.setBranchDistance(Math.min(r.getBranchDistance(),
-                            trueDistances.get(branchTracePosition)));
-                else
-                    r.setBranchDistance(Math.min(r.getBranchDistance(),
-                            falseDistances.get(branchTracePosition)));
+        private final ControlDependenceTable table;
 
-            if (r.getBranchDistance() == Double.MAX_VALUE)
-                throw new IllegalStateException("should be impossible");
+        private final double[] trueDistances;
 
-            //			result.intermediateDistances.put(branch, r);
-            return r;
-        }
+        private final double[] falseDistances;
 
-        ControlFlowDistance controlDependenceDistance = getControlDependenceDistancesFor(result,
-                call,
-                branch.getInstruction(),
-                className,
-                methodName,
-                handled);
+        private final boolean[] traced;
 
-        controlDependenceDistance.increaseApproachLevel();
+        private final boolean[] done;
 
-        //		result.intermediateDistances.put(branch, controlDependenceDistance);
+        /**
+         * Distance of untraced branches, independent of the outcome
+         */
+        private final int[] approachLevels;
 
-        return controlDependenceDistance;
-    }
+        private final double[] branchDistances;
 
-    private static ControlFlowDistance getControlDependenceDistancesFor(
-            ExecutionResult result, MethodCall call, BytecodeInstruction instruction,
-            String className, String methodName, Set<Branch> handled) {
+        CallDistances(ControlDependenceTable table) {
+            this.table = table;
+            int size = table.size();
+            trueDistances = new double[size];
+            falseDistances = new double[size];
+            traced = new boolean[size];
+            done = new boolean[size];
+            approachLevels = new int[size];
+            branchDistances = new double[size];
+        }
 
-        Set<ControlFlowDistance> cdDistances = getDistancesForControlDependentBranchesOf(result,
-                call,
-                instruction,
-                className,
-                methodName,
-                handled);
+        void compute(MethodCall call) {
+            int size = table.size();
+            Arrays.fill(trueDistances, Double.MAX_VALUE);
+            Arrays.fill(falseDistances, Double.MAX_VALUE);
+            Arrays.fill(traced, false);
+            Arrays.fill(done, false);
+            Arrays.fill(approachLevels, Integer.MAX_VALUE);
+            Arrays.fill(branchDistances, 0.0);
+
+            List<Integer> path = call.branchTrace;
+            for (int pos = 0; pos < path.size(); pos++) {
+                int index = table.getLocalIndex(path.get(pos));
+                if (index < 0)
+                    continue;
+                traced[index] = true;
+                trueDistances[index] = Math.min(trueDistances[index], call.trueDistanceTrace.get(pos));
+                falseDistances[index] = Math.min(falseDistances[index], call.falseDistanceTrace.get(pos));
+            }
 
-        if (cdDistances == null)
-            throw new IllegalStateException("expect cdDistances to never be null");
+            // Untraced branches directly dependent on the root or a traced branch
+            for (int i = 0; i < size; i++) {
+                if (traced[i])
+                    continue;
+                int[] dependencies = table.getDependencies(i);
+                if (dependencies.length == 0) {
+                    relax(i, 1, 0.0);
+                }
+                for (int dependency : dependencies) {
+                    int parent = dependency >> 1;
+                    if (traced[parent]) {
+                        relax(i, 1, (dependency & 1) == 1 ? trueDistances[parent]
+                                : falseDistances[parent]);
+                    }
+                }
+            }
 
-        return Collections.min(cdDistances);
-    }
+            while (true) {
+                int next = -1;
+                for (int i = 0; i < size; i++) {
+                    if (traced[i] || done[i] || approachLevels[i] == Integer.MAX_VALUE)
+                        continue;
+                    if (next < 0 || approachLevels[i] < approachLevels[next]
+                            || (approachLevels[i] == approachLevels[next]
+                            && branchDistances[i] < branchDistances[next]))
+                        next = i;
+                }
+                if (next < 0)
+                    break;
+                done[next] = true;
+                for (int dependent : table.getDependents(next)) {
+                    int child = dependent >> 1;
+                    if (!traced[child] && !done[child]) {
+                        relax(child, approachLevels[next] + 1, branchDistances[next]);
+                    }
+                }
+            }
 
-    /**
-     * Returns a set containing the ControlFlowDistances in the given result for
-     * all branches the given instruction is control dependent on
-     *
-     * @param handled
-     */
-    private static Set<ControlFlowDistance> getDistancesForControlDependentBranchesOf(
-            ExecutionResult result, MethodCall call, BytecodeInstruction instruction,
-            String className, String methodName, Set<Branch> handled) {
-
-        Set<ControlFlowDistance> r = new HashSet<>();
-        Set<ControlDependency> nextToLookAt = instruction.getControlDependencies();
-
-        for (ControlDependency next : nextToLookAt) {
-            if (instruction.equals(next.getBranch().getInstruction()))
-                continue; // avoid loops
-
-            boolean nextValue = next.getBranchExpressionValue();
-            ControlFlowDistance nextDistance = getNonRootDistance(result, call,
-                    next.getBranch(),
-                    nextValue, className,
-                    methodName, handled);
-            assert (nextDistance != null);
-            r.add(nextDistance);
+            // Only reachable through loops of untraced branches
+            for (int i = 0; i < size; i++) {
+                if (!traced[i] && approachLevels[i] == Integer.MAX_VALUE) {
+                    approachLevels[i] = table.getDiameter() + 2;
+                    branchDistances[i] = 0.0;
+                }
+            }
         }
 
-        if (r.isEmpty()) {
-            // instruction only dependent on root branch
-            // since this method is called by getNonRootDistance(MethodCall)
-            // which in turn is only called when a MethodCall for this branch's
-            // method was found in the given result, i can safely assume that
-            // the 0-distance is a control dependence distance for the given
-            // instruction ... right?
-            r.add(new ControlFlowDistance());
+        private void relax(int index, int approachLevel, double branchDistance) {
+            if (approachLevel < approachLevels[index]
+                    || (approachLevel == approachLevels[index]
+                    && branchDistance < branchDistances[index])) {
+                approachLevels[index] = approachLevel;
+                branchDistances[index] = branchDistance;
+            }
         }
 
-        return r;
-    }
-
-    private static Set<Integer> determineBranchTracePositions(MethodCall call,
-                                                              Branch branch) {
+        int getApproachLevel(int goal) {
+            return traced[goal >> 1] ? 0 : approachLevels[goal >> 1];
+        }
 
-        Set<Integer> r = new HashSet<>();
-        List<Integer> path = call.branchTrace;
-        for (int pos = 0; pos < path.size(); pos++) {
-            if (path.get(pos) == branch.getActualBranchId()) { //.getActualBranchId()); {
-                r.add(pos);
-            }
+        double getBranchDistance(int goal) {
+            int index = goal >> 1;
+            if (!traced[index])
+                return branchDistances[index];
+            return (goal & 1) == 1 ? trueDistances[index] : falseDistances[index];
         }
-        return r;
     }
 
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.branch;
+
+import org.evosuite.coverage.ControlFlowDistance;
+import org.evosuite.graphs.cdg.ControlDependenceTable;
+
+/**
+ * The control flow distances of an execution to both outcomes of all the
+ * branches of a method, minimised over all the calls of the method.
+ *
+ * @see ControlFlowDistanceCalculator#getDistances(org.evosuite.testcase.execution.ExecutionResult, ControlDependenceTable)
+ */
+public class MethodBranchDistances {
+
+    private final ControlDependenceTable table;
+
+    /**
+     * Indexed by 2 * localIndex + (value ? 1 : 0)
+     */
+    private final int[] approachLevels;
+
+    private final double[] branchDistances;
+
+    MethodBranchDistances(ControlDependenceTable table, int[] approachLevels,
+                          double[] branchDistances) {
+        this.table = table;
+        this.approachLevels = approachLevels;
+        this.branchDistances = branchDistances;
+    }
+
+    public ControlDependenceTable getTable() {
+        return table;
+    }
+
+    /**
+     * @param branch a branch of the method
+     * @param value  the wanted outcome of the branch
+     * @return a new ControlFlowDistance, or null if the branch is not in the method
+     */
+    public ControlFlowDistance getDistance(Branch branch, boolean value) {
+        int index = table.getLocalIndex(branch.getActualBranchId());
+        if (index < 0)
+            return null;
+        int goal = 2 * index + (value ? 1 : 0);
+        return new ControlFlowDistance(approachLevels[goal], branchDistances[goal]);
+    }
+}
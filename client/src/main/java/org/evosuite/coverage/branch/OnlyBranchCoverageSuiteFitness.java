@@ -116,27 +116,25 @@ public class OnlyBranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
     /**
      * Iterate over all execution results and summarize statistics
      *
-     * @param results
+     * @param suite
      * @param predicateCount
      * @param trueDistance
      * @param falseDistance
      * @return
      */
-    private boolean analyzeTraces(TestSuiteChromosome suite, List<ExecutionResult> results,
+    private boolean analyzeTraces(TestSuiteChromosome suite,
                                   Map<Integer, Integer> predicateCount,
                                   Map<Integer, Double> trueDistance, Map<Integer, Double> falseDistance) {
 
         boolean hasTimeoutOrTestException = false;
-        for (ExecutionResult result : results) {
+        for (TestChromosome testChromosome : suite.getTestChromosomes()) {
+            ExecutionResult result = testChromosome.getLastExecutionResult();
             if (result.hasTimeout() || result.hasTestException()) {
                 hasTimeoutOrTestException = true;
                 continue;
             }
 
-            TestChromosome test = new TestChromosome();
-            test.setTestCase(result.test);
-            test.setLastExecutionResult(result);
-            test.setChanged(false);
+            TestChromosome test = TestChromosome.forEvaluation(testChromosome);
 
             for (Entry<Integer, Integer> entry : result.getTrace().getPredicateExecutionCount().entrySet()) {
                 if (!branchesId.contains(entry.getKey())
@@ -162,7 +160,7 @@ public class OnlyBranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
                 }
                 OnlyBranchCoverageTestFitness goal = (OnlyBranchCoverageTestFitness) branchCoverageTrueMap.get(entry.getKey());
                 if ((Double.compare(entry.getValue(), 0.0) == 0)) {
-                    test.getTestCase().addCoveredGoal(goal);
+                    test.addCoveredGoal(goal);
                     toRemoveBranchesT.add(entry.getKey());
                 }
                 if (Properties.TEST_ARCHIVE) {
@@ -180,7 +178,7 @@ public class OnlyBranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
                 }
                 OnlyBranchCoverageTestFitness goal = (OnlyBranchCoverageTestFitness) branchCoverageFalseMap.get(entry.getKey());
                 if ((Double.compare(entry.getValue(), 0.0) == 0)) {
-                    test.getTestCase().addCoveredGoal(goal);
+                    test.addCoveredGoal(goal);
                     toRemoveBranchesF.add(entry.getKey());
                 }
                 if (Properties.TEST_ARCHIVE) {
@@ -243,13 +241,13 @@ public class OnlyBranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
         logger.trace("Calculating branch fitness");
         double fitness = 0.0;
 
-        List<ExecutionResult> results = runTestSuite(suite);
+        runTestSuite(suite);
         Map<Integer, Double> trueDistance = new LinkedHashMap<>();
         Map<Integer, Double> falseDistance = new LinkedHashMap<>();
         Map<Integer, Integer> predicateCount = new LinkedHashMap<>();
 
         // Collect stats in the traces
-        boolean hasTimeoutOrTestException = analyzeTraces(suite, results, predicateCount,
+        boolean hasTimeoutOrTestException = analyzeTraces(suite, predicateCount,
                 trueDistance,
                 falseDistance);
 
@@ -19,7 +19,6 @@
  */
 package org.evosuite.coverage.branch;
 
-import org.evosuite.Properties;
 import org.evosuite.coverage.ControlFlowDistance;
 import org.evosuite.ga.archive.Archive;
 import org.evosuite.testcase.TestChromosome;
@@ -127,10 +126,10 @@ public class OnlyBranchCoverageTestFitness extends TestFitnessFunction {
         updateIndividual(individual, fitness);
 
         if (fitness == 0.0) {
-            individual.getTestCase().addCoveredGoal(this);
+            individual.addCoveredGoal(this);
         }
 
-        if (Properties.TEST_ARCHIVE) {
+        if (isArchiveUpdateEnabled()) {
             Archive.getArchiveInstance().updateArchive(this, individual, fitness);
         }
 
@@ -161,13 +161,14 @@ public class CBranchSuiteFitness extends TestSuiteFitnessFunction {
     public double getFitness(TestSuiteChromosome suite) {
         double fitness = 0.0; // branchFitness.getFitness(suite);
 
-        List<ExecutionResult> results = runTestSuite(suite);
+        runTestSuite(suite);
         Map<CBranchTestFitness, Double> distanceMap = new LinkedHashMap<>();
 
         Map<Integer, Integer> callCounter = new LinkedHashMap<>();
         Map<Integer, Integer> branchCounter = new LinkedHashMap<>();
 
-        for (ExecutionResult result : results) {
+        for (TestChromosome testChromosome : suite.getTestChromosomes()) {
+            ExecutionResult result = testChromosome.getLastExecutionResult();
             if (result.hasTimeout() || result.hasTestException()) {
                 continue;
             }
@@ -176,10 +177,7 @@ public class CBranchSuiteFitness extends TestSuiteFitnessFunction {
             assert (result.getTrace().getTrueDistancesContext().keySet().size() == result
                     .getTrace().getFalseDistancesContext().keySet().size());
 
-            TestChromosome test = new TestChromosome();
-            test.setTestCase(result.test);
-            test.setLastExecutionResult(result);
-            test.setChanged(false);
+            TestChromosome test = TestChromosome.forEvaluation(testChromosome);
 
             for (Integer branchId : result.getTrace().getTrueDistancesContext().keySet()) {
                 Map<CallContext, Double> trueMap = result.getTrace().getTrueDistancesContext()
@@ -199,7 +197,7 @@ public class CBranchSuiteFitness extends TestSuiteFitnessFunction {
                     if (Double.compare(distanceT, 0.0) == 0) {
                         if (removedGoals.contains(goalT))
                             continue;
-                        test.getTestCase().addCoveredGoal(goalT);
+                        test.addCoveredGoal(goalT);
                         toRemoveGoals.add(goalT);
                     }
                     if (Properties.TEST_ARCHIVE) {
@@ -219,7 +217,7 @@ public class CBranchSuiteFitness extends TestSuiteFitnessFunction {
                     if (Double.compare(distanceF, 0.0) == 0) {
                         if (removedGoals.contains(goalF))
                             continue;
-                        test.getTestCase().addCoveredGoal(goalF);
+                        test.addCoveredGoal(goalF);
                         toRemoveGoals.add(goalF);
                     }
                     if (Properties.TEST_ARCHIVE) {
@@ -266,7 +264,7 @@ public class CBranchSuiteFitness extends TestSuiteFitnessFunction {
                     if (count > 0) {
                         if (removedGoals.contains(goal))
                             continue;
-                        test.getTestCase().addCoveredGoal(goal);
+                        test.addCoveredGoal(goal);
                         toRemoveGoals.add(goal);
                     }
                     if (Properties.TEST_ARCHIVE) {
@@ -19,7 +19,6 @@
  */
 package org.evosuite.coverage.cbranch;
 
-import org.evosuite.Properties;
 import org.evosuite.coverage.branch.Branch;
 import org.evosuite.coverage.branch.BranchCoverageGoal;
 import org.evosuite.ga.archive.Archive;
@@ -120,10 +119,10 @@ public class CBranchTestFitness extends TestFitnessFunction {
         updateIndividual(individual, fitness);
 
         if (fitness == 0.0) {
-            individual.getTestCase().addCoveredGoal(this);
+            individual.addCoveredGoal(this);
         }
 
-        if (Properties.TEST_ARCHIVE) {
+        if (isArchiveUpdateEnabled()) {
             Archive.getArchiveInstance().updateArchive(this, individual, fitness);
         }
 
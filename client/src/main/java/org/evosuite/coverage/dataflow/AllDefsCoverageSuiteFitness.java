@@ -60,7 +60,7 @@ public class AllDefsCoverageSuiteFitness extends TestSuiteFitnessFunction {
     public double getFitness(TestSuiteChromosome suite) {
         logger.trace("Calculating defuse fitness");
 
-        List<ExecutionResult> results = runTestSuite(suite);
+        runTestSuite(suite);
         double fitness = 0.0;
 
         Set<TestFitnessFunction> coveredGoals = new HashSet<>();
@@ -70,14 +70,14 @@ public class AllDefsCoverageSuiteFitness extends TestSuiteFitnessFunction {
                 continue;
 
             double goalFitness = 2.0;
-            for (ExecutionResult result : results) {
-                TestChromosome tc = new TestChromosome();
-                tc.setTestCase(result.test);
+            for (TestChromosome test : suite.getTestChromosomes()) {
+                ExecutionResult result = test.getLastExecutionResult();
+                TestChromosome tc = TestChromosome.forEvaluation(test);
                 double resultFitness = goal.getFitness(tc, result);
                 if (resultFitness < goalFitness)
                     goalFitness = resultFitness;
                 if (goalFitness == 0.0) {
-                    result.test.addCoveredGoal(goal);
+                    tc.addCoveredGoal(goal);
                     // System.out.println(goal.toString());
                     // System.out.println(result.test.toCode());
                     // System.out.println(resultFitness);
@@ -19,7 +19,6 @@
  */
 package org.evosuite.coverage.dataflow;
 
-import org.evosuite.Properties;
 import org.evosuite.coverage.statement.StatementCoverageTestFitness;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
@@ -68,13 +67,12 @@ public class AllDefsCoverageTestFitness extends TestFitnessFunction {
     @Override
     public double getFitness(TestChromosome individual, ExecutionResult result) {
 
-        boolean archive = Properties.TEST_ARCHIVE;
-        Properties.TEST_ARCHIVE = false;
+        boolean archive = setArchiveUpdateEnabled(false);
         double defFitness = goalDefinitionFitness.getFitness(individual, result);
         if (defFitness == 0.0) {
-            individual.getTestCase().removeCoveredGoal(goalDefinitionFitness);
+            individual.removeCoveredGoal(goalDefinitionFitness);
         }
-        Properties.TEST_ARCHIVE = archive;
+        setArchiveUpdateEnabled(archive);
 
         if (defFitness > 0)
             return 1 + normalize(defFitness);
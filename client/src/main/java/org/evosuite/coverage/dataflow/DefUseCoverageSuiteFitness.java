@@ -228,7 +228,7 @@ public class DefUseCoverageSuiteFitness extends TestSuiteFitnessFunction {
                 if (resultFitness < goalFitness)
                     goalFitness = resultFitness;
                 if (goalFitness == 0.0) {
-                    result.test.addCoveredGoal(goal);
+                    test.addCoveredGoal(goal);
                     coveredGoalsSet.add(goal);
                     break;
                 }
@@ -338,14 +338,14 @@ public class DefUseCoverageSuiteFitness extends TestSuiteFitnessFunction {
             }
 
             double goalFitness = 2.0;
-            for (ExecutionResult result : results) {
-                TestChromosome tc = new TestChromosome();
-                tc.setTestCase(result.test);
+            for (TestChromosome test : suite.getTestChromosomes()) {
+                ExecutionResult result = test.getLastExecutionResult();
+                TestChromosome tc = TestChromosome.forEvaluation(test);
                 double resultFitness = goal.getFitness(tc, result);
                 if (resultFitness < goalFitness)
                     goalFitness = resultFitness;
                 if (goalFitness == 0.0) {
-                    result.test.addCoveredGoal(goal);
+                    tc.addCoveredGoal(goal);
                     coveredGoalsSet.add(goal);
                     goal.setCovered(true);
                     break;
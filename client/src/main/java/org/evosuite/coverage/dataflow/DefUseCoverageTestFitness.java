@@ -270,12 +270,11 @@ public class DefUseCoverageTestFitness extends TestFitnessFunction {
 
         // Deactivate coverage archive while measuring fitness, as auxiliar fitness functions
         // could attempt to claim coverage for it in the archive
-        boolean archive = Properties.TEST_ARCHIVE;
-        Properties.TEST_ARCHIVE = false;
+        boolean archive = setArchiveUpdateEnabled(false);
 
         double fitness = calculator.calculateDUFitness();
 
-        Properties.TEST_ARCHIVE = archive;
+        setArchiveUpdateEnabled(archive);
 
         if (ArrayUtil.contains(Properties.CRITERION, Criterion.DEFUSE) && fitness == 0.0)
             setCovered(individual, result.getTrace(), -1); // TODO objectId wrong
@@ -172,13 +172,13 @@ public class DefUseFitnessCalculator {
 
         // select considerable objects
         Set<Integer> objects = determineConsiderableObjects(goal, result.getTrace());
+        DefUseTraceIndex index = result.getDefUseIndex();
 
         // calculate minimal fitness over all objects
         double fitness = 1;
         for (Integer object : objects) {
             logger.debug("current object: " + object);
-            if (!hasEntriesForId(result.getTrace().getPassedDefinitions(defVariable),
-                    object, goalDefinition.getDefId()))
+            if (!index.isDefinitionPassed(defVariable, object, goalDefinition.getDefId()))
                 continue;
 
             double newFitness = calculateFitnessForObject(object);
@@ -199,11 +199,14 @@ public class DefUseFitnessCalculator {
      */
     private double calculateFitnessForObject(Integer objectId) {
 
-        // filter out trace information from other objects
-        ExecutionTrace objectTrace = result.getTrace().getTraceForObject(objectId);
+        DefUseTraceIndex index = result.getDefUseIndex();
+        // trace information of other objects is only filtered out once a
+        // branch fitness has to be calculated on it
+        ExecutionTrace objectTrace = null;
         double fitness = 1;
         // handle special definition case TODO already handled!?
         if (isSpecialDefinition(goalDefinition)) {
+            objectTrace = result.getTrace().getTraceForObject(objectId);
             double useFitness = callTestFitnessFunctionForTrace(objectTrace,
                     goalUseFitness);
             fitness = normalize(useFitness);
@@ -213,28 +216,24 @@ public class DefUseFitnessCalculator {
         }
 
         // check if goalDefinition is active at any goalUsePosition
-        List<Integer> usePositions = DefUseExecutionTraceAnalyzer.getUsePositions(goalUse,
-                objectTrace,
-                objectId);
-        List<Integer> goalDefinitionPositions = DefUseExecutionTraceAnalyzer.getDefinitionPositions(goalDefinition,
-                objectTrace,
-                objectId);
+        int[] usePositions = index.getUsePositions(useVariable, objectId,
+                goalUse.getUseId());
+        int[] goalDefinitionPositions = index.getDefinitionPositions(defVariable,
+                objectId, goalDefinition.getDefId());
 
         if (!defVariable.equals(useVariable)) {
             logger.debug("Checking an aliasing case: " + goalDefinition + "\n" + goalUse);
         }
 
-        for (Integer usePos : usePositions) {
-            int activeDefId = DefUseExecutionTraceAnalyzer.getActiveDefinitionIdAt(defVariable,
-                    objectTrace,
-                    usePos,
-                    objectId);
+        for (int usePos : usePositions) {
+            int activeDefId = index.getActiveDefinitionIdAt(defVariable, objectId,
+                    usePos);
             logger.debug("Activedef at position " + usePos + " is: "
                     + DefUsePool.getDefinitionByDefId(activeDefId));
             if (activeDefId == goalDefinition.getDefId()) {
                 // Case 3.1.
                 if (ArrayUtil.contains(Properties.CRITERION, Criterion.DEFUSE))
-                    goal.setCovered(individual, objectTrace, objectId);
+                    goal.setCovered(individual, result.getTrace(), objectId);
                 {
                     if (!defVariable.equals(useVariable)) {
                         // Check if object is equal
@@ -265,7 +264,16 @@ public class DefUseFitnessCalculator {
             // if goal use is root branch
             // dependent useFitness will
             // always be 1.0
-            for (Integer goalDefinitionPos : goalDefinitionPositions) {
+            for (int goalDefinitionPos : goalDefinitionPositions) {
+                // skip positions that are preceded by the goalDefinition itself
+                // before cutting a trace for them
+                if (index.getPreviousDefinitionId(defVariable, objectId,
+                        goalDefinitionPos) == goalDefinition.getDefId()) {
+                    fitness = Math.min(fitness, normalize(1.0));
+                    continue;
+                }
+                if (objectTrace == null)
+                    objectTrace = result.getTrace().getTraceForObject(objectId);
                 double useFitness;
                 try {
                     useFitness = calculateUseFitnessForDefinitionPos(objectTrace,
@@ -298,7 +306,7 @@ public class DefUseFitnessCalculator {
             return 0.0;
         // check ExecutionTrace.passedDefinitions first, because calculating
         // BranchTestFitness takes time
-        if (hasEntriesForId(result.getTrace().getPassedDefinitions(goalDefinition.getVariableName()),
+        if (result.getDefUseIndex().isDefinitionPassed(goalDefinition.getVariableName(),
                 goalDefinition.getDefId()))
             return 0.0;
 
@@ -325,7 +333,7 @@ public class DefUseFitnessCalculator {
 
         // check ExecutionTrace.passedUses first, because calculating
         // BranchTestFitness takes time
-        if (hasEntriesForId(result.getTrace().getPassedUses(goalUse.getVariableName()),
+        if (result.getDefUseIndex().isUsePassed(goalUse.getVariableName(),
                 goalUse.getUseId()))
             return 0.0;
 
@@ -362,17 +370,14 @@ public class DefUseFitnessCalculator {
     private double calculateUseFitnessForDefinitionPos(ExecutionTrace targetTrace,
                                                        Integer objectId, int goalDefinitionPos) throws UnexpectedFitnessException {
 
-        int previousDefId = DefUseExecutionTraceAnalyzer.getPreviousDefinitionId(goalDefinition.getVariableName(),
-                targetTrace,
-                goalDefinitionPos,
-                objectId);
+        DefUseTraceIndex index = result.getDefUseIndex();
+        int previousDefId = index.getPreviousDefinitionId(goalDefinition.getVariableName(),
+                objectId, goalDefinitionPos);
         if (previousDefId == goalDefinition.getDefId())
             return 1.0;
 
-        int overwritingDefPos = DefUseExecutionTraceAnalyzer.getNextOverwritingDefinitionPosition(goalDefinition,
-                targetTrace,
-                goalDefinitionPos,
-                objectId);
+        int overwritingDefPos = index.getNextOverwritingDefinitionPosition(goalDefinition.getVariableName(),
+                objectId, goalDefinitionPos, goalDefinition.getDefId());
 
         try {
             return calculateFitnessForDURange(targetTrace, objectId, goalUseFitness,
@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.dataflow;
+
+import org.evosuite.testcase.execution.ExecutionTrace;
+
+import java.util.*;
+
+/**
+ * The definitions and uses passed in one execution trace, indexed once as
+ * sorted primitive arrays per variable and object.
+ * <p>
+ * Building the index walks all events of each variable and object once and
+ * records the definition that is active at every use, so that all def-use
+ * pairs covered by the trace are known without further passes. The per-goal
+ * queries of {@link DefUseFitnessCalculator} are answered by binary search
+ * instead of scanning the boxed maps of the trace.
+ */
+public class DefUseTraceIndex {
+
+    /**
+     * Events of one variable on one object, sorted by duCounter
+     */
+    private static final class ObjectEvents {
+
+        private final int[] defPositions;
+
+        private final int[] defIds;
+
+        private final int[] usePositions;
+
+        private final int[] useIds;
+
+        /**
+         * Id of the definition active at each use, or -1
+         */
+        private final int[] activeDefs;
+
+        private ObjectEvents(Map<Integer, Integer> defs, Map<Integer, Integer> uses) {
+            int[][] sortedDefs = sort(defs);
+            defPositions = sortedDefs[0];
+            defIds = sortedDefs[1];
+            int[][] sortedUses = sort(uses);
+            usePositions = sortedUses[0];
+            useIds = sortedUses[1];
+
+            activeDefs = new int[usePositions.length];
+            int d = 0;
+            int active = -1;
+            for (int u = 0; u < usePositions.length; u++) {
+                while (d < defPositions.length && defPositions[d] <= usePositions[u]) {
+                    active = defIds[d++];
+                }
+                activeDefs[u] = active;
+            }
+        }
+
+        private static int[][] sort(Map<Integer, Integer> events) {
+            if (events == null)
+                return new int[][]{new int[0], new int[0]};
+            int[] positions = new int[events.size()];
+            int i = 0;
+            for (Integer position : events.keySet()) {
+                positions[i++] = position;
+            }
+            Arrays.sort(positions);
+            int[] ids = new int[positions.length];
+            for (i = 0; i < positions.length; i++) {
+                ids[i] = events.get(positions[i]);
+            }
+            return new int[][]{positions, ids};
+        }
+
+        /**
+         * @return the index of the last definition at or before position, -1 if none
+         */
+        private int lastDefinitionAt(int position) {
+            int index = Arrays.binarySearch(defPositions, position);
+            return index >= 0 ? index : -index - 2;
+        }
+    }
+
+    private static final ObjectEvents NO_EVENTS = new ObjectEvents(null, null);
+
+    private final Map<String, Map<Integer, ObjectEvents>> events = new HashMap<>();
+
+    private final Map<String, BitSet> passedDefinitions = new HashMap<>();
+
+    private final Map<String, BitSet> passedUses = new HashMap<>();
+
+    /**
+     * Covered pairs, encoded as defId &lt;&lt; 32 | useId, mapped to the lowest covering object id
+     */
+    private final Map<Long, Integer> coveredPairs = new LinkedHashMap<>();
+
+    /**
+     * Index the definitions and uses of the given trace
+     *
+     * @param trace a {@link org.evosuite.testcase.execution.ExecutionTrace} object.
+     */
+    public DefUseTraceIndex(ExecutionTrace trace) {
+        Map<String, HashMap<Integer, HashMap<Integer, Integer>>> defs = trace.getDefinitionData();
+        Map<String, HashMap<Integer, HashMap<Integer, Integer>>> uses = trace.getUseData();
+
+        Set<String> variables = new LinkedHashSet<>(defs.keySet());
+        variables.addAll(uses.keySet());
+        for (String variable : variables) {
+            Map<Integer, HashMap<Integer, Integer>> variableDefs = defs.getOrDefault(variable, new HashMap<>());
+            Map<Integer, HashMap<Integer, Integer>> variableUses = uses.getOrDefault(variable, new HashMap<>());
+            SortedSet<Integer> objects = new TreeSet<>(variableDefs.keySet());
+            objects.addAll(variableUses.keySet());
+
+            Map<Integer, ObjectEvents> objectEvents = new HashMap<>();
+            BitSet variableDefIds = new BitSet();
+            BitSet variableUseIds = new BitSet();
+            for (Integer object : objects) {
+                ObjectEvents e = new ObjectEvents(variableDefs.get(object), variableUses.get(object));
+                objectEvents.put(object, e);
+                for (int defId : e.defIds) {
+                    variableDefIds.set(defId);
+                }
+                for (int u = 0; u < e.useIds.length; u++) {
+                    variableUseIds.set(e.useIds[u]);
+                    if (e.activeDefs[u] >= 0)
+                        coveredPairs.putIfAbsent(pair(e.activeDefs[u], e.useIds[u]), object);
+                }
+            }
+            events.put(variable, objectEvents);
+            passedDefinitions.put(variable, variableDefIds);
+            passedUses.put(variable, variableUseIds);
+        }
+    }
+
+    private static long pair(int defId, int useId) {
+        return ((long) defId << 32) | (useId & 0xFFFFFFFFL);
+    }
+
+    private ObjectEvents getEvents(String variable, int objectId) {
+        Map<Integer, ObjectEvents> objectEvents = events.get(variable);
+        if (objectEvents == null)
+            return NO_EVENTS;
+        return objectEvents.getOrDefault(objectId, NO_EVENTS);
+    }
+
+    /**
+     * @return whether the definition of the variable was passed on any object
+     */
+    public boolean isDefinitionPassed(String variable, int defId) {
+        BitSet ids = passedDefinitions.get(variable);
+        return ids != null && defId >= 0 && ids.get(defId);
+    }
+
+    /**
+     * @return whether the use of the variable was passed on any object
+     */
+    public boolean isUsePassed(String variable, int useId) {
+        BitSet ids = passedUses.get(variable);
+        return ids != null && useId >= 0 && ids.get(useId);
+    }
+
+    /**
+     * @return whether the definition was passed on the given object
+     */
+    public boolean isDefinitionPassed(String variable, int objectId, int defId) {
+        for (int id : getEvents(variable, objectId).defIds) {
+            if (id == defId)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return whether the definition was active when the use was passed on the same object
+     */
+    public boolean isCovered(int defId, int useId) {
+        return coveredPairs.containsKey(pair(defId, useId));
+    }
+
+    /**
+     * @return the lowest id of an object on which the pair was covered, or -1
+     */
+    public int getCoveringObject(int defId, int useId) {
+        return coveredPairs.getOrDefault(pair(defId, useId), -1);
+    }
+
+    /**
+     * @return the known goals for all def-use pairs covered by the trace
+     */
+    public Set<DefUseCoverageTestFitness> getCoveredGoals() {
+        Set<DefUseCoverageTestFitness> goals = new LinkedHashSet<>();
+        for (long pair : coveredPairs.keySet()) {
+            DefUseCoverageTestFitness goal = DefUseCoverageFactory.retrieveGoal((int) (pair >>> 32), (int) pair);
+            if (goal != null)
+                goals.add(goal);
+        }
+        return goals;
+    }
+
+    /**
+     * @return the sorted duCounter positions at which the definition was passed on the object
+     */
+    public int[] getDefinitionPositions(String variable, int objectId, int defId) {
+        ObjectEvents e = getEvents(variable, objectId);
+        return select(e.defPositions, e.defIds, defId);
+    }
+
+    /**
+     * @return the sorted duCounter positions at which the use was passed on the object
+     */
+    public int[] getUsePositions(String variable, int objectId, int useId) {
+        ObjectEvents e = getEvents(variable, objectId);
+        return select(e.usePositions, e.useIds, useId);
+    }
+
+    private static int[] select(int[] positions, int[] ids, int id) {
+        int count = 0;
+        for (int i : ids) {
+            if (i == id)
+                count++;
+        }
+        int[] r = new int[count];
+        count = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id)
+                r[count++] = positions[i];
+        }
+        return r;
+    }
+
+    /**
+     * @return the id of the last definition of the variable on the object at
+     * or before the given position, or -1
+     */
+    public int getActiveDefinitionIdAt(String variable, int objectId, int position) {
+        ObjectEvents e = getEvents(variable, objectId);
+        int index = e.lastDefinitionAt(position);
+        return index < 0 ? -1 : e.defIds[index];
+    }
+
+    /**
+     * @return the id of the last definition of the variable on the object
+     * before the given position, or -1
+     */
+    public int getPreviousDefinitionId(String variable, int objectId, int position) {
+        return getActiveDefinitionIdAt(variable, objectId, position - 1);
+    }
+
+    /**
+     * @return the position of the first definition of the variable on the
+     * object after the given position that is not defId, or Integer.MAX_VALUE
+     */
+    public int getNextOverwritingDefinitionPosition(String variable, int objectId, int position, int defId) {
+        ObjectEvents e = getEvents(variable, objectId);
+        for (int i = e.lastDefinitionAt(position) + 1; i < e.defPositions.length; i++) {
+            if (e.defPositions[i] > position && e.defIds[i] != defId)
+                return e.defPositions[i];
+        }
+        return Integer.MAX_VALUE;
+    }
+}
@@ -64,9 +64,9 @@ public class ExceptionCoverageSuiteFitness extends TestSuiteFitnessFunction {
         Map<String, Set<Class<?>>> explicitTypesOfExceptions = new HashMap<>();
         Map<String, Set<Class<?>>> declaredTypesOfExceptions = new HashMap<>();
 
-        List<ExecutionResult> results = runTestSuite(suite);
+        runTestSuite(suite);
 
-        calculateExceptionInfo(results, implicitTypesOfExceptions, explicitTypesOfExceptions, declaredTypesOfExceptions, this);
+        calculateExceptionInfo(suite.getTestChromosomes(), implicitTypesOfExceptions, explicitTypesOfExceptions, declaredTypesOfExceptions, this);
 
         if (Properties.TEST_ARCHIVE) {
             // If we are using the archive, then fitness is by definition 0
@@ -104,27 +104,28 @@ public class ExceptionCoverageSuiteFitness extends TestSuiteFitnessFunction {
      * Given the list of results, fill the 3 given (empty) maps with exception information.
      * Also, add exception coverage goals to mapping in {@link ExceptionCoverageFactory}
      *
-     * @param results
+     * @param tests
      * @param implicitTypesOfExceptions
      * @param explicitTypesOfExceptions
      * @param declaredTypesOfExceptions
      * @throws IllegalArgumentException
      */
-    public static void calculateExceptionInfo(List<ExecutionResult> results,
+    public static void calculateExceptionInfo(List<TestChromosome> tests,
                                               Map<String, Set<Class<?>>> implicitTypesOfExceptions, Map<String, Set<Class<?>>> explicitTypesOfExceptions,
                                               Map<String, Set<Class<?>>> declaredTypesOfExceptions, ExceptionCoverageSuiteFitness contextFitness)
             throws IllegalArgumentException {
 
         MethodNameMatcher matcher = new MethodNameMatcher();
 
-        if (results == null || implicitTypesOfExceptions == null || explicitTypesOfExceptions == null ||
+        if (tests == null || implicitTypesOfExceptions == null || explicitTypesOfExceptions == null ||
                 !implicitTypesOfExceptions.isEmpty() || !explicitTypesOfExceptions.isEmpty() ||
                 declaredTypesOfExceptions == null || !declaredTypesOfExceptions.isEmpty()) {
             throw new IllegalArgumentException();
         }
 
         // for each test case
-        for (ExecutionResult result : results) {
+        for (TestChromosome testChromosome : tests) {
+            ExecutionResult result = testChromosome.getLastExecutionResult();
 
             // Using private reflection can lead to false positives
             // that represent unrealistic behaviour. Thus, we only
@@ -133,10 +134,7 @@ public class ExceptionCoverageSuiteFitness extends TestSuiteFitnessFunction {
                 continue;
             }
 
-            TestChromosome test = new TestChromosome();
-            test.setTestCase(result.test);
-            test.setLastExecutionResult(result);
-            test.setChanged(false);
+            TestChromosome test = TestChromosome.forEvaluation(testChromosome);
 
             //iterate on the indexes of the statements that resulted in an exception
             for (Integer i : result.getPositionsWhereExceptionsWereThrown()) {
@@ -199,7 +197,7 @@ public class ExceptionCoverageSuiteFitness extends TestSuiteFitnessFunction {
                     String key = goal.getKey();
                     if (!ExceptionCoverageFactory.getGoals().containsKey(key)) {
                         ExceptionCoverageFactory.getGoals().put(key, goal);
-                        test.getTestCase().addCoveredGoal(goal);
+                        test.addCoveredGoal(goal);
                         if (Properties.TEST_ARCHIVE && contextFitness != null) {
                             Archive.getArchiveInstance().addTarget(goal);
                             Archive.getArchiveInstance().updateArchive(goal, test, 0.0);
@@ -19,7 +19,6 @@
  */
 package org.evosuite.coverage.exception;
 
-import org.evosuite.Properties;
 import org.evosuite.ga.archive.Archive;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
@@ -148,10 +147,10 @@ public class ExceptionCoverageTestFitness extends TestFitnessFunction {
         }
 
         if (fitness == 0.0) {
-            individual.getTestCase().addCoveredGoal(this);
+            individual.addCoveredGoal(this);
         }
 
-        if (Properties.TEST_ARCHIVE) {
+        if (isArchiveUpdateEnabled()) {
             Archive.getArchiveInstance().addTarget(this);
             Archive.getArchiveInstance().updateArchive(this, individual, fitness);
         }
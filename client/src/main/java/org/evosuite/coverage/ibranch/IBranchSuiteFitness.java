@@ -139,20 +139,18 @@ public class IBranchSuiteFitness extends TestSuiteFitnessFunction {
 
     public double getFitness(TestSuiteChromosome suite, boolean updateChromosome) {
         double fitness = 0.0; // branchFitness.getFitness(suite);
-        List<ExecutionResult> results = runTestSuite(suite);
+        runTestSuite(suite);
 
         Map<IBranchTestFitness, Double> distanceMap = new LinkedHashMap<>();
         Map<IBranchTestFitness, Integer> callCount = new LinkedHashMap<>();
 
-        for (ExecutionResult result : results) {
+        for (TestChromosome testChromosome : suite.getTestChromosomes()) {
+            ExecutionResult result = testChromosome.getLastExecutionResult();
             if (result.hasTimeout() || result.hasTestException()) {
                 continue;
             }
 
-            TestChromosome test = new TestChromosome();
-            test.setTestCase(result.test);
-            test.setLastExecutionResult(result);
-            test.setChanged(false);
+            TestChromosome test = TestChromosome.forEvaluation(testChromosome);
 
             for (Integer branchId : result.getTrace().getTrueDistancesContext().keySet()) {
                 Map<CallContext, Double> trueMap = result.getTrace().getTrueDistancesContext()
@@ -168,7 +166,7 @@ public class IBranchSuiteFitness extends TestSuiteFitnessFunction {
                     }
                     if (Double.compare(distanceT, 0.0) == 0) {
                         if (updateChromosome)
-                            test.getTestCase().addCoveredGoal(goalT);
+                            test.addCoveredGoal(goalT);
                         toRemoveBranchesT.add(goalT);
                     }
 
@@ -192,7 +190,7 @@ public class IBranchSuiteFitness extends TestSuiteFitnessFunction {
                     }
                     if (Double.compare(distanceF, 0.0) == 0) {
                         if (updateChromosome)
-                            test.getTestCase().addCoveredGoal(goalF);
+                            test.addCoveredGoal(goalF);
                         toRemoveBranchesF.add(goalF);
                     }
 
@@ -214,7 +212,7 @@ public class IBranchSuiteFitness extends TestSuiteFitnessFunction {
                     }
                     if (count > 0) {
                         if (updateChromosome)
-                            result.test.addCoveredGoal(goal);
+                            test.addCoveredGoal(goal);
                         toRemoveRootBranches.add(goal);
                     }
                 }
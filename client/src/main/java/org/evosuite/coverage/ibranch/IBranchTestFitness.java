@@ -19,7 +19,6 @@
  */
 package org.evosuite.coverage.ibranch;
 
-import org.evosuite.Properties;
 import org.evosuite.coverage.branch.Branch;
 import org.evosuite.coverage.branch.BranchCoverageGoal;
 import org.evosuite.coverage.branch.BranchCoverageTestFitness;
@@ -124,10 +123,10 @@ public class IBranchTestFitness extends TestFitnessFunction {
         updateIndividual(individual, fitness);
 
         if (fitness == 0.0) {
-            individual.getTestCase().addCoveredGoal(this);
+            individual.addCoveredGoal(this);
         }
 
-        if (Properties.TEST_ARCHIVE) {
+        if (isArchiveUpdateEnabled()) {
             Archive.getArchiveInstance().updateArchive(this, individual, fitness);
         }
 
@@ -113,4 +113,11 @@ public class InputObserver extends ExecutionObserver {
         inputCoverage = new LinkedHashMap<>();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
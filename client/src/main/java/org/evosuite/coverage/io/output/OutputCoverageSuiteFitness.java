@@ -97,7 +97,7 @@ public class OutputCoverageSuiteFitness extends TestSuiteFitnessFunction {
             logger.info("Test suite has timed out, setting fitness to max value " + totalGoals);
             fitness = totalGoals;
         } else
-            fitness = computeDistance(results, setOfCoveredGoals);
+            fitness = computeDistance(suite.getTestChromosomes(), setOfCoveredGoals);
 
         int coveredGoals = setOfCoveredGoals.size() + removedGoals.size();
 
@@ -141,22 +141,20 @@ public class OutputCoverageSuiteFitness extends TestSuiteFitnessFunction {
         return true;
     }
 
-    public double computeDistance(List<ExecutionResult> results, Set<TestFitnessFunction> setOfCoveredGoals) {
+    public double computeDistance(List<TestChromosome> tests, Set<TestFitnessFunction> setOfCoveredGoals) {
 
         Map<OutputCoverageTestFitness, Double> mapDistances = new LinkedHashMap<>();
         for (OutputCoverageTestFitness testFitness : this.outputCoverageGoals) {
             mapDistances.put(testFitness, 1.0);
         }
 
-        for (ExecutionResult result : results) {
+        for (TestChromosome testChromosome : tests) {
+            ExecutionResult result = testChromosome.getLastExecutionResult();
             if (result.hasTimeout() || result.hasTestException()) {
                 continue;
             }
 
-            TestChromosome test = new TestChromosome();
-            test.setTestCase(result.test);
-            test.setLastExecutionResult(result);
-            test.setChanged(false);
+            TestChromosome test = TestChromosome.forEvaluation(testChromosome);
 
             for (final OutputCoverageTestFitness testFitness : this.outputCoverageGoals) {
                 if (!mapDistances.containsKey(testFitness)) {
@@ -103,4 +103,11 @@ public class OutputObserver extends ExecutionObserver {
         outputCoverage = new LinkedHashMap<>();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
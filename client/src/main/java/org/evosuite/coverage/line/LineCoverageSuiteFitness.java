@@ -109,23 +109,21 @@ public class LineCoverageSuiteFitness extends TestSuiteFitnessFunction {
     /**
      * Iterate over all execution results and summarize statistics
      *
-     * @param results
+     * @param tests
      * @param coveredLines
      * @return
      */
-    private boolean analyzeTraces(List<ExecutionResult> results, Set<Integer> coveredLines) {
+    private boolean analyzeTraces(List<TestChromosome> tests, Set<Integer> coveredLines) {
         boolean hasTimeoutOrTestException = false;
 
-        for (ExecutionResult result : results) {
+        for (TestChromosome testChromosome : tests) {
+            ExecutionResult result = testChromosome.getLastExecutionResult();
             if (result.hasTimeout() || result.hasTestException()) {
                 hasTimeoutOrTestException = true;
                 continue;
             }
 
-            TestChromosome test = new TestChromosome();
-            test.setTestCase(result.test);
-            test.setLastExecutionResult(result);
-            test.setChanged(false);
+            TestChromosome test = TestChromosome.forEvaluation(testChromosome);
 
             for (Integer goalID : this.lineGoals.keySet()) {
                 TestFitnessFunction goal = this.lineGoals.get(goalID);
@@ -157,7 +155,7 @@ public class LineCoverageSuiteFitness extends TestSuiteFitnessFunction {
         logger.info("Branch distances: " + fitness);
 
         Set<Integer> coveredLines = new LinkedHashSet<>();
-        boolean hasTimeoutOrTestException = analyzeTraces(results, coveredLines);
+        boolean hasTimeoutOrTestException = analyzeTraces(suite.getTestChromosomes(), coveredLines);
 
         int totalLines = this.numLines;
         int numCoveredLines = coveredLines.size() + this.removedLines.size();
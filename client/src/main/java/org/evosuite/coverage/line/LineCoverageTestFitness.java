@@ -19,7 +19,6 @@
  */
 package org.evosuite.coverage.line;
 
-import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
 import org.evosuite.coverage.branch.BranchCoverageFactory;
 import org.evosuite.coverage.branch.BranchCoverageTestFitness;
@@ -156,8 +155,7 @@ public class LineCoverageTestFitness extends TestFitnessFunction {
 
         // Deactivate coverage archive while measuring fitness, since branchcoverage fitness
         // evaluating will attempt to claim coverage for it in the archive
-        boolean archive = Properties.TEST_ARCHIVE;
-        Properties.TEST_ARCHIVE = false;
+        boolean archive = setArchiveUpdateEnabled(false);
         if (result.getTrace().getCoveredLines().contains(this.line)) {
             fitness = 0.0;
         } else {
@@ -169,7 +167,7 @@ public class LineCoverageTestFitness extends TestFitnessFunction {
                 if (newFitness == 0.0) {
                     // Although the BranchCoverage goal has been covered, it is not part of the
                     // optimisation
-                    individual.getTestCase().removeCoveredGoal(branchFitness);
+                    individual.removeCoveredGoal(branchFitness);
                     // If the control dependency was covered, then likely
                     // an exception happened before the line was reached
                     newFitness = 1.0;
@@ -182,14 +180,14 @@ public class LineCoverageTestFitness extends TestFitnessFunction {
 
             fitness = r;
         }
-        Properties.TEST_ARCHIVE = archive;
+        setArchiveUpdateEnabled(archive);
         updateIndividual(individual, fitness);
 
         if (fitness == 0.0) {
-            individual.getTestCase().addCoveredGoal(this);
+            individual.addCoveredGoal(this);
         }
 
-        if (Properties.TEST_ARCHIVE) {
+        if (isArchiveUpdateEnabled()) {
             Archive.getArchiveInstance().updateArchive(this, individual, fitness);
         }
 
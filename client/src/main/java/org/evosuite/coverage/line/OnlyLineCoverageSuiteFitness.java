@@ -94,23 +94,21 @@ public class OnlyLineCoverageSuiteFitness extends TestSuiteFitnessFunction {
     /**
      * Iterate over all execution results and summarize statistics
      *
-     * @param results
+     * @param tests
      * @param coveredLines
      * @return
      */
-    private boolean analyzeTraces(List<ExecutionResult> results, Set<Integer> coveredLines) {
+    private boolean analyzeTraces(List<TestChromosome> tests, Set<Integer> coveredLines) {
         boolean hasTimeoutOrTestException = false;
 
-        for (ExecutionResult result : results) {
+        for (TestChromosome testChromosome : tests) {
+            ExecutionResult result = testChromosome.getLastExecutionResult();
             if (result.hasTimeout() || result.hasTestException()) {
                 hasTimeoutOrTestException = true;
                 continue;
             }
 
-            TestChromosome test = new TestChromosome();
-            test.setTestCase(result.test);
-            test.setLastExecutionResult(result);
-            test.setChanged(false);
+            TestChromosome test = TestChromosome.forEvaluation(testChromosome);
 
             for (Integer goalID : this.lineGoals.keySet()) {
                 TestFitnessFunction goal = this.lineGoals.get(goalID);
@@ -137,11 +135,11 @@ public class OnlyLineCoverageSuiteFitness extends TestSuiteFitnessFunction {
         logger.trace("Calculating branch fitness");
         double fitness = 0.0;
 
-        List<ExecutionResult> results = runTestSuite(suite);
+        runTestSuite(suite);
 
         // Collect stats in the traces
         Set<Integer> coveredLines = new LinkedHashSet<>();
-        boolean hasTimeoutOrTestException = analyzeTraces(results, coveredLines);
+        boolean hasTimeoutOrTestException = analyzeTraces(suite.getTestChromosomes(), coveredLines);
 
         int totalLines = this.numLines;
         int numCoveredLines = coveredLines.size() + this.removedLines.size();
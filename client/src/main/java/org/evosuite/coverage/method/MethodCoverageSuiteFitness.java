@@ -105,7 +105,7 @@ public class MethodCoverageSuiteFitness extends TestSuiteFitnessFunction {
                 TestFitnessFunction goal = methodCoverageMap.get(name);
 
                 // only include methods being called
-                test.getTestCase().addCoveredGoal(goal);
+                test.addCoveredGoal(goal);
                 calledMethods.add(name);
                 this.toRemoveMethods.add(name);
 
@@ -120,23 +120,21 @@ public class MethodCoverageSuiteFitness extends TestSuiteFitnessFunction {
     /**
      * Iterate over all execution results and summarize statistics
      *
-     * @param results
+     * @param tests
      * @param calledMethods
      * @return
      */
-    protected boolean analyzeTraces(List<ExecutionResult> results, Set<String> calledMethods) {
+    protected boolean analyzeTraces(List<TestChromosome> tests, Set<String> calledMethods) {
         boolean hasTimeoutOrTestException = false;
 
-        for (ExecutionResult result : results) {
+        for (TestChromosome testChromosome : tests) {
+            ExecutionResult result = testChromosome.getLastExecutionResult();
             if (result.hasTimeout() || result.hasTestException()) {
                 hasTimeoutOrTestException = true;
                 continue;
             }
 
-            TestChromosome test = new TestChromosome();
-            test.setTestCase(result.test);
-            test.setLastExecutionResult(result);
-            test.setChanged(false);
+            TestChromosome test = TestChromosome.forEvaluation(testChromosome);
 
             for (String methodName : this.methodCoverageMap.keySet()) {
                 TestFitnessFunction goal = this.methodCoverageMap.get(methodName);
@@ -165,11 +163,11 @@ public class MethodCoverageSuiteFitness extends TestSuiteFitnessFunction {
         logger.trace("Calculating method fitness");
         double fitness = 0.0;
 
-        List<ExecutionResult> results = runTestSuite(suite);
+        runTestSuite(suite);
 
         // Collect stats in the traces
         Set<String> calledMethods = new LinkedHashSet<>();
-        boolean hasTimeoutOrTestException = analyzeTraces(results, calledMethods);
+        boolean hasTimeoutOrTestException = analyzeTraces(suite.getTestChromosomes(), calledMethods);
 
         int coveredMethods = calledMethods.size() + this.removedMethods.size();
         int missingMethods = this.totalMethods - coveredMethods;
@@ -64,13 +64,14 @@ public class OnlyMutationSuiteFitness extends MutationSuiteFitness {
             return 0.0;
         }
 
-        List<ExecutionResult> results = runTestSuite(individual);
+        runTestSuite(individual);
 
         double fitness = 0.0;
         Map<Integer, Double> mutant_distance = new LinkedHashMap<>();
         Set<Integer> touchedMutants = new LinkedHashSet<>();
 
-        for (ExecutionResult result : results) {
+        for (TestChromosome testChromosome : individual.getTestChromosomes()) {
+            ExecutionResult result = testChromosome.getLastExecutionResult();
             // Using private reflection can lead to false positives
             // that represent unrealistic behaviour. Thus, we only
             // use reflection for basic criteria, not for mutation
@@ -86,10 +87,7 @@ public class OnlyMutationSuiteFitness extends MutationSuiteFitness {
                 continue;
             }
 
-            TestChromosome test = new TestChromosome();
-            test.setTestCase(result.test);
-            test.setLastExecutionResult(result);
-            test.setChanged(false);
+            TestChromosome test = TestChromosome.forEvaluation(testChromosome);
 
             for (final Entry<Integer, MutationTestFitness> entry : this.mutantMap.entrySet()) {
                 int mutantID = entry.getKey();
@@ -109,7 +107,7 @@ public class OnlyMutationSuiteFitness extends MutationSuiteFitness {
                 }
 
                 if (fit == 0.0) {
-                    test.getTestCase().addCoveredGoal(goal); // update list of covered goals
+                    test.addCoveredGoal(goal); // update list of covered goals
                     this.toRemoveMutants.add(mutantID); // goal to not be considered by the next iteration of the evolutionary algorithm
                 }
 
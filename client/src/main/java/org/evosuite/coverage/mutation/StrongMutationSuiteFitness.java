@@ -181,7 +181,7 @@ public class StrongMutationSuiteFitness extends MutationSuiteFitness {
                 if (mutantInfectionDistance == 0.0) {
                     numKilled++;
                     newKilled.add(mutantID);
-                    result.test.addCoveredGoal(goal); // update list of covered goals
+                    test.addCoveredGoal(goal); // update list of covered goals
                     this.toRemoveMutants.add(mutantID); // goal to not be considered by the next iteration of the evolutionary algorithm
                 } else {
                     minMutantFitness.put(goal.getMutation(), Math.min(mutantInfectionDistance, minMutantFitness.get(goal.getMutation())));
@@ -19,7 +19,6 @@
  */
 package org.evosuite.coverage.mutation;
 
-import org.evosuite.Properties;
 import org.evosuite.assertion.*;
 import org.evosuite.coverage.TestCoverageGoal;
 import org.evosuite.ga.archive.Archive;
@@ -399,13 +398,13 @@ public class StrongMutationTestFitness extends MutationTestFitness {
 
         updateIndividual(individual, fitness);
         if (fitness == 0.0) {
-            individual.getTestCase().addCoveredGoal(this);
+            individual.addCoveredGoal(this);
             //assert(isCovered(individual, result));
         }
         assert (fitness >= 0.0);
         assert (fitness <= executionDistance + 2.0);
 
-        if (Properties.TEST_ARCHIVE) {
+        if (isArchiveUpdateEnabled()) {
             Archive.getArchiveInstance().updateArchive(this, individual, fitness);
         }
 
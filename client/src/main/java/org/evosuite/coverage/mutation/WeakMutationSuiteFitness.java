@@ -64,7 +64,7 @@ public class WeakMutationSuiteFitness extends MutationSuiteFitness {
             return 0.0;
         }
 
-        List<ExecutionResult> results = runTestSuite(individual);
+        runTestSuite(individual);
 
         // First objective: achieve branch coverage
         logger.debug("Calculating branch fitness: ");
@@ -80,7 +80,8 @@ public class WeakMutationSuiteFitness extends MutationSuiteFitness {
         Map<Integer, Double> mutant_distance = new LinkedHashMap<>();
         Set<Integer> touchedMutants = new LinkedHashSet<>();
 
-        for (ExecutionResult result : results) {
+        for (TestChromosome testChromosome : individual.getTestChromosomes()) {
+            ExecutionResult result = testChromosome.getLastExecutionResult();
             // Using private reflection can lead to false positives
             // that represent unrealistic behaviour. Thus, we only
             // use reflection for basic criteria, not for mutation
@@ -96,10 +97,7 @@ public class WeakMutationSuiteFitness extends MutationSuiteFitness {
                 continue;
             }
 
-            TestChromosome test = new TestChromosome();
-            test.setTestCase(result.test);
-            test.setLastExecutionResult(result);
-            test.setChanged(false);
+            TestChromosome test = TestChromosome.forEvaluation(testChromosome);
 
             for (final Entry<Integer, MutationTestFitness> entry : this.mutantMap.entrySet()) {
                 int mutantID = entry.getKey();
@@ -119,7 +117,7 @@ public class WeakMutationSuiteFitness extends MutationSuiteFitness {
                 }
 
                 if (fit == 0.0) {
-                    test.getTestCase().addCoveredGoal(goal); // update list of covered goals
+                    test.addCoveredGoal(goal); // update list of covered goals
                     this.toRemoveMutants.add(mutantID); // goal to not be considered by the next iteration of the evolutionary algorithm
                 }
 
@@ -88,23 +88,21 @@ public class StatementCoverageSuiteFitness extends TestSuiteFitnessFunction {
     /**
      * Iterate over all execution results and summarise statistics.
      *
-     * @param results
+     * @param tests
      * @param coveredStatements
      * @return
      */
-    private boolean analyzeTraces(List<ExecutionResult> results, Set<TestFitnessFunction> coveredStatements) {
+    private boolean analyzeTraces(List<TestChromosome> tests, Set<TestFitnessFunction> coveredStatements) {
         boolean hasTimeoutOrTestException = false;
 
-        for (ExecutionResult result : results) {
+        for (TestChromosome testChromosome : tests) {
+            ExecutionResult result = testChromosome.getLastExecutionResult();
             if (result.hasTimeout() || result.hasTestException()) {
                 hasTimeoutOrTestException = true;
                 continue;
             }
 
-            TestChromosome test = new TestChromosome();
-            test.setTestCase(result.test);
-            test.setLastExecutionResult(result);
-            test.setChanged(false);
+            TestChromosome test = TestChromosome.forEvaluation(testChromosome);
 
             for (TestFitnessFunction goal : this.statementGoals) {
                 double fit = goal.getFitness(test, result); // archive is updated by the TestFitnessFunction class
@@ -124,11 +122,11 @@ public class StatementCoverageSuiteFitness extends TestSuiteFitnessFunction {
      */
     @Override
     public double getFitness(TestSuiteChromosome suite) {
-        List<ExecutionResult> results = runTestSuite(suite);
+        runTestSuite(suite);
         double fitness = 0.0;
 
         Set<TestFitnessFunction> coveredStatements = new LinkedHashSet<>();
-        boolean hasTimeoutOrTestException = analyzeTraces(results, coveredStatements);
+        boolean hasTimeoutOrTestException = analyzeTraces(suite.getTestChromosomes(), coveredStatements);
 
         if (hasTimeoutOrTestException) {
             logger.info("Test suite has timed out, setting fitness to max value " + this.numStatements);
@@ -19,7 +19,6 @@
  */
 package org.evosuite.coverage.statement;
 
-import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
 import org.evosuite.coverage.branch.BranchCoverageFactory;
 import org.evosuite.coverage.branch.BranchCoverageTestFitness;
@@ -128,8 +127,7 @@ public class StatementCoverageTestFitness extends TestFitnessFunction {
 
         // Deactivate coverage archive while measuring fitness, since BranchCoverage fitness
         // evaluating will attempt to claim coverage for it in the archive
-        boolean archive = Properties.TEST_ARCHIVE;
-        Properties.TEST_ARCHIVE = false;
+        boolean archive = setArchiveUpdateEnabled(false);
 
         // Find minimum distance to satisfying any of the control dependencies
         for (BranchCoverageTestFitness branchFitness : this.branchFitnesses) {
@@ -138,22 +136,22 @@ public class StatementCoverageTestFitness extends TestFitnessFunction {
                 r = 0.0;
                 // Although the BranchCoverage goal has been covered, it is not part of the
                 // optimisation
-                individual.getTestCase().removeCoveredGoal(branchFitness);
+                individual.removeCoveredGoal(branchFitness);
                 break;
             }
             if (newFitness < r)
                 r = newFitness;
         }
 
-        Properties.TEST_ARCHIVE = archive;
+        setArchiveUpdateEnabled(archive);
 
         updateIndividual(individual, r);
 
         if (r == 0.0) {
-            individual.getTestCase().addCoveredGoal(this);
+            individual.addCoveredGoal(this);
         }
 
-        if (Properties.TEST_ARCHIVE) {
+        if (isArchiveUpdateEnabled()) {
             Archive.getArchiveInstance().updateArchive(this, individual, r);
         }
 
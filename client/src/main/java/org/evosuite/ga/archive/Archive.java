@@ -172,8 +172,8 @@ public abstract class Archive implements Serializable {
         // Check if solutions are using any functional mock or private access. A solution is considered
         // better than any other solution if does not use functional mock / private access at all, or if
         // it uses less of those functionalities.
-        int penaltyCurrentSolution = this.calculatePenalty(currentSolution.getTestCase());
-        int penaltyCandidateSolution = this.calculatePenalty(candidateSolution.getTestCase());
+        int penaltyCurrentSolution = this.calculatePenalty(currentSolution.getReadOnlyTestCase());
+        int penaltyCandidateSolution = this.calculatePenalty(candidateSolution.getReadOnlyTestCase());
 
         if (penaltyCandidateSolution < penaltyCurrentSolution) {
             return true;
@@ -279,6 +279,18 @@ public abstract class Archive implements Serializable {
      */
     public abstract Set<TestChromosome> getSolutions();
 
+    /**
+     * Returns true if {@link #getCoveredTargets()}, {@link #getUncoveredTargets()} and
+     * {@link #getSolutions()} return read-only views that can be iterated while the archive
+     * is updated. Otherwise they may return the archive's own collections, which callers
+     * that keep them should copy.
+     *
+     * @return
+     */
+    public boolean hasConcurrentViews() {
+        return false;
+    }
+
     /**
      * Returns a particular solution in the archive. The underline algorithm to select a solution
      * depends on the type of archive.
@@ -531,6 +543,8 @@ public abstract class Archive implements Serializable {
                 return CoverageArchive.instance;
             case MIO:
                 return MIOArchive.instance;
+            case INDEXED:
+                return IndexedCoverageArchive.instance;
         }
     }
 }
@@ -289,7 +289,7 @@ public class CoverageArchive extends Archive {
             // whether that 'target' is covered or not (and therefore, it could be more expensive)
             boolean isGoalCovered = false;
             for (TestChromosome test : mergedSolution.getTestChromosomes()) {
-                if (test.getTestCase().isGoalCovered(target)) {
+                if (test.getReadOnlyTestCase().isGoalCovered(target)) {
                     isGoalCovered = true;
                     break;
                 }
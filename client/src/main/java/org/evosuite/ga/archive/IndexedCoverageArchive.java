@@ -0,0 +1,583 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.archive;
+
+import org.evosuite.Properties;
+import org.evosuite.ga.FitnessFunction;
+import org.evosuite.runtime.util.AtMostOnceLogger;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.evosuite.utils.Randomness;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Coverage archive with the same semantics as {@link CoverageArchive}, but
+ * with targets indexed by integers, so that its bookkeeping does not depend
+ * on the number of targets.
+ *
+ * <p>
+ * All counters are updated incrementally, and the sets returned by the read
+ * methods are unmodifiable views rather than copies. The iterators of the
+ * views are weakly consistent: they can be used while the archive is being
+ * updated, never throw {@link java.util.ConcurrentModificationException},
+ * and may or may not reflect the updates made after they were created.
+ *
+ * <p>
+ * Updates can be performed concurrently. Checking whether a solution is
+ * better than the current one for a target does not lock, only replacing it
+ * does, which is rare once the search is under way.
+ */
+public class IndexedCoverageArchive extends Archive {
+
+    private static final long serialVersionUID = 4185043358317934418L;
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexedCoverageArchive.class);
+
+    public static final IndexedCoverageArchive instance = new IndexedCoverageArchive();
+
+    /**
+     * Number of targets, and number of covered targets, of a type of target
+     */
+    private static class TargetCounter implements Serializable {
+        private static final long serialVersionUID = -1781405232146101658L;
+
+        final AtomicInteger total = new AtomicInteger();
+        final AtomicInteger covered = new AtomicInteger();
+    }
+
+    /**
+     * Index -> target, in the order the targets were added. Replaced by a
+     * larger array when needed, always before {@link #numTargets} is increased
+     */
+    private volatile TestFitnessFunction[] targets = new TestFitnessFunction[64];
+
+    private volatile int numTargets = 0;
+
+    /**
+     * Target -> index
+     */
+    private final Map<TestFitnessFunction, Integer> indices = new ConcurrentHashMap<>();
+
+    /**
+     * Index of a target -> solution covering it, or null if not covered.
+     * Replaced by a larger array when needed
+     */
+    private volatile AtomicReferenceArray<TestChromosome> solutions = new AtomicReferenceArray<>(64);
+
+    private final AtomicInteger numCovered = new AtomicInteger();
+
+    private final Map<Class<?>, TargetCounter> countersOfEachType = new ConcurrentHashMap<>();
+
+    /**
+     * Unique solutions (by identity), in a deterministic order
+     */
+    private final List<TestChromosome> uniqueSolutions = new ArrayList<>();
+
+    /**
+     * Copy of {@link #uniqueSolutions} to iterate over, or null if it has
+     * changed since the copy was made
+     */
+    private volatile TestChromosome[] uniqueSolutionsSnapshot = null;
+
+    /**
+     * Solution -> indices of the targets it is the current solution for
+     */
+    private final Map<TestChromosome, BitSet> targetsOfEachSolution = new IdentityHashMap<>();
+
+    /**
+     * Solution -> its position in {@link #uniqueSolutions}
+     */
+    private final Map<TestChromosome, Integer> positionOfEachSolution = new IdentityHashMap<>();
+
+    private final Set<TestFitnessFunction> coveredView = new TargetView(true);
+
+    private final Set<TestFitnessFunction> uncoveredView = new TargetView(false);
+
+    private final Set<TestChromosome> solutionsView = new SolutionView();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void addTarget(TestFitnessFunction target) {
+        super.addTarget(target);
+
+        if (!this.indices.containsKey(target)) {
+            logger.debug("Registering new target '" + target + "'");
+            int index = this.numTargets;
+            if (index == this.targets.length) {
+                AtomicReferenceArray<TestChromosome> larger = new AtomicReferenceArray<>(index * 2);
+                for (int i = 0; i < index; i++) {
+                    larger.set(i, this.solutions.get(i));
+                }
+                this.solutions = larger;
+                this.targets = Arrays.copyOf(this.targets, index * 2);
+            }
+            this.targets[index] = target;
+            // publishes the target to the views
+            this.numTargets = index + 1;
+            this.indices.put(target, index);
+            this.getCounter(target).total.incrementAndGet();
+        }
+
+        this.registerNonCoveredTargetOfAMethod(target);
+    }
+
+    private TargetCounter getCounter(TestFitnessFunction target) {
+        return this.countersOfEachType.computeIfAbsent(target.getClass(), c -> new TargetCounter());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateArchive(TestFitnessFunction target, TestChromosome solution, double fitnessValue) {
+        super.updateArchive(target, solution, fitnessValue);
+        Integer index = this.indices.get(target);
+        assert index != null : "Unknown goal: " + target;
+
+        if (fitnessValue > 0.0 || index == null) {
+            // as this type of archive only cares about covered targets, it ignores all
+            // targets with a fitness value greater than 0.0
+            return;
+        }
+
+        // the common case, ie not better than the current solution, does not need any lock
+        TestChromosome currentSolution = this.solutions.get(index);
+        if (currentSolution != null && !this.isBetterThanCurrent(currentSolution, solution)) {
+            return;
+        }
+
+        synchronized (this) {
+            TestChromosome latestSolution = this.solutions.get(index);
+            if (latestSolution != currentSolution && latestSolution != null
+                    && !this.isBetterThanCurrent(latestSolution, solution)) {
+                // another thread got there first
+                return;
+            }
+            this.addToArchive(index, latestSolution, solution);
+        }
+    }
+
+    private void addToArchive(int index, TestChromosome previousSolution, TestChromosome solution) {
+        assert Thread.holdsLock(this);
+        TestFitnessFunction target = this.targets[index];
+
+        if (previousSolution == null) {
+            logger.debug("Solution for non-covered target '" + target + "'");
+            this.numCovered.incrementAndGet();
+            this.getCounter(target).covered.incrementAndGet();
+            this.removeNonCoveredTargetOfAMethod(target);
+        } else {
+            this.removeTargetOfSolution(previousSolution, index);
+        }
+
+        BitSet targetsOfSolution = this.targetsOfEachSolution.get(solution);
+        if (targetsOfSolution == null) {
+            targetsOfSolution = new BitSet();
+            this.targetsOfEachSolution.put(solution, targetsOfSolution);
+            this.positionOfEachSolution.put(solution, this.uniqueSolutions.size());
+            this.uniqueSolutions.add(solution);
+            this.uniqueSolutionsSnapshot = null;
+        }
+        targetsOfSolution.set(index);
+        this.solutions.set(index, solution);
+        this.hasBeenUpdated = true;
+
+        ExecutionResult result = solution.getLastExecutionResult();
+        if (result != null && (result.hasTimeout() || result.hasTestException())) {
+            AtMostOnceLogger.warn(logger,
+                    "A solution with a timeout/exception result has been added to the archive. The covered goal was "
+                            + target.toString());
+        }
+    }
+
+    private void removeTargetOfSolution(TestChromosome solution, int index) {
+        BitSet targetsOfSolution = this.targetsOfEachSolution.get(solution);
+        targetsOfSolution.clear(index);
+        if (!targetsOfSolution.isEmpty()) {
+            return;
+        }
+        // the solution is not the best one for any target anymore
+        this.targetsOfEachSolution.remove(solution);
+        int position = this.positionOfEachSolution.remove(solution);
+        TestChromosome last = this.uniqueSolutions.remove(this.uniqueSolutions.size() - 1);
+        if (last != solution) {
+            this.uniqueSolutions.set(position, last);
+            this.positionOfEachSolution.put(last, position);
+        }
+        this.uniqueSolutionsSnapshot = null;
+    }
+
+    /**
+     * @return the unique solutions, copied at most once after each change
+     */
+    private TestChromosome[] getUniqueSolutions() {
+        TestChromosome[] snapshot = this.uniqueSolutionsSnapshot;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = this.uniqueSolutionsSnapshot;
+                if (snapshot == null) {
+                    snapshot = this.uniqueSolutions.toArray(new TestChromosome[0]);
+                    this.uniqueSolutionsSnapshot = snapshot;
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isArchiveEmpty() {
+        return this.numCovered.get() == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumberOfTargets() {
+        return this.indices.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumberOfCoveredTargets() {
+        return this.numCovered.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumberOfCoveredTargets(Class<?> targetClass) {
+        TargetCounter counter = this.countersOfEachType.get(targetClass);
+        return counter == null ? 0 : counter.covered.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<TestFitnessFunction> getCoveredTargets() {
+        return this.coveredView;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumberOfUncoveredTargets() {
+        return this.getNumberOfTargets() - this.getNumberOfCoveredTargets();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumberOfUncoveredTargets(Class<?> targetClass) {
+        TargetCounter counter = this.countersOfEachType.get(targetClass);
+        return counter == null ? 0 : counter.total.get() - counter.covered.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<TestFitnessFunction> getUncoveredTargets() {
+        return this.uncoveredView;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasTarget(TestFitnessFunction target) {
+        assert target != null;
+        return this.indices.containsKey(target);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumberOfSolutions() {
+        synchronized (this) {
+            return this.uniqueSolutions.size();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<TestChromosome> getSolutions() {
+        return this.solutionsView;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasConcurrentViews() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TestChromosome getSolution() {
+        return this.getRandomSolution();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TestChromosome getSolution(TestFitnessFunction target) {
+        assert target != null;
+        Integer index = this.indices.get(target);
+        assert index != null && this.solutions.get(index) != null;
+        return index == null ? null : this.solutions.get(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasSolution(TestFitnessFunction target) {
+        assert target != null;
+        Integer index = this.indices.get(target);
+        return index != null && this.solutions.get(index) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TestChromosome getRandomSolution() {
+        TestChromosome randomChoice = Randomness.choice(Arrays.asList(this.getUniqueSolutions()));
+        if (randomChoice == null) {
+            return null;
+        }
+        return randomChoice.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected TestSuiteChromosome createMergedSolution(TestSuiteChromosome solution) {
+        // Deactivate in case a test is executed and would access the archive as this might cause a
+        // concurrent access
+        Properties.TEST_ARCHIVE = false;
+
+        TestSuiteChromosome mergedSolution = solution.clone();
+
+        // skip solutions that have been modified as those might not have been evaluated yet, or have
+        // timeout or throw some exception and therefore they may slow down future analysis on the final
+        // test suite
+        mergedSolution.getTestChromosomes()
+                .removeIf(t -> t.isChanged()
+                        || (t.getLastExecutionResult() != null && (t.getLastExecutionResult().hasTimeout()
+                        || t.getLastExecutionResult().hasTestException())));
+
+        // to avoid adding the same solution to 'mergedSolution' suite
+        Set<TestChromosome> solutionsSampledFromArchive = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (int index = 0; index < this.numTargets; index++) {
+            TestChromosome chromosome = this.solutions.get(index);
+            if (chromosome == null || solutionsSampledFromArchive.contains(chromosome)) {
+                continue;
+            }
+
+            // has target been covered? to answer it, we perform a local check rather than calling method
+            // {@link TestFitnessFunction.isCoveredBy} as it may perform a fitness evaluation
+            TestFitnessFunction target = this.targets[index];
+            boolean isGoalCovered = false;
+            for (TestChromosome test : mergedSolution.getTestChromosomes()) {
+                if (test.getReadOnlyTestCase().isGoalCovered(target)) {
+                    isGoalCovered = true;
+                    break;
+                }
+            }
+
+            if (!isGoalCovered) {
+                solutionsSampledFromArchive.add(chromosome);
+                mergedSolution.addTest(chromosome);
+            }
+        }
+
+        // re-evaluate merged solution
+        for (FitnessFunction<TestSuiteChromosome> ff : solution.getFitnessValues().keySet()) {
+            ff.getFitness(mergedSolution);
+        }
+
+        // re-active it
+        Properties.TEST_ARCHIVE = true;
+
+        return mergedSolution;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void shrinkSolutions(int size) {
+        // NO-OP
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "NumTargets: " + this.getNumberOfTargets() + ", NumCoveredTargets: "
+                + this.getNumberOfCoveredTargets() + ", NumSolutions: " + this.getNumberOfSolutions();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void reset() {
+        super.reset();
+        this.numTargets = 0;
+        this.targets = new TestFitnessFunction[64];
+        this.indices.clear();
+        this.solutions = new AtomicReferenceArray<>(64);
+        this.numCovered.set(0);
+        this.countersOfEachType.clear();
+        this.uniqueSolutions.clear();
+        this.uniqueSolutionsSnapshot = null;
+        this.targetsOfEachSolution.clear();
+        this.positionOfEachSolution.clear();
+    }
+
+    /**
+     * Read-only view of the covered, or of the uncovered, targets, in the
+     * order they were added
+     */
+    private class TargetView extends AbstractSet<TestFitnessFunction> implements Serializable {
+
+        private static final long serialVersionUID = -2923780296380669001L;
+
+        private final boolean covered;
+
+        TargetView(boolean covered) {
+            this.covered = covered;
+        }
+
+        @Override
+        public int size() {
+            return covered ? getNumberOfCoveredTargets() : getNumberOfUncoveredTargets();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            Integer index = indices.get(o);
+            return index != null && (solutions.get(index) != null) == covered;
+        }
+
+        @Override
+        public Iterator<TestFitnessFunction> iterator() {
+            // read the number of targets first, so that the arrays hold at least that many
+            final int size = numTargets;
+            final TestFitnessFunction[] targetsToVisit = targets;
+            return new Iterator<TestFitnessFunction>() {
+                private int next = advance(0);
+
+                private int advance(int from) {
+                    AtomicReferenceArray<TestChromosome> currentSolutions = solutions;
+                    int end = Math.min(size, Math.min(targetsToVisit.length, currentSolutions.length()));
+                    while (from < end && (targetsToVisit[from] == null
+                            || (currentSolutions.get(from) != null) != covered)) {
+                        from++;
+                    }
+                    return from < end ? from : size;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next < size;
+                }
+
+                @Override
+                public TestFitnessFunction next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    TestFitnessFunction target = targetsToVisit[next];
+                    next = advance(next + 1);
+                    return target;
+                }
+            };
+        }
+    }
+
+    /**
+     * Read-only view of the unique solutions
+     */
+    private class SolutionView extends AbstractSet<TestChromosome> implements Serializable {
+
+        private static final long serialVersionUID = 6069183599838402914L;
+
+        @Override
+        public int size() {
+            return getNumberOfSolutions();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            synchronized (IndexedCoverageArchive.this) {
+                return positionOfEachSolution.containsKey(o);
+            }
+        }
+
+        @Override
+        public Iterator<TestChromosome> iterator() {
+            return Collections.unmodifiableList(Arrays.asList(getUniqueSolutions())).iterator();
+        }
+    }
+}
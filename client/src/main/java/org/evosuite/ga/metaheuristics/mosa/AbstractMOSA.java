@@ -316,8 +316,9 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
      * @return the non-dominated set of test cases
      */
     public List<TestChromosome> getNonDominatedSolutions(List<TestChromosome> solutions) {
+        // A snapshot, as fitness values computed while comparing may update the archive
         final DominanceComparator<TestChromosome> comparator =
-                new DominanceComparator<>(this.getCoveredGoals());
+                new DominanceComparator<>(new LinkedHashSet<>(Archive.getArchiveInstance().getCoveredTargets()));
         final List<TestChromosome> nextFront = new ArrayList<>(solutions.size());
         boolean isDominated;
         for (TestChromosome p : solutions) {
@@ -362,11 +363,17 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
 
     /**
      * Returns the goals that have been covered by the test cases stored in the archive.
+     * The returned set is a copy, unless the archive {@link Archive#hasConcurrentViews() has
+     * concurrent views}, and must not be modified.
      *
      * @return
      */
     protected Set<TestFitnessFunction> getCoveredGoals() {
-        return new LinkedHashSet<>(Archive.getArchiveInstance().getCoveredTargets());
+        Archive archive = Archive.getArchiveInstance();
+        if (archive.hasConcurrentViews()) {
+            return archive.getCoveredTargets();
+        }
+        return new LinkedHashSet<>(archive.getCoveredTargets());
     }
 
     /**
@@ -384,11 +391,17 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
 
     /**
      * Returns the goals that have not been covered by the test cases stored in the archive.
+     * The returned set is a copy, unless the archive {@link Archive#hasConcurrentViews() has
+     * concurrent views}, and must not be modified.
      *
      * @return
      */
     protected Set<TestFitnessFunction> getUncoveredGoals() {
-        return new LinkedHashSet<>(Archive.getArchiveInstance().getUncoveredTargets());
+        Archive archive = Archive.getArchiveInstance();
+        if (archive.hasConcurrentViews()) {
+            return archive.getUncoveredTargets();
+        }
+        return new LinkedHashSet<>(archive.getUncoveredTargets());
     }
 
     /**
@@ -410,12 +423,17 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
     }
 
     /**
-     * Return the test cases in the archive as a list.
+     * Return the test cases in the archive. The returned set is a copy, unless the archive
+     * {@link Archive#hasConcurrentViews() has concurrent views}, and must not be modified.
      *
      * @return
      */
-    protected List<TestChromosome> getSolutions() {
-        return new ArrayList<>(Archive.getArchiveInstance().getSolutions());
+    protected Set<TestChromosome> getSolutions() {
+        Archive archive = Archive.getArchiveInstance();
+        if (archive.hasConcurrentViews()) {
+            return archive.getSolutions();
+        }
+        return new LinkedHashSet<>(archive.getSolutions());
     }
 
     /**
@@ -492,7 +510,7 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
         // of the execution to look for generated exceptions
         if (ArrayUtil.contains(Properties.CRITERION, Properties.Criterion.EXCEPTION)) {
             ExceptionCoverageSuiteFitness.calculateExceptionInfo(
-                    Collections.singletonList(c.getLastExecutionResult()),
+                    Collections.singletonList(c),
                     new HashMap<>(), new HashMap<>(), new HashMap<>(), new ExceptionCoverageSuiteFitness());
         }
 
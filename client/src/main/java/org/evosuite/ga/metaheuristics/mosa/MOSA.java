@@ -22,6 +22,7 @@ package org.evosuite.ga.metaheuristics.mosa;
 import org.evosuite.ClientProcess;
 import org.evosuite.Properties;
 import org.evosuite.ga.ChromosomeFactory;
+import org.evosuite.ga.archive.Archive;
 import org.evosuite.ga.comparators.OnlyCrowdingComparator;
 import org.evosuite.ga.operators.ranking.CrowdingDistance;
 import org.evosuite.ga.operators.selection.BestKSelection;
@@ -102,7 +103,8 @@ public class MOSA extends AbstractMOSA {
             union.addAll(immigrants.poll());
         }
 
-        Set<TestFitnessFunction> uncoveredGoals = this.getUncoveredGoals();
+        // A snapshot, as fitness values computed during the ranking may update the archive
+        Set<TestFitnessFunction> uncoveredGoals = new LinkedHashSet<>(Archive.getArchiveInstance().getUncoveredTargets());
 
         // Ranking the union
         logger.debug("Union Size =" + union.size());
@@ -22,6 +22,8 @@ package org.evosuite.ga.metaheuristics.mosa.structural;
 import org.evosuite.coverage.branch.Branch;
 import org.evosuite.coverage.branch.BranchCoverageGoal;
 import org.evosuite.coverage.branch.BranchCoverageTestFitness;
+import org.evosuite.coverage.branch.BranchPool;
+import org.evosuite.graphs.cdg.MethodDependenceTable;
 import org.evosuite.graphs.cfg.ActualControlFlowGraph;
 import org.evosuite.graphs.cfg.BasicBlock;
 import org.evosuite.graphs.cfg.BytecodeInstruction;
@@ -31,7 +33,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import static java.util.stream.Collectors.toSet;
@@ -65,11 +69,7 @@ public class BranchFitnessGraph implements Serializable {
                 //|| branch.getInstruction().getControlDependentBranchIds().contains(-1))
                 this.rootBranches.add(fitness);
             // see dependencies for all true/false branches
-            ActualControlFlowGraph rcfg = branch.getInstruction().getActualCFG();
-            Set<BasicBlock> visitedBlock = new HashSet<>();
-            Set<BasicBlock> parents = lookForParent(branch.getInstruction().getBasicBlock(), rcfg, visitedBlock);
-            for (BasicBlock bb : parents) {
-                Branch newB = extractBranch(bb);
+            for (Branch newB : getParentBranches(branch)) {
                 if (newB == null) {
                     this.rootBranches.add(fitness);
                     continue;
@@ -87,6 +87,32 @@ public class BranchFitnessGraph implements Serializable {
     }
 
 
+    /**
+     * Returns the branches that are met first when walking the CFG backwards
+     * from the given branch, as lookForParent() and extractBranch() do. The
+     * result is read from the {@link MethodDependenceTable} of the method if
+     * the table knows the branch; null stands for the method entry.
+     *
+     * @param branch object of {@link Branch}
+     * @return the preceding branches
+     */
+    private Set<Branch> getParentBranches(Branch branch) {
+        Set<Branch> parents = new LinkedHashSet<>();
+        ActualControlFlowGraph rcfg = branch.getInstruction().getActualCFG();
+        MethodDependenceTable table = branch.getInstruction().getDependenceTable();
+        if (Arrays.binarySearch(table.getBranchIds(), branch.getActualBranchId()) >= 0) {
+            BranchPool pool = BranchPool.getInstance(rcfg.getClassLoader());
+            for (int id : table.getPrecedingBranches(branch.getActualBranchId()))
+                parents.add(id < 0 ? null : pool.getBranch(id));
+            return parents;
+        }
+
+        Set<BasicBlock> visitedBlock = new HashSet<>();
+        for (BasicBlock bb : lookForParent(branch.getInstruction().getBasicBlock(), rcfg, visitedBlock))
+            parents.add(extractBranch(bb));
+        return parents;
+    }
+
     public Set<BasicBlock> lookForParent(BasicBlock block, ActualControlFlowGraph acfg, Set<BasicBlock> visitedBlock) {
         Set<BasicBlock> realParent = new HashSet<>();
         Set<BasicBlock> parents = acfg.getParents(block);
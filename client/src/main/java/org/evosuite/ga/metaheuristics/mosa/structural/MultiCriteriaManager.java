@@ -394,6 +394,60 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
             return;
         }
 
+        // 1) We update the set of current goals.
+        if (ParallelGoalEvaluator.isEnabled()) {
+            updateCurrentGoalsInParallel(c, result, ga);
+        } else {
+            updateCurrentGoals(c, ga);
+        }
+
+        // Removes all newly covered goals from the list of currently uncovered goals.
+        currentGoals.removeAll(this.getCoveredGoals());
+
+        // 2) We update the archive.
+        final ExecutionTrace trace = result.getTrace();
+        for (int branchid : trace.getCoveredFalseBranches()) {
+            TestFitnessFunction branch = this.branchCoverageFalseMap.get(branchid);
+            if (branch == null)
+                continue;
+            updateCoveredGoals(branch, c);
+        }
+        for (int branchid : trace.getCoveredTrueBranches()) {
+            TestFitnessFunction branch = this.branchCoverageTrueMap.get(branchid);
+            if (branch == null)
+                continue;
+            updateCoveredGoals(branch, c);
+        }
+        for (String method : trace.getCoveredBranchlessMethods()) {
+            TestFitnessFunction branch = this.branchlessMethodCoverageMap.get(method);
+            if (branch == null)
+                continue;
+            updateCoveredGoals(branch, c);
+        }
+
+        // let's manage the exception coverage
+        if (ArrayUtil.contains(Properties.CRITERION, Criterion.EXCEPTION)) {
+            // if one of the coverage criterion is Criterion.EXCEPTION,
+            // then we have to analyze the results of the execution do look
+            // for generated exceptions
+            Set<ExceptionCoverageTestFitness> set = deriveCoveredExceptions(c);
+            for (ExceptionCoverageTestFitness exp : set) {
+                // let's update the list of fitness functions
+                updateCoveredGoals(exp, c);
+                // new covered exceptions (goals) have to be added to the archive
+                if (!ExceptionCoverageFactory.getGoals().containsKey(exp.getKey())) {
+                    // let's update the newly discovered exceptions to ExceptionCoverageFactory
+                    ExceptionCoverageFactory.getGoals().put(exp.getKey(), exp);
+                }
+            }
+        }
+    }
+
+    /**
+     * Evaluates the test against the current targets, and against the children of
+     * the reached ones. Targets that are not reached remain in the current goals.
+     */
+    private void updateCurrentGoals(TestChromosome c, GeneticAlgorithm<TestChromosome> ga) {
         Set<TestFitnessFunction> visitedTargets = new LinkedHashSet<>(getUncoveredGoals().size() * 2);
 
         /*
@@ -405,7 +459,6 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
          */
         LinkedList<TestFitnessFunction> targets = new LinkedList<>(this.currentGoals);
 
-        // 1) We update the set of current goals.
         while (targets.size() > 0 && !ga.isFinished()) {
             // We evaluate the given test case against all current targets.
             // (There might have been serendipitous coverage of other targets, though.)
@@ -442,44 +495,46 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
                 currentGoals.add(target); // marks the goal as uncovered
             }
         }
+    }
 
-        // Removes all newly covered goals from the list of currently uncovered goals.
-        currentGoals.removeAll(this.getCoveredGoals());
+    /**
+     * Same as {@link #updateCurrentGoals}, but computes the fitness values of each
+     * wave of targets in parallel. The values are then applied to the chromosome
+     * in the order of the targets, which gives the same current goals and archive
+     * as the sequential evaluation.
+     */
+    private void updateCurrentGoalsInParallel(TestChromosome c, ExecutionResult result,
+                                              GeneticAlgorithm<TestChromosome> ga) {
+        Set<TestFitnessFunction> visitedTargets = new LinkedHashSet<>(getUncoveredGoals().size() * 2);
+        List<TestFitnessFunction> targets = new ArrayList<>(this.currentGoals);
 
-        // 2) We update the archive.
-        final ExecutionTrace trace = result.getTrace();
-        for (int branchid : trace.getCoveredFalseBranches()) {
-            TestFitnessFunction branch = this.branchCoverageFalseMap.get(branchid);
-            if (branch == null)
-                continue;
-            updateCoveredGoals(branch, c);
-        }
-        for (int branchid : trace.getCoveredTrueBranches()) {
-            TestFitnessFunction branch = this.branchCoverageTrueMap.get(branchid);
-            if (branch == null)
-                continue;
-            updateCoveredGoals(branch, c);
-        }
-        for (String method : trace.getCoveredBranchlessMethods()) {
-            TestFitnessFunction branch = this.branchlessMethodCoverageMap.get(method);
-            if (branch == null)
-                continue;
-            updateCoveredGoals(branch, c);
-        }
+        while (targets.size() > 0 && !ga.isFinished()) {
+            List<TestFitnessFunction> wave = new ArrayList<>(targets.size());
+            for (TestFitnessFunction target : targets) {
+                if (visitedTargets.add(target))
+                    wave.add(target);
+            }
 
-        // let's manage the exception coverage
-        if (ArrayUtil.contains(Properties.CRITERION, Criterion.EXCEPTION)) {
-            // if one of the coverage criterion is Criterion.EXCEPTION,
-            // then we have to analyze the results of the execution do look
-            // for generated exceptions
-            Set<ExceptionCoverageTestFitness> set = deriveCoveredExceptions(c);
-            for (ExceptionCoverageTestFitness exp : set) {
-                // let's update the list of fitness functions
-                updateCoveredGoals(exp, c);
-                // new covered exceptions (goals) have to be added to the archive
-                if (!ExceptionCoverageFactory.getGoals().containsKey(exp.getKey())) {
-                    // let's update the newly discovered exceptions to ExceptionCoverageFactory
-                    ExceptionCoverageFactory.getGoals().put(exp.getKey(), exp);
+            double[] values = ParallelGoalEvaluator.evaluate(wave, result);
+            targets = new ArrayList<>();
+            for (int i = 0; i < wave.size(); i++) {
+                TestFitnessFunction target = wave.get(i);
+                double fitness = values[i];
+                if (Double.isNaN(fitness) || fitness == 0.0) {
+                    // evaluated on the chromosome itself, to update the archive and the covered goals of the test
+                    fitness = target.getFitness(c);
+                } else {
+                    target.applyFitness(c, fitness);
+                }
+
+                if (fitness == 0.0) {
+                    updateCoveredGoals(target, c);
+                    if (target instanceof BranchCoverageTestFitness) {
+                        targets.addAll(graph.getStructuralChildren(target));
+                        targets.addAll(dependencies.get(target));
+                    }
+                } else {
+                    currentGoals.add(target);
                 }
             }
         }
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.metaheuristics.mosa.structural;
+
+import org.evosuite.Properties;
+import org.evosuite.coverage.mutation.StrongMutationTestFitness;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionTrace;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes the fitness values of an executed test for many goals at once, on a
+ * fork-join pool of {@link Properties#GOAL_EVALUATION_THREADS} threads.
+ * <p>
+ * Goals are partitioned by criterion, and each partition is evaluated against
+ * the execution result of the test on a private chromosome, so that the goals
+ * can update the individual without synchronization. The goals evaluated by
+ * the workers do not update the archive (see
+ * {@link TestFitnessFunction#setArchiveUpdateEnabled}): the caller is expected
+ * to apply the fitness values to the actual chromosome, and to re-evaluate the
+ * covered goals on it.
+ */
+final class ParallelGoalEvaluator {
+
+    /**
+     * Largest number of goals of a partition evaluated by a single task
+     */
+    private static final int MAX_TASK_SIZE = 128;
+
+    private static ForkJoinPool pool = null;
+
+    private ParallelGoalEvaluator() {
+    }
+
+    static boolean isEnabled() {
+        // the MIO archive also keeps track of the fitness of uncovered goals
+        return Properties.GOAL_EVALUATION_THREADS > 1 && Properties.ARCHIVE_TYPE != Properties.ArchiveType.MIO;
+    }
+
+    /**
+     * Whether the fitness of the goal only depends on the execution result of the test
+     */
+    static boolean canEvaluate(TestFitnessFunction goal) {
+        // strong mutation executes the test again on the mutants
+        return !(goal instanceof StrongMutationTestFitness);
+    }
+
+    /**
+     * @param goals  the goals to evaluate
+     * @param result the execution result of the test
+     * @return the fitness values of the goals, in the same order, or NaN for
+     * the goals that cannot be evaluated in parallel
+     */
+    static double[] evaluate(List<TestFitnessFunction> goals, ExecutionResult result) {
+        double[] fitness = new double[goals.size()];
+        Arrays.fill(fitness, Double.NaN);
+
+        Map<Class<?>, List<Integer>> partitions = new LinkedHashMap<>();
+        for (int i = 0; i < goals.size(); i++) {
+            TestFitnessFunction goal = goals.get(i);
+            if (canEvaluate(goal))
+                partitions.computeIfAbsent(goal.getClass(), c -> new ArrayList<>()).add(i);
+        }
+
+        List<EvaluationTask> tasks = new ArrayList<>();
+        for (List<Integer> partition : partitions.values()) {
+            for (int from = 0; from < partition.size(); from += MAX_TASK_SIZE) {
+                int to = Math.min(partition.size(), from + MAX_TASK_SIZE);
+                tasks.add(new EvaluationTask(goals, partition.subList(from, to), result, fitness));
+            }
+        }
+        if (tasks.isEmpty())
+            return fitness;
+
+        prepare(result.getTrace());
+        getPool().invoke(new RecursiveAction() {
+            private static final long serialVersionUID = -2473001561541347210L;
+
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+        return fitness;
+    }
+
+    /**
+     * Builds the views of the trace that are computed on first use, before
+     * the trace is shared between threads
+     */
+    private static void prepare(ExecutionTrace trace) {
+        trace.getCoverageData();
+        trace.getReturnData();
+        trace.getMethodExecutionCount();
+        trace.getCoveredBranchlessMethods();
+    }
+
+    private static synchronized ForkJoinPool getPool() {
+        if (pool == null || pool.getParallelism() != Properties.GOAL_EVALUATION_THREADS) {
+            if (pool != null)
+                pool.shutdown();
+            pool = new ForkJoinPool(Properties.GOAL_EVALUATION_THREADS);
+        }
+        return pool;
+    }
+
+    private static class EvaluationTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 5390311247436805561L;
+
+        private final List<TestFitnessFunction> goals;
+        private final List<Integer> indices;
+        private final ExecutionResult result;
+        private final double[] fitness;
+
+        EvaluationTask(List<TestFitnessFunction> goals, List<Integer> indices, ExecutionResult result,
+                       double[] fitness) {
+            this.goals = goals;
+            this.indices = indices;
+            this.result = result;
+            this.fitness = fitness;
+        }
+
+        @Override
+        protected void compute() {
+            // receives the fitness values and covered goals written by the goals
+            TestChromosome scratch = new TestChromosome();
+            boolean archive = TestFitnessFunction.setArchiveUpdateEnabled(false);
+            try {
+                for (int index : indices) {
+                    fitness[index] = goals.get(index).getFitness(scratch, result);
+                }
+            } finally {
+                TestFitnessFunction.setArchiveUpdateEnabled(archive);
+            }
+        }
+    }
+}
@@ -131,7 +131,7 @@ public abstract class StructuralGoalManager implements Serializable {
     protected void updateCoveredGoals(TestFitnessFunction f, TestChromosome tc) {
         // the next two lines are needed since that coverage information are used
         // during EvoSuite post-processing
-        tc.getTestCase().getCoveredGoals().add(f);
+        tc.addCoveredGoal(f);
 
         // update covered targets
         this.archive.updateArchive(f, tc, tc.getFitness(f));
@@ -23,6 +23,7 @@ import org.evosuite.Properties;
 import org.evosuite.graphs.ccfg.ClassControlFlowGraph;
 import org.evosuite.graphs.ccg.ClassCallGraph;
 import org.evosuite.graphs.cdg.ControlDependenceGraph;
+import org.evosuite.graphs.cdg.MethodDependenceTable;
 import org.evosuite.graphs.cfg.ActualControlFlowGraph;
 import org.evosuite.graphs.cfg.RawControlFlowGraph;
 import org.evosuite.setup.DependencyAnalysis;
@@ -181,6 +182,22 @@ public class GraphPool {
         return controlDependencies.get(className).get(methodName);
     }
 
+    /**
+     * Returns the {@link MethodDependenceTable} of the specified method, which is
+     * computed by its CDG the first time it is requested.
+     *
+     * @param className  the fully qualified name of the containing class
+     * @param methodName concatenation of method name and descriptor
+     * @return the table, or null if there is no CDG for the method
+     */
+    public MethodDependenceTable getDependenceTable(String className, String methodName) {
+        ControlDependenceGraph cdg = getCDG(className, methodName);
+        if (cdg == null)
+            return null;
+
+        return cdg.getMethodDependenceTable();
+    }
+
     // register graphs
 
     /**
@@ -20,6 +20,7 @@
 package org.evosuite.graphs.cdg;
 
 import org.evosuite.coverage.branch.Branch;
+import org.evosuite.coverage.branch.BranchPool;
 import org.evosuite.graphs.EvoSuiteGraph;
 import org.evosuite.graphs.cfg.*;
 import org.slf4j.Logger;
@@ -37,6 +38,16 @@ public class ControlDependenceGraph extends EvoSuiteGraph<BasicBlock, ControlFlo
     private final String className;
     private final String methodName;
 
+    /**
+     * Built on first use
+     */
+    private ControlDependenceTable dependenceTable = null;
+
+    /**
+     * Built on first use
+     */
+    private MethodDependenceTable methodTable = null;
+
     /**
      * <p>Constructor for ControlDependenceGraph.</p>
      *
@@ -53,6 +64,36 @@ public class ControlDependenceGraph extends EvoSuiteGraph<BasicBlock, ControlFlo
         // TODO check sanity
     }
 
+    /**
+     * Returns the branches of the method with their control dependencies,
+     * in a form suited to compute the distances to all of them at once
+     *
+     * @return
+     */
+    public synchronized ControlDependenceTable getControlDependenceTable() {
+        if (dependenceTable == null) {
+            dependenceTable = new ControlDependenceTable(className, methodName,
+                    cfg.getDiameter(), BranchPool.getInstance(cfg.getClassLoader())
+                    .retrieveBranchesInMethod(className, methodName));
+        }
+        return dependenceTable;
+    }
+
+    /**
+     * Returns the dominators, control dependencies and branch distances of the
+     * method in array form, so that they can be queried without walking the
+     * graphs
+     *
+     * @return
+     */
+    public synchronized MethodDependenceTable getMethodDependenceTable() {
+        if (methodTable == null) {
+            methodTable = new MethodDependenceTable(cfg, this, BranchPool.getInstance(cfg.getClassLoader())
+                    .retrieveBranchesInMethod(className, methodName));
+        }
+        return methodTable;
+    }
+
     /**
      * Convenience method redirecting to getControlDependentBranches(BasicBlock)
      * if the given instruction is known to this CDG. Otherwise an
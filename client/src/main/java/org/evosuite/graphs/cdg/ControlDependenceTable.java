@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.graphs.cdg;
+
+import org.evosuite.coverage.branch.Branch;
+import org.evosuite.graphs.cfg.ControlDependency;
+
+import java.util.*;
+
+/**
+ * The branches of a method and their control dependencies, stored in arrays
+ * indexed by a dense local index, so that distances to all the branches of the
+ * method can be computed in one pass over a method call.
+ * <p>
+ * Control dependencies of a branch on its own instruction (loops) are left out.
+ */
+public class ControlDependenceTable {
+
+    private final String className;
+
+    private final String methodName;
+
+    private final int diameter;
+
+    private final Branch[] branches;
+
+    /**
+     * Local index of a branch, at position actualBranchId - minBranchId
+     */
+    private final int[] localIndices;
+
+    private final int minBranchId;
+
+    /**
+     * For each branch, the branches it is control dependent on, encoded as
+     * 2 * localIndex + (branchExpressionValue ? 1 : 0)
+     */
+    private final int[][] dependencies;
+
+    /**
+     * For each branch, the branches that are control dependent on it, encoded
+     * as 2 * localIndex + (branchExpressionValue ? 1 : 0)
+     */
+    private final int[][] dependents;
+
+    /**
+     * @param className
+     * @param methodName
+     * @param diameter   diameter of the CFG of the method
+     * @param branches   the branches of the method
+     */
+    public ControlDependenceTable(String className, String methodName, int diameter,
+                                  Collection<Branch> branches) {
+        this.className = className;
+        this.methodName = methodName;
+        this.diameter = diameter;
+
+        // Dependencies are normally all in the same method, but make sure
+        // every branch we may reach is in the table
+        Map<Branch, Integer> indices = new LinkedHashMap<>();
+        Deque<Branch> toVisit = new ArrayDeque<>(branches);
+        while (!toVisit.isEmpty()) {
+            Branch branch = toVisit.poll();
+            if (indices.containsKey(branch))
+                continue;
+            indices.put(branch, indices.size());
+            for (ControlDependency cd : branch.getInstruction().getControlDependencies()) {
+                toVisit.add(cd.getBranch());
+            }
+        }
+
+        this.branches = indices.keySet().toArray(new Branch[0]);
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (Branch branch : this.branches) {
+            min = Math.min(min, branch.getActualBranchId());
+            max = Math.max(max, branch.getActualBranchId());
+        }
+        this.minBranchId = this.branches.length == 0 ? 0 : min;
+        this.localIndices = new int[this.branches.length == 0 ? 0 : max - min + 1];
+        Arrays.fill(localIndices, -1);
+
+        this.dependencies = new int[this.branches.length][];
+        List<List<Integer>> dependentLists = new ArrayList<>(this.branches.length);
+        for (int i = 0; i < this.branches.length; i++) {
+            dependentLists.add(new ArrayList<>());
+        }
+        for (int i = 0; i < this.branches.length; i++) {
+            Branch branch = this.branches[i];
+            localIndices[branch.getActualBranchId() - minBranchId] = i;
+            List<Integer> cds = new ArrayList<>();
+            for (ControlDependency cd : branch.getInstruction().getControlDependencies()) {
+                if (branch.getInstruction().equals(cd.getBranch().getInstruction()))
+                    continue; // avoid loops
+                int parent = indices.get(cd.getBranch());
+                int value = cd.getBranchExpressionValue() ? 1 : 0;
+                cds.add(2 * parent + value);
+                dependentLists.get(parent).add(2 * i + value);
+            }
+            dependencies[i] = toArray(cds);
+        }
+        this.dependents = new int[this.branches.length][];
+        for (int i = 0; i < this.branches.length; i++) {
+            dependents[i] = toArray(dependentLists.get(i));
+        }
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * @return diameter of the CFG of the method
+     */
+    public int getDiameter() {
+        return diameter;
+    }
+
+    /**
+     * @return number of branches in the table
+     */
+    public int size() {
+        return branches.length;
+    }
+
+    public Branch getBranch(int localIndex) {
+        return branches[localIndex];
+    }
+
+    /**
+     * @param actualBranchId
+     * @return the local index of the branch with the given id, or -1 if
+     * it is not a branch of this table
+     */
+    public int getLocalIndex(int actualBranchId) {
+        int offset = actualBranchId - minBranchId;
+        if (offset < 0 || offset >= localIndices.length)
+            return -1;
+        return localIndices[offset];
+    }
+
+    /**
+     * @param localIndex
+     * @return the encoded control dependencies of the branch, empty if it
+     * only depends on the root branch
+     */
+    public int[] getDependencies(int localIndex) {
+        return dependencies[localIndex];
+    }
+
+    /**
+     * @param localIndex
+     * @return the encoded branches that are control dependent on the branch
+     */
+    public int[] getDependents(int localIndex) {
+        return dependents[localIndex];
+    }
+}
@@ -0,0 +1,573 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.graphs.cdg;
+
+import org.evosuite.coverage.branch.Branch;
+import org.evosuite.graphs.cfg.ActualControlFlowGraph;
+import org.evosuite.graphs.cfg.BasicBlock;
+import org.evosuite.graphs.cfg.BytecodeInstruction;
+import org.evosuite.graphs.cfg.ControlDependency;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Dominators, post-dominators and control dependencies of the instructions of
+ * one method, and the distances between its branches, stored in arrays indexed
+ * by instruction id. The table is computed once from the CFG and CDG of the
+ * method and only holds primitive values, so that it can be serialized and
+ * queried without walking the graphs.
+ * <p>
+ * Control dependencies are encoded as 2 * actualBranchId + (branchExpressionValue ? 1 : 0).
+ */
+public class MethodDependenceTable implements Serializable {
+
+    private static final long serialVersionUID = 2376484436571328713L;
+
+    private final String className;
+
+    private final String methodName;
+
+    /**
+     * Block index of each instruction, or -1 if the instruction is not in the CFG
+     */
+    private final int[] blockOf;
+
+    /**
+     * Position of each instruction within its block
+     */
+    private final int[] positions;
+
+    /**
+     * Instruction ids of each block in order, empty for the entry and exit blocks
+     */
+    private final int[][] blockInstructions;
+
+    private final int[] immediateDominators;
+
+    private final int[] immediatePostDominators;
+
+    /**
+     * Pre- and post-order numbers of the blocks in the dominator tree, -1 if unreachable
+     */
+    private final int[] dominatorPre;
+
+    private final int[] dominatorPost;
+
+    private final int[] postDominatorPre;
+
+    private final int[] postDominatorPost;
+
+    /**
+     * Encoded control dependencies of each block
+     */
+    private final int[][] dependencies;
+
+    private final boolean[] rootDependent;
+
+    private final int[] cdgDepths;
+
+    /**
+     * Sorted actual ids of the branches of the method
+     */
+    private final int[] branchIds;
+
+    /**
+     * Number of CFG edges from the block of one branch to the block of another,
+     * -1 if unreachable, at index from * branchIds.length + to
+     */
+    private final int[] branchDistances;
+
+    /**
+     * Actual ids of the branches met first when walking the CFG backwards from
+     * the block of each branch, indexed as branchIds; -1 stands for the method
+     * entry or a branch that is not in the BranchPool
+     */
+    private final int[][] precedingBranches;
+
+    /**
+     * @param cfg      the CFG of the method
+     * @param cdg      the CDG computed from the CFG
+     * @param branches the branches of the method
+     */
+    public MethodDependenceTable(ActualControlFlowGraph cfg, ControlDependenceGraph cdg,
+                                 Collection<Branch> branches) {
+        this.className = cfg.getClassName();
+        this.methodName = cfg.getMethodName();
+
+        List<BasicBlock> blocks = new ArrayList<>(cfg.vertexSet());
+        Map<BasicBlock, Integer> blockIndices = new HashMap<>();
+        int maxId = -1;
+        for (BasicBlock block : blocks) {
+            blockIndices.put(block, blockIndices.size());
+            if (!block.isEntryBlock() && !block.isExitBlock()) {
+                for (BytecodeInstruction instruction : block) {
+                    maxId = Math.max(maxId, instruction.getInstructionId());
+                }
+            }
+        }
+        int size = blocks.size();
+
+        blockOf = new int[maxId + 1];
+        positions = new int[maxId + 1];
+        Arrays.fill(blockOf, -1);
+        blockInstructions = new int[size][];
+        dependencies = new int[size][];
+        rootDependent = new boolean[size];
+        cdgDepths = new int[size];
+        int[][] successors = new int[size][];
+        int[][] predecessors = new int[size][];
+        boolean[] containsBranch = new boolean[size];
+        int[] blockBranches = new int[size];
+        Arrays.fill(blockBranches, -1);
+        int entry = -1;
+        int exit = -1;
+        Map<Branch, Integer> depths = new HashMap<>();
+
+        for (int b = 0; b < size; b++) {
+            BasicBlock block = blocks.get(b);
+            successors[b] = indicesOf(cfg.getChildren(block), blockIndices);
+            predecessors[b] = indicesOf(cfg.getParents(block), blockIndices);
+            if (block.isEntryBlock() || block.isExitBlock()) {
+                if (block.isEntryBlock())
+                    entry = b;
+                else
+                    exit = b;
+                blockInstructions[b] = new int[0];
+                dependencies[b] = new int[0];
+                cdgDepths[b] = 1;
+                continue;
+            }
+
+            List<Integer> ids = new ArrayList<>();
+            boolean branchFound = false;
+            for (BytecodeInstruction instruction : block) {
+                blockOf[instruction.getInstructionId()] = b;
+                positions[instruction.getInstructionId()] = ids.size();
+                ids.add(instruction.getInstructionId());
+
+                // Same results as BranchFitnessGraph.containsBranches() and extractBranch()
+                Branch branch = instruction.toBranch();
+                if (branch != null)
+                    containsBranch[b] = true;
+                if (!branchFound && (instruction.isBranch() || instruction.isActualBranch())) {
+                    branchFound = true;
+                    if (branch != null)
+                        blockBranches[b] = branch.getActualBranchId();
+                }
+            }
+            blockInstructions[b] = toArray(ids);
+
+            // Same results as BytecodeInstruction.getControlDependencies() and getCDGDepth()
+            Set<ControlDependency> cds = cdg.getControlDependentBranches(block);
+            List<Integer> encoded = new ArrayList<>();
+            int depth = cds.isEmpty() ? 1 : Integer.MAX_VALUE;
+            for (ControlDependency cd : cds) {
+                encoded.add(2 * cd.getBranch().getActualBranchId() + (cd.getBranchExpressionValue() ? 1 : 0));
+                Integer branchDepth = depths.get(cd.getBranch());
+                if (branchDepth == null) {
+                    branchDepth = cdg.getControlDependenceDepth(cd);
+                    depths.put(cd.getBranch(), branchDepth);
+                }
+                depth = Math.min(depth, branchDepth);
+            }
+            dependencies[b] = toArray(encoded);
+            rootDependent[b] = cdg.isRootDependent(block);
+            cdgDepths[b] = depth;
+        }
+
+        dominatorPre = new int[size];
+        dominatorPost = new int[size];
+        immediateDominators = computeImmediateDominators(entry, successors, predecessors);
+        numberTree(entry, immediateDominators, dominatorPre, dominatorPost);
+
+        postDominatorPre = new int[size];
+        postDominatorPost = new int[size];
+        immediatePostDominators = computeImmediateDominators(exit, predecessors, successors);
+        numberTree(exit, immediatePostDominators, postDominatorPre, postDominatorPost);
+
+        SortedSet<Integer> ids = new TreeSet<>();
+        for (Branch branch : branches) {
+            int id = branch.getInstruction().getInstructionId();
+            if (id < blockOf.length && blockOf[id] >= 0)
+                ids.add(branch.getActualBranchId());
+        }
+        branchIds = toArray(new ArrayList<>(ids));
+        int[] branchBlocks = new int[branchIds.length];
+        for (Branch branch : branches) {
+            int index = Arrays.binarySearch(branchIds, branch.getActualBranchId());
+            if (index >= 0)
+                branchBlocks[index] = blockOf[branch.getInstruction().getInstructionId()];
+        }
+        branchDistances = new int[branchIds.length * branchIds.length];
+        precedingBranches = new int[branchIds.length][];
+        for (int i = 0; i < branchIds.length; i++) {
+            int[] distances = distancesFrom(branchBlocks[i], successors);
+            for (int j = 0; j < branchIds.length; j++) {
+                branchDistances[i * branchIds.length + j] = distances[branchBlocks[j]];
+            }
+            precedingBranches[i] = precedingBranchesOf(branchBlocks[i], predecessors, containsBranch,
+                    blockBranches);
+        }
+    }
+
+    private static int[] indicesOf(Set<BasicBlock> blocks, Map<BasicBlock, Integer> blockIndices) {
+        int[] indices = new int[blocks.size()];
+        int i = 0;
+        for (BasicBlock block : blocks) {
+            indices[i++] = blockIndices.get(block);
+        }
+        return indices;
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Iterative dominator computation of Cooper, Harvey and Kennedy ("A Simple,
+     * Fast Dominance Algorithm").
+     *
+     * @return the immediate dominator of each node, -1 for the root and
+     * nodes that can't be reached from it
+     */
+    private static int[] computeImmediateDominators(int root, int[][] successors, int[][] predecessors) {
+        int size = successors.length;
+        int[] idom = new int[size];
+        Arrays.fill(idom, -1);
+        if (root < 0)
+            return idom;
+
+        // Post-order numbering by iterative depth first search
+        int[] postOrder = new int[size];
+        Arrays.fill(postOrder, -1);
+        int[] order = new int[size];
+        int count = 0;
+        boolean[] visited = new boolean[size];
+        int[] stack = new int[size];
+        int[] next = new int[size];
+        int top = 0;
+        stack[top++] = root;
+        visited[root] = true;
+        while (top > 0) {
+            int node = stack[top - 1];
+            if (next[node] < successors[node].length) {
+                int child = successors[node][next[node]++];
+                if (!visited[child]) {
+                    visited[child] = true;
+                    stack[top++] = child;
+                }
+            } else {
+                top--;
+                postOrder[node] = count;
+                order[count++] = node;
+            }
+        }
+
+        idom[root] = root;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            // Reverse post-order, without the root
+            for (int i = count - 2; i >= 0; i--) {
+                int node = order[i];
+                int newIdom = -1;
+                for (int pred : predecessors[node]) {
+                    if (idom[pred] < 0)
+                        continue;
+                    if (newIdom < 0) {
+                        newIdom = pred;
+                    } else {
+                        int a = pred;
+                        int b = newIdom;
+                        while (a != b) {
+                            while (postOrder[a] < postOrder[b])
+                                a = idom[a];
+                            while (postOrder[b] < postOrder[a])
+                                b = idom[b];
+                        }
+                        newIdom = a;
+                    }
+                }
+                if (idom[node] != newIdom) {
+                    idom[node] = newIdom;
+                    changed = true;
+                }
+            }
+        }
+        idom[root] = -1;
+        return idom;
+    }
+
+    /**
+     * Number the nodes of the tree given by idom in pre- and post-order, so that a node
+     * dominates another one if its interval contains the interval of the other one
+     */
+    private static void numberTree(int root, int[] idom, int[] pre, int[] post) {
+        int size = idom.length;
+        Arrays.fill(pre, -1);
+        Arrays.fill(post, -1);
+        if (root < 0)
+            return;
+
+        int[] childCount = new int[size + 1];
+        for (int node = 0; node < size; node++) {
+            if (idom[node] >= 0)
+                childCount[idom[node] + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            childCount[i + 1] += childCount[i];
+        }
+        int[] children = new int[size];
+        int[] fill = Arrays.copyOf(childCount, size);
+        for (int node = 0; node < size; node++) {
+            if (idom[node] >= 0)
+                children[fill[idom[node]]++] = node;
+        }
+
+        int counter = 0;
+        int[] stack = new int[size];
+        int[] next = new int[size];
+        int top = 0;
+        stack[top++] = root;
+        pre[root] = counter++;
+        while (top > 0) {
+            int node = stack[top - 1];
+            if (childCount[node] + next[node] < childCount[node + 1]) {
+                int child = children[childCount[node] + next[node]++];
+                pre[child] = counter++;
+                stack[top++] = child;
+            } else {
+                top--;
+                post[node] = counter++;
+            }
+        }
+    }
+
+    /**
+     * @return the number of edges from the given node to each node, -1 if unreachable
+     */
+    private static int[] distancesFrom(int source, int[][] successors) {
+        int[] distances = new int[successors.length];
+        Arrays.fill(distances, -1);
+        int[] queue = new int[successors.length];
+        int head = 0;
+        int tail = 0;
+        distances[source] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int node = queue[head++];
+            for (int child : successors[node]) {
+                if (distances[child] < 0) {
+                    distances[child] = distances[node] + 1;
+                    queue[tail++] = child;
+                }
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Walks the CFG backwards from the given block and stops at the blocks that
+     * contain a branch, and at blocks without predecessors
+     *
+     * @return the sorted branch ids of the blocks where the walk stopped
+     */
+    private static int[] precedingBranchesOf(int source, int[][] predecessors, boolean[] containsBranch,
+                                             int[] blockBranches) {
+        if (predecessors[source].length == 0)
+            return new int[]{blockBranches[source]};
+
+        SortedSet<Integer> found = new TreeSet<>();
+        boolean[] visited = new boolean[predecessors.length];
+        int[] queue = new int[predecessors.length];
+        int head = 0;
+        int tail = 0;
+        for (int parent : predecessors[source]) {
+            if (!visited[parent]) {
+                visited[parent] = true;
+                queue[tail++] = parent;
+            }
+        }
+        while (head < tail) {
+            int node = queue[head++];
+            if (containsBranch[node] || predecessors[node].length == 0) {
+                found.add(blockBranches[node]);
+                continue;
+            }
+            for (int parent : predecessors[node]) {
+                if (!visited[parent]) {
+                    visited[parent] = true;
+                    queue[tail++] = parent;
+                }
+            }
+        }
+        return toArray(new ArrayList<>(found));
+    }
+
+    private static boolean contains(int[] pre, int[] post, int ancestor, int node) {
+        return pre[ancestor] >= 0 && pre[node] >= 0
+                && pre[ancestor] <= pre[node] && post[node] <= post[ancestor];
+    }
+
+    private int blockOf(int instructionId) {
+        if (!knowsInstruction(instructionId))
+            throw new IllegalArgumentException("Instruction " + instructionId + " is not in the CFG of "
+                    + className + "." + methodName);
+        return blockOf[instructionId];
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * @param instructionId
+     * @return whether the instruction is part of a basic block of the CFG
+     */
+    public boolean knowsInstruction(int instructionId) {
+        return instructionId >= 0 && instructionId < blockOf.length && blockOf[instructionId] >= 0;
+    }
+
+    /**
+     * @return whether every path from the method entry to instruction b passes instruction a
+     */
+    public boolean dominates(int a, int b) {
+        int blockA = blockOf(a);
+        int blockB = blockOf(b);
+        if (blockA == blockB)
+            return positions[a] <= positions[b];
+        return contains(dominatorPre, dominatorPost, blockA, blockB);
+    }
+
+    /**
+     * @return whether every path from instruction b to the method exit passes instruction a
+     */
+    public boolean postDominates(int a, int b) {
+        int blockA = blockOf(a);
+        int blockB = blockOf(b);
+        if (blockA == blockB)
+            return positions[a] >= positions[b];
+        return contains(postDominatorPre, postDominatorPost, blockA, blockB);
+    }
+
+    /**
+     * @return the id of the immediate dominator of the instruction, or -1 if
+     * it is the first instruction of the method
+     */
+    public int getImmediateDominator(int instructionId) {
+        int block = blockOf(instructionId);
+        if (positions[instructionId] > 0)
+            return blockInstructions[block][positions[instructionId] - 1];
+        for (block = immediateDominators[block]; block >= 0; block = immediateDominators[block]) {
+            if (blockInstructions[block].length > 0)
+                return blockInstructions[block][blockInstructions[block].length - 1];
+        }
+        return -1;
+    }
+
+    /**
+     * @return the id of the immediate post-dominator of the instruction, or -1
+     * if the method may exit after it
+     */
+    public int getImmediatePostDominator(int instructionId) {
+        int block = blockOf(instructionId);
+        if (positions[instructionId] < blockInstructions[block].length - 1)
+            return blockInstructions[block][positions[instructionId] + 1];
+        for (block = immediatePostDominators[block]; block >= 0; block = immediatePostDominators[block]) {
+            if (blockInstructions[block].length > 0)
+                return blockInstructions[block][0];
+        }
+        return -1;
+    }
+
+    /**
+     * @return the encoded control dependencies of the instruction, empty if it
+     * only depends on the root branch. The array must not be modified.
+     */
+    public int[] getControlDependencies(int instructionId) {
+        return dependencies[blockOf(instructionId)];
+    }
+
+    /**
+     * @return whether the instruction is control dependent on the root branch of the method
+     */
+    public boolean isRootDependent(int instructionId) {
+        return rootDependent[blockOf(instructionId)];
+    }
+
+    /**
+     * @return whether the instruction is directly control dependent on the branch
+     * with the given id, for either outcome of the branch
+     */
+    public boolean isDirectlyControlDependentOn(int instructionId, int actualBranchId) {
+        for (int dependency : dependencies[blockOf(instructionId)]) {
+            if (dependency >> 1 == actualBranchId)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the depth of the instruction in the CDG, as BytecodeInstruction.getCDGDepth()
+     */
+    public int getCDGDepth(int instructionId) {
+        return cdgDepths[blockOf(instructionId)];
+    }
+
+    /**
+     * @return the actual ids of the branches of the method, sorted. The array must not be modified.
+     */
+    public int[] getBranchIds() {
+        return branchIds;
+    }
+
+    /**
+     * @return the number of CFG edges on the shortest path from the block of one branch
+     * to the block of another, or -1 if there is no path
+     */
+    public int getBranchDistance(int fromBranchId, int toBranchId) {
+        int from = Arrays.binarySearch(branchIds, fromBranchId);
+        int to = Arrays.binarySearch(branchIds, toBranchId);
+        if (from < 0 || to < 0)
+            throw new IllegalArgumentException("Unknown branch in " + className + "." + methodName);
+        return branchDistances[from * branchIds.length + to];
+    }
+
+    /**
+     * @return the sorted actual ids of the branches that are met first when walking
+     * the CFG backwards from the given branch, with -1 for the method entry. The
+     * array must not be modified.
+     */
+    public int[] getPrecedingBranches(int actualBranchId) {
+        int index = Arrays.binarySearch(branchIds, actualBranchId);
+        if (index < 0)
+            throw new IllegalArgumentException("Unknown branch in " + className + "." + methodName);
+        return precedingBranches[index];
+    }
+}
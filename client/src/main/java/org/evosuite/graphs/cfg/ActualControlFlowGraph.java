@@ -97,6 +97,13 @@ public class ActualControlFlowGraph extends ControlFlowGraph<BasicBlock> {
         computeGraph();
     }
 
+    /**
+     * @return the class loader of the method, null for a reversed CFG
+     */
+    public ClassLoader getClassLoader() {
+        return rawGraph == null ? null : rawGraph.getClassLoader();
+    }
+
     // "revert" constructor ... for now ... TODO
 
     /**
@@ -24,6 +24,7 @@ import org.evosuite.coverage.branch.BranchPool;
 import org.evosuite.coverage.dataflow.DefUsePool;
 import org.evosuite.graphs.GraphPool;
 import org.evosuite.graphs.cdg.ControlDependenceGraph;
+import org.evosuite.graphs.cdg.MethodDependenceTable;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.*;
 import org.objectweb.asm.tree.analysis.SourceValue;
@@ -412,6 +413,18 @@ public class BytecodeInstruction extends ASMWrapper implements Serializable,
         return myCDG;
     }
 
+    /**
+     * Returns the MethodDependenceTable of this instructions method
+     * <p>
+     * Convenience method. Redirects the call to
+     * ControlDependenceGraph.getMethodDependenceTable()
+     *
+     * @return a {@link org.evosuite.graphs.cdg.MethodDependenceTable} object.
+     */
+    public MethodDependenceTable getDependenceTable() {
+        return getCDG().getMethodDependenceTable();
+    }
+
     // --- CDG-Section ---
 
     /**
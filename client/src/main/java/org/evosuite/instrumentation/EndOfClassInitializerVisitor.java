@@ -19,6 +19,7 @@
  */
 package org.evosuite.instrumentation;
 
+import org.evosuite.runtime.StaticInitGuard;
 import org.evosuite.testcase.execution.ExecutionTracer;
 import org.objectweb.asm.*;
 import org.slf4j.Logger;
@@ -74,6 +75,7 @@ public class EndOfClassInitializerVisitor extends ClassVisitor {
                 String executionTracerDescriptor = Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(String.class));
 
                 String classNameWithDots = className.replace('/', '.');
+                super.visitMethodInsn(INVOKESTATIC, STATIC_INIT_GUARD, "exit", "()V", false);
                 super.visitLdcInsn(classNameWithDots);
                 super.visitMethodInsn(INVOKESTATIC, executionTracerClassName, EXIT_CLASS_INIT,
                         executionTracerDescriptor, false);
@@ -87,6 +89,7 @@ public class EndOfClassInitializerVisitor extends ClassVisitor {
             super.visitCode();
             if (methodName.equals("<clinit>")) {
 
+                super.visitMethodInsn(INVOKESTATIC, STATIC_INIT_GUARD, "enter", "()V", false);
                 startingTryLabel = new Label();
                 endingTryLabel = new Label();
                 super.visitLabel(startingTryLabel);
@@ -101,6 +104,7 @@ public class EndOfClassInitializerVisitor extends ClassVisitor {
                 String executionTracerDescriptor = Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(String.class));
 
                 String classNameWithDots = className.replace('/', '.');
+                super.visitMethodInsn(INVOKESTATIC, STATIC_INIT_GUARD, "exit", "()V", false);
                 super.visitLdcInsn(classNameWithDots);
                 super.visitMethodInsn(INVOKESTATIC, executionTracerClassName, EXIT_CLASS_INIT,
                         executionTracerDescriptor, false);
@@ -177,6 +181,8 @@ public class EndOfClassInitializerVisitor extends ClassVisitor {
 
     private static final String EXIT_CLASS_INIT = "exitClassInit";
 
+    private static final String STATIC_INIT_GUARD = Type.getInternalName(StaticInitGuard.class);
+
     @Override
     public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
         super.visit(version, access, name, signature, superName, interfaces);
@@ -20,6 +20,7 @@
 
 package org.evosuite.instrumentation;
 
+import org.evosuite.runtime.StaticInitGuard;
 import org.evosuite.testcase.execution.ExecutionTracer;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
@@ -40,6 +41,8 @@ import static org.objectweb.asm.Opcodes.INVOKESTATIC;
 public class ExitClassInitMethodAdapter extends MethodVisitor {
 
     private static final String EXIT_CLASS_INIT = "exitClassInit";
+
+    private static final String STATIC_INIT_GUARD = Type.getInternalName(StaticInitGuard.class);
     private final String className;
     private final String methodName;
     private Label startingTryLabel;
@@ -69,6 +72,7 @@ public class ExitClassInitMethodAdapter extends MethodVisitor {
                     Type.VOID_TYPE, Type.getType(String.class));
 
             String classNameWithDots = className.replace('/', '.');
+            super.visitMethodInsn(INVOKESTATIC, STATIC_INIT_GUARD, "exit", "()V", false);
             super.visitLdcInsn(classNameWithDots);
             super.visitMethodInsn(INVOKESTATIC, executionTracerClassName,
                     EXIT_CLASS_INIT, executionTracerDescriptor, false);
@@ -82,6 +86,7 @@ public class ExitClassInitMethodAdapter extends MethodVisitor {
         super.visitCode();
         if (methodName.equals("<clinit>")) {
 
+            super.visitMethodInsn(INVOKESTATIC, STATIC_INIT_GUARD, "enter", "()V", false);
             startingTryLabel = new Label();
             endingTryLabel = new Label();
             super.visitLabel(startingTryLabel);
@@ -98,6 +103,7 @@ public class ExitClassInitMethodAdapter extends MethodVisitor {
                     Type.VOID_TYPE, Type.getType(String.class));
 
             String classNameWithDots = className.replace('/', '.');
+            super.visitMethodInsn(INVOKESTATIC, STATIC_INIT_GUARD, "exit", "()V", false);
             super.visitLdcInsn(classNameWithDots);
             super.visitMethodInsn(INVOKESTATIC, executionTracerClassName,
                     EXIT_CLASS_INIT, executionTracerDescriptor, false);
@@ -47,6 +47,8 @@ public class LineNumberMethodAdapter extends MethodVisitor {
 
     private final String className;
 
+    private final int methodId;
+
     private boolean hadInvokeSpecial = false;
 
     private final List<Integer> skippedLines = new ArrayList<>();
@@ -67,18 +69,19 @@ public class LineNumberMethodAdapter extends MethodVisitor {
         fullMethodName = methodName + desc;
         this.className = className;
         this.methodName = methodName;
+        this.methodId = MethodRegistry.register(className, fullMethodName);
         if (!methodName.equals("<init>"))
             hadInvokeSpecial = true;
     }
 
     private void addLineNumberInstrumentation(int line) {
         LinePool.addLine(className, fullMethodName, line);
-        this.visitLdcInsn(className);
-        this.visitLdcInsn(fullMethodName);
+        MethodRegistry.addLine(methodId, line);
+        this.visitLdcInsn(methodId);
         this.visitLdcInsn(line);
         mv.visitMethodInsn(Opcodes.INVOKESTATIC,
                 PackageInfo.getNameWithSlash(ExecutionTracer.class),
-                "passedLine", "(Ljava/lang/String;Ljava/lang/String;I)V", false);
+                "passedLine", "(II)V", false);
     }
 
     /**
@@ -40,6 +40,7 @@ public class MethodEntryAdapter extends AdviceAdapter {
     String className;
     String methodName;
     String fullMethodName;
+    int methodId;
     int access;
 
     /**
@@ -57,6 +58,7 @@ public class MethodEntryAdapter extends AdviceAdapter {
         this.className = className;
         this.methodName = methodName;
         this.fullMethodName = methodName + desc;
+        this.methodId = MethodRegistry.register(className, fullMethodName);
         this.access = access;
     }
 
@@ -69,8 +71,7 @@ public class MethodEntryAdapter extends AdviceAdapter {
         if (methodName.equals("<clinit>"))
             return; // FIXXME: Should we call super.onMethodEnter() here?
 
-        mv.visitLdcInsn(className);
-        mv.visitLdcInsn(fullMethodName);
+        mv.visitLdcInsn(methodId);
         if ((access & Opcodes.ACC_STATIC) > 0) {
             mv.visitInsn(Opcodes.ACONST_NULL);
         } else {
@@ -79,7 +80,7 @@ public class MethodEntryAdapter extends AdviceAdapter {
         mv.visitMethodInsn(Opcodes.INVOKESTATIC,
                 PackageInfo.getNameWithSlash(ExecutionTracer.class),
                 "enteredMethod",
-                "(Ljava/lang/String;Ljava/lang/String;Ljava/lang/Object;)V", false);
+                "(ILjava/lang/Object;)V", false);
 
         super.onMethodEnter();
     }
@@ -93,11 +94,10 @@ public class MethodEntryAdapter extends AdviceAdapter {
 
         if (opcode != Opcodes.ATHROW) {
 
-            mv.visitLdcInsn(className);
-            mv.visitLdcInsn(fullMethodName);
+            mv.visitLdcInsn(methodId);
             mv.visitMethodInsn(Opcodes.INVOKESTATIC,
                     PackageInfo.getNameWithSlash(org.evosuite.testcase.execution.ExecutionTracer.class),
-                    "leftMethod", "(Ljava/lang/String;Ljava/lang/String;)V", false);
+                    "leftMethod", "(I)V", false);
         }
         super.onMethodExit(opcode);
     }
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns an int id to each instrumented method, so that the callbacks in the
+ * instrumented code do not need to pass class and method names.
+ * <p>
+ * Ids are handed out during instrumentation and are never reused, as classes
+ * instrumented for an earlier class loader keep the ids in their bytecode.
+ */
+public class MethodRegistry {
+
+    private static final Map<String, Integer> ids = new HashMap<>();
+
+    private static volatile String[] classNames = new String[256];
+
+    private static volatile String[] methodNames = new String[256];
+
+    /**
+     * className + "." + methodName, as used by the traces
+     */
+    private static volatile String[] qualifiedNames = new String[256];
+
+    /**
+     * Lowest line number of each method, or -1 if no line has been seen
+     */
+    private static volatile int[] firstLines = newLines(256);
+
+    private static volatile int[] lastLines = newLines(256);
+
+    private static volatile int size = 0;
+
+    private MethodRegistry() {
+    }
+
+    private static int[] newLines(int length) {
+        int[] lines = new int[length];
+        Arrays.fill(lines, -1);
+        return lines;
+    }
+
+    /**
+     * Returns the id of the given method, registering it if necessary
+     *
+     * @param className  a {@link java.lang.String} object.
+     * @param methodName name and descriptor of the method
+     * @return a int.
+     */
+    public static synchronized int register(String className, String methodName) {
+        String qualifiedName = className + "." + methodName;
+        Integer id = ids.get(qualifiedName);
+        if (id != null)
+            return id;
+
+        int methodId = size;
+        if (methodId == classNames.length) {
+            int length = 2 * methodId;
+            classNames = Arrays.copyOf(classNames, length);
+            methodNames = Arrays.copyOf(methodNames, length);
+            qualifiedNames = Arrays.copyOf(qualifiedNames, length);
+            int[] first = newLines(length);
+            System.arraycopy(firstLines, 0, first, 0, methodId);
+            firstLines = first;
+            int[] last = newLines(length);
+            System.arraycopy(lastLines, 0, last, 0, methodId);
+            lastLines = last;
+        }
+        classNames[methodId] = className;
+        methodNames[methodId] = methodName;
+        qualifiedNames[methodId] = qualifiedName;
+        ids.put(qualifiedName, methodId);
+        size = methodId + 1;
+        return methodId;
+    }
+
+    /**
+     * Record that the method contains the given line
+     *
+     * @param methodId a int.
+     * @param line     a int.
+     */
+    public static synchronized void addLine(int methodId, int line) {
+        if (firstLines[methodId] < 0 || line < firstLines[methodId])
+            firstLines[methodId] = line;
+        if (line > lastLines[methodId])
+            lastLines[methodId] = line;
+    }
+
+    /**
+     * @return the number of registered methods
+     */
+    public static int size() {
+        return size;
+    }
+
+    public static String getClassName(int methodId) {
+        return classNames[methodId];
+    }
+
+    public static String getMethodName(int methodId) {
+        return methodNames[methodId];
+    }
+
+    /**
+     * @return className + "." + methodName of the method
+     */
+    public static String getQualifiedName(int methodId) {
+        return qualifiedNames[methodId];
+    }
+
+    /**
+     * @return the lowest line of the method, or -1 if it has no lines
+     */
+    public static int getFirstLine(int methodId) {
+        return firstLines[methodId];
+    }
+
+    /**
+     * @return the highest line of the method, or -1 if it has no lines
+     */
+    public static int getLastLine(int methodId) {
+        return lastLines[methodId];
+    }
+}
@@ -38,6 +38,8 @@ public class ReturnValueAdapter extends MethodVisitor {
 
     private final String fullMethodName;
 
+    private final int methodId;
+
     protected String className;
 
     protected String methodName;
@@ -56,6 +58,7 @@ public class ReturnValueAdapter extends MethodVisitor {
         fullMethodName = methodName + desc;
         this.methodName = methodName;
         this.className = className;
+        this.methodId = MethodRegistry.register(className, fullMethodName);
     }
 
     // primitive data types
@@ -117,11 +120,10 @@ public class ReturnValueAdapter extends MethodVisitor {
             this.visitInsn(Opcodes.L2I);
         }
 
-        this.visitLdcInsn(className);
-        this.visitLdcInsn(fullMethodName);
+        this.visitLdcInsn(methodId);
         this.visitMethodInsn(Opcodes.INVOKESTATIC,
                 PackageInfo.getNameWithSlash(ExecutionTracer.class),
-                "returnValue", "(ILjava/lang/String;Ljava/lang/String;)V", false);
+                "returnValue", "(II)V", false);
     }
 
     private void callLogIReturn() {
@@ -130,12 +132,11 @@ public class ReturnValueAdapter extends MethodVisitor {
 
     private void callLogAReturn() {
         this.visitInsn(Opcodes.DUP);
-        this.visitLdcInsn(className);
-        this.visitLdcInsn(fullMethodName);
+        this.visitLdcInsn(methodId);
         this.visitMethodInsn(Opcodes.INVOKESTATIC,
                 PackageInfo.getNameWithSlash(ExecutionTracer.class),
                 "returnValue",
-                "(Ljava/lang/Object;Ljava/lang/String;Ljava/lang/String;)V", false);
+                "(Ljava/lang/Object;I)V", false);
     }
 
     private void callLogLReturn() {
@@ -25,9 +25,7 @@
 package org.evosuite.instrumentation.testability;
 
 import org.evosuite.Properties;
-import org.evosuite.TestGenerationContext;
-import org.evosuite.classpath.ResourceList;
-import org.objectweb.asm.ClassReader;
+import org.evosuite.setup.DependencyAnalysis;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.FieldNode;
@@ -35,7 +33,6 @@ import org.objectweb.asm.tree.MethodNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.util.*;
 
 public class DescriptorMapping {
@@ -311,11 +308,10 @@ public class DescriptorMapping {
             visited.add(name);
             logger.info("Visiting class " + name + " while looking for source of "
                     + className + "." + methodName);
-            ClassReader reader;
-            try {
-                reader = new ClassReader(ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getClassAsStream(name));
-                ClassNode parent = new ClassNode();
-                reader.accept(parent, ClassReader.EXPAND_FRAMES);
+            ClassNode parent = DependencyAnalysis.getClassNode(name);
+            if (parent == null) {
+                logger.info("Error reading class " + name);
+            } else {
 
                 boolean isInside = isInside(parent.name);
 
@@ -350,8 +346,6 @@ public class DescriptorMapping {
                         && !parents.contains(parent.superName)) {
                     parents.add(parent.superName);
                 }
-            } catch (IOException e) {
-                logger.info("Error reading class " + name);
             }
         }
 
@@ -372,11 +366,10 @@ public class DescriptorMapping {
             visited.add(name);
             logger.info("Visiting class " + name + " while looking for name clashes of "
                     + className + "." + methodName + transformedDesc);
-            ClassReader reader;
-            try {
-                reader = new ClassReader(ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getClassAsStream(name));
-                ClassNode parent = new ClassNode();
-                reader.accept(parent, ClassReader.EXPAND_FRAMES);
+            ClassNode parent = DependencyAnalysis.getClassNode(name);
+            if (parent == null) {
+                logger.info("Error reading class " + name);
+            } else {
 
                 if (originalDesc.containsKey(className + "." + methodName
                         + transformedDesc)) {
@@ -406,8 +399,6 @@ public class DescriptorMapping {
                         && !parents.contains(parent.superName)) {
                     parents.add(parent.superName);
                 }
-            } catch (IOException e) {
-                logger.info("Error reading class " + name);
             }
         }
 
@@ -428,11 +419,10 @@ public class DescriptorMapping {
             logger.info("Checking class " + name
                     + " while looking for definition of field " + fieldName);
 
-            ClassReader reader;
-            try {
-                reader = new ClassReader(ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getClassAsStream(name));
-                ClassNode parent = new ClassNode();
-                reader.accept(parent, ClassReader.EXPAND_FRAMES);
+            ClassNode parent = DependencyAnalysis.getClassNode(name);
+            if (parent == null) {
+                logger.info("Error reading class " + name);
+            } else {
 
                 boolean isInside = isInside(parent.name);
 
@@ -472,8 +462,6 @@ public class DescriptorMapping {
                         && !parents.contains(parent.superName)) {
                     parents.add(parent.superName);
                 }
-            } catch (IOException e) {
-                logger.info("Error reading class " + name);
             }
         }
 
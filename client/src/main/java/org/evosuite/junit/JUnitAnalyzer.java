@@ -26,6 +26,7 @@ import org.evosuite.TestGenerationContext;
 import org.evosuite.TimeController;
 import org.evosuite.classpath.ClassPathHandler;
 import org.evosuite.instrumentation.NonInstrumentingClassLoader;
+import org.evosuite.junit.writer.InMemoryTestSuiteOutput;
 import org.evosuite.junit.writer.TestSuiteWriter;
 import org.evosuite.junit.writer.TestSuiteWriterUtils;
 import org.evosuite.runtime.classhandling.JDKClassResetter;
@@ -316,15 +317,9 @@ public abstract class JUnitAnalyzer {
         name += "_" + (NUM++) + "_tmp_" + Properties.JUNIT_SUFFIX; //postfix
 
         try {
-            //now generate the JUnit test case
-            List<File> generated = suite.writeTestSuite(name, dir.getAbsolutePath(), Collections.EMPTY_LIST);
-            for (File file : generated) {
-                if (!file.exists()) {
-                    logger.error("Supposed to generate " + file
-                            + " but it does not exist");
-                    return null;
-                }
-            }
+            //now generate the JUnit test case, and keep its source code in memory
+            InMemoryTestSuiteOutput sources = new InMemoryTestSuiteOutput();
+            List<String> classNames = suite.writeTestSuite(name, sources, Collections.emptyList());
 
             //try to compile the test cases
             JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
@@ -340,7 +335,7 @@ public abstract class JUnitAnalyzer {
                     locale,
                     charset);
 
-            Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(generated);
+            List<JavaFileObject> compilationUnits = sources.getJavaFileObjects();
 
             String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
             if (JarPathing.containsAPathingJar(evosuiteCP)) {
@@ -354,13 +349,21 @@ public abstract class JUnitAnalyzer {
 
             String classpath = targetProjectCP + File.pathSeparator + evosuiteCP;
 
-            List<String> optionList = new ArrayList<>(Arrays.asList("-classpath", classpath));
+            List<String> optionList = new ArrayList<>(Arrays.asList("-classpath", classpath,
+                    "-d", dir.getAbsolutePath()));
 
             CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
                     optionList, null, compilationUnits);
             boolean compiled = task.call();
             fileManager.close();
 
+            //the classes are compiled in the package folder of the tests
+            String classDir = TestSuiteWriterUtils.makeDirectory(dir.getAbsolutePath());
+            List<File> generated = new ArrayList<>();
+            for (String className : classNames) {
+                generated.add(new File(classDir, className + CLASS));
+            }
+
             if (!compiled) {
                 logger.error("Compilation failed on compilation units: " + compilationUnits);
                 logger.error("Classpath: " + classpath);
@@ -379,12 +382,12 @@ public abstract class JUnitAnalyzer {
 
                 StringBuffer buffer = new StringBuffer();
                 for (JavaFileObject sourceFile : compilationUnits) {
-                    List<String> lines = FileUtils.readLines(new File(sourceFile.toUri().getPath()));
+                    String[] lines = sourceFile.getCharContent(true).toString().split("\\R", -1);
 
-                    buffer.append(compilationUnits.iterator().next().toString() + "\n");
+                    buffer.append(sourceFile.getName() + "\n");
 
-                    for (int i = 0; i < lines.size(); i++) {
-                        buffer.append((i + 1) + ": " + lines.get(i) + "\n");
+                    for (int i = 0; i < lines.length; i++) {
+                        buffer.append((i + 1) + ": " + lines[i] + "\n");
                     }
                 }
                 logger.error(buffer.toString());
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit.writer;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the generated test classes as source files, in the package folder of
+ * {@link org.evosuite.Properties#CLASS_PREFIX} under a base directory
+ */
+public class FileTestSuiteOutput implements TestSuiteOutput {
+
+    private final String directory;
+
+    private final List<File> files = new ArrayList<>();
+
+    public FileTestSuiteOutput(String directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public Writer open(String className) throws IOException {
+        File file = getFile(className);
+        files.add(file);
+        return new BufferedWriter(new OutputStreamWriter(FileUtils.openOutputStream(file), Charset.defaultCharset()));
+    }
+
+    @Override
+    public CharSequence read(String className) throws IOException {
+        return FileUtils.readFileToString(getFile(className), Charset.defaultCharset());
+    }
+
+    private File getFile(String className) {
+        return new File(TestSuiteWriterUtils.makeDirectory(directory) + "/" + className + ".java");
+    }
+
+    /**
+     * @return the files opened so far, in order
+     */
+    public List<File> getFiles() {
+        return files;
+    }
+}
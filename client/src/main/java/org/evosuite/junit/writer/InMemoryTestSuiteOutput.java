@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit.writer;
+
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the generated test classes in memory, as {@link JavaFileObject}s that
+ * can be given to an in-process {@link javax.tools.JavaCompiler}
+ */
+public class InMemoryTestSuiteOutput implements TestSuiteOutput {
+
+    private final List<SourceFile> sources = new ArrayList<>();
+
+    @Override
+    public Writer open(String className) {
+        SourceFile source = new SourceFile(className);
+        sources.add(source);
+        return source.code;
+    }
+
+    @Override
+    public CharSequence read(String className) throws IOException {
+        for (SourceFile source : sources) {
+            if (source.className.equals(className))
+                return source.getCharContent(false);
+        }
+        throw new FileNotFoundException("No test class " + className);
+    }
+
+    /**
+     * @return the source files opened so far, in order
+     */
+    public List<JavaFileObject> getJavaFileObjects() {
+        return new ArrayList<>(sources);
+    }
+
+    private static class SourceFile extends SimpleJavaFileObject {
+
+        private final String className;
+
+        private final StringWriter code = new StringWriter();
+
+        SourceFile(String className) {
+            super(URI.create("string:///" + className + Kind.SOURCE.extension), Kind.SOURCE);
+            this.className = className;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code.getBuffer();
+        }
+    }
+}
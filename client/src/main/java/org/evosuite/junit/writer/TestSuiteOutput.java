@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit.writer;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Destination of the source code of the test classes generated by
+ * {@link TestSuiteWriter}
+ */
+public interface TestSuiteOutput {
+
+    /**
+     * Open the destination of a new test class. The code of the class is
+     * written to the returned writer, which is closed once the class is complete.
+     *
+     * @param className the simple name of the class
+     * @return the writer receiving the source code of the class
+     * @throws IOException if the destination cannot be opened
+     */
+    Writer open(String className) throws IOException;
+
+    /**
+     * Read back the code of a class that was written to this output.
+     *
+     * @param className the simple name of the class
+     * @return the source code of the class
+     * @throws IOException if the code cannot be read
+     */
+    CharSequence read(String className) throws IOException;
+}
@@ -50,7 +50,9 @@ import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
 import java.io.File;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.io.Writer;
 import java.util.*;
 
 import static org.evosuite.junit.writer.TestSuiteWriterUtils.*;
@@ -185,6 +187,20 @@ public class TestSuiteWriter implements Opcodes {
      * @param directory Output directory
      */
     public List<File> writeTestSuite(String name, String directory, List<ExecutionResult> cachedResults) throws IllegalArgumentException {
+        FileTestSuiteOutput output = new FileTestSuiteOutput(directory);
+        writeTestSuite(name, output, cachedResults);
+        return output.getFiles();
+    }
+
+    /**
+     * Create JUnit test suite for class, streaming the code of the generated
+     * classes to the given output
+     *
+     * @param name   Name of the class
+     * @param output Destination of the generated classes
+     * @return the names of the generated classes
+     */
+    public List<String> writeTestSuite(String name, TestSuiteOutput output, List<ExecutionResult> cachedResults) throws IllegalArgumentException {
 
         if (name == null || name.isEmpty()) {
             throw new IllegalArgumentException("Empty test class name");
@@ -196,9 +212,7 @@ public class TestSuiteWriter implements Opcodes {
             throw new IllegalArgumentException("Test classes should have name ending with 'Test'. Invalid input name: " + name);
         }
 
-        List<File> generated = new ArrayList<>();
-        String dir = TestSuiteWriterUtils.makeDirectory(directory);
-        String content = "";
+        List<String> generated = new ArrayList<>();
 
         // Execute all tests
         executor.newObservers();
@@ -240,36 +254,28 @@ public class TestSuiteWriter implements Opcodes {
         removeAssertionsAfterException(results);
 
 
-        if (Properties.OUTPUT_GRANULARITY == OutputGranularity.MERGED || testCases.size() == 0) {
-            File file = new File(dir + "/" + name + ".java");
-            //executor.newObservers();
-            content = getUnitTestsAllInSameFile(name, results);
-            FileIOUtils.writeFile(content, file);
-            generated.add(file);
-        } else {
-            for (int i = 0; i < testCases.size(); i++) {
-                File file = new File(dir + "/" + name + "_" + i + ".java"); // e.g., dir/Foo_ESTest_0.java
-                //executor.newObservers();
-                String testCode = getOneUnitTestInAFile(name, i, results);
-                FileIOUtils.writeFile(testCode, file);
-                content += testCode;
-                generated.add(file);
+        try {
+            if (Properties.OUTPUT_GRANULARITY == OutputGranularity.MERGED || testCases.size() == 0) {
+                writeUnitTestsAllInSameFile(name, output, results, generated);
+            } else {
+                for (int i = 0; i < testCases.size(); i++) {
+                    // e.g., Foo_ESTest_0
+                    writeClass(output, name + "_" + i, getOneUnitTestInAFile(name, i, results), generated);
+                }
             }
-        }
 
-        if (Properties.TEST_SCAFFOLDING && !Properties.NO_RUNTIME_DEPENDENCY) {
-            String scaffoldingName = Scaffolding.getFileName(name);
-            File file = new File(dir + "/" + scaffoldingName + ".java");
-            String scaffoldingContent = Scaffolding.getScaffoldingFileContent(name, results,
-                    TestSuiteWriterUtils.hasAnySecurityException(results));
-            FileIOUtils.writeFile(scaffoldingContent, file);
-            generated.add(file);
-            content += scaffoldingContent;
+            if (Properties.TEST_SCAFFOLDING && !Properties.NO_RUNTIME_DEPENDENCY) {
+                String scaffoldingContent = Scaffolding.getScaffoldingFileContent(name, results,
+                        TestSuiteWriterUtils.hasAnySecurityException(results));
+                writeClass(output, Scaffolding.getFileName(name), scaffoldingContent, generated);
+            }
+        } catch (IOException e) {
+            logger.error("Error while writing test suite " + name + " , " + e.getMessage(), e);
         }
 
         writeCoveredGoalsFile();
 
-        TestGenerationResultBuilder.getInstance().setTestSuiteCode(content);
+        TestGenerationResultBuilder.getInstance().setTestSuiteCode(output, generated);
         return generated;
     }
 
@@ -312,12 +318,14 @@ public class TestSuiteWriter implements Opcodes {
 
 
     /**
-     * Create JUnit file for given class name
+     * Write all tests to the JUnit file of the given class, each test being
+     * written as soon as its code is generated. If {@link Properties#MAX_TEST_CLASS_SIZE}
+     * is set, the tests are split into several classes with the same scaffolding.
      *
      * @param name Name of the class file
-     * @return String representation of JUnit test file
      */
-    private String getUnitTestsAllInSameFile(String name, List<ExecutionResult> results) {
+    private void writeUnitTestsAllInSameFile(String name, TestSuiteOutput output, List<ExecutionResult> results,
+                                             List<String> generated) throws IOException {
 
         /*
          * if there was any security exception, then we need to scaffold the
@@ -325,24 +333,72 @@ public class TestSuiteWriter implements Opcodes {
          */
         boolean wasSecurityException = TestSuiteWriterUtils.hasAnySecurityException(results);
 
-        StringBuilder builder = new StringBuilder();
-
-        builder.append(getHeader(name, name, results));
+        int part = 0;
+        int testsInPart = 0;
+        String header = getClassHeader(name, name, wasSecurityException, results);
+        Writer writer = openTestClass(output, name, header, generated);
+        long partSize = header.length();
+        try {
+            if (testCases.isEmpty()) {
+                writer.write(getEmptyTest());
+            }
+            for (int i = 0; i < testCases.size(); i++) {
+                String code = testToString(i, i, results.get(i));
+                if (testsInPart > 0 && Properties.MAX_TEST_CLASS_SIZE > 0
+                        && partSize + code.length() > Properties.MAX_TEST_CLASS_SIZE) {
+                    writer.write(getFooter());
+                    writer.close();
+
+                    part++;
+                    testsInPart = 0;
+                    // e.g., Foo_ESTest_1Test, which is still picked up by "mvn test"
+                    String className = name + "_" + part + "Test";
+                    header = getClassHeader(className, name, wasSecurityException, results);
+                    writer = openTestClass(output, className, header, generated);
+                    partSize = header.length();
+                }
+                writer.write(code);
+                partSize += code.length();
+                testsInPart++;
+            }
+            writer.write(getFooter());
+        } finally {
+            writer.close();
+        }
+    }
 
+    /**
+     * The code of a test class up to its first test: the header and, unless
+     * there is a separate scaffolding class, the before and after methods
+     */
+    private String getClassHeader(String className, String scaffoldingName,
+                                  boolean wasSecurityException, List<ExecutionResult> results) {
+        String header = getHeader(className, scaffoldingName, results);
         if (!Properties.TEST_SCAFFOLDING && !Properties.NO_RUNTIME_DEPENDENCY) {
-            builder.append(new Scaffolding().getBeforeAndAfterMethods(name, wasSecurityException, results));
+            header += new Scaffolding().getBeforeAndAfterMethods(className, wasSecurityException, results);
         }
+        return header;
+    }
 
-        if (testCases.isEmpty()) {
-            builder.append(getEmptyTest());
-        } else {
-            for (int i = 0; i < testCases.size(); i++) {
-                builder.append(testToString(i, i, results.get(i)));
-            }
+    private static Writer openTestClass(TestSuiteOutput output, String className, String header,
+                                        List<String> generated) throws IOException {
+        Writer writer = output.open(className);
+        generated.add(className);
+        try {
+            writer.write(header);
+        } catch (IOException e) {
+            writer.close();
+            throw e;
         }
-        builder.append(getFooter());
+        return writer;
+    }
 
-        return builder.toString();
+    private static void writeClass(TestSuiteOutput output, String className, String code,
+                                   List<String> generated) throws IOException {
+        try (Writer writer = output.open(className)) {
+            generated.add(className);
+            writer.write(code);
+        }
     }
 
     /**
@@ -20,86 +20,262 @@
 package org.evosuite.lm;
 
 import java.io.*;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.TreeMap;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Represents a language model, a set of bigrams, unigrams and associated
  * log-probabilities.
+ * <p>
+ * A model is either read from a text (ARPA) file, or from the compiled binary
+ * format written by {@link #compile(String, File)}. Compiled model files are
+ * memory-mapped; in both cases the probabilities are kept in primitive tables
+ * indexed by symbol, so that scoring does not allocate.
  */
 public class LangModel {
 
-    // class variables
-    // Hashes storing various Language Model probabilities
     /**
-     * Probability of a unigram occurring.
+     * First bytes of a compiled model file
      */
-    private final Map<String, Double> unigram_probs = new HashMap<>();
-    /**
-     * Unigram backoff probabilities (used in bigram probability estimation).
-     */
-    private final Map<String, Double> unigram_backoff_probs = new HashMap<>();
-    /**
-     * Probability that Unigram2 follows Unigram1, where each key is of the form "Unigram1 Unigram2".
-     */
-    private final Map<String, Double> bigram_probs = new HashMap<>();
+    private static final int MAGIC = 0x45534c4d;
+
+    private static final Map<String, LangModel> models = new HashMap<>();
 
     //Sentinel unigram values:
     public static final String START_OF_STRING = "<s>";
     public static final String END_OF_STRING = "</s>";
     public static final String START_NEW_WORD = "<w>";
 
-    private double unknown_char_prob = 0;
+    private final double unknown_char_prob;
 
+    /**
+     * The unigrams of the model; the index of a unigram is its symbol id.
+     */
+    private final String[] symbols;
 
-    // Hashes to store most probable next characters in bigram
     /**
-     * Mapping of the nth most likely unigrams to follow each unigram.
-     * Encoded as: <code>(unigram)(n)> -> (unigram)</code>
+     * Symbol id of each single character unigram, or -1.
      */
-    private final HashMap<String, String> context_char = new HashMap<>();
+    private final int[] char_symbols;
+
+    private final int start_symbol;
+
+    private final int new_word_symbol;
+
     /**
-     * Mapping of the probability of the nth most likely unigram to follow each unigram.
-     * Encoded as: <code>(unigram)(n)> -> (log_probability)</code>
+     * Probability of a unigram occurring, NaN if unknown.
      */
-    private final HashMap<String, Double> context_prob = new HashMap<>();
+    private final DoubleBuffer unigram_probs;
+    /**
+     * Unigram backoff probabilities (used in bigram probability estimation), NaN if unknown.
+     */
+    private final DoubleBuffer unigram_backoff_probs;
+    /**
+     * Probability that unigram2 follows unigram1 at index <code>unigram1 * symbols + unigram2</code>, NaN if unknown.
+     */
+    private final DoubleBuffer bigram_probs;
 
-    // Maximum number of characters to predict for each bigram
-    int predicted_chars = 10;
+    // Tables to store most probable next characters in bigram
+    /**
+     * Symbol of the nth most likely unigram to follow each unigram,
+     * at index <code>unigram * predicted_chars + n</code>, or -1.
+     */
+    private final IntBuffer context_char;
+    /**
+     * Log probability of the nth most likely unigram to follow each unigram.
+     */
+    private final DoubleBuffer context_prob;
 
-    // Constructors
-    // Read in data from language model to be manipulated later
-    // Takes language model file as argument
+    // Maximum number of characters to predict for each bigram
+    final int predicted_chars;
 
     /**
      * Load the language model.
      *
-     * @param lmFileName path to a language model file.
+     * @param lmFileName path to a language model file, either on the classpath or in the file system.
      * @throws IOException if the model file can't be found or read.
      */
     public LangModel(String lmFileName) throws IOException {
+        this(load(lmFileName));
+    }
+
+    private LangModel(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a compiled language model");
+        }
+        predicted_chars = buffer.getInt();
+        unknown_char_prob = buffer.getDouble();
+        int size = buffer.getInt();
+
+        symbols = new String[size];
+        int maxChar = -1;
+        for (int i = 0; i < size; i++) {
+            char[] chars = new char[buffer.getShort()];
+            buffer.asCharBuffer().get(chars);
+            buffer.position(buffer.position() + 2 * chars.length);
+            symbols[i] = new String(chars);
+            if (chars.length == 1) {
+                maxChar = Math.max(maxChar, chars[0]);
+            }
+        }
+        char_symbols = new int[maxChar + 1];
+        Arrays.fill(char_symbols, -1);
+        for (int i = 0; i < size; i++) {
+            if (symbols[i].length() == 1) {
+                char_symbols[symbols[i].charAt(0)] = i;
+            }
+        }
+        start_symbol = indexOf(symbols, START_OF_STRING);
+        new_word_symbol = indexOf(symbols, START_NEW_WORD);
+
+        unigram_probs = slice(buffer, size).asDoubleBuffer();
+        unigram_backoff_probs = slice(buffer, size).asDoubleBuffer();
+        bigram_probs = slice(buffer, size * size).asDoubleBuffer();
+        context_char = slice(buffer, size * predicted_chars).asIntBuffer();
+        context_prob = slice(buffer, size * predicted_chars).asDoubleBuffer();
+    }
+
+    /**
+     * @return the next <code>count</code> 8-byte table entries of the buffer
+     */
+    private static ByteBuffer slice(ByteBuffer buffer, int count) {
+        ByteBuffer slice = buffer.slice();
+        slice.limit(8 * count);
+        buffer.position(buffer.position() + 8 * count);
+        return slice;
+    }
+
+    private static int indexOf(String[] symbols, String symbol) {
+        return Arrays.asList(symbols).indexOf(symbol);
+    }
+
+    /**
+     * Returns the language model loaded from the given file, which is only read once per process.
+     *
+     * @param lmFileName path to a language model file, either on the classpath or in the file system.
+     * @throws IOException if the model file can't be found or read.
+     */
+    public static synchronized LangModel getInstance(String lmFileName) throws IOException {
+        LangModel model = models.get(lmFileName);
+        if (model == null) {
+            model = new LangModel(lmFileName);
+            models.put(lmFileName, model);
+        }
+        return model;
+    }
+
+    /**
+     * Read the model file into a buffer in the compiled format. Compiled files are
+     * mapped into memory, text files are compiled first.
+     */
+    private static ByteBuffer load(String lmFileName) throws IOException {
+        File file = new File(lmFileName);
+        if (file.isFile()) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (buffer.remaining() >= 4 && buffer.getInt(0) == MAGIC) {
+                    return buffer;
+                }
+            }
+            try (InputStream in = new FileInputStream(file)) {
+                return ByteBuffer.wrap(compile(in));
+            }
+        }
+
+        InputStream resource = LangModel.class.getClassLoader().getResourceAsStream(lmFileName);
+        if (resource == null) {
+            throw new FileNotFoundException("Language model not found: " + lmFileName);
+        }
+        try (InputStream in = new BufferedInputStream(resource)) {
+            in.mark(4);
+            boolean compiled = new DataInputStream(in).readInt() == MAGIC;
+            in.reset();
+            if (!compiled) {
+                return ByteBuffer.wrap(compile(in));
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] bytes = new byte[8192];
+            int n;
+            while ((n = in.read(bytes)) > 0) {
+                out.write(bytes, 0, n);
+            }
+            return ByteBuffer.wrap(out.toByteArray());
+        }
+    }
+
+    /**
+     * Compile a text language model into the binary format, which can then be
+     * used as <code>lm_src</code> without parsing the text model in every client.
+     *
+     * @param lmFileName path to a text language model on the classpath or in the file system
+     * @param target     the file to write the compiled model to
+     * @throws IOException if the model file can't be read or the target can't be written
+     */
+    public static void compile(String lmFileName, File target) throws IOException {
+        ByteBuffer buffer = load(lmFileName);
+        try (FileChannel channel = FileChannel.open(target.toPath(), StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer.rewind();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: LangModel <text model> <compiled model>");
+            return;
+        }
+        compile(args[0], new File(args[1]));
+    }
 
+    // Read in data from language model
+    // and write the tables in the compiled format
+
+    /**
+     * Parse a text language model and return it in the compiled format.
+     */
+    private static byte[] compile(InputStream fstream) throws IOException {
+        // Hashes storing various Language Model probabilities
+        Map<String, Double> unigram_probs = new HashMap<>();
+        Map<String, Double> unigram_backoff_probs = new HashMap<>();
+        Map<String, Double> bigram_probs = new HashMap<>();
+        // All unigrams, in order of appearance
+        Set<String> symbols = new LinkedHashSet<>();
+        symbols.add(START_OF_STRING);
+        symbols.add(START_NEW_WORD);
+
+        double unknown_char_prob = 0;
 
         // Flag to indicate length of n-grams currently being read (0 == read
         // nothing)
         int ngram_len = 0; //size of the n-grams we're reading (i.e. ngram_len = 5 implies 5-grams).
 
-        InputStream fstream = LangModel.class.getClassLoader().getResourceAsStream(lmFileName);
-        // FileInputStream fstream = new FileInputStream(lmFileName);
-
-        DataInputStream in = new DataInputStream(fstream);
-        BufferedReader br = new BufferedReader(new InputStreamReader(in));
+        BufferedReader br = new BufferedReader(new InputStreamReader(fstream));
         String strLine;
 
-        double highest_unigram_prob = 0;
-
-        // Read file line by line
-        while ((strLine = br.readLine()) != null) {
-            Pattern ngram_len_p = Pattern.compile("(\\d+)-grams:");
+        Pattern ngram_len_p = Pattern.compile("(\\d+)-grams:");
+        Pattern unigram_p = Pattern
+                .compile("([-0-9\\.]+)\\s*(\\S+)\\s*([-0-9\\.]+)");
+        // Match with <floating point number> <one or more chars> <floating point number>
+        //                        |                   |                 +------ backoff probability
+        //                        |                   +------------------------ unigram
+        //                        +-------------------------------------------- unigram probability
+        Pattern bigram_p = Pattern.compile("([-0-9\\.]+)\\s*(\\S+) (\\S+)");
+        //Match line with <floating point number> <one or more chars> <one or more chars>
+        //                            |                   |                    +---- end char of bigram
+        //                            |                   +------------------------- start char of bigram
+        //                            +--------------------------------------------- bigram probability
+
+        // Read file line by line; n-grams longer than bigrams are not used
+        while ((strLine = br.readLine()) != null && ngram_len <= 2) {
             Matcher match_ngram_len = ngram_len_p.matcher(strLine);
             //does line match (\d+)-grams: ?
             if (match_ngram_len.find()) {
@@ -107,12 +283,6 @@ public class LangModel {
 
             } else if (ngram_len == 1) {
                 //We're looking at unigrams;
-                Pattern unigram_p = Pattern
-                        .compile("([-0-9\\.]+)\\s*(\\S+)\\s*([-0-9\\.]+)");
-                // Match with <floating point number> <one or more chars> <floating point number>
-                //                        |                   |                 +------ backoff probability
-                //                        |                   +------------------------ unigram
-                //                        +-------------------------------------------- unigram probability
                 Matcher match_unigram = unigram_p.matcher(strLine);
                 if (match_unigram.find()) {
 
@@ -124,22 +294,15 @@ public class LangModel {
 
                     unigram_probs.put(unigram, unigram_prob);
                     unigram_backoff_probs.put(unigram, unigram_backoff_prob);
+                    symbols.add(unigram);
 
                     if (unigram_prob < unknown_char_prob) {
                         unknown_char_prob = unigram_prob;
                     } // if
-                    if (unigram_prob > highest_unigram_prob) {
-                        highest_unigram_prob = unigram_prob;
-                    } //if
 
                 } // if
 
             } else if (ngram_len == 2) {
-                Pattern bigram_p = Pattern.compile("([-0-9\\.]+)\\s*(\\S+) (\\S+)");
-                //Match line with <floating point number> <one or more chars> <one or more chars>
-                //                            |                   |                    +---- end char of bigram
-                //                            |                   +------------------------- start char of bigram
-                //                            +--------------------------------------------- bigram probability
                 Matcher match_bigram = bigram_p.matcher(strLine);
                 if (match_bigram.find()) {
                     double bigram_prob = Double.parseDouble(match_bigram
@@ -149,13 +312,33 @@ public class LangModel {
                     String bigram = bigram_start + " " + bigram_end;
 
                     bigram_probs.put(bigram, bigram_prob);
+                    symbols.add(bigram_start);
+                    symbols.add(bigram_end);
 
                 } // if
 
             } // if/else
         } // while
-        // Close the input stream
-        in.close();
+
+        List<String> symbolList = new ArrayList<>(symbols);
+        Map<String, Integer> symbolIds = new HashMap<>();
+        for (String symbol : symbolList) {
+            symbolIds.put(symbol, symbolIds.size());
+        }
+        int size = symbolList.size();
+        int predicted_chars = 10;
+
+        double[] unigrams = new double[size];
+        double[] backoffs = new double[size];
+        for (int i = 0; i < size; i++) {
+            Double prob = unigram_probs.get(symbolList.get(i));
+            unigrams[i] = prob == null ? Double.NaN : prob;
+            Double backoff = unigram_backoff_probs.get(symbolList.get(i));
+            backoffs[i] = backoff == null ? Double.NaN : backoff;
+        }
+
+        double[] bigrams = new double[size * size];
+        Arrays.fill(bigrams, Double.NaN);
 
         ValueComparator bvc = new ValueComparator(bigram_probs);
         TreeMap<String, Double> sorted_bigram_probs = new TreeMap<>(
@@ -164,6 +347,10 @@ public class LangModel {
         //Store bigrams sorted by probability:
         sorted_bigram_probs.putAll(bigram_probs);
 
+        int[] context_char = new int[size * predicted_chars];
+        Arrays.fill(context_char, -1);
+        double[] context_prob = new double[size * predicted_chars];
+
         // Regular expressions setup
         Pattern context_p = Pattern.compile("(\\S+) (\\S+)");
 
@@ -172,18 +359,17 @@ public class LangModel {
         for (Map.Entry<String, Double> entry : sorted_bigram_probs.entrySet()) {
             Matcher match_context = context_p.matcher(entry.getKey());
             if (match_context.find()) {
-                String pre = match_context.group(1);
-                String middle = match_context.group(2);
+                int pre = symbolIds.get(match_context.group(1));
+                int middle = symbolIds.get(match_context.group(2));
+                bigrams[pre * size + middle] = entry.getValue();
 
-                // Add to hash (do this by starting counter at 0 and then
-                // testing hash and
-                // filling first empty slot. If no empty slot found then value
+                // Fill the first empty slot. If no empty slot found then value
                 // is not stored.
                 for (int c = 0; c < predicted_chars; c++) {
-                    String key = pre + c;
-                    if (!context_char.containsKey(key)) {
-                        context_char.put(key, middle);
-                        context_prob.put(key, entry.getValue());
+                    int key = pre * predicted_chars + c;
+                    if (context_char[key] < 0) {
+                        context_char[key] = middle;
+                        context_prob[key] = entry.getValue();
                         break;
                     } // if
                 } // for
@@ -191,20 +377,54 @@ public class LangModel {
 
         } // for
 
-        // Print out as sanity check
-        //for (Map.Entry<String, String> entry : context_char.entrySet()) {
-        // System.out.println("Key = " + entry.getKey() + ", Value = " +
-        // entry.getValue());
-        //}
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(predicted_chars);
+        out.writeDouble(unknown_char_prob);
+        out.writeInt(size);
+        for (String symbol : symbolList) {
+            out.writeShort(symbol.length());
+            out.writeChars(symbol);
+        }
+        writeDoubles(out, unigrams);
+        writeDoubles(out, backoffs);
+        writeDoubles(out, bigrams);
+        // context symbols take 8 bytes each like all other table entries
+        for (int symbol : context_char) {
+            out.writeInt(symbol);
+        }
+        out.write(new byte[4 * context_char.length]);
+        writeDoubles(out, context_prob);
+        out.close();
+        return bytes.toByteArray();
+    } // compile
+
+    private static void writeDoubles(DataOutputStream out, double[] values) throws IOException {
+        for (double value : values) {
+            out.writeDouble(value);
+        }
+    }
 
-    } // LangModel
+    /**
+     * @return the symbol id of character c, or -1 if it is not a unigram of the model
+     */
+    private int symbolOf(char c) {
+        if (c == ' ') {
+            return new_word_symbol;
+        }
+        return c < char_symbols.length ? char_symbols[c] : -1;
+    }
 
-    // Method which returns language model score for string str Splits
-    // string into bigrams and looks up the probability for each. If
-    // the bigram isn't found then backs off to use the unigram and
-    // backoff probabilities str is string for which score is
-    // computed, verbose is flag indicating whether to print out
-    // details about how this score is computed
+    /**
+     * @return the symbol id of a unigram, or -1 if it is not a unigram of the model
+     */
+    private int symbolOf(String unigram) {
+        if (unigram.length() == 1) {
+            return symbolOf(unigram.charAt(0));
+        }
+        return indexOf(symbols, unigram);
+    }
 
     /**
      * Splits a string into bigrams and calculates the language model score.
@@ -218,9 +438,9 @@ public class LangModel {
      * @param verbose whether to print information
      * @return
      */
-    public double score(String str, boolean verbose) {
+    public double score(CharSequence str, boolean verbose) {
 
-        if (verbose == true) {
+        if (verbose) {
             System.out.println("String is " + str);
         } // if
 
@@ -228,70 +448,52 @@ public class LangModel {
 
         // Get length of string
         int no_chars = str.length();
+        int size = symbols.length;
 
         // Break string down into bigrams
-        for (int i = -1; i < (no_chars - 1); i++) {
-            String first_char;
-            String second_char;
-            if (i == -1) {
-                first_char = "<s>";
-                second_char = str.substring(0, 1);
-            } else {
-                first_char = str.substring(i, i + 1);
-                second_char = str.substring(i + 1, i + 2);
-            } // if/else
+        int first = start_symbol;
+        for (int i = 0; i < no_chars; i++) {
+            int second = symbolOf(str.charAt(i));
 
-            if (first_char.equals(" ")) {
-                first_char = "<w>";
-            } // if
-            if (second_char.equals(" ")) {
-                second_char = "<w>";
-            } // if
-            String bigram = first_char + " " + second_char;
-
-            if (verbose == true) {
-                System.out.println("Bigram is " + bigram);
+            if (verbose) {
+                System.out.println("Bigram is " + (i == 0 ? START_OF_STRING : symbolName(str.charAt(i - 1)))
+                        + " " + symbolName(str.charAt(i)));
             } // if
 
             // Get negative log likelihood for each bigram
             // (Either get directly or estimate using backoff)
-            if (bigram_probs.containsKey(bigram)) {
+            double bigram_prob = first >= 0 && second >= 0 ? bigram_probs.get(first * size + second) : Double.NaN;
+            double unigram_backoff_prob = first >= 0 ? unigram_backoff_probs.get(first) : Double.NaN;
+            double unigram_prob = second >= 0 ? unigram_probs.get(second) : Double.NaN;
+            if (!Double.isNaN(bigram_prob)) {
                 // Get direct bigram probabilities
-                double bigram_prob = bigram_probs.get(bigram);
                 log_prob = log_prob + bigram_prob;
-                if (verbose == true) {
+                if (verbose) {
                     System.out.println("Direct bigram prob: "
                             + Math.pow(10, bigram_prob) + "\n");
                 } // if
-            } else if (unigram_probs.containsKey(second_char) && unigram_backoff_probs.containsKey(first_char)) {
+            } else if (!Double.isNaN(unigram_prob) && !Double.isNaN(unigram_backoff_prob)) {
 
                 // Otherwise split into unigrams and do backoff
-                double unigram_backoff_prob = unigram_backoff_probs
-                        .get(first_char);
                 log_prob = log_prob + unigram_backoff_prob;
-                // System.out.println("Unigram ("+first_char+") backoff prob: "+unigram_backoff_prob);
-
-
-                double unigram_prob = unigram_probs.get(second_char);
                 log_prob = log_prob + unigram_prob;
 
-                if (verbose == true) {
-                    double bigram_prob = unigram_backoff_prob + unigram_prob;
+                if (verbose) {
                     System.out.println("Inferred bigram prob: "
-                            + Math.pow(10, bigram_prob)
-                            + " (formed from unigram probs " + first_char
+                            + Math.pow(10, unigram_backoff_prob + unigram_prob)
+                            + " (formed from unigram probs " + symbols[first]
                             + ": " + Math.pow(10, unigram_backoff_prob)
-                            + " and " + second_char + ": "
+                            + " and " + symbols[second] + ": "
                             + Math.pow(10, unigram_prob) + ")\n");
                 } // if
             } else {
                 //Note: we don't penalise strings containing weird (non-printable) characters.
                 //If we hit one (this block), just do nothing.
-                //throw new RuntimeException("Language Model can't give predictions for bigram " + bigram);
 
                 log_prob += unknown_char_prob;
 
             }
+            first = second;
 
         } // for
 
@@ -304,10 +506,14 @@ public class LangModel {
 
     } // score
 
+    private static String symbolName(char c) {
+        return c == ' ' ? START_NEW_WORD : String.valueOf(c);
+    }
+
     /**
-     * Convenience method for {@link #score(String, boolean)} with verbose flag set to false.
+     * Convenience method for {@link #score(CharSequence, boolean)} with verbose flag set to false.
      */
-    public double score(String str) {
+    public double score(CharSequence str) {
 
         return score(str, false);
 
@@ -318,16 +524,12 @@ public class LangModel {
      */
     public String predict_char(String pre, int n) {
 
-        if (pre.equals(" ")) {
-            pre = "<w>";
-        }
-
-        String key = pre + n;
-
-        if (n < 0 || n > predicted_chars) {
+        int symbol = symbolOf(pre);
+        if (n < 0 || n >= predicted_chars || symbol < 0) {
             return null;
         } else {
-            return context_char.get(key);
+            int next = context_char.get(symbol * predicted_chars + n);
+            return next < 0 ? null : symbols[next];
         } // if/else
 
     } // predict_char
@@ -337,7 +539,7 @@ public class LangModel {
      */
     public String predict_char(int n) {
 
-        return predict_char("<s>", n);
+        return predict_char(START_OF_STRING, n);
 
     } // predict_char
 
@@ -349,20 +551,14 @@ public class LangModel {
      */
     public double predict_char_prob(String pre, int n) {
 
-        if (n < 0 || n > predicted_chars) {
+        int symbol = symbolOf(pre);
+        if (n < 0 || n >= predicted_chars || symbol < 0) {
             return 0;
         }
 
-        if (pre.equals(" ")) {
-            pre = "<w>";
-        }
-
-        String key = pre + n;
-        Double prob = context_prob.get(key);
-
-        if (prob != null) {
-            prob = Math.pow(10, prob);
-            return prob;
+        int key = symbol * predicted_chars + n;
+        if (context_char.get(key) >= 0) {
+            return Math.pow(10, context_prob.get(key));
         } // if
 
         return 0.0;
@@ -378,7 +574,7 @@ public class LangModel {
      */
     public double predict_char_prob(int n) {
 
-        return predict_char_prob("<s>", n);
+        return predict_char_prob(START_OF_STRING, n);
 
     } // predict_char_prob
 
@@ -32,6 +32,7 @@ import org.evosuite.ga.Chromosome;
 import org.evosuite.ga.FitnessFunction;
 import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
 import org.evosuite.instrumentation.LinePool;
+import org.evosuite.junit.writer.TestSuiteOutput;
 import org.evosuite.result.TestGenerationResult.Status;
 import org.evosuite.symbolic.dse.algorithm.ExplorationAlgorithmBase;
 import org.evosuite.testcase.TestCase;
@@ -39,8 +40,11 @@ import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testsuite.TestSuiteChromosome;
 import org.evosuite.utils.LoggingUtils;
 
+import java.io.IOException;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -89,6 +93,8 @@ public class TestGenerationResultBuilder {
 
     private void resetTestData() {
         code = "";
+        codeOutput = null;
+        codeClasses = Collections.emptyList();
         ga = null;
         dse = null;
         testCode.clear();
@@ -137,7 +143,7 @@ public class TestGenerationResultBuilder {
         result.setUncoveredBranches(uncoveredBranches);
         result.setUncoveredMutants(uncoveredMutants);
         result.setExceptionMutants(exceptionMutants);
-        result.setTestSuiteCode(code);
+        result.setTestSuiteCode(getTestSuiteCode());
         result.setGeneticAlgorithm((GeneticAlgorithm<T>) ga);
         result.setDSEAlgorithm(dse);
         for (Map.Entry<FitnessFunction<?>, Double> e : targetCoverages.entrySet()) {
@@ -148,6 +154,10 @@ public class TestGenerationResultBuilder {
 
     private String code = "";
 
+    private TestSuiteOutput codeOutput = null;
+
+    private List<String> codeClasses = Collections.emptyList();
+
     private GeneticAlgorithm<?> ga = null;
 
     private ExplorationAlgorithmBase dse = null;
@@ -226,6 +236,36 @@ public class TestGenerationResultBuilder {
 
     public void setTestSuiteCode(String code) {
         this.code = code;
+        this.codeOutput = null;
+        this.codeClasses = Collections.emptyList();
+    }
+
+    /**
+     * Set the code of the test suite to the given classes of the output they
+     * were written to. The code is only read back once the result is built.
+     *
+     * @param output     the output the classes were written to
+     * @param classNames the classes of the test suite, in order
+     */
+    public void setTestSuiteCode(TestSuiteOutput output, List<String> classNames) {
+        this.code = "";
+        this.codeOutput = output;
+        this.codeClasses = classNames;
+    }
+
+    private String getTestSuiteCode() {
+        if (codeOutput == null)
+            return code;
+
+        StringBuilder builder = new StringBuilder();
+        for (String className : codeClasses) {
+            try {
+                builder.append(codeOutput.read(className));
+            } catch (IOException e) {
+                LoggingUtils.getEvoLogger().warn("Cannot read back test class " + className + ": " + e.getMessage());
+            }
+        }
+        return builder.toString();
     }
 
     public void setGeneticAlgorithm(GeneticAlgorithm<?> ga) {
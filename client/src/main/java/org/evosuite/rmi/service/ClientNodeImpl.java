@@ -34,6 +34,7 @@ import org.evosuite.runtime.sandbox.Sandbox;
 import org.evosuite.setup.DependencyAnalysis;
 import org.evosuite.setup.TestCluster;
 import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.statistics.StatisticsEventBatch;
 import org.evosuite.utils.FileIOUtils;
 import org.evosuite.utils.Listener;
 import org.evosuite.utils.LoggingUtils;
@@ -107,11 +108,24 @@ public class ClientNodeImpl<T extends Chromosome<T>>
     private static class OutputVariable {
         public RuntimeVariable variable;
         public Object value;
+        public long timeStamp;
+
+        /**
+         * Values of a timeline sample, null for a single variable
+         */
+        public Map<RuntimeVariable, Number> sample;
 
         public OutputVariable(RuntimeVariable variable, Object value) {
             super();
             this.variable = variable;
             this.value = value;
+            this.timeStamp = System.currentTimeMillis();
+        }
+
+        public OutputVariable(long timeStamp, Map<RuntimeVariable, Number> sample) {
+            super();
+            this.timeStamp = timeStamp;
+            this.sample = sample;
         }
     }
 
@@ -288,6 +302,32 @@ public class ClientNodeImpl<T extends Chromosome<T>>
         outputVariableQueue.offer(new OutputVariable(variable, value));
     }
 
+    @Override
+    public void trackTimelineSample(long timeStamp, Map<RuntimeVariable, Number> values) {
+        outputVariableQueue.offer(new OutputVariable(timeStamp, new LinkedHashMap<>(values)));
+    }
+
+    /**
+     * Send the given variables to master. Timeline samples, and with
+     * {@link Properties#STATISTICS_STREAM} also all variables whose values
+     * can be encoded, are sent in a single batch
+     */
+    private void sendOutputVariables(List<OutputVariable> vars) throws RemoteException {
+        StatisticsEventBatch batch = new StatisticsEventBatch();
+        for (OutputVariable ov : vars) {
+            if (ov.sample != null) {
+                batch.addTimelineSample(ov.timeStamp, ov.sample);
+            } else if (Properties.STATISTICS_STREAM && StatisticsEventBatch.isSupported(ov.value)) {
+                batch.addVariable(ov.variable, ov.timeStamp, ov.value);
+            } else {
+                masterNode.evosuite_collectStatistics(clientRmiIdentifier, ov.variable, ov.value);
+            }
+        }
+        if (!batch.isEmpty()) {
+            masterNode.evosuite_collectStatisticsBatch(clientRmiIdentifier, batch.toByteArray());
+        }
+    }
+
     @Override
     public void publishPermissionStatistics() {
 
@@ -335,13 +375,10 @@ public class ClientNodeImpl<T extends Chromosome<T>>
             statisticsThread.interrupt();
             List<OutputVariable> vars = new ArrayList<>();
             outputVariableQueue.drainTo(vars);
-            for (OutputVariable ov : vars) {
-                try {
-                    masterNode.evosuite_collectStatistics(clientRmiIdentifier, ov.variable, ov.value);
-                } catch (RemoteException e) {
-                    logger.error("Error when exporting statistics: " + ov.variable + "=" + ov.value, e);
-                    break;
-                }
+            try {
+                sendOutputVariables(vars);
+            } catch (RemoteException e) {
+                logger.error("Error when exporting statistics", e);
             }
 
             try {
@@ -367,14 +404,15 @@ public class ClientNodeImpl<T extends Chromosome<T>>
                 @Override
                 public void run() {
                     while (!this.isInterrupted()) {
-                        OutputVariable ov = null;
+                        List<OutputVariable> vars = new ArrayList<>();
                         try {
-                            ov = outputVariableQueue.take(); //this is blocking
-                            masterNode.evosuite_collectStatistics(clientRmiIdentifier, ov.variable, ov.value);
+                            vars.add(outputVariableQueue.take()); //this is blocking
+                            outputVariableQueue.drainTo(vars);
+                            sendOutputVariables(vars);
                         } catch (InterruptedException e) {
                             break;
                         } catch (RemoteException e) {
-                            logger.error("Error when exporting statistics: " + ov.variable + "=" + ov.value, e);
+                            logger.error("Error when exporting statistics", e);
                             break;
                         }
                     }
@@ -23,6 +23,7 @@ import org.evosuite.ga.Chromosome;
 import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.utils.Listenable;
 
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -36,6 +37,12 @@ public interface ClientNodeLocal<T extends Chromosome<T>> extends Listenable<Set
 
     void trackOutputVariable(RuntimeVariable variable, Object value);
 
+    /**
+     * Track the values of the timeline variables computed at the given time,
+     * see {@link org.evosuite.statistics.TimelineSampler}
+     */
+    void trackTimelineSample(long timeStamp, Map<RuntimeVariable, Number> values);
+
     void publishPermissionStatistics();
 
     void changeState(ClientState state);
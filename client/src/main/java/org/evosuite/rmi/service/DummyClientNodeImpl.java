@@ -24,6 +24,7 @@ import org.evosuite.statistics.RuntimeVariable;
 
 import java.rmi.RemoteException;
 import java.rmi.registry.Registry;
+import java.util.Map;
 
 public class DummyClientNodeImpl<T extends Chromosome<T>> extends ClientNodeImpl<T> {
 
@@ -69,6 +70,11 @@ public class DummyClientNodeImpl<T extends Chromosome<T>> extends ClientNodeImpl
 
     }
 
+    @Override
+    public void trackTimelineSample(long timeStamp, Map<RuntimeVariable, Number> values) {
+
+    }
+
     @Override
     public void waitUntilDone() {
         // TODO Auto-generated method stub
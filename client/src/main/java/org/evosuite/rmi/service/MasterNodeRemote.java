@@ -51,6 +51,11 @@ public interface MasterNodeRemote extends Remote {
 
     void evosuite_collectStatistics(String clientRmiIdentifier, RuntimeVariable variable, Object value) throws RemoteException;
 
+    /**
+     * Collect the events encoded in a {@link org.evosuite.statistics.StatisticsEventBatch}
+     */
+    void evosuite_collectStatisticsBatch(String clientRmiIdentifier, byte[] events) throws RemoteException;
+
     void evosuite_collectTestGenerationResult(String clientRmiIdentifier, List<TestGenerationResult> results) throws RemoteException;
 
     void evosuite_flushStatisticsForClassChange(String clientRmiIdentifier) throws RemoteException;
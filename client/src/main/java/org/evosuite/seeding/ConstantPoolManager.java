@@ -33,6 +33,11 @@ public class ConstantPoolManager {
     private ConstantPool[] pools;
     private double[] probabilities;
 
+    /**
+     * The dynamic pool if it accepts unboxed values, null otherwise
+     */
+    private DynamicConstantPool primitiveDynamicPool;
+
     /*
      * We treat it in a special way, for now, just for making experiments
      * easier to run
@@ -51,6 +56,8 @@ public class ConstantPoolManager {
             pools = new ConstantPool[]{new StaticConstantVariableProbabilityPool(), new StaticConstantVariableProbabilityPool(),
                     new DynamicConstantVariableProbabilityPool()};
         }
+        primitiveDynamicPool = pools[DYNAMIC_POOL_INDEX] instanceof DynamicConstantPool
+                ? (DynamicConstantPool) pools[DYNAMIC_POOL_INDEX] : null;
 
         initDefaultProbabilities();
     }
@@ -99,6 +106,34 @@ public class ConstantPoolManager {
         pools[DYNAMIC_POOL_INDEX].add(value);
     }
 
+    public void addDynamicConstant(int value) {
+        if (primitiveDynamicPool != null)
+            primitiveDynamicPool.add(value);
+        else
+            pools[DYNAMIC_POOL_INDEX].add(value);
+    }
+
+    public void addDynamicConstant(long value) {
+        if (primitiveDynamicPool != null)
+            primitiveDynamicPool.add(value);
+        else
+            pools[DYNAMIC_POOL_INDEX].add(value);
+    }
+
+    public void addDynamicConstant(float value) {
+        if (primitiveDynamicPool != null)
+            primitiveDynamicPool.add(value);
+        else
+            pools[DYNAMIC_POOL_INDEX].add(value);
+    }
+
+    public void addDynamicConstant(double value) {
+        if (primitiveDynamicPool != null)
+            primitiveDynamicPool.add(value);
+        else
+            pools[DYNAMIC_POOL_INDEX].add(value);
+    }
+
     public ConstantPool getConstantPool() {
         double p = Randomness.nextDouble();
         double k = 0d;
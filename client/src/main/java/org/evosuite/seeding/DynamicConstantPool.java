@@ -22,24 +22,137 @@ package org.evosuite.seeding;
 import org.evosuite.Properties;
 import org.evosuite.utils.DefaultRandomAccessQueue;
 import org.evosuite.utils.RandomAccessQueue;
+import org.evosuite.utils.Randomness;
 import org.objectweb.asm.Type;
 
 /**
+ * Constants observed during execution.
+ * <p>
+ * Primitive values are kept unboxed: each type has a ring buffer of the
+ * most recent distinct values together with an open-addressing set to
+ * detect duplicates. When the ring is full the oldest value is dropped.
+ *
  * @author Gordon Fraser
  */
 public class DynamicConstantPool implements ConstantPool {
 
+    /**
+     * Distinct values in insertion order, stored as raw bits
+     */
+    static final class PrimitiveQueue {
+
+        private final long[] ring;
+
+        private int head = 0;
+
+        private int size = 0;
+
+        /**
+         * Linear probing set of the values in ring
+         */
+        private final long[] keys;
+
+        private final boolean[] used;
+
+        /**
+         * New values seen since the last one was added
+         */
+        private int skipped = 0;
+
+        PrimitiveQueue(int capacity) {
+            ring = new long[Math.max(1, capacity)];
+            int tableSize = Integer.highestOneBit(Math.max(2, 2 * ring.length - 1)) << 1;
+            keys = new long[tableSize];
+            used = new boolean[tableSize];
+        }
+
+        private static int hash(long value) {
+            value ^= value >>> 33;
+            value *= 0xff51afd7ed558ccdL;
+            value ^= value >>> 33;
+            return (int) value;
+        }
+
+        private int slot(long value) {
+            int mask = keys.length - 1;
+            int i = hash(value) & mask;
+            while (used[i] && keys[i] != value)
+                i = (i + 1) & mask;
+            return i;
+        }
+
+        boolean contains(long value) {
+            return used[slot(value)];
+        }
+
+        private void removeKey(long value) {
+            int mask = keys.length - 1;
+            int i = slot(value);
+            if (!used[i])
+                return;
+            // shift back the entries that probed past the removed slot
+            int j = i;
+            while (true) {
+                j = (j + 1) & mask;
+                if (!used[j])
+                    break;
+                int k = hash(keys[j]) & mask;
+                if (i <= j ? (i < k && k <= j) : (i < k || k <= j))
+                    continue;
+                keys[i] = keys[j];
+                i = j;
+            }
+            used[i] = false;
+        }
+
+        /**
+         * Add the value unless it is already contained; every n-th new value is
+         * kept when sampling is enabled
+         */
+        void add(long value, int sampling) {
+            int i = slot(value);
+            if (used[i])
+                return;
+            if (sampling > 1 && size > 0 && ++skipped < sampling)
+                return;
+            skipped = 0;
+            if (size == ring.length) {
+                removeKey(ring[head]);
+                ring[head] = value;
+                head = (head + 1) % ring.length;
+                i = slot(value);
+            } else {
+                ring[(head + size) % ring.length] = value;
+                size++;
+            }
+            keys[i] = value;
+            used[i] = true;
+        }
+
+        long getRandomValue() {
+            return ring[(head + Randomness.nextInt(size)) % ring.length];
+        }
+
+        int size() {
+            return size;
+        }
+
+        long get(int index) {
+            return ring[(head + index) % ring.length];
+        }
+    }
+
     private final RandomAccessQueue<String> stringPool = new DefaultRandomAccessQueue<>();
 
     private final RandomAccessQueue<Type> typePool = new DefaultRandomAccessQueue<>();
 
-    private final RandomAccessQueue<Integer> intPool = new DefaultRandomAccessQueue<>();
+    private final PrimitiveQueue intPool = new PrimitiveQueue(Properties.DYNAMIC_POOL_SIZE);
 
-    private final RandomAccessQueue<Double> doublePool = new DefaultRandomAccessQueue<>();
+    private final PrimitiveQueue doublePool = new PrimitiveQueue(Properties.DYNAMIC_POOL_SIZE);
 
-    private final RandomAccessQueue<Long> longPool = new DefaultRandomAccessQueue<>();
+    private final PrimitiveQueue longPool = new PrimitiveQueue(Properties.DYNAMIC_POOL_SIZE);
 
-    private final RandomAccessQueue<Float> floatPool = new DefaultRandomAccessQueue<>();
+    private final PrimitiveQueue floatPool = new PrimitiveQueue(Properties.DYNAMIC_POOL_SIZE);
 
     public DynamicConstantPool() {
         /*
@@ -51,10 +164,10 @@ public class DynamicConstantPool implements ConstantPool {
         } else {
             typePool.restrictedAdd(Type.getType(Object.class));
         }
-        intPool.restrictedAdd(0);
-        longPool.restrictedAdd(0L);
-        floatPool.restrictedAdd(0.0f);
-        doublePool.restrictedAdd(0.0);
+        intPool.add(0, 1);
+        longPool.add(0L, 1);
+        floatPool.add(Float.floatToIntBits(0.0f), 1);
+        doublePool.add(Double.doubleToLongBits(0.0), 1);
     }
 
     /* (non-Javadoc)
@@ -75,7 +188,7 @@ public class DynamicConstantPool implements ConstantPool {
      */
     @Override
     public int getRandomInt() {
-        return intPool.getRandomValue();
+        return (int) intPool.getRandomValue();
     }
 
     /* (non-Javadoc)
@@ -83,7 +196,7 @@ public class DynamicConstantPool implements ConstantPool {
      */
     @Override
     public float getRandomFloat() {
-        return floatPool.getRandomValue();
+        return Float.intBitsToFloat((int) floatPool.getRandomValue());
     }
 
     /* (non-Javadoc)
@@ -91,7 +204,7 @@ public class DynamicConstantPool implements ConstantPool {
      */
     @Override
     public double getRandomDouble() {
-        return doublePool.getRandomValue();
+        return Double.longBitsToDouble(doublePool.getRandomValue());
     }
 
     /* (non-Javadoc)
@@ -102,6 +215,26 @@ public class DynamicConstantPool implements ConstantPool {
         return longPool.getRandomValue();
     }
 
+    public void add(int value) {
+        if (!Properties.RESTRICT_POOL || Math.abs(value) < Properties.MAX_INT)
+            intPool.add(value, Properties.DYNAMIC_POOL_SAMPLING);
+    }
+
+    public void add(long value) {
+        if (!Properties.RESTRICT_POOL || Math.abs(value) < Properties.MAX_INT)
+            longPool.add(value, Properties.DYNAMIC_POOL_SAMPLING);
+    }
+
+    public void add(float value) {
+        if (!Properties.RESTRICT_POOL || Math.abs(value) < Properties.MAX_INT)
+            floatPool.add(Float.floatToIntBits(value), Properties.DYNAMIC_POOL_SAMPLING);
+    }
+
+    public void add(double value) {
+        if (!Properties.RESTRICT_POOL || Math.abs(value) < Properties.MAX_INT)
+            doublePool.add(Double.doubleToLongBits(value), Properties.DYNAMIC_POOL_SAMPLING);
+    }
+
     /* (non-Javadoc)
      * @see org.evosuite.primitives.ConstantPool#add(java.lang.Object)
      */
@@ -123,42 +256,32 @@ public class DynamicConstantPool implements ConstantPool {
         } else if (object instanceof Type) {
             typePool.restrictedAdd((Type) object);
         } else if (object instanceof Integer) {
-            if (Properties.RESTRICT_POOL) {
-                int val = (Integer) object;
-                if (Math.abs(val) < Properties.MAX_INT) {
-                    intPool.restrictedAdd((Integer) object);
-                }
-            } else {
-                intPool.restrictedAdd((Integer) object);
-            }
+            add((int) (Integer) object);
         } else if (object instanceof Long) {
-            if (Properties.RESTRICT_POOL) {
-                long val = (Long) object;
-                if (Math.abs(val) < Properties.MAX_INT) {
-                    longPool.restrictedAdd((Long) object);
-                }
-            } else {
-                longPool.restrictedAdd((Long) object);
-            }
+            add((long) (Long) object);
         } else if (object instanceof Float) {
-            if (Properties.RESTRICT_POOL) {
-                float val = (Float) object;
-                if (Math.abs(val) < Properties.MAX_INT) {
-                    floatPool.restrictedAdd((Float) object);
-                }
-            } else {
-                floatPool.restrictedAdd((Float) object);
-            }
+            add((float) (Float) object);
         } else if (object instanceof Double) {
-            if (Properties.RESTRICT_POOL) {
-                double val = (Double) object;
-                if (Math.abs(val) < Properties.MAX_INT) {
-                    doublePool.restrictedAdd((Double) object);
-                }
-            } else {
-                doublePool.restrictedAdd((Double) object);
-            }
+            add((double) (Double) object);
+        }
+    }
+
+    private static String toString(PrimitiveQueue pool, Class<?> type) {
+        StringBuilder res = new StringBuilder("[ ");
+        for (int i = 0; i < pool.size(); i++) {
+            long bits = pool.get(i);
+            if (type == Integer.class)
+                res.append((int) bits);
+            else if (type == Float.class)
+                res.append(Float.intBitsToFloat((int) bits));
+            else if (type == Double.class)
+                res.append(Double.longBitsToDouble(bits));
+            else
+                res.append(bits);
+            res.append(" ");
         }
+        res.append("]");
+        return res.toString();
     }
 
     @Override
@@ -166,10 +289,10 @@ public class DynamicConstantPool implements ConstantPool {
         String res = "DynamicConstantPool:{";
         res += "stringPool=" + stringPool + " ; ";
         res += "typePool=" + typePool + " ; ";
-        res += "intPool=" + intPool + " ; ";
-        res += "longPool=" + longPool + " ; ";
-        res += "floatPool=" + floatPool + " ; ";
-        res += "doublePool=" + doublePool + "}";
+        res += "intPool=" + toString(intPool, Integer.class) + " ; ";
+        res += "longPool=" + toString(longPool, Long.class) + " ; ";
+        res += "floatPool=" + toString(floatPool, Float.class) + " ; ";
+        res += "doublePool=" + toString(doublePool, Double.class) + "}";
         return res;
     }
 
@@ -0,0 +1,458 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.setup;
+
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ResourceList;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Single place where the static analyses (dependency analysis, call graph,
+ * test cluster, testability transformation) get the parsed ASM trees of
+ * the classes they look at, so that each class file is parsed only once.
+ *
+ * <p>
+ * Parsed {@link ClassNode}s are kept in a bounded LRU map of soft references,
+ * so that they can be reclaimed under memory pressure and simply parsed
+ * again. The call sites of each class (ie the edges of the call graph) are
+ * much smaller and are kept for the whole run; they can also be persisted to
+ * {@link Properties#CLASS_ANALYSIS_CACHE_FILE}, keyed by the checksum of the
+ * class file, so that a later run does not need to parse unchanged classes.
+ *
+ * <p>
+ * Note: the instrumenting class loaders do not use this cache, as they
+ * transform their own copy of each class; control flow graphs and the purity
+ * analysis are computed while instrumenting, without parsing the class again.
+ * Control flow graphs are not stored here either, as they refer to the
+ * instructions and branches of a specific instrumenting class loader
+ * (see {@link org.evosuite.graphs.GraphPool}).
+ *
+ * <p>
+ * Classes can be requested with either '.' or '/' as separator; they are
+ * stored under their name with '.'.
+ */
+public class ClassAnalysisCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassAnalysisCache.class);
+
+    private static final int MAGIC = 0x45564341; // "EVCA"
+    private static final int VERSION = 1;
+
+    private static ClassAnalysisCache instance = null;
+
+    /**
+     * Methods of a class, and the calls in each of them
+     */
+    public static class ClassCalls {
+
+        private final String superName;
+        private final List<MethodCalls> methods;
+
+        ClassCalls(String superName, List<MethodCalls> methods) {
+            this.superName = superName;
+            this.methods = methods;
+        }
+
+        /**
+         * @return internal name of the superclass, or {@code null}
+         */
+        public String getSuperName() {
+            return superName;
+        }
+
+        public List<MethodCalls> getMethods() {
+            return methods;
+        }
+    }
+
+    /**
+     * A method, and the methods invoked by its instructions, in bytecode order
+     */
+    public static class MethodCalls {
+
+        private final String name;
+        private final String desc;
+        private final int access;
+
+        /**
+         * Internal names of the owners of the called methods
+         */
+        private final String[] calledOwners;
+
+        /**
+         * Name + descriptor of the called methods, at the same indices as the owners
+         */
+        private final String[] calledMethods;
+
+        MethodCalls(String name, String desc, int access, String[] calledOwners, String[] calledMethods) {
+            assert calledOwners.length == calledMethods.length;
+            this.name = name;
+            this.desc = desc;
+            this.access = access;
+            this.calledOwners = calledOwners;
+            this.calledMethods = calledMethods;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDesc() {
+            return desc;
+        }
+
+        public int getAccess() {
+            return access;
+        }
+
+        public int getNumberOfCalls() {
+            return calledOwners.length;
+        }
+
+        public String getCalledOwner(int index) {
+            return calledOwners[index];
+        }
+
+        public String getCalledMethod(int index) {
+            return calledMethods[index];
+        }
+    }
+
+    private static class PersistedCalls {
+        final long checksum;
+        final ClassCalls calls;
+
+        PersistedCalls(long checksum, ClassCalls calls) {
+            this.checksum = checksum;
+            this.calls = calls;
+        }
+    }
+
+    /**
+     * Key -> class name, with '.' as separator
+     * <p>
+     * Value -> soft reference to the parsed class, in access order
+     */
+    private final LinkedHashMap<String, SoftReference<ClassNode>> classNodes = new LinkedHashMap<String, SoftReference<ClassNode>>(16, 0.75f, true) {
+        private static final long serialVersionUID = -3570834187962460262L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SoftReference<ClassNode>> eldest) {
+            return size() > Properties.CLASS_ANALYSIS_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Classes that could not be found or read
+     */
+    private final Set<String> missingClasses = new HashSet<>();
+
+    /**
+     * Call sites of the classes analyzed in this run
+     */
+    private final Map<String, ClassCalls> calls = new LinkedHashMap<>();
+
+    /**
+     * Call sites loaded from disk, to be validated against the class checksum before use
+     */
+    private final Map<String, PersistedCalls> persistedCalls = new LinkedHashMap<>();
+
+    private final Map<String, Long> checksums = new LinkedHashMap<>();
+
+    private int numParsedClasses = 0;
+
+    private ClassAnalysisCache() {
+        if (!Properties.CLASS_ANALYSIS_CACHE_FILE.isEmpty()) {
+            load(new File(Properties.CLASS_ANALYSIS_CACHE_FILE));
+        }
+    }
+
+    public static synchronized ClassAnalysisCache getInstance() {
+        if (instance == null) {
+            instance = new ClassAnalysisCache();
+        }
+        return instance;
+    }
+
+    public static synchronized void reset() {
+        instance = null;
+    }
+
+    /**
+     * Return the tree of the given class, parsed with {@link ClassReader#SKIP_FRAMES}.
+     * Callers must not modify the returned node, as it is shared.
+     *
+     * @param className fully qualified name, either with '.' or '/' as separator
+     * @return {@code null} if the class cannot be found
+     */
+    public synchronized ClassNode getClassNode(String className) {
+        className = normalize(className);
+        SoftReference<ClassNode> reference = classNodes.get(className);
+        ClassNode cn = reference == null ? null : reference.get();
+        if (cn != null) {
+            return cn;
+        }
+        if (missingClasses.contains(className)) {
+            return null;
+        }
+
+        byte[] bytes = getClassBytes(className);
+        if (bytes == null) {
+            missingClasses.add(className);
+            return null;
+        }
+        cn = new ClassNode();
+        ClassReader reader = new ClassReader(bytes);
+        reader.accept(cn, ClassReader.SKIP_FRAMES);
+        numParsedClasses++;
+        classNodes.put(className, new SoftReference<>(cn));
+        return cn;
+    }
+
+    /**
+     * Return the methods of the given class and the calls they contain.
+     * If these were persisted by a previous run, and the class file has not
+     * changed since, the class is not parsed at all.
+     *
+     * @param className fully qualified name, either with '.' or '/' as separator
+     * @return {@code null} if the class cannot be found
+     */
+    public synchronized ClassCalls getCalls(String className) {
+        className = normalize(className);
+        ClassCalls result = calls.get(className);
+        if (result != null) {
+            return result;
+        }
+
+        PersistedCalls persisted = persistedCalls.get(className);
+        if (persisted != null) {
+            Long checksum = getChecksum(className);
+            if (checksum != null && checksum == persisted.checksum) {
+                calls.put(className, persisted.calls);
+                return persisted.calls;
+            }
+        }
+
+        ClassNode cn = getClassNode(className);
+        if (cn == null) {
+            return null;
+        }
+        result = computeCalls(cn);
+        calls.put(className, result);
+        return result;
+    }
+
+    /**
+     * @return how many class files have been parsed by this cache
+     */
+    public synchronized int getNumberOfParsedClasses() {
+        return numParsedClasses;
+    }
+
+    /**
+     * Write the call sites of all the classes analyzed so far to
+     * {@link Properties#CLASS_ANALYSIS_CACHE_FILE}, if set.
+     * The file is replaced atomically.
+     */
+    public synchronized void save() {
+        if (Properties.CLASS_ANALYSIS_CACHE_FILE.isEmpty()) {
+            return;
+        }
+        File file = new File(Properties.CLASS_ANALYSIS_CACHE_FILE);
+        File tmp = null;
+        try {
+            File folder = file.getAbsoluteFile().getParentFile();
+            if (folder != null && !folder.exists()) {
+                folder.mkdirs();
+            }
+            tmp = File.createTempFile(file.getName(), ".tmp", folder);
+            Map<String, PersistedCalls> toWrite = new LinkedHashMap<>(persistedCalls);
+            for (Map.Entry<String, ClassCalls> entry : calls.entrySet()) {
+                Long checksum = getChecksum(entry.getKey());
+                if (checksum != null) {
+                    toWrite.put(entry.getKey(), new PersistedCalls(checksum, entry.getValue()));
+                }
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(toWrite.size());
+                for (Map.Entry<String, PersistedCalls> entry : toWrite.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeLong(entry.getValue().checksum);
+                    writeCalls(out, entry.getValue().calls);
+                }
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to write class analysis cache {}: {}", file, e.getMessage());
+            if (tmp != null) {
+                tmp.delete();
+            }
+        }
+    }
+
+    private void load(File file) {
+        if (!file.exists()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                logger.info("Ignoring class analysis cache in unknown format: {}", file);
+                return;
+            }
+            int numClasses = in.readInt();
+            for (int i = 0; i < numClasses; i++) {
+                String className = in.readUTF();
+                long checksum = in.readLong();
+                persistedCalls.put(normalize(className), new PersistedCalls(checksum, readCalls(in)));
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to read class analysis cache {}: {}", file, e.getMessage());
+            persistedCalls.clear();
+        }
+    }
+
+    private static ClassCalls computeCalls(ClassNode cn) {
+        List<MethodCalls> methods = new ArrayList<>(cn.methods.size());
+        List<String> owners = new ArrayList<>();
+        List<String> methodNames = new ArrayList<>();
+        for (MethodNode mn : cn.methods) {
+            owners.clear();
+            methodNames.clear();
+            for (AbstractInsnNode insn : mn.instructions) {
+                if (insn instanceof MethodInsnNode) {
+                    MethodInsnNode methodCall = (MethodInsnNode) insn;
+                    owners.add(methodCall.owner);
+                    methodNames.add(methodCall.name + methodCall.desc);
+                }
+            }
+            methods.add(new MethodCalls(mn.name, mn.desc, mn.access,
+                    owners.toArray(new String[0]), methodNames.toArray(new String[0])));
+        }
+        return new ClassCalls(cn.superName, methods);
+    }
+
+    private static void writeCalls(DataOutput out, ClassCalls classCalls) throws IOException {
+        out.writeBoolean(classCalls.superName != null);
+        if (classCalls.superName != null) {
+            out.writeUTF(classCalls.superName);
+        }
+        out.writeInt(classCalls.methods.size());
+        for (MethodCalls method : classCalls.methods) {
+            out.writeUTF(method.name);
+            out.writeUTF(method.desc);
+            out.writeInt(method.access);
+            out.writeInt(method.calledOwners.length);
+            for (int i = 0; i < method.calledOwners.length; i++) {
+                out.writeUTF(method.calledOwners[i]);
+                out.writeUTF(method.calledMethods[i]);
+            }
+        }
+    }
+
+    private static ClassCalls readCalls(DataInput in) throws IOException {
+        String superName = in.readBoolean() ? in.readUTF() : null;
+        int numMethods = in.readInt();
+        List<MethodCalls> methods = new ArrayList<>(numMethods);
+        for (int i = 0; i < numMethods; i++) {
+            String name = in.readUTF();
+            String desc = in.readUTF();
+            int access = in.readInt();
+            int numCalls = in.readInt();
+            String[] owners = new String[numCalls];
+            String[] calledMethods = new String[numCalls];
+            for (int j = 0; j < numCalls; j++) {
+                owners[j] = in.readUTF();
+                calledMethods[j] = in.readUTF();
+            }
+            methods.add(new MethodCalls(name, desc, access, owners, calledMethods));
+        }
+        return new ClassCalls(superName, methods);
+    }
+
+    private static String normalize(String className) {
+        return className.replace('/', '.');
+    }
+
+    private Long getChecksum(String className) {
+        Long checksum = checksums.get(className);
+        if (checksum == null) {
+            byte[] bytes = getClassBytes(className);
+            if (bytes == null) {
+                return null;
+            }
+            checksum = computeChecksum(bytes);
+        }
+        return checksum;
+    }
+
+    private static long computeChecksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        // include the length, to make collisions even less likely
+        return (crc.getValue() << 32) ^ bytes.length;
+    }
+
+    private byte[] getClassBytes(String className) {
+        InputStream classStream = ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getClassAsStream(className);
+        if (classStream == null) {
+            // TODO: Proper treatment of missing classes (can also be
+            //       invalid calls, e.g. [L/java/lang/Object;)
+            logger.info("Could not find class file: " + className);
+            return null;
+        }
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = classStream.read(chunk)) != -1) {
+                buffer.write(chunk, 0, read);
+            }
+            byte[] bytes = buffer.toByteArray();
+            checksums.put(className, computeChecksum(bytes));
+            return bytes;
+        } catch (IOException e) {
+            logger.info("Error reading class file " + className + ": " + e.getMessage());
+            return null;
+        } finally {
+            try {
+                classStream.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+}
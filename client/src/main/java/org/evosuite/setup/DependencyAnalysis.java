@@ -36,13 +36,10 @@ import org.evosuite.setup.callgraph.CallGraph;
 import org.evosuite.setup.callgraph.CallGraphGenerator;
 import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.utils.ArrayUtil;
-import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.tree.ClassNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.*;
 
 /**
@@ -54,8 +51,6 @@ public class DependencyAnalysis {
 
     private static final Logger logger = LoggerFactory.getLogger(DependencyAnalysis.class);
 
-    private static final Map<String, ClassNode> classCache = new LinkedHashMap<>();
-
     private static final Map<String, CallGraph> callGraphs = new LinkedHashMap<>();
 
     private static InheritanceTree inheritanceTree = null;
@@ -98,6 +93,7 @@ public class DependencyAnalysis {
         logger.debug("Update call tree with calls to overridden methods");
         CallGraphGenerator.update(callGraph, inheritanceTree);
 
+        ClassAnalysisCache.getInstance().save();
     }
 
     private static void analyze(String className) throws RuntimeException,
@@ -296,42 +292,7 @@ public class DependencyAnalysis {
     }
 
     public static ClassNode getClassNode(String className) {
-        if (!classCache.containsKey(className)) {
-            try {
-                classCache.put(className, loadClassNode(className));
-            } catch (IOException e) {
-                classCache.put(className, null);
-            }
-        }
-
-        return classCache.get(className);
-
-    }
-
-    public static Collection<ClassNode> getAllClassNodes() {
-        return classCache.values();
-    }
-
-    private static ClassNode loadClassNode(String className) throws IOException {
-
-        InputStream classStream = ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getClassAsStream(className);
-        if (classStream == null) {
-            // This used to throw an IOException that leads to null being
-            // returned, so for now we're just returning null directly
-            // TODO: Proper treatment of missing classes (can also be
-            //       invalid calls, e.g. [L/java/lang/Object;)
-            logger.info("Could not find class file: " + className);
-            return null;
-        }
-        ClassNode cn = new ClassNode();
-        try {
-            ClassReader reader = new ClassReader(classStream);
-            reader.accept(cn, ClassReader.SKIP_FRAMES); // |
-            // ClassReader.SKIP_DEBUG);
-        } finally {
-            classStream.close(); // ASM does not close the stream
-        }
-        return cn;
+        return ClassAnalysisCache.getInstance().getClassNode(className);
     }
 
 
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.setup;
+
+import org.apache.commons.lang3.ClassUtils;
+import org.evosuite.utils.generic.GenericClass;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indexes the types of the {@link TestCluster} by raw class, so that the
+ * generic type checks done to find the generators of a type, and to invalidate
+ * the cached generators once a new generator is added, only consider the types
+ * whose raw classes are assignable. Types for which the raw class says nothing
+ * about assignability (type variables, wildcards, arrays, primitives and their
+ * wrappers) are not indexed, and always considered.
+ */
+class GeneratorIndex {
+
+    /**
+     * Types with generators, in the order they were added
+     */
+    private final List<GenericClass<?>> generatorTypes = new ArrayList<>();
+
+    /**
+     * Types with generators that could be instantiated to a raw class, built on demand
+     */
+    private final Map<Class<?>, List<GenericClass<?>>> generatorTypesByTarget = new HashMap<>();
+
+    /**
+     * Types with cached generators, by raw class
+     */
+    private final Map<Class<?>, Set<GenericClass<?>>> cachedTypes = new HashMap<>();
+
+    private final Set<GenericClass<?>> unindexedCachedTypes = new LinkedHashSet<>();
+
+    /**
+     * Raw classes a raw class is assignable to, built on demand
+     */
+    private final Map<Class<?>, List<Class<?>>> supertypes = new HashMap<>();
+
+    static boolean isIndexed(GenericClass<?> type) {
+        return !(type.isTypeVariable() || type.isWildcardType() || type.isArray()
+                || type.isPrimitive() || type.isWrapperType());
+    }
+
+    private static boolean mayBeAssignableTo(GenericClass<?> type, Class<?> rawClass) {
+        return !isIndexed(type) || rawClass.isAssignableFrom(type.getRawClass());
+    }
+
+    void addGeneratorType(GenericClass<?> type) {
+        generatorTypes.add(type);
+        for (Map.Entry<Class<?>, List<GenericClass<?>>> entry : generatorTypesByTarget.entrySet()) {
+            if (mayBeAssignableTo(type, entry.getKey()))
+                entry.getValue().add(type);
+        }
+    }
+
+    /**
+     * @return the types with generators that can possibly be instantiated to
+     * the target type, in the order they were added
+     */
+    List<GenericClass<?>> getGeneratorTypes(GenericClass<?> target) {
+        if (!isIndexed(target))
+            return Collections.unmodifiableList(generatorTypes);
+
+        List<GenericClass<?>> types = generatorTypesByTarget.computeIfAbsent(target.getRawClass(), rawClass -> {
+            List<GenericClass<?>> candidates = new ArrayList<>();
+            for (GenericClass<?> type : generatorTypes) {
+                if (mayBeAssignableTo(type, rawClass))
+                    candidates.add(type);
+            }
+            return candidates;
+        });
+        return Collections.unmodifiableList(types);
+    }
+
+    void addCachedType(GenericClass<?> type) {
+        if (isIndexed(type))
+            cachedTypes.computeIfAbsent(type.getRawClass(), c -> new LinkedHashSet<>()).add(type);
+        else
+            unindexedCachedTypes.add(type);
+    }
+
+    void removeCachedType(GenericClass<?> type) {
+        if (!isIndexed(type)) {
+            unindexedCachedTypes.remove(type);
+            return;
+        }
+        Set<GenericClass<?>> types = cachedTypes.get(type.getRawClass());
+        if (types != null) {
+            types.remove(type);
+            if (types.isEmpty())
+                cachedTypes.remove(type.getRawClass());
+        }
+    }
+
+    /**
+     * @return the types with cached generators that the given type can possibly be assigned to
+     */
+    List<GenericClass<?>> getCachedTypesAssignableFrom(GenericClass<?> type) {
+        List<GenericClass<?>> result = new ArrayList<>(unindexedCachedTypes);
+        if (!isIndexed(type)) {
+            cachedTypes.values().forEach(result::addAll);
+            return result;
+        }
+
+        for (Class<?> rawClass : getSupertypes(type.getRawClass())) {
+            Set<GenericClass<?>> types = cachedTypes.get(rawClass);
+            if (types != null)
+                result.addAll(types);
+        }
+        return result;
+    }
+
+    private List<Class<?>> getSupertypes(Class<?> rawClass) {
+        return supertypes.computeIfAbsent(rawClass, c -> {
+            List<Class<?>> types = new ArrayList<>();
+            types.add(c);
+            types.addAll(ClassUtils.getAllSuperclasses(c));
+            types.addAll(ClassUtils.getAllInterfaces(c));
+            if (c.isInterface())
+                types.add(Object.class);
+            return types;
+        });
+    }
+
+    void clearCachedTypes() {
+        cachedTypes.clear();
+        unindexedCachedTypes.clear();
+    }
+
+    void clear() {
+        generatorTypes.clear();
+        generatorTypesByTarget.clear();
+        supertypes.clear();
+        clearCachedTypes();
+    }
+}
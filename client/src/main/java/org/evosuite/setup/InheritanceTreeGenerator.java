@@ -24,15 +24,15 @@ import org.evosuite.ClientProcess;
 import org.evosuite.PackageInfo;
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassHeader;
+import org.evosuite.classpath.ClassPathScanner;
 import org.evosuite.classpath.ResourceList;
 import org.evosuite.rmi.ClientServices;
 import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.utils.LoggingUtils;
-import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.InnerClassNode;
-import org.objectweb.asm.tree.MethodNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -82,6 +82,10 @@ public class InheritanceTreeGenerator {
         }
 
         logger.debug("CP: {}", classPath);
+        ResourceList resourceList = ResourceList.getInstance(
+                TestGenerationContext.getInstance().getClassLoaderForSUT());
+        List<String> entries = new ArrayList<>();
+        List<Set<String>> classNames = new ArrayList<>();
         for (String classPathEntry : classPath) {
             logger.debug("Looking at CP entry: {}", classPathEntry);
             if (classPathEntry.isEmpty())
@@ -92,14 +96,20 @@ public class InheritanceTreeGenerator {
 
             logger.debug("Analyzing classpath entry {}", classPathEntry);
             LoggingUtils.getEvoLogger().info("  - " + classPathEntry);
-            for (String className : ResourceList.getInstance(
-                    TestGenerationContext.getInstance().getClassLoaderForSUT()).getAllClasses(classPathEntry, "", true, false)) {
-                // handle individual class
-                analyzeClassStream(inheritanceTree, ResourceList.getInstance(
-                        TestGenerationContext.getInstance().getClassLoaderForSUT()).getClassAsStream(className), false);
+            // an entry can itself be a classpath
+            for (String element : classPathEntry.split(File.pathSeparator)) {
+                if (element.isEmpty())
+                    continue;
+                entries.add(new File(element).getAbsolutePath());
+                classNames.add(resourceList.getAllClasses(element, "", true, false));
             }
+        }
 
-            // analyze(inheritanceTree, classPathEntry);
+        // class headers are parsed in parallel, but added to the tree in classpath order
+        for (List<ClassHeader> headers : ClassPathScanner.readHeaders(entries, classNames)) {
+            for (ClassHeader header : headers) {
+                analyzeClassHeader(inheritanceTree, header, false);
+            }
         }
         return inheritanceTree;
     }
@@ -230,15 +240,7 @@ public class InheritanceTreeGenerator {
     private static void analyzeClassStream(InheritanceTree inheritanceTree,
                                            InputStream inputStream, boolean onlyPublic) {
         try {
-            ClassReader reader = new ClassReader(inputStream);
-            inputStream.close();
-
-            ClassNode cn = new ClassNode();
-            reader.accept(cn, ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG
-                    | ClassReader.SKIP_CODE);
-            analyzeClassNode(inheritanceTree, cn, onlyPublic);
-
-
+            analyzeClassHeader(inheritanceTree, ClassHeader.read(inputStream), onlyPublic);
         } catch (IOException e) {
             logger.error("", e);
         } catch (java.lang.ArrayIndexOutOfBoundsException e) {
@@ -246,45 +248,38 @@ public class InheritanceTreeGenerator {
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private static void analyzeClassNode(InheritanceTree inheritanceTree,
-                                         ClassNode cn, boolean onlyPublic) {
+    private static void analyzeClassHeader(InheritanceTree inheritanceTree,
+                                           ClassHeader header, boolean onlyPublic) {
 
-        logger.info("Analyzing class {}", cn.name);
+        logger.info("Analyzing class {}", header.getName());
 
         // Don't load classes already seen from a different CP entry
-        if (inheritanceTree.hasClass(cn.name))
+        if (inheritanceTree.hasClass(header.getName()))
             return;
 
-        if ((Opcodes.ACC_INTERFACE & cn.access) != Opcodes.ACC_INTERFACE) {
-            for (Object m : cn.methods) {
-                MethodNode mn = (MethodNode) m;
+        int access = header.getAccess();
+        if ((Opcodes.ACC_INTERFACE & access) != Opcodes.ACC_INTERFACE) {
+            for (int i = 0; i < header.getNumberOfMethods(); i++) {
                 inheritanceTree
-                        .addAnalyzedMethod(cn.name, mn.name, mn.desc);
+                        .addAnalyzedMethod(header.getName(), header.getMethodName(i), header.getMethodDescriptor(i));
             }
-            if ((Opcodes.ACC_ABSTRACT & cn.access) == Opcodes.ACC_ABSTRACT) {
-                inheritanceTree.registerAbstractClass(cn.name);
+            if ((Opcodes.ACC_ABSTRACT & access) == Opcodes.ACC_ABSTRACT) {
+                inheritanceTree.registerAbstractClass(header.getName());
             }
         } else {
-            inheritanceTree.registerInterface(cn.name);
+            inheritanceTree.registerInterface(header.getName());
         }
         if (onlyPublic) {
-            if ((cn.access & Opcodes.ACC_PUBLIC) == 0) {
+            if ((access & Opcodes.ACC_PUBLIC) == 0) {
                 return;
             }
-//		} else {
-//			if (!canUse(cn)) {
-//				logger.info("Cannot use "+cn.name);
-//				return;
-//			}
         }
 
-        if (cn.superName != null)
-            inheritanceTree.addSuperclass(cn.name, cn.superName, cn.access);
+        if (header.getSuperName() != null)
+            inheritanceTree.addSuperclass(header.getName(), header.getSuperName(), access);
 
-        List<String> interfaces = cn.interfaces;
-        for (String interfaceName : interfaces) {
-            inheritanceTree.addInterface(cn.name, interfaceName);
+        for (String interfaceName : header.getInterfaces()) {
+            inheritanceTree.addInterface(header.getName(), interfaceName);
         }
     }
 
@@ -84,6 +84,11 @@ public class TestCluster {
      */
     private final static Map<GenericClass<?>, Set<GenericAccessibleObject<?>>> generatorCache = new LinkedHashMap<>();
 
+    /**
+     * Index of the keys of generators and generatorCache by raw class
+     */
+    private final static GeneratorIndex generatorIndex = new GeneratorIndex();
+
     /**
      * Static information about how to modify types
      */
@@ -120,6 +125,7 @@ public class TestCluster {
         testMethods.clear();
         generators.clear();
         generatorCache.clear();
+        generatorIndex.clear();
         modifiers.clear();
         CastClassManager.getInstance().clear();
 
@@ -132,7 +138,7 @@ public class TestCluster {
      */
     public void removeUnusableGenerators() {
 
-        generatorCache.clear();
+        clearCachedGenerators();
         Set<GenericClass<?>> removed = new LinkedHashSet<>();
 
 
@@ -169,7 +175,7 @@ public class TestCluster {
 
         removeDirectCycle();
 
-        generatorCache.clear();
+        clearCachedGenerators();
     }
 
 
@@ -276,7 +282,7 @@ public class TestCluster {
     }
 
     public void invalidateGeneratorCache(GenericClass<?> klass) {
-        generatorCache.keySet().removeIf(clazz -> clazz.isAssignableFrom(klass));
+        removeCachedGenerators(klass);
     }
 
     public void handleRuntimeAccesses(TestCase test) {
@@ -330,13 +336,15 @@ public class TestCluster {
      * @param call
      */
     public void addGenerator(GenericClass<?> target, GenericAccessibleObject<?> call) {
-        if (!generators.containsKey(target))
+        if (!generators.containsKey(target)) {
             generators.put(target, new LinkedHashSet<>());
+            generatorIndex.addGeneratorType(target);
+        }
 
         logger.debug("Adding generator for class " + target + ": " + call);
         generators.get(target).add(call);
         // Make sure cache is up to date
-        generatorCache.entrySet().removeIf(entry -> entry.getKey().isAssignableFrom(target));
+        removeCachedGenerators(target);
     }
 
     /**
@@ -409,7 +417,7 @@ public class TestCluster {
             }
         } else {
             logger.debug("2. Target class is not object: {}", clazz);
-            for (GenericClass<?> generatorClazz : generators.keySet()) {
+            for (GenericClass<?> generatorClazz : generatorIndex.getGeneratorTypes(clazz)) {
                 // logger.debug("3. Considering original generator: " + generatorClazz + " for " + clazz);
 
                 if (generatorClazz.canBeInstantiatedTo(clazz)) {
@@ -502,7 +510,7 @@ public class TestCluster {
 
 
         logger.debug("]");
-        generatorCache.put(clazz, targetGenerators);
+        putCachedGenerators(clazz, targetGenerators);
     }
 
     /**
@@ -511,7 +519,29 @@ public class TestCluster {
      * @param target
      */
     public void clearGeneratorCache(GenericClass<?> target) {
+        clearCachedGenerators();
+    }
+
+    private static void clearCachedGenerators() {
         generatorCache.clear();
+        generatorIndex.clearCachedTypes();
+    }
+
+    private static void putCachedGenerators(GenericClass<?> clazz, Set<GenericAccessibleObject<?>> targetGenerators) {
+        generatorCache.put(clazz, targetGenerators);
+        generatorIndex.addCachedType(clazz);
+    }
+
+    /**
+     * Remove the cached generators of all types the given type is assignable to
+     */
+    private static void removeCachedGenerators(GenericClass<?> klass) {
+        for (GenericClass<?> clazz : generatorIndex.getCachedTypesAssignableFrom(klass)) {
+            if (clazz.isAssignableFrom(klass)) {
+                generatorCache.remove(clazz);
+                generatorIndex.removeCachedType(clazz);
+            }
+        }
     }
 
     /**
@@ -894,10 +924,11 @@ public class TestCluster {
      */
     private void addNumericConstructor(GenericClass<?> clazz) {
         if (!generatorCache.containsKey(clazz)) {
-            generatorCache.put(clazz, new LinkedHashSet<>());
+            putCachedGenerators(clazz, new LinkedHashSet<>());
         }
         if (!generators.containsKey(clazz)) {
             generators.put(clazz, new LinkedHashSet<>());
+            generatorIndex.addGeneratorType(clazz);
         }
         logger.info("addNumericConstructor for class " + clazz);
         for (Constructor<?> constructor : clazz.getRawClass().getConstructors()) {
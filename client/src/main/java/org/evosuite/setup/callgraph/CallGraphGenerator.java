@@ -22,16 +22,14 @@ package org.evosuite.setup.callgraph;
 
 import org.evosuite.Properties;
 import org.evosuite.instrumentation.BytecodeInstrumentation;
-import org.evosuite.setup.DependencyAnalysis;
+import org.evosuite.setup.ClassAnalysisCache;
+import org.evosuite.setup.ClassAnalysisCache.ClassCalls;
+import org.evosuite.setup.ClassAnalysisCache.MethodCalls;
 import org.evosuite.setup.InheritanceTree;
 import org.objectweb.asm.Opcodes;
-import org.objectweb.asm.tree.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Iterator;
-import java.util.List;
-
 /**
  * Generate the call graph, the class is a modification of the CallTreeGenerator
  * class.
@@ -43,10 +41,10 @@ public class CallGraphGenerator {
     private static final Logger logger = LoggerFactory.getLogger(CallGraphGenerator.class);
 
     public static CallGraph analyze(String className) {
-        ClassNode targetClass = DependencyAnalysis.getClassNode(className);
+        ClassCalls targetClass = ClassAnalysisCache.getInstance().getCalls(className);
         CallGraph callgraph = new CallGraph(className);
         if (targetClass != null)
-            handle(callgraph, targetClass, 0);
+            handle(callgraph, className, targetClass, 0);
         if (Properties.INSTRUMENT_PARENT) {
             handleSuperClasses(callgraph, targetClass);
         }
@@ -54,10 +52,10 @@ public class CallGraphGenerator {
     }
 
     public static CallGraph analyzeOtherClasses(CallGraph callgraph, String className) {
-        ClassNode targetClass = DependencyAnalysis.getClassNode(className);
+        ClassCalls targetClass = ClassAnalysisCache.getInstance().getCalls(className);
 
         if (targetClass != null)
-            handle(callgraph, targetClass, 0);
+            handle(callgraph, className, targetClass, 0);
         return callgraph;
     }
 
@@ -72,9 +70,8 @@ public class CallGraphGenerator {
      * @param callGraph
      * @param targetClass
      */
-    @SuppressWarnings("unchecked")
-    private static void handleSuperClasses(CallGraph callGraph, ClassNode targetClass) {
-        String superClassName = targetClass.superName;
+    private static void handleSuperClasses(CallGraph callGraph, ClassCalls targetClass) {
+        String superClassName = targetClass.getSuperName();
         if (superClassName == null || superClassName.isEmpty())
             return;
 
@@ -82,83 +79,68 @@ public class CallGraphGenerator {
             return;
 
         logger.debug("Creating calltree for superclass: " + superClassName);
-        ClassNode superClass = DependencyAnalysis.getClassNode(superClassName);
-        List<MethodNode> methods = superClass.methods;
-        for (MethodNode mn : methods) {
-            logger.debug("Method: " + mn.name);
+        ClassCalls superClass = ClassAnalysisCache.getInstance().getCalls(superClassName);
+        for (MethodCalls mn : superClass.getMethods()) {
+            logger.debug("Method: " + mn.getName());
 
             // Do not check super-constructors
-            if (mn.name.equals("<init>"))
+            if (mn.getName().equals("<init>"))
                 continue;
-            if (mn.name.equals("<clinit>"))
+            if (mn.getName().equals("<clinit>"))
                 continue;
 
             // Skip abstract etc
-            if ((mn.access & Opcodes.ACC_ABSTRACT) == Opcodes.ACC_ABSTRACT)
+            if ((mn.getAccess() & Opcodes.ACC_ABSTRACT) == Opcodes.ACC_ABSTRACT)
                 continue;
 
             // Do not handle classes if they are overridden by the subclass
-            if ((mn.access & Opcodes.ACC_PUBLIC) == Opcodes.ACC_PUBLIC) {
-                if (!isOverridden(mn.name + mn.desc)) {
-                    handleMethodNode(callGraph, superClass, mn, 0);
+            if ((mn.getAccess() & Opcodes.ACC_PUBLIC) == Opcodes.ACC_PUBLIC) {
+                if (!isOverridden(mn.getName() + mn.getDesc())) {
+                    handleMethodNode(callGraph, superClassName, mn, 0);
                 }
             }
         }
         handleSuperClasses(callGraph, superClass);
     }
 
-    @SuppressWarnings("unchecked")
-    private static void handle(CallGraph callGraph, ClassNode targetClass, int depth) {
-        List<MethodNode> methods = targetClass.methods;
-        for (MethodNode mn : methods) {
-            logger.debug("Method: " + mn.name);
-            handleMethodNode(callGraph, targetClass, mn, depth);
-        }
-    }
-
-    @SuppressWarnings("unchecked")
-    private static void handle(CallGraph callGraph, ClassNode targetClass, String methodName,
-                               int depth) {
-        List<MethodNode> methods = targetClass.methods;
-        for (MethodNode mn : methods) {
-            if (methodName.equals(mn.name + mn.desc))
-                handleMethodNode(callGraph, targetClass, mn, depth);
+    private static void handle(CallGraph callGraph, String className, ClassCalls targetClass, int depth) {
+        for (MethodCalls mn : targetClass.getMethods()) {
+            logger.debug("Method: " + mn.getName());
+            handleMethodNode(callGraph, className, mn, depth);
         }
     }
 
     private static void handle(CallGraph callGraph, String className, String methodName, int depth) {
-        ClassNode cn = DependencyAnalysis.getClassNode(className);
+        ClassCalls cn = ClassAnalysisCache.getInstance().getCalls(className);
         if (cn == null)
             return;
 
-        handle(callGraph, cn, methodName, depth);
+        for (MethodCalls mn : cn.getMethods()) {
+            if (methodName.equals(mn.getName() + mn.getDesc()))
+                handleMethodNode(callGraph, className, mn, depth);
+        }
     }
 
     /**
      * Add all possible calls for a given method
      *
      * @param callGraph
+     * @param className internal name of the class declaring the method
      * @param mn
      */
-    @SuppressWarnings("unchecked")
-    private static void handleMethodNode(CallGraph callGraph, ClassNode cn, MethodNode mn, int depth) {
-        handlePublicMethodNode(callGraph, cn, mn);
-
-        InsnList instructions = mn.instructions;
-        Iterator<AbstractInsnNode> iterator = instructions.iterator();
+    private static void handleMethodNode(CallGraph callGraph, String className, MethodCalls mn, int depth) {
+        String internalName = className.replace('.', '/');
+        handlePublicMethodNode(callGraph, internalName, mn);
 
         // TODO: This really shouldn't be here but in its own class
-        while (iterator.hasNext()) {
-            AbstractInsnNode insn = iterator.next();
-            if (insn instanceof MethodInsnNode) {
-                handleMethodInsnNode(callGraph, cn, mn, (MethodInsnNode) insn, depth + 1);
-            }
+        for (int i = 0; i < mn.getNumberOfCalls(); i++) {
+            handleMethodInsnNode(callGraph, internalName, mn, mn.getCalledOwner(i), mn.getCalledMethod(i), depth + 1);
         }
     }
 
-    private static void handlePublicMethodNode(CallGraph callGraph, ClassNode cn, MethodNode mn) {
-        if ((mn.access & Opcodes.ACC_PUBLIC) == Opcodes.ACC_PUBLIC) {
-            callGraph.addPublicMethod(cn.name, mn.name + mn.desc);
+    private static void handlePublicMethodNode(CallGraph callGraph, String className, MethodCalls mn) {
+        if ((mn.getAccess() & Opcodes.ACC_PUBLIC) == Opcodes.ACC_PUBLIC) {
+            callGraph.addPublicMethod(className, mn.getName() + mn.getDesc());
         }
     }
 
@@ -167,22 +149,21 @@ public class CallGraphGenerator {
      *
      * @param callGraph
      * @param mn
-     * @param methodCall
+     * @param owner        internal name of the class owning the called method
+     * @param calledMethod name and descriptor of the called method
      */
-    private static void handleMethodInsnNode(CallGraph callGraph, ClassNode cn, MethodNode mn,
-                                             MethodInsnNode methodCall, int depth) {
+    private static void handleMethodInsnNode(CallGraph callGraph, String className, MethodCalls mn,
+                                             String owner, String calledMethod, int depth) {
 
         // Only build calltree for instrumentable classes
-        if (BytecodeInstrumentation.checkIfCanInstrument(methodCall.owner.replaceAll("/", "."))) {
-            logger.debug("Handling method: " + methodCall.name);
-            if (!callGraph.hasCall(cn.name, mn.name + mn.desc, methodCall.owner, methodCall.name
-                    + methodCall.desc)) {
+        if (BytecodeInstrumentation.checkIfCanInstrument(owner.replaceAll("/", "."))) {
+            logger.debug("Handling method: " + calledMethod);
+            if (!callGraph.hasCall(className, mn.getName() + mn.getDesc(), owner, calledMethod)) {
 
                 // Add call from mn to methodCall to callgraph
-                if (callGraph.addCall(cn.name, mn.name + mn.desc, methodCall.owner, methodCall.name
-                        + methodCall.desc)) {
+                if (callGraph.addCall(className, mn.getName() + mn.getDesc(), owner, calledMethod)) {
 
-                    handle(callGraph, methodCall.owner, methodCall.name + methodCall.desc, depth);
+                    handle(callGraph, owner, calledMethod, depth);
                 }
             }
         }
@@ -130,6 +130,22 @@ public enum RuntimeVariable {
      * The total number of tests executed during the search
      */
     Tests_Executed,
+    /**
+     * The number of test executions answered by the execution result cache
+     */
+    Execution_Cache_Hits,
+    /**
+     * The fraction of cacheable test executions answered by the execution result cache
+     */
+    Execution_Cache_Hit_Rate,
+    /**
+     * The number of assignability and type argument questions answered by the generic type cache
+     */
+    Generic_Type_Cache_Hits,
+    /**
+     * The number of assignability and type argument questions the generic type cache had to compute
+     */
+    Generic_Type_Cache_Misses,
     /**
      * The total number of fitness evaluations during the search
      */
@@ -52,9 +52,30 @@ public abstract class SequenceOutputVariableFactory<T extends Number> {
 
     protected abstract T getValue(TestSuiteChromosome individual);
 
+    public RuntimeVariable getRuntimeVariable() {
+        return variable;
+    }
+
     public void update(TestSuiteChromosome individual) {
-        timeStamps.add(System.currentTimeMillis() - startTime);
-        values.add(getValue(individual));
+        update(System.currentTimeMillis(), getValue(individual));
+    }
+
+    /**
+     * Add a value that was already computed, eg on the client.
+     * Values might arrive out of order, but are kept sorted by time stamp.
+     *
+     * @param timeStamp absolute time, in milliseconds, at which the value was observed
+     * @param value     must be of the type of this sequence
+     */
+    @SuppressWarnings("unchecked")
+    public void update(long timeStamp, Number value) {
+        long relative = timeStamp - startTime;
+        int index = timeStamps.size();
+        while (index > 0 && timeStamps.get(index - 1) > relative) {
+            index--;
+        }
+        timeStamps.add(index, relative);
+        values.add(index, (T) value);
     }
 
     public List<String> getVariableNames() {
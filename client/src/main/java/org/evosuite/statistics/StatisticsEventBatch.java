@@ -0,0 +1,266 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only batch of statistics events, in a compact binary encoding,
+ * sent from a client to the master with a single call.
+ *
+ * <p>
+ * There are two kinds of events: values of single output variables, and
+ * timeline samples, ie the values of all the timeline variables computed at
+ * the same time on the same individual (see {@link TimelineSampler}).
+ * Variables are referred to by an index in a table local to the batch,
+ * defined the first time a variable is used, so that batches do not depend
+ * on the order of the constants in {@link RuntimeVariable}.
+ */
+public class StatisticsEventBatch {
+
+    /**
+     * Receives the events of a batch, in the order they were added
+     */
+    public interface Handler {
+
+        void variable(RuntimeVariable variable, long timeStamp, Object value);
+
+        void timelineSample(long timeStamp, Map<RuntimeVariable, Number> values);
+    }
+
+    private static final byte DEFINE = 0;
+    private static final byte VARIABLE = 1;
+    private static final byte SAMPLE = 2;
+
+    private static final byte NULL = 'N';
+    private static final byte BOOLEAN = 'Z';
+    private static final byte INT = 'I';
+    private static final byte LONG = 'J';
+    private static final byte FLOAT = 'F';
+    private static final byte DOUBLE = 'D';
+    private static final byte STRING = 'S';
+
+    /**
+     * Longest string that is guaranteed to fit into modified UTF-8
+     */
+    private static final int MAX_STRING_LENGTH = 65535 / 3;
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    private final DataOutputStream out = new DataOutputStream(bytes);
+
+    /**
+     * Variable -> index in the table of this batch
+     */
+    private final Map<RuntimeVariable, Integer> ids = new EnumMap<>(RuntimeVariable.class);
+
+    private int numEvents = 0;
+
+    /**
+     * @param value
+     * @return whether the given value of an output variable can be encoded in a batch
+     */
+    public static boolean isSupported(Object value) {
+        return value == null || value instanceof Boolean || value instanceof Integer
+                || value instanceof Long || value instanceof Float || value instanceof Double
+                || (value instanceof String && ((String) value).length() <= MAX_STRING_LENGTH);
+    }
+
+    public void addVariable(RuntimeVariable variable, long timeStamp, Object value) {
+        if (!isSupported(value)) {
+            throw new IllegalArgumentException("Cannot encode value of type " + value.getClass().getName());
+        }
+        try {
+            int id = getId(variable);
+            out.writeByte(VARIABLE);
+            out.writeShort(id);
+            out.writeLong(timeStamp);
+            writeValue(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // cannot happen on a byte array
+        }
+        numEvents++;
+    }
+
+    public void addTimelineSample(long timeStamp, Map<RuntimeVariable, ? extends Number> values) {
+        for (Number value : values.values()) {
+            if (value == null || !isSupported(value)) {
+                throw new IllegalArgumentException("Cannot encode timeline value " + value);
+            }
+        }
+        try {
+            int[] variableIds = new int[values.size()];
+            int i = 0;
+            for (RuntimeVariable variable : values.keySet()) {
+                variableIds[i++] = getId(variable);
+            }
+            out.writeByte(SAMPLE);
+            out.writeLong(timeStamp);
+            out.writeShort(variableIds.length);
+            i = 0;
+            for (Number value : values.values()) {
+                out.writeShort(variableIds[i++]);
+                writeValue(value);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        numEvents++;
+    }
+
+    public int getNumberOfEvents() {
+        return numEvents;
+    }
+
+    public boolean isEmpty() {
+        return numEvents == 0;
+    }
+
+    public byte[] toByteArray() {
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode the given batch, and pass its events to the handler.
+     * Events of variables unknown to this version of EvoSuite are skipped.
+     *
+     * @param batch
+     * @param handler
+     * @throws IOException if the batch is malformed
+     */
+    public static void read(byte[] batch, Handler handler) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(batch));
+        List<RuntimeVariable> variables = new ArrayList<>();
+        while (in.available() > 0) {
+            byte kind = in.readByte();
+            switch (kind) {
+                case DEFINE:
+                    variables.add(toRuntimeVariable(in.readUTF()));
+                    break;
+                case VARIABLE: {
+                    RuntimeVariable variable = getVariable(variables, in.readUnsignedShort());
+                    long timeStamp = in.readLong();
+                    Object value = readValue(in);
+                    if (variable != null) {
+                        handler.variable(variable, timeStamp, value);
+                    }
+                    break;
+                }
+                case SAMPLE: {
+                    long timeStamp = in.readLong();
+                    int size = in.readUnsignedShort();
+                    Map<RuntimeVariable, Number> values = new LinkedHashMap<>();
+                    for (int i = 0; i < size; i++) {
+                        RuntimeVariable variable = getVariable(variables, in.readUnsignedShort());
+                        Object value = readValue(in);
+                        if (variable != null && value instanceof Number) {
+                            values.put(variable, (Number) value);
+                        }
+                    }
+                    handler.timelineSample(timeStamp, values);
+                    break;
+                }
+                default:
+                    throw new IOException("Unknown statistics event: " + kind);
+            }
+        }
+    }
+
+    private int getId(RuntimeVariable variable) throws IOException {
+        Integer id = ids.get(variable);
+        if (id == null) {
+            id = ids.size();
+            ids.put(variable, id);
+            out.writeByte(DEFINE);
+            out.writeUTF(variable.name());
+        }
+        return id;
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else {
+            out.writeByte(STRING);
+            out.writeUTF((String) value);
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case BOOLEAN:
+                return in.readBoolean();
+            case INT:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case FLOAT:
+                return in.readFloat();
+            case DOUBLE:
+                return in.readDouble();
+            case STRING:
+                return in.readUTF();
+            default:
+                throw new IOException("Unknown value type: " + type);
+        }
+    }
+
+    private static RuntimeVariable getVariable(List<RuntimeVariable> variables, int id) throws IOException {
+        if (id >= variables.size()) {
+            throw new IOException("Undefined variable index: " + id);
+        }
+        return variables.get(id);
+    }
+
+    private static RuntimeVariable toRuntimeVariable(String name) {
+        try {
+            return RuntimeVariable.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.function.BiConsumer;
+
+/**
+ * File containing the {@link StatisticsEventBatch}es received from all the
+ * clients, in the order they were received, so that the statistics of a
+ * run can be analysed offline.
+ *
+ * <p>
+ * Each record is the identifier of the client, followed by the length and
+ * the content of the batch.
+ */
+public class StatisticsEventLog {
+
+    private static final int MAGIC = 0x45565345; // "EVSE"
+    private static final int VERSION = 1;
+
+    private StatisticsEventLog() {
+    }
+
+    /**
+     * Append a batch to the given file, which is created if needed
+     *
+     * @param file
+     * @param clientRmiIdentifier
+     * @param batch
+     * @throws IOException
+     */
+    public static synchronized void append(File file, String clientRmiIdentifier, byte[] batch) throws IOException {
+        boolean isNew = !file.exists() || file.length() == 0;
+        if (isNew) {
+            File folder = file.getAbsoluteFile().getParentFile();
+            if (folder != null && !folder.exists()) {
+                folder.mkdirs();
+            }
+        }
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file, true))) {
+            if (isNew) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+            }
+            out.writeUTF(clientRmiIdentifier);
+            out.writeInt(batch.length);
+            out.write(batch);
+        }
+    }
+
+    /**
+     * Pass all the batches in the given file to the consumer, with the
+     * identifier of the client that sent them
+     *
+     * @param file
+     * @param consumer
+     * @throws IOException if the file cannot be read or is not a statistics event log
+     */
+    public static void read(File file, BiConsumer<String, byte[]> consumer) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a statistics event log: " + file);
+            }
+            while (true) {
+                String client;
+                try {
+                    client = in.readUTF();
+                } catch (EOFException e) {
+                    return;
+                }
+                byte[] batch = new byte[in.readInt()];
+                in.readFully(batch);
+                consumer.accept(client, batch);
+            }
+        }
+    }
+}
@@ -73,7 +73,15 @@ public class StatisticsListener<T extends Chromosome<T>> implements SearchListen
                 T individual;
                 try {
                     individual = individuals.take();
-                    StatisticsSender.sendIndividualToMaster(individual);
+                    if (Properties.STATISTICS_STREAM && individual instanceof TestSuiteChromosome) {
+                        /*
+                         * the final individual is sent anyway once the suite is ready,
+                         * so during the search only its timeline values are needed
+                         */
+                        StatisticsSender.sendTimelineSampleToMaster((TestSuiteChromosome) individual);
+                    } else {
+                        StatisticsSender.sendIndividualToMaster(individual);
+                    }
                 } catch (InterruptedException e) {
                     done = true;
                 }
@@ -63,6 +63,23 @@ public class StatisticsSender {
     }
 
 
+    /**
+     * Send the current values of the timelines of the given individual, instead
+     * of the individual itself
+     *
+     * @param individual
+     */
+    public static void sendTimelineSampleToMaster(TestSuiteChromosome individual) throws IllegalArgumentException {
+        if (individual == null) {
+            throw new IllegalArgumentException("No defined individual to sample");
+        }
+        if (!Properties.NEW_STATISTICS)
+            return;
+
+        long timeStamp = System.currentTimeMillis();
+        ClientServices.getInstance().getClientNode().trackTimelineSample(timeStamp, TimelineSampler.sample(individual));
+    }
+
     /**
      * First execute (if needed) the test cases to be sure to have latest correct data,
      * and then send it to Master
@@ -95,12 +112,6 @@ public class StatisticsSender {
 
     private static void sendExceptionInfo(TestSuiteChromosome testSuite) {
 
-        List<ExecutionResult> results = new ArrayList<>();
-
-        for (TestChromosome testChromosome : testSuite.getTestChromosomes()) {
-            results.add(testChromosome.getLastExecutionResult());
-        }
-
         /*
          * for each method name, check the class of thrown exceptions in those methods
          */
@@ -108,7 +119,7 @@ public class StatisticsSender {
         Map<String, Set<Class<?>>> explicitTypesOfExceptions = new HashMap<>();
         Map<String, Set<Class<?>>> declaredTypesOfExceptions = new HashMap<>();
 
-        ExceptionCoverageSuiteFitness.calculateExceptionInfo(results, implicitTypesOfExceptions, explicitTypesOfExceptions, declaredTypesOfExceptions, null);
+        ExceptionCoverageSuiteFitness.calculateExceptionInfo(testSuite.getTestChromosomes(), implicitTypesOfExceptions, explicitTypesOfExceptions, declaredTypesOfExceptions, null);
 
         ClientServices.getInstance().getClientNode().trackOutputVariable(
                 RuntimeVariable.Explicit_MethodExceptions, ExceptionCoverageSuiteFitness.getNumExceptions(explicitTypesOfExceptions));
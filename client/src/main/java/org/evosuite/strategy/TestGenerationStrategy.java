@@ -31,8 +31,10 @@ import org.evosuite.rmi.ClientServices;
 import org.evosuite.setup.TestCluster;
 import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.ExecutionResultCache;
 import org.evosuite.testsuite.TestSuiteChromosome;
 import org.evosuite.testsuite.TestSuiteFitnessFunction;
+import org.evosuite.utils.generic.GenericTypeCache;
 
 import java.util.List;
 
@@ -73,6 +75,16 @@ public abstract class TestGenerationStrategy {
     protected void sendExecutionStatistics() {
         ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Statements_Executed, MaxStatementsStoppingCondition.getNumExecutedStatements());
         ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Tests_Executed, MaxTestsStoppingCondition.getNumExecutedTests());
+        if (Properties.EXECUTION_CACHE_SIZE > 0) {
+            ExecutionResultCache cache = ExecutionResultCache.getInstance();
+            ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Execution_Cache_Hits, cache.getHits());
+            ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Execution_Cache_Hit_Rate, cache.getHitRate());
+        }
+        if (Properties.GENERIC_TYPE_CACHE_SIZE > 0) {
+            GenericTypeCache cache = GenericTypeCache.getInstance();
+            ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Generic_Type_Cache_Hits, cache.getHits());
+            ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Generic_Type_Cache_Misses, cache.getMisses());
+        }
     }
 
     /**
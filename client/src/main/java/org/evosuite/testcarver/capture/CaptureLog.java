@@ -91,9 +91,9 @@ public final class CaptureLog implements Cloneable {
      */
 
     // rec_no is implied by index
-    public final List<Integer> objectIds;
-    public final List<Integer> captureIds;
-    public final List<String> methodNames;
+    public final IntColumn objectIds;
+    public final IntColumn captureIds;
+    public final StringColumn methodNames;
     /**
      * FIXME: this seems always containing Integer objects, representing either
      * null or an object identifier (oid). should it be <Integer[]> ?
@@ -101,7 +101,7 @@ public final class CaptureLog implements Cloneable {
     public final List<Object[]> params;
     public final List<Object> returnValues;
     public final List<Boolean> isStaticCallList;
-    public final List<String> descList;
+    public final StringColumn descList;
 
     //--- OID Info Table
     // OID | INIT_REC_NO | CLASS
@@ -111,11 +111,11 @@ public final class CaptureLog implements Cloneable {
      * Would be better to have a single list, with object
      * containing the different fields
      */
-    private final List<Integer> oids;
-    private final List<Integer> oidInitRecNo;
-    private final List<String> oidClassNames;
-    private final List<Integer> oidFirstInits;
-    private final List<Integer> oidDependencies;
+    private final IntColumn oids;
+    private final IntColumn oidInitRecNo;
+    private final StringColumn oidClassNames;
+    private final IntColumn oidFirstInits;
+    private final IntColumn oidDependencies;
 
     /**
      * captureId -> field name
@@ -125,7 +125,18 @@ public final class CaptureLog implements Cloneable {
     /**
      * oid -> index ==> oidInitReco.get(index) + oidClassNames.get(index)
      */
-    private final Map<Integer, Integer> oidRecMapping;
+    private final IntIntHashMap oidRecMapping;
+
+    /**
+     * Class names, method names and descriptors of all the columns
+     */
+    private final StringColumn.Table strings;
+
+    /**
+     * Objects standing for snapshots of 'this' passed as parameter, kept
+     * so that their identity hash codes (used as OIDs) are not reused
+     */
+    private final List<Object> snapshots;
 
     private final XStream xstream;
 
@@ -133,24 +144,57 @@ public final class CaptureLog implements Cloneable {
      * Main constructor
      */
     public CaptureLog() {
-        this.objectIds = new ArrayList<>();
-        this.methodNames = new ArrayList<>();
+        this.strings = new StringColumn.Table();
+
+        this.objectIds = new IntColumn();
+        this.methodNames = new StringColumn(strings);
         this.params = new ArrayList<>();
-        this.captureIds = new ArrayList<>();
+        this.captureIds = new IntColumn();
         this.returnValues = new ArrayList<>();
-        this.descList = new ArrayList<>();
+        this.descList = new StringColumn(strings);
 
-        this.oidRecMapping = new LinkedHashMap<>();
-        this.oidInitRecNo = new ArrayList<>();
-        this.oidClassNames = new ArrayList<>();
-        this.oids = new ArrayList<>();
-        this.oidFirstInits = new ArrayList<>();
-        this.oidDependencies = new ArrayList<>();
+        this.oidRecMapping = new IntIntHashMap();
+        this.oidInitRecNo = new IntColumn();
+        this.oidClassNames = new StringColumn(strings);
+        this.oids = new IntColumn();
+        this.oidFirstInits = new IntColumn();
+        this.oidDependencies = new IntColumn();
 
         this.isStaticCallList = new ArrayList<>();
 
         this.oidNamesOfAccessedFields = new LinkedHashMap<>();
 
+        this.snapshots = new ArrayList<>();
+
+        this.xstream = new XStream();
+    }
+
+    /**
+     * Copy constructor, used by {@link #clone()}
+     */
+    private CaptureLog(CaptureLog other) {
+        this.strings = new StringColumn.Table(other.strings);
+
+        this.objectIds = new IntColumn(other.objectIds);
+        this.methodNames = new StringColumn(other.methodNames, strings);
+        this.params = new ArrayList<>(other.params);
+        this.captureIds = new IntColumn(other.captureIds);
+        this.returnValues = new ArrayList<>(other.returnValues);
+        this.descList = new StringColumn(other.descList, strings);
+
+        this.oidRecMapping = new IntIntHashMap(other.oidRecMapping);
+        this.oidInitRecNo = new IntColumn(other.oidInitRecNo);
+        this.oidClassNames = new StringColumn(other.oidClassNames, strings);
+        this.oids = new IntColumn(other.oids);
+        this.oidFirstInits = new IntColumn(other.oidFirstInits);
+        this.oidDependencies = new IntColumn(other.oidDependencies);
+
+        this.isStaticCallList = new ArrayList<>(other.isStaticCallList);
+
+        this.oidNamesOfAccessedFields = new LinkedHashMap<>(other.oidNamesOfAccessedFields);
+
+        this.snapshots = new ArrayList<>(other.snapshots);
+
         this.xstream = new XStream();
     }
 
@@ -160,7 +204,7 @@ public final class CaptureLog implements Cloneable {
 
     public int getDependencyOID(final int oid) {
         int index = getRecordIndex(oid);
-        return oidDependencies.get(index);
+        return oidDependencies.getInt(index);
     }
 
     public List<Integer> getTargetOIDs(final Set<String> observedClassNames) {
@@ -182,7 +226,11 @@ public final class CaptureLog implements Cloneable {
     }
 
     public int getRecordIndex(int oid) {
-        return oidRecMapping.get(oid);
+        int index = oidRecMapping.get(oid);
+        if (index == IntIntHashMap.NO_VALUE) {
+            throw new IllegalArgumentException("OID " + oid + " is not recognized");
+        }
+        return index;
     }
 
     public int getOID(int recordIndex) {
@@ -190,7 +238,7 @@ public final class CaptureLog implements Cloneable {
             throw new IllegalArgumentException("index " + recordIndex
                     + " is invalid as there are " + oids.size() + " OIDs");
         }
-        return oids.get(recordIndex);
+        return oids.getInt(recordIndex);
     }
 
     public List<String> getObservedClasses() {
@@ -204,7 +252,7 @@ public final class CaptureLog implements Cloneable {
         }
 
         int pos = oidRecMapping.get(oid);
-        return oidInitRecNo.get(pos);
+        return oidInitRecNo.getInt(pos);
     }
 
     /**
@@ -216,7 +264,7 @@ public final class CaptureLog implements Cloneable {
      */
     private void addNewInitRec(int currentRecord) {
         // negative log rec no indicates obj construction
-        this.oidInitRecNo.add(-currentRecord);
+        this.oidInitRecNo.addInt(-currentRecord);
         logger.debug("InitRecNo added " + (-currentRecord));
     }
 
@@ -243,31 +291,13 @@ public final class CaptureLog implements Cloneable {
         // For example: constructor call at record no 8 becomes -8
         final int recentInitRecord = getRecordIndexOfWhereObjectWasInitializedFirst(oid);
         if (Math.abs(recordIndex) > Math.abs(recentInitRecord)) {
-            oidInitRecNo.set(oidRecMapping.get(oid), recordIndex);
+            oidInitRecNo.setInt(oidRecMapping.get(oid), recordIndex);
         }
     }
 
     @Override
     public CaptureLog clone() {
-        final CaptureLog log = new CaptureLog();
-
-        log.objectIds.addAll(this.objectIds);
-        log.methodNames.addAll(this.methodNames);
-        log.params.addAll(this.params);
-        log.captureIds.addAll(this.captureIds);
-        log.returnValues.addAll(this.returnValues);
-        log.descList.addAll(this.descList);
-
-        log.oidRecMapping.putAll(this.oidRecMapping);
-        log.oidInitRecNo.addAll(this.oidInitRecNo);
-        log.oidClassNames.addAll(this.oidClassNames);
-        log.oids.addAll(this.oids);
-        log.oidNamesOfAccessedFields.putAll(this.oidNamesOfAccessedFields);
-        log.isStaticCallList.addAll(this.isStaticCallList);
-        log.oidDependencies.addAll(this.oidDependencies);
-        log.oidFirstInits.addAll(this.oidFirstInits);
-
-        return log;
+        return new CaptureLog(this);
     }
 
     public void clear() {
@@ -287,6 +317,7 @@ public final class CaptureLog implements Cloneable {
         this.isStaticCallList.clear();
 
         this.oidNamesOfAccessedFields.clear();
+        this.snapshots.clear();
     }
 
     private boolean updateInfoTable(final int oid, final Object receiver,
@@ -309,13 +340,13 @@ public final class CaptureLog implements Cloneable {
             this.oidRecMapping.put(oid, infoRecNo);
             addNewInitRec(logRecNo);
 
-            oidFirstInits.add(logRecNo);
+            oidFirstInits.addInt(logRecNo);
 
-            oidDependencies.add(NO_DEPENDENCY);
+            oidDependencies.addInt(NO_DEPENDENCY);
 
             registerObjectsClassName(receiver);
 
-            this.oids.add(oid);
+            this.oids.addInt(oid);
 
             return true;
         }
@@ -381,8 +412,12 @@ public final class CaptureLog implements Cloneable {
             handleReturnValue(captureId, receiver, returnValue);
         }
 
-        this.captureIds.add(captureId);
-        this.objectIds.add(System.identityHashCode(receiver));
+        addEndRecord(captureId, System.identityHashCode(receiver));
+    }
+
+    private void addEndRecord(final int captureId, final int oid) {
+        this.captureIds.addInt(captureId);
+        this.objectIds.addInt(oid);
         this.methodNames.add(END_CAPTURE_PSEUDO_METHOD);
         this.descList.add(EMPTY_DESC);
         this.params.add(NO_ARGS);
@@ -402,12 +437,13 @@ public final class CaptureLog implements Cloneable {
         final int oid = System.identityHashCode(receiver);
 
         int currentRecord = captureIds.size() - 1;
+        final int endId = strings.intern(END_CAPTURE_PSEUDO_METHOD);
 
         int nestedCalls = 0;
         while (true) {
-            if (this.captureIds.get(currentRecord) == captureId
-                    && this.objectIds.get(currentRecord) == oid) {
-                if (this.methodNames.get(currentRecord).equals(END_CAPTURE_PSEUDO_METHOD)) {
+            if (this.captureIds.getInt(currentRecord) == captureId
+                    && this.objectIds.getInt(currentRecord) == oid) {
+                if (this.methodNames.getId(currentRecord) == endId) {
                     nestedCalls++;
                 } else {
                     if (nestedCalls == 0) {
@@ -434,7 +470,7 @@ public final class CaptureLog implements Cloneable {
             // oid of the target object is already known so we have to check if we should determine the corresponding method call for the return value
             // and adjust its init meta data
 
-            final int firstInitRecNo = this.oidFirstInits.get(this.oidRecMapping.get(returnValueOID));
+            final int firstInitRecNo = this.oidFirstInits.getInt(this.oidRecMapping.get(returnValueOID));
 
             final String methodName = methodNames.get(firstInitRecNo);
             final boolean isObservedConstructionCaughtForThisObject = methodName.equals(OBSERVED_INIT);
@@ -474,7 +510,7 @@ public final class CaptureLog implements Cloneable {
                         this.returnValues.set(currentRecord, returnValueOID); // oid as integer works here as we exclude plain values
                         updateWhereObjectWasInitializedFirst(returnValueOID,
                                 -currentRecord);
-                        this.oidFirstInits.set(infoRecNo, currentRecord);
+                        this.oidFirstInits.setInt(infoRecNo, currentRecord);
                     } else {
                         this.returnValues.set(currentRecord, returnValueOID);
                     }
@@ -483,7 +519,7 @@ public final class CaptureLog implements Cloneable {
                     final int infoRecNo = this.oidInitRecNo.size();
                     this.oidRecMapping.put(returnValueOID, infoRecNo);
                     addNewInitRec(currentRecord);
-                    this.oidFirstInits.add(currentRecord);
+                    this.oidFirstInits.addInt(currentRecord);
 
                     this.returnValues.set(currentRecord, returnValueOID); // oid as integer works here as we exclude plain values
 
@@ -491,8 +527,8 @@ public final class CaptureLog implements Cloneable {
 
                     //					this.oidClassNames.add(returnValue.getClass().getName());
 
-                    this.oids.add(returnValueOID);
-                    this.oidDependencies.add(NO_DEPENDENCY);
+                    this.oids.addInt(returnValueOID);
+                    this.oidDependencies.addInt(NO_DEPENDENCY);
                 }
             }
         }
@@ -506,6 +542,10 @@ public final class CaptureLog implements Cloneable {
      * @param receiver
      */
     private void checkIfInstanceFromInnerInstanceClass(final Object receiver) {
+        checkIfInstanceFromInnerInstanceClass(receiver, System.identityHashCode(receiver));
+    }
+
+    private void checkIfInstanceFromInnerInstanceClass(final Object receiver, final int receiverOID) {
         if (!(receiver instanceof Class)) {
             final Class<?> receiverClass = receiver.getClass();
             final Class<?> enclosingClass = receiverClass.getEnclosingClass();
@@ -533,9 +573,8 @@ public final class CaptureLog implements Cloneable {
 
                         // the enclosing object has to be restored first
 
-                        final int receiverOID = System.identityHashCode(receiver);
                         final int initRecNo = this.oidRecMapping.get(receiverOID);
-                        this.oidDependencies.set(initRecNo,
+                        this.oidDependencies.setInt(initRecNo,
                                 System.identityHashCode(outerInstance));
                     } catch (final Exception e) {
                         logger.info("An error occurred while obtaining the enclosing object of an inner non-static class instance. "
@@ -589,12 +628,12 @@ public final class CaptureLog implements Cloneable {
 
         // save receiver class -> might be reference in later calls e.g. doSth(Person.class)
         if (receiver instanceof Class) {
-            this.objectIds.add(oid);
+            this.objectIds.addInt(oid);
             this.descList.add(EMPTY_DESC);
             this.methodNames.add(PLAIN_INIT);
             this.params.add(new Object[]{receiver});
             this.returnValues.add(RETURN_TYPE_VOID);
-            this.captureIds.add(PSEUDO_CAPTURE_ID);
+            this.captureIds.addInt(PSEUDO_CAPTURE_ID);
             this.isStaticCallList.add(Boolean.FALSE);
             this.logEnd(PSEUDO_CAPTURE_ID, receiver, RETURN_TYPE_VOID);
         }
@@ -619,20 +658,21 @@ public final class CaptureLog implements Cloneable {
                 if (paramOID == oid) {
                     logger.info("PARAM is 'this' reference -> are serialized version of 'this' is created and passed as param");
 
-                    // we serialize and deserialize param in order to get a 'cloned' instance of param
-                    // -> this approach is not very efficient but we can always clone an object without the
-                    //    the need of the Cloneable interface
+                    // the serialized state of 'this' is logged as a new object, which is all the
+                    // generated code needs. There is no need to deserialize it into an actual clone
+                    final String xml;
                     try {
-                        String xml = xstream.toXML(param);
-                        param = xstream.fromXML(xml);
-                        paramOID = System.identityHashCode(param);
-
-                        logUnobservedInitStmt(param);
+                        xml = xstream.toXML(param);
                     } catch (final Exception e) {
-                        logger.info("an error occurred while serializing and deserializing {} -> is handled as NULL param",
+                        logger.info("an error occurred while serializing {} -> is handled as NULL param",
                                 param, e);
                         continue;
                     }
+                    final Object snapshot = new Object();
+                    snapshots.add(snapshot);
+                    paramOID = System.identityHashCode(snapshot);
+
+                    logUnobservedInitStmt(param, paramOID, xml);
                 } else {
                     createInitLogEntries(param);
                 }
@@ -652,12 +692,12 @@ public final class CaptureLog implements Cloneable {
         this.updateInfoTable(oid, receiver, isConstructor);
 
         //--- create method call record
-        this.objectIds.add(oid);
+        this.objectIds.addInt(oid);
         this.methodNames.add(methodName);
         this.descList.add(methodDesc);
         this.params.add(methodParams);
         this.returnValues.add(RETURN_TYPE_VOID);
-        this.captureIds.add(captureId);
+        this.captureIds.addInt(captureId);
         this.isStaticCallList.add(receiver instanceof Class);
 
         this.checkIfInstanceFromInnerInstanceClass(receiver);
@@ -680,13 +720,13 @@ public final class CaptureLog implements Cloneable {
             final boolean isInstrumented = TransformerUtil.isClassConsideredForInstrumentation(param.getClass().getName());
 
             if (isPlain(param) || param instanceof Class) {
-                this.objectIds.add(paramOID);
+                this.objectIds.addInt(paramOID);
                 // exemplary output in test code: Integer number = 123;
                 this.methodNames.add(PLAIN_INIT);
                 this.params.add(new Object[]{param});
                 this.descList.add(EMPTY_DESC);
                 this.returnValues.add(RETURN_TYPE_VOID);
-                this.captureIds.add(PSEUDO_CAPTURE_ID);
+                this.captureIds.addInt(PSEUDO_CAPTURE_ID);
                 this.isStaticCallList.add(Boolean.FALSE);
                 this.logEnd(PSEUDO_CAPTURE_ID, param, RETURN_TYPE_VOID);
 
@@ -709,12 +749,12 @@ public final class CaptureLog implements Cloneable {
                     this.updateInfoTable(paramOID, param, true);
                 }
 
-                this.objectIds.add(paramOID);
+                this.objectIds.addInt(paramOID);
                 this.methodNames.add(COLLECTION_INIT);
                 this.params.add(valArray);
                 this.descList.add(EMPTY_DESC);
                 this.returnValues.add(RETURN_TYPE_VOID);
-                this.captureIds.add(PSEUDO_CAPTURE_ID);
+                this.captureIds.addInt(PSEUDO_CAPTURE_ID);
                 this.isStaticCallList.add(Boolean.FALSE);
                 this.logEnd(PSEUDO_CAPTURE_ID, param, RETURN_TYPE_VOID);
 
@@ -747,12 +787,12 @@ public final class CaptureLog implements Cloneable {
                     this.updateInfoTable(paramOID, param, true);
                 }
 
-                this.objectIds.add(paramOID);
+                this.objectIds.addInt(paramOID);
                 this.methodNames.add(MAP_INIT);
                 this.params.add(valArray);
                 this.descList.add(EMPTY_DESC);
                 this.returnValues.add(RETURN_TYPE_VOID);
-                this.captureIds.add(PSEUDO_CAPTURE_ID);
+                this.captureIds.addInt(PSEUDO_CAPTURE_ID);
                 this.isStaticCallList.add(Boolean.FALSE);
                 this.logEnd(PSEUDO_CAPTURE_ID, param, RETURN_TYPE_VOID);
 
@@ -775,12 +815,12 @@ public final class CaptureLog implements Cloneable {
                     this.updateInfoTable(paramOID, param, true);
                 }
 
-                this.objectIds.add(paramOID);
+                this.objectIds.addInt(paramOID);
                 this.methodNames.add(ARRAY_INIT);
                 this.params.add(valArray);
                 this.descList.add(EMPTY_DESC);
                 this.returnValues.add(RETURN_TYPE_VOID);
-                this.captureIds.add(PSEUDO_CAPTURE_ID);
+                this.captureIds.addInt(PSEUDO_CAPTURE_ID);
                 this.isStaticCallList.add(Boolean.FALSE);
                 this.logEnd(PSEUDO_CAPTURE_ID, param, RETURN_TYPE_VOID);
 
@@ -798,40 +838,42 @@ public final class CaptureLog implements Cloneable {
     }
 
     private void logUnobservedInitStmt(final Object subject) {
-        final int subjectOID = System.identityHashCode(subject);
+        String xml;
+        try {
+            xml = this.xstream.toXML(subject);
+        } catch (final Exception e) {
+            logger.info("an error occurred while serializing param '{}' -> adding null as param instead",
+                    subject, e);
+
+            // param can not be serialized -> add null as param
+            xml = null;
+        }
+        logUnobservedInitStmt(subject, System.identityHashCode(subject), xml);
+    }
+
+    /**
+     * @param subject    object whose construction was not observed
+     * @param subjectOID OID under which the object is logged
+     * @param xml        serialized state of the object, null if it cannot be serialized
+     */
+    private void logUnobservedInitStmt(final Object subject, final int subjectOID, final String xml) {
         if (!this.oidRecMapping.containsKey(subjectOID)) {
             this.updateInfoTable(subjectOID, subject, true);
         }
 
-        this.objectIds.add(subjectOID);
+        this.objectIds.addInt(subjectOID);
         // create new serialization record for first emersion
         // exemplary output in test code: Person newJoe = (Person) xstream.fromXML(xml);
 
-        this.checkIfInstanceFromInnerInstanceClass(subject);
+        this.checkIfInstanceFromInnerInstanceClass(subject, subjectOID);
         this.methodNames.add(NOT_OBSERVED_INIT);
-
-        try {
-            //					this.xstream.toXML(param, sout);
-            //					this.sout.flush();
-            //
-            //					this.params.add(new Object[]{ this.bout.toByteArray() });
-            //
-            //					this.bout.reset();
-            // FIXME
-            this.params.add(new Object[]{this.xstream.toXML(subject)});
-        } catch (final Exception e) {
-            logger.info("an error occurred while serializing param '{}' -> adding null as param instead",
-                    subject, e);
-
-            // param can not be serialized -> add null as param
-            this.params.add(new Object[]{null});
-        }
+        this.params.add(new Object[]{xml});
 
         this.descList.add(EMPTY_DESC);
         this.returnValues.add(RETURN_TYPE_VOID);
-        this.captureIds.add(PSEUDO_CAPTURE_ID);
+        this.captureIds.addInt(PSEUDO_CAPTURE_ID);
         this.isStaticCallList.add(Boolean.FALSE);
-        this.logEnd(PSEUDO_CAPTURE_ID, subject, RETURN_TYPE_VOID);
+        this.addEndRecord(PSEUDO_CAPTURE_ID, subjectOID);
     }
 
     @Override
@@ -846,7 +888,7 @@ public final class CaptureLog implements Cloneable {
 
         final int numRecords = this.objectIds.size();
         for (int i = 0; i < numRecords; i++) {
-            captureId = this.captureIds.get(i);
+            captureId = this.captureIds.getInt(i);
 
             builder.append(i).append(delimiter) // RECNO
                     .append(this.objectIds.get(i)).append(delimiter) // OID
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcarver.capture;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Column of strings of the {@link CaptureLog}, such as method names and
+ * descriptors. Each distinct string is stored only once in a {@link Table},
+ * and the column only keeps the ids of the strings.
+ */
+public final class StringColumn extends AbstractList<String> implements RandomAccess {
+
+    /**
+     * Interned strings, shared by the columns of a log
+     */
+    public static final class Table {
+
+        private final Map<String, Integer> ids;
+
+        private final List<String> strings;
+
+        public Table() {
+            ids = new HashMap<>();
+            strings = new ArrayList<>();
+        }
+
+        Table(Table other) {
+            ids = new HashMap<>(other.ids);
+            strings = new ArrayList<>(other.strings);
+        }
+
+        /**
+         * @param s
+         * @return the id of the string, which is added to the table if needed
+         */
+        public int intern(String s) {
+            Integer id = ids.get(s);
+            if (id == null) {
+                id = strings.size();
+                strings.add(s);
+                ids.put(s, id);
+            }
+            return id;
+        }
+
+        public String getString(int id) {
+            return id < 0 ? null : strings.get(id);
+        }
+    }
+
+    private static final int NULL_ID = -1;
+
+    private final Table table;
+
+    private final IntColumn ids;
+
+    public StringColumn(Table table) {
+        this.table = table;
+        this.ids = new IntColumn();
+    }
+
+    /**
+     * Copy of the given column, using the given table, which must contain
+     * the same strings as the table of the other column
+     */
+    StringColumn(StringColumn other, Table table) {
+        this.table = table;
+        this.ids = new IntColumn(other.ids);
+    }
+
+    /**
+     * @param index
+     * @return the id of the string at the given index, -1 for null
+     */
+    public int getId(int index) {
+        return ids.getInt(index);
+    }
+
+    @Override
+    public String get(int index) {
+        return table.getString(ids.getInt(index));
+    }
+
+    @Override
+    public String set(int index, String value) {
+        return table.getString(ids.setInt(index, value == null ? NULL_ID : table.intern(value)));
+    }
+
+    @Override
+    public boolean add(String value) {
+        ids.addInt(value == null ? NULL_ID : table.intern(value));
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return ids.size();
+    }
+
+    @Override
+    public void clear() {
+        ids.clear();
+    }
+}
@@ -117,7 +117,7 @@ public final class CaptureLogAnalyzer implements ICaptureLogAnalyzer {
         for (int currentRecord = Math.abs(log.getRecordIndexOfWhereObjectWasInitializedFirst(currentOID)); currentRecord < numLogRecords; currentRecord++)
         //for(int currentRecord = log.getRecordIndex(currentOID); currentRecord < numLogRecords; currentRecord++)
         {
-            currentOID = log.objectIds.get(currentRecord);
+            currentOID = log.objectIds.getInt(currentRecord);
             logger.debug("Current record {}, current oid {} type {}", currentRecord, currentOID, log.getTypeName(currentOID));
             if (generator.isMaximumLengthReached()) {
                 logger.debug("Max length reached, stopping carving");
@@ -233,7 +233,7 @@ public final class CaptureLogAnalyzer implements ICaptureLogAnalyzer {
         int record = currentRecord;
         logger.debug("Starting with {}", record);
         do {
-            record = this.findEndOfMethod(log, record, log.objectIds.get(record));
+            record = this.findEndOfMethod(log, record, log.objectIds.getInt(record));
             record++;
             logger.debug("Now is {}", record);
         }
@@ -248,7 +248,7 @@ public final class CaptureLogAnalyzer implements ICaptureLogAnalyzer {
         } else {
             logger.debug("Found caller {}: {}", record, log.objectIds.size());
             // found caller
-            return log.objectIds.get(record);
+            return log.objectIds.getInt(record);
         }
     }
 
@@ -279,7 +279,7 @@ public final class CaptureLogAnalyzer implements ICaptureLogAnalyzer {
 
         int record = currentRecord;
 
-        final int captureId = log.captureIds.get(record);
+        final int captureId = log.captureIds.getInt(record);
         logger.debug("captureId {}, record {}", captureId, record);
         int nestedCalls = 0;
         while (true) {
@@ -287,9 +287,9 @@ public final class CaptureLogAnalyzer implements ICaptureLogAnalyzer {
                 logger.debug("Screw this: {}, {}, {}", log.captureIds.size(), log.objectIds.size(), record);
                 break;
             }
-            logger.debug("Current record: {}: {} <-> {}, {} <-> {}", record, captureId, log.captureIds.get(record), currentOID, log.objectIds.get(record));
-            if (log.captureIds.get(record) == captureId &&
-                    log.objectIds.get(record) == currentOID) {
+            logger.debug("Current record: {}: {} <-> {}, {} <-> {}", record, captureId, log.captureIds.getInt(record), currentOID, log.objectIds.getInt(record));
+            if (log.captureIds.getInt(record) == captureId &&
+                    log.objectIds.getInt(record) == currentOID) {
                 logger.debug(log.methodNames.get(record));
                 if (log.methodNames.get(record).equals(CaptureLog.END_CAPTURE_PSEUDO_METHOD)) {
                     nestedCalls--;
@@ -357,7 +357,7 @@ public final class CaptureLogAnalyzer implements ICaptureLogAnalyzer {
                 break;
 
 //			for(; currentRecord <= end; currentRecord++) {
-            currentOID = log.objectIds.get(currentRecord);
+            currentOID = log.objectIds.getInt(currentRecord);
             returnValueObj = log.returnValues.get(currentRecord);
             returnValue = returnValueObj.equals(CaptureLog.RETURN_TYPE_VOID) ? -1 : (Integer) returnValueObj;
             logger.debug("Checking: " + currentRecord + ": " + log.getTypeName(currentOID) + " to generate " + log.getTypeName(oid));
@@ -35,6 +35,8 @@ import org.junit.runner.notification.Failure;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 
 public class CarvingManager {
@@ -58,7 +60,7 @@ public class CarvingManager {
 
     private boolean carvingDone = false;
 
-    private Collection<String> getListOfJUnitClassNames() throws IllegalStateException {
+    private List<String> getListOfJUnitClassNames() throws IllegalStateException {
 
         String prop = Properties.SELECTED_JUNIT;
         if (prop == null || prop.trim().isEmpty()) {
@@ -67,7 +69,7 @@ public class CarvingManager {
         }
 
         String[] paths = prop.split(":");
-        Collection<String> junitTestNames = new HashSet<>();
+        Collection<String> junitTestNames = new LinkedHashSet<>();
         for (String s : paths) {
             junitTestNames.add(s.trim());
         }
@@ -77,7 +79,7 @@ public class CarvingManager {
 		Collection<String> junitTestNames = ResourceList.getResources(pattern);		
 		logger.info("Found "+junitTestNames.size()+" candidate junit classes for pattern "+pattern);
 		*/
-        return junitTestNames;
+        return new ArrayList<>(junitTestNames);
     }
 
 
@@ -95,15 +97,52 @@ public class CarvingManager {
 
     private void readTestCases() throws IllegalStateException {
         ClientServices.getInstance().getClientNode().changeState(ClientState.CARVING);
-        Collection<String> junitTestNames = getListOfJUnitClassNames();
+        List<String> junitTestNames = getListOfJUnitClassNames();
         LoggingUtils.getEvoLogger().info("* Executing tests from {} test {} for carving",
                 junitTestNames.size(), junitTestNames.size() == 1 ? "class" : "classes");
+
+        int workers = Math.min(Properties.CARVING_WORKERS, junitTestNames.size());
+        if (workers > 1) {
+            new ShardedCarver(workers).carve(junitTestNames, this::addCarvedTests);
+        } else {
+            carveTests(junitTestNames, this::addCarvedTests);
+        }
+        carvingDone = true;
+
+        // TODO:
+        // ClientNodeLocal client = ClientServices.getInstance().getClientNode();
+        // client.trackOutputVariable(RuntimeVariable.CarvedTests, totalNumberOfTestsCarved);
+        // client.trackOutputVariable(RuntimeVariable.CarvedCoverage,carvedCoverage);
+
+    }
+
+    /**
+     * Tests carved from one JUnit class, in the order the classes are carved
+     */
+    public interface CarvedTestsConsumer {
+        void accept(String junitClassName, Map<Class<?>, List<TestCase>> tests) throws IOException;
+    }
+
+    private void addCarvedTests(String junitClassName, Map<Class<?>, List<TestCase>> tests) {
+        for (Map.Entry<Class<?>, List<TestCase>> entry : tests.entrySet()) {
+            carvedTests.computeIfAbsent(entry.getKey(), c -> new ArrayList<>()).addAll(entry.getValue());
+        }
+    }
+
+    /**
+     * Run the given JUnit classes one after the other with the carver, and
+     * pass the carved tests that can be executed to the consumer after each
+     * class.
+     *
+     * @param junitTestNames
+     * @param consumer
+     * @throws UncheckedIOException if the consumer fails
+     */
+    void carveTests(List<String> junitTestNames, CarvedTestsConsumer consumer) {
         final JUnitCore runner = new JUnitCore();
         final CarvingRunListener listener = new CarvingRunListener();
         runner.addListener(listener);
 
-
-        final List<Class<?>> junitTestClasses = new ArrayList<>();
         final org.evosuite.testcarver.extraction.CarvingClassLoader classLoader = new org.evosuite.testcarver.extraction.CarvingClassLoader();
         // TODO: This really needs to be done in a nicer way!
         FieldRegistry.carvingClassLoader = classLoader;
@@ -114,26 +153,42 @@ public class CarvingManager {
             throw new RuntimeException(e);
         }
 
-        for (String className : junitTestNames) {
-            String classNameWithDots = ResourceList.getClassNameFromResourcePath(className);
-            try {
-                final Class<?> junitClass = classLoader.loadClass(classNameWithDots);
-                junitTestClasses.add(junitClass);
-            } catch (ClassNotFoundException e) {
-                logger.error("Failed to load JUnit test class {}: {}", classNameWithDots, e);
-            }
-        }
+        try {
+            for (String className : junitTestNames) {
+                String classNameWithDots = ResourceList.getClassNameFromResourcePath(className);
+                final Class<?> junitClass;
+                try {
+                    junitClass = classLoader.loadClass(classNameWithDots);
+                } catch (ClassNotFoundException e) {
+                    logger.error("Failed to load JUnit test class {}: {}", classNameWithDots, e);
+                    continue;
+                }
+
+                Result result = runner.run(junitClass);
+                logger.info("Result: {}/{}", result.getFailureCount(), result.getRunCount());
+                for (Failure failure : result.getFailures()) {
+                    logger.info("Failure: {}", failure.getMessage());
+                    logger.info("Exception: {}", failure.getException());
+                }
 
-        final Class<?>[] classes = new Class<?>[junitTestClasses.size()];
-        junitTestClasses.toArray(classes);
-        Result result = runner.run(classes);
-        logger.info("Result: {}/{}", result.getFailureCount(), result.getRunCount());
-        for (Failure failure : result.getFailures()) {
-            logger.info("Failure: {}", failure.getMessage());
-            logger.info("Exception: {}", failure.getException());
+                Map<Class<?>, List<TestCase>> testMap = listener.getTestCases();
+                consumer.accept(className, processTests(testMap, className));
+                testMap.clear();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            // TODO: Argh.
+            FieldRegistry.carvingClassLoader = null;
         }
+    }
 
-        Map<Class<?>, List<TestCase>> testMap = listener.getTestCases();
+    /**
+     * Execute the carved tests, and only keep the ones that do not throw
+     * exceptions (or chop them off)
+     */
+    private Map<Class<?>, List<TestCase>> processTests(Map<Class<?>, List<TestCase>> testMap, String junitClassName) {
+        Map<Class<?>, List<TestCase>> processed = new LinkedHashMap<>();
         for (Class<?> targetClass : testMap.keySet()) {
 
             List<TestCase> processedTests = new ArrayList<>();
@@ -173,7 +228,6 @@ public class CarvingManager {
                     }
                 }
             }
-            // junitTests.addAll(listener.getTestCases());
 
             if (processedTests.size() > 0) {
                 LoggingUtils.getEvoLogger().info(" -> Carved {} tests for class {} from existing JUnit tests",
@@ -184,26 +238,12 @@ public class CarvingManager {
                     }
                 }
             } else {
-                //String outcome = "";
-                //for (Failure failure : result.getFailures()) {
-                //	outcome += "(" + failure.getDescription() + ", " + failure.getTrace()
-                //			+ ") ";
-                //}
                 logger.info("It was not possible to carve any test case for class {} from {}", targetClass.getName(),
-                        Arrays.toString(junitTestNames.toArray()));
-                //		+ ". Test execution results: " + outcome);
+                        junitClassName);
             }
-            carvedTests.put(targetClass, processedTests);
+            processed.put(targetClass, processedTests);
         }
-        carvingDone = true;
-
-        // TODO: Argh.
-        FieldRegistry.carvingClassLoader = null;
-        // TODO:
-        // ClientNodeLocal client = ClientServices.getInstance().getClientNode();
-        // client.trackOutputVariable(RuntimeVariable.CarvedTests, totalNumberOfTestsCarved);
-        // client.trackOutputVariable(RuntimeVariable.CarvedCoverage,carvedCoverage);
-
+        return processed;
     }
 
     public void clear() {
@@ -0,0 +1,293 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcarver.extraction;
+
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.TimeController;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.utils.LoggingUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carve tests from JUnit classes in several worker JVMs, as the capture
+ * instrumentation is global and only one test can be carved at a time in
+ * a JVM.
+ *
+ * <p>
+ * The JUnit classes are split into contiguous shards, one per worker. Each
+ * worker writes the tests carved from a JUnit class as soon as the class
+ * is done, so a worker stopped because of the timeout still contributes
+ * the classes it completed. Results are merged in the order of the shards,
+ * which gives the same order as carving all the classes in this JVM.
+ */
+public class ShardedCarver {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedCarver.class);
+
+    private final int numberOfWorkers;
+
+    public ShardedCarver(int numberOfWorkers) {
+        if (numberOfWorkers < 1) {
+            throw new IllegalArgumentException("Need at least one worker: " + numberOfWorkers);
+        }
+        this.numberOfWorkers = numberOfWorkers;
+    }
+
+    /**
+     * Split the list in contiguous shards of nearly equal size
+     *
+     * @param elements
+     * @param numberOfShards
+     * @return at most numberOfShards non-empty shards
+     */
+    static <T> List<List<T>> partition(List<T> elements, int numberOfShards) {
+        List<List<T>> shards = new ArrayList<>();
+        int n = elements.size();
+        for (int i = 0; i < numberOfShards; i++) {
+            List<T> shard = elements.subList(i * n / numberOfShards, (i + 1) * n / numberOfShards);
+            if (!shard.isEmpty()) {
+                shards.add(new ArrayList<>(shard));
+            }
+        }
+        return shards;
+    }
+
+    /**
+     * Carve the given JUnit classes in the workers, and pass the carved tests
+     * to the consumer in the same order as {@link CarvingManager#carveTests}
+     *
+     * @param junitTestNames
+     * @param consumer
+     */
+    public void carve(List<String> junitTestNames, CarvingManager.CarvedTestsConsumer consumer) {
+        List<List<String>> shards = partition(junitTestNames, numberOfWorkers);
+        LoggingUtils.getEvoLogger().info("* Carving in {} worker JVMs", shards.size());
+
+        File folder = null;
+        List<Process> workers = new ArrayList<>();
+        try {
+            folder = Files.createTempDirectory("evosuite-carving").toFile();
+            File propertiesFile = new File(folder, "evosuite.properties");
+            writeProperties(propertiesFile);
+
+            for (int i = 0; i < shards.size(); i++) {
+                File shardFile = new File(folder, "shard" + i + ".txt");
+                Files.write(shardFile.toPath(), shards.get(i), StandardCharsets.UTF_8);
+                workers.add(startWorker(propertiesFile, shardFile, getResultFile(folder, i), getLogFile(folder, i)));
+            }
+
+            for (int i = 0; i < workers.size(); i++) {
+                waitFor(workers.get(i), i);
+                readResults(getResultFile(folder, i), consumer);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to carve tests in worker JVMs: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (Process worker : workers) {
+                if (worker.isAlive()) {
+                    worker.destroyForcibly();
+                }
+            }
+            if (folder != null) {
+                deleteFolder(folder);
+            }
+        }
+    }
+
+    private static File getResultFile(File folder, int shard) {
+        return new File(folder, "shard" + shard + ".carved");
+    }
+
+    private static File getLogFile(File folder, int shard) {
+        return new File(folder, "shard" + shard + ".log");
+    }
+
+    /**
+     * All the parameters of this client, so that the workers carve in the
+     * same way
+     */
+    private static void writeProperties(File file) throws IOException {
+        java.util.Properties properties = new java.util.Properties();
+        for (String key : Properties.getParameters()) {
+            try {
+                String value = Properties.getStringValue(key);
+                if ("null".equals(value)) {
+                    continue;
+                }
+                if (Properties.getType(key).isArray()) {
+                    // Elements of arrays are separated by ':' when parsed
+                    value = value.replace(';', ':');
+                }
+                properties.setProperty(key, value);
+            } catch (Exception e) {
+                logger.debug("Not passing parameter {} to carving workers: {}", key, e.getMessage());
+            }
+        }
+        properties.setProperty("CP", ClassPathHandler.getInstance().getTargetProjectClasspath());
+        try (OutputStream out = new FileOutputStream(file)) {
+            properties.store(out, "Parameters for carving workers");
+        }
+    }
+
+    private static void readProperties(File file) throws IOException {
+        java.util.Properties properties = new java.util.Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+        }
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                Properties.getInstance().setValue(key, properties.getProperty(key));
+            } catch (Exception e) {
+                // Not all the types of parameters can be parsed, these keep their default
+                logger.debug("Cannot set parameter {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    private static Process startWorker(File propertiesFile, File shardFile, File resultFile, File logFile)
+            throws IOException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        long maxMemory = Runtime.getRuntime().maxMemory() / (1024 * 1024);
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        if (maxMemory > 0 && maxMemory < Long.MAX_VALUE / (1024 * 1024)) {
+            command.add("-Xmx" + maxMemory + "m");
+        }
+        command.add("-cp");
+        command.add(ClassPathHandler.getInstance().getEvoSuiteClassPath());
+        command.add(ShardedCarver.class.getName());
+        command.add(propertiesFile.getAbsolutePath());
+        command.add(shardFile.getAbsolutePath());
+        command.add(resultFile.getAbsolutePath());
+        logger.debug("Starting carving worker: {}", command);
+
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.redirectErrorStream(true);
+        builder.redirectOutput(logFile);
+        return builder.start();
+    }
+
+    private static void waitFor(Process worker, int shard) throws InterruptedException {
+        while (!worker.waitFor(100, TimeUnit.MILLISECONDS)) {
+            if (!TimeController.getInstance().isThereStillTimeInThisPhase()) {
+                logger.info("Reached maximum time to carve unit tests - stopping carving worker {}", shard);
+                worker.destroyForcibly();
+                worker.waitFor();
+                return;
+            }
+        }
+        if (worker.exitValue() != 0) {
+            logger.warn("Carving worker {} terminated with exit code {}", shard, worker.exitValue());
+        }
+    }
+
+    /**
+     * Read the records written by a worker, up to the first incomplete or
+     * corrupt one. Errors are logged, so that the records of the other
+     * workers are still read.
+     */
+    static void readResults(File resultFile, CarvingManager.CarvedTestsConsumer consumer) {
+        if (!resultFile.exists() || resultFile.length() == 0) {
+            return;
+        }
+        ClassLoader loader = TestGenerationContext.getInstance().getClassLoaderForSUT();
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(resultFile)))) {
+            while (true) {
+                Map<Class<?>, List<TestCase>> tests = new LinkedHashMap<>();
+                String junitClassName = in.readUTF();
+                int numClasses = in.readInt();
+                for (int i = 0; i < numClasses; i++) {
+                    String className = in.readUTF();
+                    @SuppressWarnings("unchecked")
+                    List<TestCase> classTests = (List<TestCase>) in.readObject();
+                    tests.put(loader.loadClass(className), classTests);
+                }
+                consumer.accept(junitClassName, tests);
+            }
+        } catch (EOFException e) {
+            // End of the records, or incomplete record of a stopped worker
+        } catch (IOException | ClassNotFoundException e) {
+            logger.warn("Failed to read carved tests from {}, keeping the tests read before: {}",
+                    resultFile.getName(), e.toString());
+        }
+    }
+
+    static void writeResults(ObjectOutputStream out, String junitClassName,
+                             Map<Class<?>, List<TestCase>> tests) throws IOException {
+        out.writeUTF(junitClassName);
+        out.writeInt(tests.size());
+        for (Map.Entry<Class<?>, List<TestCase>> entry : tests.entrySet()) {
+            out.writeUTF(entry.getKey().getName());
+            out.writeObject(new ArrayList<>(entry.getValue()));
+        }
+        // The worker may be stopped at any time, so every record has to reach the file
+        out.reset();
+        out.flush();
+    }
+
+    private static void deleteFolder(File folder) {
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        folder.delete();
+    }
+
+    /**
+     * Entry point of a worker JVM
+     *
+     * @param args properties file, file with the names of the JUnit classes
+     *             (one per line), and file the carved tests are written to
+     */
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            logger.error("Usage: ShardedCarver <properties file> <junit classes file> <output file>");
+            System.exit(2);
+        }
+        try {
+            readProperties(new File(args[0]));
+            ClassPathHandler.getInstance().changeTargetClassPath(Properties.CP.split(File.pathSeparator));
+            List<String> junitTestNames = Files.readAllLines(new File(args[1]).toPath(), StandardCharsets.UTF_8);
+
+            try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(args[2])))) {
+                out.flush();
+                CarvingManager.getInstance().carveTests(junitTestNames,
+                        (junitClassName, tests) -> writeResults(out, junitClassName, tests));
+            }
+            System.exit(0);
+        } catch (Throwable t) {
+            logger.error("Error while carving tests", t);
+            System.exit(1);
+        }
+    }
+}
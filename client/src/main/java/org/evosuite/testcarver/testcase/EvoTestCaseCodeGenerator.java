@@ -65,7 +65,7 @@ public final class EvoTestCaseCodeGenerator implements ICodeGenerator<TestCase>
             return;
 
         // assumption: all necessary statements are created and there is one variable for each referenced object
-        final int oid = log.objectIds.get(logRecNo);
+        final int oid = log.objectIds.getInt(logRecNo);
         final Object[] methodArgs = log.params.get(logRecNo);
         final String methodName = log.methodNames.get(logRecNo);
         Class<?> type;
@@ -172,7 +172,7 @@ public final class EvoTestCaseCodeGenerator implements ICodeGenerator<TestCase>
     public void createPlainInitStmt(CaptureLog log, int logRecNo) {
         // NOTE: PLAIN INIT: has always one non-null param
         // TODO: use primitives
-        final int oid = log.objectIds.get(logRecNo);
+        final int oid = log.objectIds.getInt(logRecNo);
 
         if (this.oidToVarRefMap.containsKey(oid)) {
             // TODO this might happen because of Integer.valueOf(), for example. . Is this approach ok?
@@ -208,7 +208,7 @@ public final class EvoTestCaseCodeGenerator implements ICodeGenerator<TestCase>
 
         // NOTE: PLAIN INIT: has always one non-null param
         // TODO: use primitives
-        final int oid = log.objectIds.get(logRecNo);
+        final int oid = log.objectIds.getInt(logRecNo);
 
         try {
 
@@ -228,8 +228,8 @@ public final class EvoTestCaseCodeGenerator implements ICodeGenerator<TestCase>
         // assumption: all necessary statements are created and there is one variable for each referenced object
 
         final Object[] methodArgs = log.params.get(logRecNo);
-        final int oid = log.objectIds.get(logRecNo);
-        final int captureId = log.captureIds.get(logRecNo);
+        final int oid = log.objectIds.getInt(logRecNo);
+        final int captureId = log.captureIds.getInt(logRecNo);
 
         final String fieldName = log.getNameOfAccessedFields(captureId);
         final String typeName = log.getTypeName(oid);
@@ -269,8 +269,8 @@ public final class EvoTestCaseCodeGenerator implements ICodeGenerator<TestCase>
     @Override
     public void createFieldReadAccessStmt(CaptureLog log, int logRecNo) {
         // assumption: all necessary statements are created and there is one variable for reach referenced object
-        final int oid = log.objectIds.get(logRecNo);
-        final int captureId = log.captureIds.get(logRecNo);
+        final int oid = log.objectIds.getInt(logRecNo);
+        final int captureId = log.captureIds.getInt(logRecNo);
 
         final Object returnValue = log.returnValues.get(logRecNo);
         if (!CaptureLog.RETURN_TYPE_VOID.equals(returnValue)) // TODO necessary?
@@ -447,7 +447,7 @@ public final class EvoTestCaseCodeGenerator implements ICodeGenerator<TestCase>
 
     @Override
     public void createArrayInitStmt(final CaptureLog log, final int logRecNo) {
-        final int oid = log.objectIds.get(logRecNo);
+        final int oid = log.objectIds.getInt(logRecNo);
 
         final Object[] params = log.params.get(logRecNo);
         final String arrTypeName = log.getTypeName(oid);
@@ -506,7 +506,7 @@ public final class EvoTestCaseCodeGenerator implements ICodeGenerator<TestCase>
     @Override
     public void createCollectionInitStmt(final CaptureLog log, final int logRecNo) {
         try {
-            final int oid = log.objectIds.get(logRecNo);
+            final int oid = log.objectIds.getInt(logRecNo);
             final Object[] params = log.params.get(logRecNo);
             String collTypeName = log.getTypeName(oid);
             Class<?> collType = getClassForName(collTypeName);
@@ -583,7 +583,7 @@ public final class EvoTestCaseCodeGenerator implements ICodeGenerator<TestCase>
     @Override
     public void createMapInitStmt(final CaptureLog log, final int logRecNo) {
         try {
-            final int oid = log.objectIds.get(logRecNo);
+            final int oid = log.objectIds.getInt(logRecNo);
             final Object[] params = log.params.get(logRecNo);
             String collTypeName = log.getTypeName(oid);
             Class<?> collType = getClassForName(collTypeName);
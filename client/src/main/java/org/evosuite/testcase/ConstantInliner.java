@@ -74,7 +74,7 @@ public class ConstantInliner extends ExecutionObserver {
      * @param test a {@link org.evosuite.testcase.TestChromosome} object.
      */
     public void inline(TestChromosome test) {
-        inline(test.test);
+        inline(test.getTestCase());
     }
 
     /**
@@ -88,6 +88,19 @@ public class DefaultTestCase implements TestCase, Serializable {
 
     private int id;
 
+    /**
+     * Index of the variables by type, used to look up the objects of a given type
+     */
+    private transient VariableTypeIndex variableIndex = null;
+
+    /**
+     * How a variable can be used as an object of a given type
+     */
+    private static final int USE_NONE = 0;
+    private static final int USE_VARIABLE = 1;
+    private static final int USE_ELEMENTS = 2;
+    private static final int USE_FIELDS = 3;
+
     /**
      * Constructs an empty test case, i.e., initially containing no statements.
      */
@@ -595,7 +608,7 @@ public class DefaultTestCase implements TestCase, Serializable {
      */
     @Override
     public List<VariableReference> getObjects(int position) {
-        List<VariableReference> variables = new LinkedList<>();
+        List<VariableReference> variables = new ArrayList<>();
 
         for (int i = 0; i < position && i < statements.size(); i++) {
             VariableReference value = statements.get(i).getReturnValue();
@@ -626,63 +639,95 @@ public class DefaultTestCase implements TestCase, Serializable {
      */
     @Override
     public List<VariableReference> getObjects(Type type, int position) {
-        List<VariableReference> variables = new LinkedList<>();
+        List<VariableReference> variables = new ArrayList<>();
 
         GenericClass<?> genericClass = GenericClassFactory.get(type);
         Class<?> rawClass = genericClass.getRawClass();
-        for (int i = 0; i < position && i < size(); i++) {
-            Statement statement = statements.get(i);
-            if (statement instanceof MethodStatement) {
-                if (((MethodStatement) statement).getMethod().getName().equals("hashCode"))
-                    continue;
-            }
-            VariableReference value = statement.getReturnValue();
+        int limit = Math.min(position, size());
 
-            if (value == null)
+        if (variableIndex == null) {
+            variableIndex = new VariableTypeIndex();
+        }
+        // Candidate positions, with how to use their variable in the two lowest bits
+        int[] candidates = new int[limit];
+        int numCandidates = 0;
+        for (VariableTypeIndex.Bucket bucket : variableIndex.update(statements, limit)) {
+            int count = bucket.countBefore(limit);
+            if (count == 0)
                 continue;
-            if (value instanceof ArrayReference) {
-
-                // For some reason, TypeUtils/ClassUtils sometimes claims
-                // that an array is assignable to its component type
-                // TODO: Fix
-                boolean isClassUtilsBug = false;
-                if (value.isArray()) {
-                    Class<?> arrayClass = value.getVariableClass();
-                    isClassUtilsBug = isClassUtilsBug(rawClass, arrayClass);
-                }
-                if (rawClass.isArray() && !isClassUtilsBug) {
-                    isClassUtilsBug = isClassUtilsBug(value.getVariableClass(), rawClass);
-                }
+            int use = getUse(bucket.getSample(), type, rawClass);
+            if (use == USE_NONE)
+                continue;
+            for (int i = 0; i < count; i++) {
+                candidates[numCandidates++] = bucket.getPosition(i) << 2 | use;
+            }
+        }
+        Arrays.sort(candidates, 0, numCandidates);
 
-                if (value.isAssignableTo(type) && !isClassUtilsBug && value.isArray() == rawClass.isArray()) {
-                    logger.debug("Array is assignable: " + value.getType() + " to "
-                            + type + ", " + value.isArray() + ", " + rawClass.isArray());
+        for (int i = 0; i < numCandidates; i++) {
+            VariableReference value = statements.get(candidates[i] >> 2).getReturnValue();
+            switch (candidates[i] & 3) {
+                case USE_VARIABLE:
                     variables.add(value);
-                } else if (GenericClassUtils.isAssignable(type, value.getComponentType())) {
-                    Class<?> arrayClass = value.getComponentClass();
-                    if (isClassUtilsBug(rawClass, arrayClass)) {
-                        continue;
-                    }
-
+                    break;
+                case USE_ELEMENTS:
                     for (int index = 0; index < ((ArrayReference) value).getArrayLength(); index++) {
                         if (((ArrayReference) value).isInitialized(index, position))
                             variables.add(new ArrayIndex(this, (ArrayReference) value,
                                     index));
                     }
-                }
-            } else if (value instanceof ArrayIndex) {
-                // Don't need to add this because array indices are created for array statement
-            } else if (value.isAssignableTo(type) && value.isPrimitive() == rawClass.isPrimitive() &&
-                    value.isArray() == rawClass.isArray()) {
-                variables.add(value);
-            } else {
-                addFields(variables, value, type);
+                    break;
+                default:
+                    addFields(variables, value, type);
             }
         }
 
         return variables;
     }
 
+    /**
+     * How a variable can be used as an object of the given type
+     *
+     * @param value    a variable, which is neither null nor an {@link ArrayIndex}
+     * @param type     the wanted type
+     * @param rawClass the raw class of the wanted type
+     * @return one of the USE_* constants
+     */
+    private int getUse(VariableReference value, Type type, Class<?> rawClass) {
+        if (value instanceof ArrayReference) {
+
+            // For some reason, TypeUtils/ClassUtils sometimes claims
+            // that an array is assignable to its component type
+            // TODO: Fix
+            boolean isClassUtilsBug = false;
+            if (value.isArray()) {
+                Class<?> arrayClass = value.getVariableClass();
+                isClassUtilsBug = isClassUtilsBug(rawClass, arrayClass);
+            }
+            if (rawClass.isArray() && !isClassUtilsBug) {
+                isClassUtilsBug = isClassUtilsBug(value.getVariableClass(), rawClass);
+            }
+
+            if (value.isAssignableTo(type) && !isClassUtilsBug && value.isArray() == rawClass.isArray()) {
+                logger.debug("Array is assignable: " + value.getType() + " to "
+                        + type + ", " + value.isArray() + ", " + rawClass.isArray());
+                return USE_VARIABLE;
+            } else if (GenericClassUtils.isAssignable(type, value.getComponentType())) {
+                Class<?> arrayClass = value.getComponentClass();
+                if (isClassUtilsBug(rawClass, arrayClass)) {
+                    return USE_NONE;
+                }
+                return USE_ELEMENTS;
+            }
+            return USE_NONE;
+        } else if (value.isAssignableTo(type) && value.isPrimitive() == rawClass.isPrimitive() &&
+                value.isArray() == rawClass.isArray()) {
+            return USE_VARIABLE;
+        } else {
+            return USE_FIELDS;
+        }
+    }
+
     /* (non-Javadoc)
      * @see org.evosuite.testcase.TestCase#getRandomObject(java.lang.reflect.Type, int)
      */
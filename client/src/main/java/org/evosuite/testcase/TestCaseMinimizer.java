@@ -24,6 +24,8 @@ import org.evosuite.TimeController;
 import org.evosuite.ga.ConstructionFailedException;
 import org.evosuite.ga.FitnessFunction;
 import org.evosuite.ga.SecondaryObjective;
+import org.evosuite.testcase.statements.NullStatement;
+import org.evosuite.testcase.statements.PrimitiveStatement;
 import org.evosuite.testcase.statements.Statement;
 import org.evosuite.testcase.variable.VariableReference;
 import org.slf4j.Logger;
@@ -31,7 +33,11 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Remove all statements from a test case that do not contribute to the fitness
@@ -44,6 +50,16 @@ public class TestCaseMinimizer {
 
     private final TestFitnessFunction fitnessFunction;
 
+    /**
+     * Whether a version of the test (identified by its code) was found to be
+     * worse than the one it was derived from, to avoid executing it again.
+     * Only valid during one call of {@link #minimizeChunks}, as the fitness
+     * of the current test can only improve meanwhile.
+     */
+    private final Map<String, Boolean> worseCache = new HashMap<>();
+
+    private int cacheHits = 0;
+
     /**
      * Constructor
      *
@@ -128,6 +144,40 @@ public class TestCaseMinimizer {
             return;
         }
 
+        boolean completed = Properties.MINIMIZE_CHUNKS ? minimizeChunks(c) : minimizeStatements(c);
+        if (!completed) {
+            return;
+        }
+
+        //TODO: add back this check
+        assert (fitnessFunction.isMaximizationFunction() ?
+                fitnessFunction.getFitness(c) >= fitness : fitnessFunction.getFitness(c) <= fitness)
+                :
+                "Minimization worsened " + fitnessFunction.getClass().getName() + " fitness from " + fitness +
+                        " to " + fitnessFunction.getFitness(c) + " on test " + c.getTestCase().toCode();
+
+
+        if (Properties.MINIMIZE_VALUES) {
+            logger.info("Minimizing values of test case");
+            ValueMinimizer minimizer = new ValueMinimizer();
+            minimizer.minimize(c, fitnessFunction);
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Minimized test case: ");
+            logger.debug(c.test.toCode());
+        }
+
+    }
+
+    /**
+     * Try to delete one statement at a time, starting again from the end
+     * after each successful deletion.
+     *
+     * @param c
+     * @return false if the timeout was reached
+     */
+    private boolean minimizeStatements(TestChromosome c) {
         boolean changed = true;
 
         while (changed) {
@@ -136,21 +186,21 @@ public class TestCaseMinimizer {
             for (int i = c.test.size() - 1; i >= 0; i--) {
                 if (isTimeoutReached()) {
                     logger.debug("Timeout reached before minimizing statement {}", c.test.getStatement(i).getCode());
-                    return;
+                    return false;
                 }
 
                 logger.debug("Deleting statement {}", c.test.getStatement(i).getCode());
                 TestChromosome copy = c.clone();
                 boolean modified;
                 try {
-                    modified = TestFactory.getInstance().deleteStatementGracefully(c.test, i);
+                    modified = TestFactory.getInstance().deleteStatementGracefully(c.getTestCase(), i);
                 } catch (ConstructionFailedException e) {
                     modified = false;
                 }
 
                 if (!modified) {
                     c.setChanged(false);
-                    c.test = copy.test;
+                    c.shareTestCase(copy);
                     logger.debug("Deleting failed");
                     continue;
                 }
@@ -160,7 +210,7 @@ public class TestCaseMinimizer {
                 if (isTimeoutReached()) {
                     logger.debug("Keeping original version due to timeout");
                     restoreTestCase(c, copy);
-                    return;
+                    return false;
                 }
 
                 if (!isWorse(fitnessFunction, copy, c)) {
@@ -174,30 +224,209 @@ public class TestCaseMinimizer {
 
             }
         }
+        return true;
+    }
 
-        //TODO: add back this check
-        assert (fitnessFunction.isMaximizationFunction() ?
-                fitnessFunction.getFitness(c) >= fitness : fitnessFunction.getFitness(c) <= fitness)
-                :
-                "Minimization worsened " + fitnessFunction.getClass().getName() + " fitness from " + fitness +
-                        " to " + fitnessFunction.getFitness(c) + " on test " + c.getTestCase().toCode();
+    /**
+     * Delta debugging: try to delete chunks of consecutive statements,
+     * starting with halves of the test and refining the chunks until no
+     * single statement can be deleted. Values that are no longer used are
+     * deleted together with the chunk, without executing the test again,
+     * and so are the statements that only produced inputs of the chunk.
+     *
+     * @param c
+     * @return false if the timeout was reached
+     */
+    private boolean minimizeChunks(TestChromosome c) {
+        worseCache.clear();
 
+        if (!c.test.isEmpty()) {
+            TestChromosome copy = c.clone();
+            if (removeUnusedValues(c.getTestCase())) {
+                c.setChanged(true);
+                if (isTimeoutReached()) {
+                    restoreTestCase(c, copy);
+                    return false;
+                }
+                if (isWorse(fitnessFunction, copy, c)) {
+                    restoreTestCase(c, copy);
+                }
+            }
+        }
 
-        if (Properties.MINIMIZE_VALUES) {
-            logger.info("Minimizing values of test case");
-            ValueMinimizer minimizer = new ValueMinimizer();
-            minimizer.minimize(c, fitnessFunction);
+        int granularity = 2;
+        while (c.test.size() > 0) {
+            int size = c.test.size();
+            granularity = Math.min(granularity, size);
+            int chunkSize = (size + granularity - 1) / granularity;
+
+            boolean reduced = false;
+            for (int to = size; to > 0; to -= chunkSize) {
+                if (isTimeoutReached()) {
+                    logger.debug("Timeout reached before minimizing chunk ending at {}", to);
+                    return false;
+                }
+                int outcome = deleteChunk(c, Math.max(0, to - chunkSize), to);
+                if (outcome == TIMEOUT) {
+                    return false;
+                } else if (outcome == DELETED) {
+                    reduced = true;
+                    break;
+                }
+            }
+
+            if (reduced) {
+                granularity = Math.max(granularity - 1, 2);
+            } else if (granularity >= size) {
+                break;
+            } else {
+                granularity = Math.min(granularity * 2, size);
+            }
         }
+        logger.debug("Test executions saved by the minimization cache: {}", cacheHits);
+        return true;
+    }
 
-        if (logger.isDebugEnabled()) {
-            logger.debug("Minimized test case: ");
-            logger.debug(c.test.toCode());
+    private static final int KEPT = 0;
+    private static final int DELETED = 1;
+    private static final int TIMEOUT = 2;
+    private static final int KEPT_WITH_DEAD_STATEMENTS = 3;
+
+    /**
+     * Try to delete the statements at positions [from, to) of the test,
+     * together with the statements that only produced their inputs. If
+     * that is worse, the producers may have side effects that matter, so
+     * only the chunk itself is deleted.
+     *
+     * @return one of KEPT, DELETED or TIMEOUT
+     */
+    private int deleteChunk(TestChromosome c, int from, int to) {
+        int outcome = deleteChunk(c, from, to, true);
+        if (outcome == KEPT_WITH_DEAD_STATEMENTS) {
+            logger.debug("Deleting statements {} to {} without the statements they depend on", from, to - 1);
+            outcome = deleteChunk(c, from, to, false);
+        }
+        return outcome;
+    }
+
+    /**
+     * Statements are deleted from the last one, so that positions of the
+     * ones still to delete do not change.
+     *
+     * @return one of KEPT, DELETED, TIMEOUT or KEPT_WITH_DEAD_STATEMENTS
+     */
+    private int deleteChunk(TestChromosome c, int from, int to, boolean withDeadStatements) {
+        logger.debug("Deleting statements {} to {}", from, to - 1);
+        TestChromosome copy = c.clone();
+        TestCase test = c.getTestCase();
+        Set<Statement> used = withDeadStatements ? getUsedStatements(test) : Collections.emptySet();
+        boolean modified = false;
+        try {
+            for (int i = to - 1; i >= from; i--) {
+                // Dependencies of a statement come after it, so i is still valid
+                if (i < test.size()) {
+                    modified |= TestFactory.getInstance().deleteStatementGracefully(test, i);
+                }
+            }
+        } catch (ConstructionFailedException e) {
+            modified = false;
+        }
+
+        if (!modified) {
+            c.setChanged(false);
+            c.shareTestCase(copy);
+            logger.debug("Deleting failed");
+            return KEPT;
         }
 
+        removeUnusedValues(test);
+        boolean deadStatementsRemoved = removeDeadStatements(test, used);
+        c.setChanged(true);
+
+        if (isTimeoutReached()) {
+            logger.debug("Keeping original version due to timeout");
+            restoreTestCase(c, copy);
+            return TIMEOUT;
+        }
+
+        String key = c.test.toCode();
+        Boolean worse = worseCache.get(key);
+        if (worse == null) {
+            worse = isWorse(fitnessFunction, copy, c);
+            worseCache.put(key, worse);
+        } else {
+            cacheHits++;
+        }
+
+        if (!worse) {
+            logger.debug("Keeping shorter version");
+            return DELETED;
+        } else {
+            logger.debug("Keeping original version");
+            restoreTestCase(c, copy);
+            return deadStatementsRemoved ? KEPT_WITH_DEAD_STATEMENTS : KEPT;
+        }
+    }
+
+    /**
+     * @return the statements whose value is used by another statement of the test
+     */
+    static Set<Statement> getUsedStatements(TestCase t) {
+        Set<Statement> used = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Statement s : t) {
+            if (t.hasReferences(s.getReturnValue())) {
+                used.add(s);
+            }
+        }
+        return used;
+    }
+
+    /**
+     * Remove the statements whose value was used before some statements were
+     * deleted, and is not used anymore: these only produced inputs of the
+     * deleted statements. As the inputs of a statement come before it, a
+     * single pass from the end removes the whole subgraph of the data
+     * dependencies that only led to the deleted statements.
+     *
+     * @param t    The test case
+     * @param used the statements whose value was used before the deletion
+     * @return True if something was deleted
+     */
+    static boolean removeDeadStatements(TestCase t, Set<Statement> used) {
+        boolean has_deleted = false;
+        for (int i = t.size() - 1; i >= 0; i--) {
+            Statement s = t.getStatement(i);
+            if (used.contains(s) && !t.hasReferences(s.getReturnValue())) {
+                t.remove(i);
+                has_deleted = true;
+            }
+        }
+        return has_deleted;
+    }
+
+    /**
+     * Remove primitive and null values that are not used by any other
+     * statement. These have no side effects, so this does not change the
+     * outcome of the test.
+     *
+     * @param t The test case
+     * @return True if something was deleted
+     */
+    static boolean removeUnusedValues(TestCase t) {
+        boolean has_deleted = false;
+        for (int i = t.size() - 1; i >= 0; i--) {
+            Statement s = t.getStatement(i);
+            if ((s instanceof PrimitiveStatement || s instanceof NullStatement)
+                    && !t.hasReferences(s.getReturnValue())) {
+                t.remove(i);
+                has_deleted = true;
+            }
+        }
+        return has_deleted;
     }
 
     private static void restoreTestCase(TestChromosome c, TestChromosome copy) {
-        c.test = copy.test;
+        c.shareTestCase(copy);
         c.copyCachedResults(copy);
         //c.setFitness(copy.getFitness());
         c.setFitnessValues(copy.getFitnessValues());
@@ -73,6 +73,24 @@ public final class TestChromosome extends AbstractTestChromosome<TestChromosome>
      */
     protected MutationHistory<TestMutationHistoryEntry> mutationHistory = new MutationHistory<>();
 
+    /**
+     * Whether the test case may also be the test case of a clone of this
+     * chromosome, in which case it is copied before it is changed
+     */
+    private boolean sharedTest = false;
+
+    /**
+     * Whether references to the test case were handed out, in which case a
+     * clone cannot share it
+     */
+    private boolean exposedTest = false;
+
+    /**
+     * The chromosome whose test case this chromosome evaluates, see
+     * {@link #forEvaluation(TestChromosome)}
+     */
+    private transient TestChromosome evaluatedChromosome = null;
+
     /**
      * Secondary objectives used during ranking
      */
@@ -110,12 +128,146 @@ public final class TestChromosome extends AbstractTestChromosome<TestChromosome>
     /**
      * {@inheritDoc}
      * <p>
-     * Create a deep copy of the chromosome
+     * The test case may be changed by the caller, so it is no longer shared
+     * with any clone of this chromosome
+     */
+    @Override
+    public TestCase getTestCase() {
+        ensureOwnTestCase();
+        exposedTest = true;
+        return test;
+    }
+
+    /**
+     * Get the test case for inspection only. Unlike {@link #getTestCase()},
+     * this does not stop the test case from being shared with clones of this
+     * chromosome, so the caller must not change it. Fitness functions and
+     * archives use this to look at the test case of every individual.
+     *
+     * @return the test case, which must not be changed
+     */
+    public TestCase getReadOnlyTestCase() {
+        return test;
+    }
+
+    /**
+     * Create a chromosome through which a suite fitness function evaluates
+     * the given test of the suite. The fitness values of the individual goals
+     * are kept in the new chromosome, whereas the goals it covers are
+     * recorded in the given test.
+     *
+     * @param test an executed test of a suite
+     * @return a chromosome with the test case and execution result of the test
+     */
+    public static TestChromosome forEvaluation(TestChromosome test) {
+        TestChromosome c = new TestChromosome();
+        c.test = test.test;
+        c.lastExecutionResult = test.lastExecutionResult;
+        c.evaluatedChromosome = test;
+        c.setChanged(false);
+        return c;
+    }
+
+    /**
+     * Record that the test case covers the given goal. A shared test case is
+     * only copied if the goal was not covered already.
+     *
+     * @param goal a covered goal
+     */
+    public void addCoveredGoal(TestFitnessFunction goal) {
+        if (test.isGoalCovered(goal))
+            return;
+        if (evaluatedChromosome != null && evaluatedChromosome.test == test) {
+            evaluatedChromosome.addCoveredGoal(goal);
+            test = evaluatedChromosome.test;
+            return;
+        }
+        ensureOwnTestCase();
+        test.addCoveredGoal(goal);
+    }
+
+    /**
+     * Remove the given goal from the goals covered by the test case. A shared
+     * test case is only copied if the goal was covered.
+     *
+     * @param goal a goal
+     */
+    public void removeCoveredGoal(TestFitnessFunction goal) {
+        if (!test.isGoalCovered(goal))
+            return;
+        if (evaluatedChromosome != null && evaluatedChromosome.test == test) {
+            evaluatedChromosome.removeCoveredGoal(goal);
+            test = evaluatedChromosome.test;
+            return;
+        }
+        ensureOwnTestCase();
+        test.removeCoveredGoal(goal);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setTestCase(TestCase testCase) {
+        super.setTestCase(testCase);
+        sharedTest = false;
+        exposedTest = true;
+    }
+
+    /**
+     * Copy the test case if it is shared with a clone, before it is changed
+     * or executed
+     */
+    void ensureOwnTestCase() {
+        if (!sharedTest)
+            return;
+
+        TestCase copy = test.clone();
+        if (!mutationHistory.isEmpty()) {
+            MutationHistory<TestMutationHistoryEntry> history = new MutationHistory<>();
+            for (TestMutationHistoryEntry mutation : mutationHistory) {
+                if (test.contains(mutation.getStatement()))
+                    history.addMutationEntry(mutation.clone(copy));
+            }
+            mutationHistory = history;
+        }
+        test = copy;
+        if (lastExecutionResult != null)
+            lastExecutionResult.setTest(test);
+        sharedTest = false;
+        exposedTest = false;
+    }
+
+    /**
+     * Replace the test case with the one of the other chromosome, which both
+     * chromosomes then share
+     *
+     * @param other a chromosome
+     */
+    void shareTestCase(TestChromosome other) {
+        test = other.test;
+        sharedTest = true;
+        other.sharedTest = true;
+        exposedTest = other.exposedTest;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Create a copy of the chromosome. Unless references to the test case
+     * were handed out, the copy shares the test case until one of the two
+     * chromosomes changes it.
      */
     @Override
     public TestChromosome clone() {
         TestChromosome c = new TestChromosome();
-        c.test = test.clone();
+        if (exposedTest || (Properties.LOCAL_SEARCH_SELECTIVE && !mutationHistory.isEmpty())) {
+            c.test = test.clone();
+        } else {
+            c.test = test;
+            c.sharedTest = true;
+            sharedTest = true;
+        }
         c.setFitnessValues(getFitnessValues());
         c.setPreviousFitnessValues(getPreviousFitnessValues());
         c.copyCachedResults(this);
@@ -124,7 +276,7 @@ public final class TestChromosome extends AbstractTestChromosome<TestChromosome>
         if (Properties.LOCAL_SEARCH_SELECTIVE) {
             for (TestMutationHistoryEntry mutation : mutationHistory) {
                 if (test.contains(mutation.getStatement()))
-                    c.mutationHistory.addMutationEntry(mutation.clone(c.getTestCase()));
+                    c.mutationHistory.addMutationEntry(mutation.clone(c.test));
             }
         }
         // c.mutationHistory.set(mutationHistory);
@@ -187,6 +339,8 @@ public final class TestChromosome extends AbstractTestChromosome<TestChromosome>
         if (!Properties.CHECK_MAX_LENGTH
                 || offspring.test.size() <= Properties.CHROMOSOME_LENGTH) {
             test = offspring.test;
+            sharedTest = false;
+            exposedTest = false;
             setChanged(true);
         }
     }
@@ -220,6 +374,9 @@ public final class TestChromosome extends AbstractTestChromosome<TestChromosome>
     }
 
     public MutationHistory<TestMutationHistoryEntry> getMutationHistory() {
+        // the entries reference statements of the test case
+        ensureOwnTestCase();
+        exposedTest = true;
         return mutationHistory;
     }
 
@@ -298,6 +455,7 @@ public final class TestChromosome extends AbstractTestChromosome<TestChromosome>
      */
     @Override
     public void mutate() {
+        ensureOwnTestCase();
         boolean changed = false;
         mutationHistory.clear();
 
@@ -532,6 +690,7 @@ public final class TestChromosome extends AbstractTestChromosome<TestChromosome>
      * @return
      */
     public boolean mutationInsert() {
+        ensureOwnTestCase();
         boolean changed = false;
         final double ALPHA = Properties.P_STATEMENT_INSERTION; //0.5;
         int count = 0;
@@ -654,6 +813,7 @@ public final class TestChromosome extends AbstractTestChromosome<TestChromosome>
     @Override
     public ExecutionResult executeForFitnessFunction(
             TestSuiteFitnessFunction testSuiteFitnessFunction) {
+        ensureOwnTestCase();
         return testSuiteFitnessFunction.runTest(this.test);
     }
 
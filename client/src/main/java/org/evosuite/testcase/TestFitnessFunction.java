@@ -19,6 +19,7 @@
  */
 package org.evosuite.testcase;
 
+import org.evosuite.Properties;
 import org.evosuite.ga.FitnessFunction;
 import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testcase.execution.TestCaseExecutor;
@@ -37,6 +38,11 @@ public abstract class TestFitnessFunction
 
     private static final long serialVersionUID = 5602125855207061901L;
 
+    /**
+     * Whether the goals evaluated by the current thread may update the archive
+     */
+    private static final ThreadLocal<Boolean> archiveUpdates = ThreadLocal.withInitial(() -> true);
+
     static boolean warnedAboutIsSimilarTo = false;
 
     /**
@@ -58,6 +64,7 @@ public abstract class TestFitnessFunction
         logger.trace("Executing test case on original");
         ExecutionResult origResult = individual.getLastExecutionResult();
         if (origResult == null || individual.isChanged()) {
+            individual.ensureOwnTestCase();
             origResult = runTest(individual.test);
             individual.setLastExecutionResult(origResult);
             individual.setChanged(false);
@@ -69,6 +76,45 @@ public abstract class TestFitnessFunction
         return fitness;
     }
 
+    /**
+     * Record on the individual a fitness value of this goal that was computed
+     * for its last execution result, eg by another thread. The individual is
+     * updated as by {@link #getFitness(TestChromosome)}, which counts two
+     * evaluations: its own and the one of {@link #getFitness(TestChromosome, ExecutionResult)}.
+     * Covered goals must be evaluated on the individual instead, so that they
+     * are recorded as covered by the test and in the archive.
+     *
+     * @param individual the individual the value was computed for
+     * @param fitness    a fitness value greater than 0
+     */
+    public void applyFitness(TestChromosome individual, double fitness) {
+        assert fitness > 0.0;
+        updateIndividual(individual, fitness);
+        individual.increaseNumberOfEvaluations();
+    }
+
+    /**
+     * @return whether the goals evaluated by the current thread update the
+     * archive with the individuals that cover them
+     */
+    public static boolean isArchiveUpdateEnabled() {
+        return Properties.TEST_ARCHIVE && archiveUpdates.get();
+    }
+
+    /**
+     * Enable or disable updates of the archive by the goals evaluated by the
+     * current thread, eg while evaluating auxiliary goals or on a copy of an
+     * individual. Other threads are not affected.
+     *
+     * @param enabled whether the goals may update the archive
+     * @return whether they could update it before
+     */
+    public static boolean setArchiveUpdateEnabled(boolean enabled) {
+        boolean previous = archiveUpdates.get();
+        archiveUpdates.set(enabled);
+        return previous;
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -148,12 +194,13 @@ public abstract class TestFitnessFunction
      * @return a boolean.
      */
     public boolean isCovered(TestChromosome tc) {
-        if (tc.getTestCase().isGoalCovered(this)) {
+        if (tc.getReadOnlyTestCase().isGoalCovered(this)) {
             return true;
         }
 
         ExecutionResult result = tc.getLastExecutionResult();
         if (result == null || tc.isChanged()) {
+            tc.ensureOwnTestCase();
             result = runTest(tc.test);
             tc.setLastExecutionResult(result);
             tc.setChanged(false);
@@ -174,7 +221,7 @@ public abstract class TestFitnessFunction
     public boolean isCovered(TestChromosome individual, ExecutionResult result) {
         boolean covered = getFitness(individual, result) == 0.0;
         if (covered) {
-            individual.test.addCoveredGoal(this);
+            individual.addCoveredGoal(this);
         }
         return covered;
     }
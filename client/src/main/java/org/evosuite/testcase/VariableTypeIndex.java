@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase;
+
+import org.evosuite.testcase.statements.MethodStatement;
+import org.evosuite.testcase.statements.Statement;
+import org.evosuite.testcase.variable.ArrayIndex;
+import org.evosuite.testcase.variable.VariableReference;
+
+import java.lang.reflect.Type;
+import java.util.*;
+
+/**
+ * Index of the variables defined by the statements of a test case, grouped
+ * into buckets of variables with the same kind of reference and the same type.
+ * All the variables in a bucket give the same answer to type questions, so
+ * these only need to be asked once per bucket, and the variables of a bucket
+ * defined before a given position are found with a binary search.
+ *
+ * <p>
+ * The index is updated lazily: statements can be added, removed or replaced,
+ * and the types of variables can change (e.g., when executing the test or
+ * changing class loader), so each query first checks that the indexed
+ * statements are still the same, and re-indexes from the first changed position.
+ * This check only compares references.
+ *
+ * @see DefaultTestCase#getObjects(Type, int)
+ */
+class VariableTypeIndex {
+
+    /**
+     * Variables with the same class of reference and the same type,
+     * by increasing position
+     */
+    class Bucket {
+
+        private final Key key;
+
+        private int[] positions = new int[4];
+
+        private int size = 0;
+
+        private Bucket(Key key) {
+            this.key = key;
+        }
+
+        /**
+         * Only valid if this bucket has variables before the position of the last update
+         *
+         * @return the first variable in this bucket
+         */
+        VariableReference getSample() {
+            return entries.get(positions[0]).value;
+        }
+
+        /**
+         * @param position
+         * @return number of variables in this bucket defined before the given position
+         */
+        int countBefore(int position) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (positions[mid] < position) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        int getPosition(int index) {
+            return positions[index];
+        }
+
+        private void add(int position) {
+            assert size == 0 || positions[size - 1] < position;
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        private void removeLast(int position) {
+            assert positions[size - 1] == position;
+            size--;
+        }
+    }
+
+    private static final class Key {
+
+        private final Class<?> referenceClass;
+
+        private final Type type;
+
+        private Key(VariableReference value) {
+            this.referenceClass = value.getClass();
+            this.type = value.getType();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return referenceClass == other.referenceClass && Objects.equals(type, other.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * referenceClass.hashCode() + Objects.hashCode(type);
+        }
+    }
+
+    private static final class Entry {
+
+        private final Statement statement;
+
+        private final VariableReference value;
+
+        private final Type type;
+
+        private final boolean hashCodeCall;
+
+        /**
+         * Null if the variable of the statement is not indexed
+         */
+        private final Bucket bucket;
+
+        private Entry(Statement statement, VariableReference value, Type type, Bucket bucket) {
+            this.statement = statement;
+            this.value = value;
+            this.type = type;
+            this.hashCodeCall = isHashCodeCall(statement);
+            this.bucket = bucket;
+        }
+    }
+
+    /**
+     * One entry per indexed statement, at the position of the statement
+     */
+    private final List<Entry> entries = new ArrayList<>();
+
+    private final Map<Key, Bucket> buckets = new LinkedHashMap<>();
+
+    /**
+     * Bring the index up to date for the statements before the given position
+     *
+     * @param statements the statements of the test case
+     * @param position
+     * @return the non-empty buckets, which may also contain variables after the position
+     */
+    Collection<Bucket> update(List<Statement> statements, int position) {
+        int limit = Math.min(position, statements.size());
+        for (int i = 0; i < limit; i++) {
+            Statement statement = statements.get(i);
+            if (i < entries.size()) {
+                Entry entry = entries.get(i);
+                VariableReference value = statement.getReturnValue();
+                if (entry.statement == statement && entry.value == value
+                        && (value == null || entry.type == value.getType())
+                        && entry.hashCodeCall == isHashCodeCall(statement)) {
+                    continue;
+                }
+                truncate(i);
+            }
+            entries.add(createEntry(statement, i));
+        }
+        return buckets.values();
+    }
+
+    /**
+     * Remove the entries from the given position onwards
+     */
+    private void truncate(int position) {
+        for (int i = entries.size() - 1; i >= position; i--) {
+            Entry entry = entries.remove(i);
+            if (entry.bucket != null) {
+                entry.bucket.removeLast(i);
+                if (entry.bucket.size == 0) {
+                    buckets.remove(entry.bucket.key);
+                }
+            }
+        }
+    }
+
+    private Entry createEntry(Statement statement, int position) {
+        VariableReference value = statement.getReturnValue();
+        if (value == null) {
+            return new Entry(statement, null, null, null);
+        }
+        Type type = value.getType();
+        if (value instanceof ArrayIndex || isHashCodeCall(statement)) {
+            // Never returned as objects of a given type
+            return new Entry(statement, value, type, null);
+        }
+        Key key = new Key(value);
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = new Bucket(key);
+            buckets.put(key, bucket);
+        }
+        bucket.add(position);
+        return new Entry(statement, value, type, bucket);
+    }
+
+    private static boolean isHashCodeCall(Statement statement) {
+        return statement instanceof MethodStatement
+                && ((MethodStatement) statement).getMethod().getName().equals("hashCode");
+    }
+}
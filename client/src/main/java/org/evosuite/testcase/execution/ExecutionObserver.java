@@ -113,6 +113,16 @@ public abstract class ExecutionObserver {
      */
     public abstract void clear();
 
+    /**
+     * Whether everything this observer records is stored in the execution
+     * result, so that the result may be reused for a test with identical code
+     *
+     * @return false by default
+     */
+    public boolean isCacheable() {
+        return false;
+    }
+
     /**
      * Determine the set of variables that somehow lead to this statement
      *
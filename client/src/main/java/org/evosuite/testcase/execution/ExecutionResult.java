@@ -20,16 +20,20 @@
 package org.evosuite.testcase.execution;
 
 import org.evosuite.assertion.OutputTrace;
+import org.evosuite.coverage.branch.MethodBranchDistances;
+import org.evosuite.coverage.dataflow.DefUseTraceIndex;
 import org.evosuite.coverage.io.input.InputCoverageGoal;
 import org.evosuite.coverage.io.output.OutputCoverageGoal;
 import org.evosuite.coverage.mutation.Mutation;
 import org.evosuite.ga.metaheuristics.mapelites.FeatureVector;
+import org.evosuite.graphs.cdg.ControlDependenceTable;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.statements.Statement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.IntStream;
 
 public class ExecutionResult implements Cloneable {
@@ -112,8 +116,19 @@ public class ExecutionResult implements Cloneable {
 
     private Map<Integer, Set<OutputCoverageGoal>> outputGoals = new LinkedHashMap<>();
 
-    // experiment .. tried to remember intermediately calculated ControlFlowDistances .. no real speed up
-    //	public Map<Branch, ControlFlowDistance> intermediateDistances;
+    /**
+     * Distances to the branches of each method, computed on demand for {@link #branchDistancesTrace}
+     */
+    private Map<ControlDependenceTable, MethodBranchDistances> branchDistances = null;
+
+    private ExecutionTrace branchDistancesTrace = null;
+
+    /**
+     * Index of the definitions and uses passed in {@link #defUseIndexTrace}
+     */
+    private DefUseTraceIndex defUseIndex = null;
+
+    private ExecutionTrace defUseIndexTrace = null;
 
     /**
      * Default constructor when executing without mutation
@@ -271,6 +286,36 @@ public class ExecutionResult implements Cloneable {
         return trace;
     }
 
+    /**
+     * Cache of the branch distances of the current trace, used by
+     * {@link org.evosuite.coverage.branch.ControlFlowDistanceCalculator}.
+     * The cache is emptied whenever the trace is replaced.
+     *
+     * @return a thread-safe map
+     */
+    public synchronized Map<ControlDependenceTable, MethodBranchDistances> getBranchDistanceCache() {
+        if (branchDistances == null || branchDistancesTrace != trace) {
+            branchDistances = new ConcurrentHashMap<>();
+            branchDistancesTrace = trace;
+        }
+        return branchDistances;
+    }
+
+    /**
+     * Index of the definitions and uses of the current trace, used by
+     * {@link org.evosuite.coverage.dataflow.DefUseFitnessCalculator}.
+     * The index is rebuilt whenever the trace is replaced.
+     *
+     * @return a {@link org.evosuite.coverage.dataflow.DefUseTraceIndex} object.
+     */
+    public synchronized DefUseTraceIndex getDefUseIndex() {
+        if (defUseIndex == null || defUseIndexTrace != trace) {
+            defUseIndex = new DefUseTraceIndex(trace);
+            defUseIndexTrace = trace;
+        }
+        return defUseIndex;
+    }
+
     /**
      * Set execution trace to different value
      *
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.Criterion;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.coverage.mutation.MutationObserver;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded cache of execution results, keyed by the code of the executed test
+ * case and evicting the least recently used result.
+ * <p>
+ * Only results of deterministic executions are kept: no timeout, no exception
+ * of the test itself, no security exception, no access to the environment
+ * and no system property written. Results are only reused under the same
+ * class loader, criteria, tracing and execution observers, and never while a
+ * mutant is active.
+ */
+public class ExecutionResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionResultCache.class);
+
+    private static ExecutionResultCache instance = null;
+
+    private final LinkedHashMap<String, Entry> cache = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        private static final long serialVersionUID = 2361958372645273843L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > Properties.EXECUTION_CACHE_SIZE;
+        }
+    };
+
+    private long hits = 0;
+
+    private long misses = 0;
+
+    private ExecutionResultCache() {
+    }
+
+    public static synchronized ExecutionResultCache getInstance() {
+        if (instance == null)
+            instance = new ExecutionResultCache();
+        return instance;
+    }
+
+    /**
+     * The key of the test case, if its result may be taken from or added to
+     * the cache.
+     * <p>
+     * The key is the code of the test, so building it costs a traversal of
+     * all statements and the string it produces, on every execution while
+     * the cache is enabled. This is still far cheaper than executing the
+     * test, and unlike a hash of the structure of the test it cannot make
+     * two different tests share a result. Nothing is built when the cache is
+     * disabled.
+     *
+     * @param test the test case to execute
+     * @return null if the execution of the test cannot be cached
+     */
+    public String getKey(TestCase test) {
+        if (Properties.EXECUTION_CACHE_SIZE <= 0 || MutationObserver.activeMutation != -1)
+            return null;
+        if (test.isUnstable())
+            return null;
+        if (test instanceof DefaultTestCase && ((DefaultTestCase) test).getChangedClassLoader() != null)
+            return null;
+        for (ExecutionObserver observer : TestCaseExecutor.getInstance().getExecutionObservers()) {
+            if (!observer.isCacheable())
+                return null;
+        }
+        return test.toCode();
+    }
+
+    /**
+     * A copy of the cached result for the test case
+     *
+     * @param key  the key of the test case
+     * @param test the test case to execute
+     * @return null if there is no result to reuse
+     */
+    public synchronized ExecutionResult get(String key, TestCase test) {
+        Entry entry = cache.get(key);
+        if (entry == null || !entry.isValid()) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return copy(entry.result, test);
+    }
+
+    /**
+     * Keep the result of executing the test case, if it is deterministic
+     *
+     * @param key    the key of the test case
+     * @param result the result of executing the test case
+     */
+    public synchronized void put(String key, ExecutionResult result) {
+        if (result.hasTimeout() || result.hasTestException() || result.hasSecurityException()
+                || result.wasAnyPropertyWritten())
+            return;
+        TestCase test = result.test;
+        if (test.isUnstable() || test.getAccessedEnvironment().isNetworkAccessed()
+                || test.getAccessedEnvironment().isFileSystemAccessed())
+            return;
+        logger.debug("Caching execution result of test with {} statements", test.size());
+        cache.put(key, new Entry(copy(result, test)));
+    }
+
+    private static ExecutionResult copy(ExecutionResult result, TestCase test) {
+        ExecutionResult copy = result.clone();
+        copy.setTest(test);
+        copy.setExecutedStatements(result.getExecutedStatements());
+        copy.setSecurityException(result.hasSecurityException());
+        return copy;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the fraction of lookups answered by the cache
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    public synchronized void clear() {
+        cache.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    private static final class Entry {
+
+        private final ExecutionResult result;
+
+        private final ClassLoader loader;
+
+        private final Criterion[] criteria;
+
+        private final boolean traceCalls;
+
+        private final Set<ExecutionObserver> observers;
+
+        Entry(ExecutionResult result) {
+            this.result = result;
+            this.loader = TestGenerationContext.getInstance().getClassLoaderForSUT();
+            this.criteria = Properties.CRITERION;
+            this.traceCalls = ExecutionTraceImpl.isTraceCallsEnabled();
+            this.observers = TestCaseExecutor.getInstance().getExecutionObservers();
+        }
+
+        boolean isValid() {
+            return loader == TestGenerationContext.getInstance().getClassLoaderForSUT()
+                    && criteria == Properties.CRITERION
+                    && traceCalls == ExecutionTraceImpl.isTraceCallsEnabled()
+                    && observers.equals(TestCaseExecutor.getInstance().getExecutionObservers());
+        }
+    }
+}
@@ -337,19 +337,17 @@ public interface ExecutionTrace {
     /**
      * Add a new method call to stack
      *
-     * @param className  a {@link java.lang.String} object.
-     * @param methodName a {@link java.lang.String} object.
-     * @param caller     a {@link java.lang.Object} object.
+     * @param methodId id of the method in the {@link org.evosuite.instrumentation.MethodRegistry}
+     * @param caller   a {@link java.lang.Object} object.
      */
-    void enteredMethod(String className, String methodName, Object caller);
+    void enteredMethod(int methodId, Object caller);
 
     /**
      * Pop last method call from stack
      *
-     * @param classname  a {@link java.lang.String} object.
-     * @param methodname a {@link java.lang.String} object.
+     * @param methodId id of the method in the {@link org.evosuite.instrumentation.MethodRegistry}
      */
-    void exitMethod(String classname, String methodname);
+    void exitMethod(int methodId);
 
     /**
      * Finish all method calls. This is called when a method is not exited
@@ -408,11 +406,10 @@ public interface ExecutionTrace {
     /**
      * Add line to currently active method call
      *
-     * @param line       a int.
-     * @param className  a {@link java.lang.String} object.
-     * @param methodName a {@link java.lang.String} object.
+     * @param methodId id of the method in the {@link org.evosuite.instrumentation.MethodRegistry}
+     * @param line     a int.
      */
-    void linePassed(String className, String methodName, int line);
+    void linePassed(int methodId, int line);
 
     /**
      * Record a mutant execution
@@ -425,11 +422,10 @@ public interface ExecutionTrace {
     /**
      * Record a return value
      *
-     * @param className  a {@link java.lang.String} object.
-     * @param methodName a {@link java.lang.String} object.
-     * @param value      a int.
+     * @param methodId id of the method in the {@link org.evosuite.instrumentation.MethodRegistry}
+     * @param value    a int.
      */
-    void returnValue(String className, String methodName, int value);
+    void returnValue(int methodId, int value);
 
     /**
      * Returns a String containing the information in passedDefs and passedUses
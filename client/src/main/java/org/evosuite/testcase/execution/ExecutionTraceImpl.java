@@ -20,7 +20,6 @@
 package org.evosuite.testcase.execution;
 
 import org.evosuite.Properties;
-import org.evosuite.Properties.Criterion;
 import org.evosuite.TestGenerationContext;
 import org.evosuite.coverage.branch.Branch;
 import org.evosuite.coverage.branch.BranchPool;
@@ -28,9 +27,9 @@ import org.evosuite.coverage.dataflow.DefUse;
 import org.evosuite.coverage.dataflow.DefUsePool;
 import org.evosuite.coverage.dataflow.Definition;
 import org.evosuite.coverage.dataflow.Use;
+import org.evosuite.instrumentation.MethodRegistry;
 import org.evosuite.setup.CallContext;
 import org.evosuite.statistics.RuntimeVariable;
-import org.evosuite.utils.ArrayUtil;
 import org.objectweb.asm.Opcodes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -190,15 +189,24 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 
     private List<BranchEval> branchesTrace = new ArrayList<>();
 
-    // Coverage information
-    public Map<String, Map<String, Map<Integer, Integer>>> coverage = Collections
-            .synchronizedMap(new HashMap<>());
+    // Coverage information, indexed by the method ids of the MethodRegistry
+    private int[] methodCounts = new int[0];
 
-    public Map<Integer, Integer> coveredFalse = Collections.synchronizedMap(new HashMap<>());
+    private int[][] lineCounts = new int[0][];
+
+    /**
+     * Line number of the first slot of each entry in lineCounts
+     */
+    private int[] lineOffsets = new int[0];
+
+    // Coverage information by class and method name, built on demand
+    private Map<String, Map<String, Map<Integer, Integer>>> coverage = null;
+
+    private Map<String, Integer> coveredMethods = null;
 
-    public Map<String, Integer> coveredMethods = Collections.synchronizedMap(new HashMap<>());
+    private Set<String> coveredBranchlessMethods = null;
 
-    public Map<String, Integer> coveredBranchlessMethods = Collections.synchronizedMap(new HashMap<>());
+    public Map<Integer, Integer> coveredFalse = Collections.synchronizedMap(new HashMap<>());
 
     public Map<Integer, Integer> coveredPredicates = Collections.synchronizedMap(new HashMap<>());
 
@@ -247,13 +255,17 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
             .synchronizedMap(new HashMap<>());
 
     private int proxyCount = 1;
-    // Data information
-    public Map<String, Map<String, Map<Integer, Integer>>> returnData = Collections
-            .synchronizedMap(new HashMap<>());
+    // Data information, by method id and by name
+    private Map<Integer, Map<Integer, Integer>> returnCounts = new HashMap<>();
+
+    private Map<String, Map<String, Map<Integer, Integer>>> returnData = null;
 
     // active calls
     LinkedList<MethodCall> stack = new LinkedList<>();
 
+    // what the active criteria need to be traced
+    private TracingProfile profile = TracingProfile.getCurrent();
+
     public Set<Integer> touchedMutants = Collections.synchronizedSet(new HashSet<>());
 
     public Map<Integer, Double> trueDistances = Collections.synchronizedMap(new HashMap<>());
@@ -467,9 +479,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
         else
             falseDistancesSum.put(branch, falseDistancesSum.get(branch) + false_distance);
 
-        if (!disableContext && (Properties.INSTRUMENT_CONTEXT || Properties.INSTRUMENT_METHOD_CALLS
-                || ArrayUtil.contains(Properties.CRITERION, Criterion.IBRANCH)
-                || ArrayUtil.contains(Properties.CRITERION, Criterion.CBRANCH))) {
+        if (!disableContext && profile.isBranchContextTracing()) {
             updateBranchContextMaps(branch, true_distance, false_distance);
         }
 
@@ -536,8 +546,13 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
         // stack.clear();
         // finished_calls.clear();
         stack.add(new MethodCall("", "", 0, 0, 0)); // Main method
-        coverage = new HashMap<>();
-        returnData = new HashMap<>();
+        profile = TracingProfile.getCurrent();
+        methodCounts = new int[0];
+        lineCounts = new int[0][];
+        lineOffsets = new int[0];
+        coverage = null;
+        returnCounts = new HashMap<>();
+        returnData = null;
 
         methodId = 0;
         duCounter = 0;
@@ -547,8 +562,8 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
         falseDistances = new HashMap<>();
         mutantDistances = new HashMap<>();
         touchedMutants = new HashSet<>();
-        coveredMethods = new HashMap<>();
-        coveredBranchlessMethods = new HashMap<>();
+        coveredMethods = null;
+        coveredBranchlessMethods = null;
         coveredPredicates = new HashMap<>();
         coveredTrue = new HashMap<>();
         coveredFalse = new HashMap<>();
@@ -580,12 +595,14 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
             copy.finishedCalls.add(call.clone());
         }
         // copy.finished_calls.addAll(finished_calls);
-        copy.coverage = new HashMap<>();
-        if (coverage != null) {
-            copy.coverage.putAll(coverage);
-        }
-        copy.returnData = new HashMap<>();
-        copy.returnData.putAll(returnData);
+        copy.methodCounts = methodCounts.clone();
+        copy.lineCounts = new int[lineCounts.length][];
+        for (int i = 0; i < lineCounts.length; i++) {
+            if (lineCounts[i] != null)
+                copy.lineCounts[i] = lineCounts[i].clone();
+        }
+        copy.lineOffsets = lineOffsets.clone();
+        copy.returnCounts = new HashMap<>(returnCounts);
         /*
          * if(stack != null && !stack.isEmpty() && stack.peek().method_name !=
          * null && stack.peek().method_name.equals("")) { logger.info(
@@ -593,8 +610,6 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
          */
         copy.trueDistances.putAll(trueDistances);
         copy.falseDistances.putAll(falseDistances);
-        copy.coveredMethods.putAll(coveredMethods);
-        copy.coveredBranchlessMethods.putAll(coveredBranchlessMethods);
         copy.coveredPredicates.putAll(coveredPredicates);
         copy.coveredTrue.putAll(coveredTrue);
         copy.coveredFalse.putAll(coveredFalse);
@@ -620,6 +635,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
         copy.objectCounter = objectCounter;
         copy.knownCallerObjects.putAll(knownCallerObjects);
         copy.proxyCount = 1;
+        copy.profile = profile;
         return copy;
     }
 
@@ -684,32 +700,23 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      * Add a new method call to stack
      */
     @Override
-    public void enteredMethod(String className, String methodName, Object caller) {
+    public void enteredMethod(int methodId, Object caller) {
+        String className = MethodRegistry.getClassName(methodId);
+        String methodName = MethodRegistry.getMethodName(methodId);
         if (traceCoverage) {
-            String id = className + "." + methodName;
-            if (!coveredMethods.containsKey(id)) {
-                coveredMethods.put(id, 1);
-            } else {
-                coveredMethods.put(id, coveredMethods.get(id) + 1);
-            }
-
-            if (BranchPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT())
-                    .isBranchlessMethod(className, id)) {
-                if (!coveredBranchlessMethods.containsKey(id)) {
-                    coveredBranchlessMethods.put(id, 1);
-                } else {
-                    coveredBranchlessMethods.put(id, coveredBranchlessMethods.get(id) + 1);
-                }
-            }
+            if (methodId >= methodCounts.length)
+                methodCounts = Arrays.copyOf(methodCounts, Math.max(methodId + 1, 2 * methodCounts.length));
+            methodCounts[methodId]++;
+            coveredMethods = null;
+            coveredBranchlessMethods = null;
         }
-        if (!className.isEmpty() && !methodName.isEmpty()) {
+        if (profile.isCallStackTracing() && !className.isEmpty() && !methodName.isEmpty()) {
             int callingObjectID = registerObject(caller);
-            MethodCall call = new MethodCall(className, methodName, methodId, callingObjectID, stack.size());
-            methodId++;
+            MethodCall call = new MethodCall(className, methodName, this.methodId, callingObjectID, stack.size());
+            this.methodId++;
             // TODO: Skip this?
             if (traceCalls) {
-                if (ArrayUtil.contains(Properties.CRITERION, Criterion.DEFUSE)
-                        || ArrayUtil.contains(Properties.CRITERION, Criterion.ALLDEFS)) {
+                if (profile.isDefUseTracing()) {
                     call.branchTrace.add(-1);
                     call.trueDistanceTrace.add(1.0);
                     call.falseDistanceTrace.add(0.0);
@@ -719,9 +726,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
             }
             stack.push(call);
 
-            if (!disableContext
-                    && (Properties.INSTRUMENT_CONTEXT || ArrayUtil.contains(Properties.CRITERION, Criterion.IBRANCH)
-                    || ArrayUtil.contains(Properties.CRITERION, Criterion.CBRANCH))) {
+            if (!disableContext && profile.isMethodContextTracing()) {
                 updateMethodContextMaps(className, methodName, caller);
             }
         }
@@ -763,11 +768,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
             return false;
         }
         ExecutionTraceImpl other = (ExecutionTraceImpl) obj;
-        if (coverage == null) {
-            if (other.coverage != null) {
-                return false;
-            }
-        } else if (!coverage.equals(other.coverage)) {
+        if (!getCoverageData().equals(other.getCoverageData())) {
             return false;
         }
         if (finishedCalls == null) {
@@ -777,11 +778,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
         } else if (!finishedCalls.equals(other.finishedCalls)) {
             return false;
         }
-        if (returnData == null) {
-            if (other.returnData != null) {
-                return false;
-            }
-        } else if (!returnData.equals(other.returnData)) {
+        if (!getReturnData().equals(other.getReturnData())) {
             return false;
         }
         if (stack == null) {
@@ -795,8 +792,10 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      * Pop last method call from stack
      */
     @Override
-    public void exitMethod(String classname, String methodname) {
-        if (!classname.isEmpty() && !methodname.isEmpty()) {
+    public void exitMethod(int methodId) {
+        String classname = MethodRegistry.getClassName(methodId);
+        String methodname = MethodRegistry.getMethodName(methodId);
+        if (profile.isCallStackTracing() && !classname.isEmpty() && !methodname.isEmpty()) {
             // if(traceCalls) {
             if (!stack.isEmpty() && !(stack.peek().methodName.equals(methodname))) {
                 // Handle cases where unexpected calls are on the stack
@@ -845,9 +844,33 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public Map<String, Map<String, Map<Integer, Integer>>> getCoverageData() {
+        if (coverage == null) {
+            Map<String, Map<String, Map<Integer, Integer>>> data = new HashMap<>();
+            for (int methodId = 0; methodId < lineCounts.length; methodId++) {
+                int[] counts = lineCounts[methodId];
+                if (counts == null)
+                    continue;
+                Map<Integer, Integer> lines = data
+                        .computeIfAbsent(MethodRegistry.getClassName(methodId), c -> new HashMap<>())
+                        .computeIfAbsent(MethodRegistry.getMethodName(methodId), m -> new HashMap<>());
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] > 0)
+                        lines.put(lineOffsets[methodId] + i, counts[i]);
+                }
+            }
+            coverage = data;
+        }
         return coverage;
     }
 
+    private void addCoveredLines(Set<Integer> coveredLines, int methodId) {
+        int[] counts = lineCounts[methodId];
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0)
+                coveredLines.add(lineOffsets[methodId] + i);
+        }
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -880,13 +903,15 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
     @Override
     public Set<Integer> getCoveredLines(String className) {
         Set<Integer> coveredLines = new HashSet<>();
-        for (Entry<String, Map<String, Map<Integer, Integer>>> entry : coverage.entrySet()) {
-            if ((entry.getKey().equals(className)) ||
+        String innerClassPrefix = className + "$";
+        for (int methodId = 0; methodId < lineCounts.length; methodId++) {
+            if (lineCounts[methodId] == null)
+                continue;
+            String name = MethodRegistry.getClassName(methodId);
+            if ((name.equals(className)) ||
                     // is it a internal class of 'className' ?
-                    (entry.getKey().startsWith(className + "$"))) {
-                for (Map<Integer, Integer> methodentry : entry.getValue().values()) {
-                    coveredLines.addAll(methodentry.keySet());
-                }
+                    (name.startsWith(innerClassPrefix))) {
+                addCoveredLines(coveredLines, methodId);
             }
         }
         return coveredLines;
@@ -900,10 +925,9 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
     @Override
     public Set<Integer> getAllCoveredLines() {
         Set<Integer> coveredLines = new HashSet<>();
-        for (Entry<String, Map<String, Map<Integer, Integer>>> entry : coverage.entrySet()) {
-            for (Map<Integer, Integer> methodentry : entry.getValue().values()) {
-                coveredLines.addAll(methodentry.keySet());
-            }
+        for (int methodId = 0; methodId < lineCounts.length; methodId++) {
+            if (lineCounts[methodId] != null)
+                addCoveredLines(coveredLines, methodId);
         }
         return coveredLines;
     }
@@ -919,12 +943,22 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public Set<String> getCoveredMethods() {
-        return coveredMethods.keySet();
+        return getMethodExecutionCount().keySet();
     }
 
     @Override
     public Set<String> getCoveredBranchlessMethods() {
-        return coveredBranchlessMethods.keySet();
+        if (coveredBranchlessMethods == null) {
+            BranchPool branchPool = BranchPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT());
+            Set<String> methods = new HashSet<>();
+            for (int methodId = 0; methodId < methodCounts.length; methodId++) {
+                if (methodCounts[methodId] > 0 && branchPool.isBranchlessMethod(MethodRegistry.getClassName(methodId),
+                        MethodRegistry.getQualifiedName(methodId)))
+                    methods.add(MethodRegistry.getQualifiedName(methodId));
+            }
+            coveredBranchlessMethods = methods;
+        }
+        return coveredBranchlessMethods;
     }
 
     /*
@@ -1060,6 +1094,14 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public Map<String, Integer> getMethodExecutionCount() {
+        if (coveredMethods == null) {
+            Map<String, Integer> counts = new HashMap<>();
+            for (int methodId = 0; methodId < methodCounts.length; methodId++) {
+                if (methodCounts[methodId] > 0)
+                    counts.merge(MethodRegistry.getQualifiedName(methodId), methodCounts[methodId], Integer::sum);
+            }
+            coveredMethods = counts;
+        }
         return coveredMethods;
     }
 
@@ -1156,6 +1198,14 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public Map<String, Map<String, Map<Integer, Integer>>> getReturnData() {
+        if (returnData == null) {
+            Map<String, Map<String, Map<Integer, Integer>>> data = new HashMap<>();
+            for (Entry<Integer, Map<Integer, Integer>> entry : returnCounts.entrySet()) {
+                data.computeIfAbsent(MethodRegistry.getClassName(entry.getKey()), c -> new HashMap<>())
+                        .put(MethodRegistry.getMethodName(entry.getKey()), entry.getValue());
+            }
+            returnData = data;
+        }
         return returnData;
     }
 
@@ -1375,9 +1425,9 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
     public int hashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result + ((coverage == null) ? 0 : coverage.hashCode());
+        result = prime * result + getCoverageData().hashCode();
         result = prime * result + ((finishedCalls == null) ? 0 : finishedCalls.hashCode());
-        result = prime * result + ((returnData == null) ? 0 : returnData.hashCode());
+        result = prime * result + getReturnData().hashCode();
         result = prime * result + ((stack == null) ? 0 : stack.hashCode());
         return result;
     }
@@ -1426,8 +1476,10 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      * Add line to currently active method call
      */
     @Override
-    public void linePassed(String className, String methodName, int line) {
-        if (traceCalls) {
+    public void linePassed(int methodId, int line) {
+        if (traceCalls && profile.isCallStackTracing()) {
+            String className = MethodRegistry.getClassName(methodId);
+            String methodName = MethodRegistry.getMethodName(methodId);
             if (stack.isEmpty()) {
                 logger.info("Method stack is empty: " + className + "." + methodName + " - l" + line); // TODO
                 // switch
@@ -1466,21 +1518,39 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
             }
         }
         if (traceCoverage) {
-            if (!coverage.containsKey(className)) {
-                coverage.put(className, new HashMap<>());
-            }
-
-            if (!coverage.get(className).containsKey(methodName)) {
-                coverage.get(className).put(methodName, new HashMap<>());
-            }
+            countLine(methodId, line);
+            coverage = null;
+        }
+    }
 
-            if (!coverage.get(className).get(methodName).containsKey(line)) {
-                coverage.get(className).get(methodName).put(line, 1);
-            } else {
-                coverage.get(className).get(methodName).put(line,
-                        coverage.get(className).get(methodName).get(line) + 1);
+    private void countLine(int methodId, int line) {
+        if (methodId >= lineCounts.length) {
+            int length = Math.max(methodId + 1, 2 * lineCounts.length);
+            lineCounts = Arrays.copyOf(lineCounts, length);
+            lineOffsets = Arrays.copyOf(lineOffsets, length);
+        }
+        int[] counts = lineCounts[methodId];
+        if (counts == null) {
+            // size the slots by the lines seen during instrumentation
+            int first = MethodRegistry.getFirstLine(methodId);
+            int last = MethodRegistry.getLastLine(methodId);
+            if (first < 0 || line < first || line > last) {
+                first = line;
+                last = line;
             }
+            counts = new int[last - first + 1];
+            lineCounts[methodId] = counts;
+            lineOffsets[methodId] = first;
+        } else if (line < lineOffsets[methodId] || line >= lineOffsets[methodId] + counts.length) {
+            int first = Math.min(line, lineOffsets[methodId]);
+            int last = Math.max(line, lineOffsets[methodId] + counts.length - 1);
+            int[] grown = new int[last - first + 1];
+            System.arraycopy(counts, 0, grown, lineOffsets[methodId] - first, counts.length);
+            counts = grown;
+            lineCounts[methodId] = counts;
+            lineOffsets[methodId] = first;
         }
+        counts[line - lineOffsets[methodId]]++;
     }
 
     /**
@@ -1523,23 +1593,9 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      * {@inheritDoc}
      */
     @Override
-    public void returnValue(String className, String methodName, int value) {
-        if (!returnData.containsKey(className)) {
-            returnData.put(className, new HashMap<>());
-        }
-
-        if (!returnData.get(className).containsKey(methodName)) {
-            returnData.get(className).put(methodName, new HashMap<>());
-        }
-
-        if (!returnData.get(className).get(methodName).containsKey(value)) {
-            // logger.info("Got return value "+value);
-            returnData.get(className).get(methodName).put(value, 1);
-        } else {
-            // logger.info("Got return value again "+value);
-            returnData.get(className).get(methodName).put(value,
-                    returnData.get(className).get(methodName).get(value) + 1);
-        }
+    public void returnValue(int methodId, int value) {
+        returnCounts.computeIfAbsent(methodId, id -> new HashMap<>()).merge(value, 1, Integer::sum);
+        returnData = null;
     }
 
     /**
@@ -1653,7 +1709,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
             ret.append(m);
         }
         ret.append("\nCovered methods: ");
-        for (Entry<String, Integer> entry : coveredMethods.entrySet()) {
+        for (Entry<String, Integer> entry : getMethodExecutionCount().entrySet()) {
             ret.append(entry.getKey() + ": " + entry.getValue() + ", ");
         }
         ret.append("\nCovered predicates: ");
@@ -1676,7 +1732,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     private void updateTopStackMethodCall(int branch, int bytecode_id, double true_distance, double false_distance) {
 
-        if (traceCalls) {
+        if (traceCalls && profile.isCallTracing()) {
             if (stack.isEmpty()) {
                 return;
             }
@@ -1685,8 +1741,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
             stack.peek().falseDistanceTrace.add(false_distance);
             assert ((true_distance == 0.0) || (false_distance == 0.0));
             // TODO line_trace ?
-            if (ArrayUtil.contains(Properties.CRITERION, Criterion.DEFUSE)
-                    || ArrayUtil.contains(Properties.CRITERION, Criterion.ALLDEFS)) {
+            if (profile.isDefUseTracing()) {
                 stack.peek().defuseCounterTrace.add(duCounter);
             }
         }
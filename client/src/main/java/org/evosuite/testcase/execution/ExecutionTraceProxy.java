@@ -133,9 +133,9 @@ public class ExecutionTraceProxy implements ExecutionTrace, Cloneable {
      * {@inheritDoc}
      */
     @Override
-    public void enteredMethod(String className, String methodName, Object caller) {
+    public void enteredMethod(int methodId, Object caller) {
         copyOnWrite();
-        trace.enteredMethod(className, methodName, caller);
+        trace.enteredMethod(methodId, caller);
     }
 
     /*
@@ -149,9 +149,9 @@ public class ExecutionTraceProxy implements ExecutionTrace, Cloneable {
      * {@inheritDoc}
      */
     @Override
-    public void exitMethod(String classname, String methodname) {
+    public void exitMethod(int methodId) {
         copyOnWrite();
-        trace.exitMethod(classname, methodname);
+        trace.exitMethod(methodId);
     }
 
     /*
@@ -614,9 +614,9 @@ public class ExecutionTraceProxy implements ExecutionTrace, Cloneable {
      * {@inheritDoc}
      */
     @Override
-    public void linePassed(String className, String methodName, int line) {
+    public void linePassed(int methodId, int line) {
         copyOnWrite();
-        trace.linePassed(className, methodName, line);
+        trace.linePassed(methodId, line);
     }
 
     /*
@@ -645,9 +645,9 @@ public class ExecutionTraceProxy implements ExecutionTrace, Cloneable {
      * {@inheritDoc}
      */
     @Override
-    public void returnValue(String className, String methodName, int value) {
+    public void returnValue(int methodId, int value) {
         copyOnWrite();
-        trace.returnValue(className, methodName, value);
+        trace.returnValue(methodId, value);
     }
 
     /*
@@ -23,6 +23,7 @@ import org.evosuite.coverage.dataflow.DefUsePool;
 import org.evosuite.coverage.dataflow.Definition;
 import org.evosuite.coverage.dataflow.Use;
 import org.evosuite.instrumentation.testability.BooleanHelper;
+import org.evosuite.runtime.StaticInitGuard;
 import org.evosuite.seeding.ConstantPoolManager;
 import org.objectweb.asm.Opcodes;
 import org.slf4j.Logger;
@@ -51,7 +52,7 @@ public class ExecutionTracer {
     /**
      * Flag that is used to kill threads that are stuck in endless loops
      */
-    private boolean killSwitch = false;
+    private volatile boolean killSwitch = false;
 
     private int num_statements = 0;
 
@@ -249,12 +250,11 @@ public class ExecutionTracer {
     /**
      * Called by instrumented code whenever a new method is called
      *
-     * @param classname  a {@link java.lang.String} object.
-     * @param methodname a {@link java.lang.String} object.
-     * @param caller     a {@link java.lang.Object} object.
+     * @param methodId id of the method in the {@link org.evosuite.instrumentation.MethodRegistry}
+     * @param caller   a {@link java.lang.Object} object.
      * @throws org.evosuite.testcase.execution.TestCaseExecutor$TimeoutExceeded if any.
      */
-    public static void enteredMethod(String classname, String methodname, Object caller)
+    public static void enteredMethod(int methodId, Object caller)
             throws TestCaseExecutor.TimeoutExceeded {
         ExecutionTracer tracer = getExecutionTracer();
 
@@ -267,17 +267,16 @@ public class ExecutionTracer {
         checkTimeout();
 
         //logger.trace("Entering method " + classname + "." + methodname);
-        tracer.trace.enteredMethod(classname, methodname, caller);
+        tracer.trace.enteredMethod(methodId, caller);
     }
 
     /**
      * Called by instrumented code whenever a return values is produced
      *
-     * @param value      a int.
-     * @param className  a {@link java.lang.String} object.
-     * @param methodName a {@link java.lang.String} object.
+     * @param value    a int.
+     * @param methodId id of the method in the {@link org.evosuite.instrumentation.MethodRegistry}
      */
-    public static void returnValue(int value, String className, String methodName) {
+    public static void returnValue(int value, int methodId) {
         ExecutionTracer tracer = getExecutionTracer();
         if (tracer.disabled)
             return;
@@ -286,17 +285,16 @@ public class ExecutionTracer {
             return;
 
         //logger.trace("Return value: " + value);
-        tracer.trace.returnValue(className, methodName, value);
+        tracer.trace.returnValue(methodId, value);
     }
 
     /**
      * Called by instrumented code whenever a return values is produced
      *
-     * @param value      a {@link java.lang.Object} object.
-     * @param className  a {@link java.lang.String} object.
-     * @param methodName a {@link java.lang.String} object.
+     * @param value    a {@link java.lang.Object} object.
+     * @param methodId id of the method in the {@link org.evosuite.instrumentation.MethodRegistry}
      */
-    public static void returnValue(Object value, String className, String methodName) {
+    public static void returnValue(Object value, int methodId) {
         if (isThreadNeqCurrentThread())
             return;
 
@@ -304,7 +302,7 @@ public class ExecutionTracer {
             return;
 
         if (value == null) {
-            returnValue(0, className, methodName);
+            returnValue(0, methodId);
             return;
         }
         StringBuilder tmp = null;
@@ -339,16 +337,15 @@ public class ExecutionTracer {
             }
         }
 
-        returnValue(tmp.toString().hashCode(), className, methodName);
+        returnValue(tmp.toString().hashCode(), methodId);
     }
 
     /**
      * Called by instrumented code whenever a method is left
      *
-     * @param classname  a {@link java.lang.String} object.
-     * @param methodname a {@link java.lang.String} object.
+     * @param methodId id of the method in the {@link org.evosuite.instrumentation.MethodRegistry}
      */
-    public static void leftMethod(String classname, String methodname) {
+    public static void leftMethod(int methodId) {
         ExecutionTracer tracer = getExecutionTracer();
         if (tracer.disabled)
             return;
@@ -356,7 +353,7 @@ public class ExecutionTracer {
         if (isThreadNeqCurrentThread())
             return;
 
-        tracer.trace.exitMethod(classname, methodname);
+        tracer.trace.exitMethod(methodId);
         // logger.trace("Left method " + classname + "." + methodname);
     }
 
@@ -370,27 +367,18 @@ public class ExecutionTracer {
 
         if (tracer.killSwitch) {
             // logger.info("Raising TimeoutException as kill switch is active - passedLine");
-            if (!isInStaticInit())
+            if (!StaticInitGuard.isInStaticInit())
                 throw new TestCaseExecutor.TimeoutExceeded();
         }
     }
 
-    private static boolean isInStaticInit() {
-        for (StackTraceElement elem : Thread.currentThread().getStackTrace()) {
-            if (elem.getMethodName().equals("<clinit>"))
-                return true;
-        }
-        return false;
-    }
-
     /**
      * Called by the instrumented code each time a new source line is executed
      *
-     * @param line       a int.
-     * @param className  a {@link java.lang.String} object.
-     * @param methodName a {@link java.lang.String} object.
+     * @param methodId id of the method in the {@link org.evosuite.instrumentation.MethodRegistry}
+     * @param line     a int.
      */
-    public static void passedLine(String className, String methodName, int line) {
+    public static void passedLine(int methodId, int line) {
         ExecutionTracer tracer = getExecutionTracer();
         if (tracer.disabled)
             return;
@@ -400,7 +388,7 @@ public class ExecutionTracer {
 
         checkTimeout();
 
-        tracer.trace.linePassed(className, methodName, line);
+        tracer.trace.linePassed(methodId, line);
     }
 
     /**
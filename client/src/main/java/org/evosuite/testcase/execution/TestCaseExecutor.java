@@ -133,7 +133,7 @@ public class TestCaseExecutor implements ThreadFactory {
         try {
             TestCaseExecutor executor = getInstance();
             logger.debug("Executing test");
-            result = executor.execute(test);
+            result = executor.executeOrReuse(test);
 
             MaxStatementsStoppingCondition.statementsExecuted(result.getExecutedStatements());
 
@@ -247,6 +247,31 @@ public class TestCaseExecutor implements ThreadFactory {
         }
     }
 
+    /**
+     * Execute a test case, unless the {@link ExecutionResultCache} has the
+     * result of a test with identical code. A reused result counts as an
+     * executed test, as its statements count as executed statements for the
+     * caller, so that the search budget is the same with and without cache.
+     *
+     * @param tc a {@link org.evosuite.testcase.TestCase} object.
+     * @return a {@link org.evosuite.testcase.execution.ExecutionResult} object.
+     */
+    public ExecutionResult executeOrReuse(TestCase tc) {
+        ExecutionResultCache cache = ExecutionResultCache.getInstance();
+        String key = cache.getKey(tc);
+        if (key != null) {
+            ExecutionResult result = cache.get(key, tc);
+            if (result != null) {
+                MaxTestsStoppingCondition.testExecuted();
+                return result;
+            }
+        }
+        ExecutionResult result = execute(tc);
+        if (key != null)
+            cache.put(key, result);
+        return result;
+    }
+
     /**
      * Execute a test case on a new scope
      *
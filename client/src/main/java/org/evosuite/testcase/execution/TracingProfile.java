@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.Algorithm;
+import org.evosuite.Properties.Criterion;
+
+/**
+ * The parts of an {@link ExecutionTraceImpl} that the coverage criteria
+ * actually read.
+ * <p>
+ * Coverage data (method, line and branch counts and distances) is always
+ * recorded. The method call stack with its per-call branch traces, the call
+ * context maps and the def-use counters are only recorded if a criterion, or
+ * the search algorithm, needs them.
+ */
+public final class TracingProfile {
+
+    private final boolean callTraces;
+
+    private final boolean branchContext;
+
+    private final boolean methodContext;
+
+    private final boolean defUse;
+
+    private TracingProfile(boolean callTraces, boolean branchContext, boolean methodContext, boolean defUse) {
+        this.callTraces = callTraces;
+        this.branchContext = branchContext;
+        this.methodContext = methodContext;
+        this.defUse = defUse;
+    }
+
+    /**
+     * The profile of the current {@link Properties#ALGORITHM} and
+     * {@link Properties#CRITERION} settings.
+     *
+     * @return a new profile
+     */
+    public static TracingProfile getCurrent() {
+        return forSearch(Properties.ALGORITHM, Properties.CRITERION);
+    }
+
+    /**
+     * The profile needed to compute the fitness of the given criteria.
+     *
+     * @param criteria the active criteria
+     * @return a new profile
+     */
+    public static TracingProfile forCriteria(Criterion... criteria) {
+        return create(false, criteria);
+    }
+
+    /**
+     * The profile needed by the given algorithm to compute the fitness of the
+     * given criteria.
+     *
+     * @param algorithm the search algorithm
+     * @param criteria  the active criteria
+     * @return a new profile
+     */
+    public static TracingProfile forSearch(Algorithm algorithm, Criterion... criteria) {
+        return create(evaluatesBranchGoals(algorithm), criteria);
+    }
+
+    private static TracingProfile create(boolean callTraces, Criterion... criteria) {
+        boolean context = Properties.INSTRUMENT_CONTEXT;
+        boolean defUse = false;
+        for (Criterion criterion : criteria) {
+            callTraces |= needsCallTraces(criterion);
+            context |= criterion == Criterion.IBRANCH || criterion == Criterion.CBRANCH;
+            defUse |= criterion == Criterion.DEFUSE || criterion == Criterion.ALLDEFS;
+        }
+        return new TracingProfile(callTraces, context || Properties.INSTRUMENT_METHOD_CALLS, context, defUse);
+    }
+
+    /**
+     * MOSA and DynaMOSA evaluate branch goals whatever the criteria, eg to
+     * find the control dependencies of the other goals, and so compute
+     * approach levels from the branch traces of the method calls.
+     */
+    private static boolean evaluatesBranchGoals(Algorithm algorithm) {
+        return algorithm == Algorithm.MOSA || algorithm == Algorithm.DYNAMOSA;
+    }
+
+    /**
+     * Criteria computing approach levels (through
+     * {@link org.evosuite.coverage.branch.ControlFlowDistanceCalculator}) or
+     * def-use fitness need the branch trace of each method call.
+     */
+    private static boolean needsCallTraces(Criterion criterion) {
+        switch (criterion) {
+            case EXCEPTION:
+            case METHOD:
+            case METHODNOEXCEPTION:
+            case METHODTRACE:
+            case OUTPUT:
+            case INPUT:
+            case READABILITY:
+            case RHO:
+            case AMBIGUITY:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * @return whether branches are added to the trace of the active method call
+     */
+    public boolean isCallTracing() {
+        return callTraces;
+    }
+
+    /**
+     * @return whether the method call stack is maintained at all
+     */
+    public boolean isCallStackTracing() {
+        return callTraces || branchContext || methodContext;
+    }
+
+    /**
+     * @return whether branch distances are recorded per call context
+     */
+    public boolean isBranchContextTracing() {
+        return branchContext;
+    }
+
+    /**
+     * @return whether method executions are recorded per call context
+     */
+    public boolean isMethodContextTracing() {
+        return methodContext;
+    }
+
+    /**
+     * @return whether method calls keep the def-use counter of each branch
+     */
+    public boolean isDefUseTracing() {
+        return defUse;
+    }
+
+    @Override
+    public String toString() {
+        return "TracingProfile [callTraces=" + callTraces + ", branchContext=" + branchContext
+                + ", methodContext=" + methodContext + ", defUse=" + defUse + "]";
+    }
+}
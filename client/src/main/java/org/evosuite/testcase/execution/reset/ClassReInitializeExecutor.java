@@ -95,6 +95,12 @@ class ClassReInitializeExecutor {
         // className.__STATIC_RESET() exists
         logger.debug("Resetting class " + className);
 
+        Method resetMethod = ClassResetter.getInstance().getResetMethod(className);
+        if (Properties.RESET_STATIC_FIELDS_SNAPSHOT && resetMethod != null
+                && StaticFieldSnapshot.getInstance().restore(resetMethod.getDeclaringClass())) {
+            return;
+        }
+
         int mutationActive = MutationObserver.activeMutation;
         MutationObserver.deactivateMutation();
 
@@ -105,12 +111,13 @@ class ClassReInitializeExecutor {
         Runtime.getInstance().resetRuntime(); // it is important to initialize
         // the VFS
         boolean wasLoopCheckOn = LoopCounter.getInstance().isActivated();
+        boolean reset = false;
 
         try {
-            Method resetMethod = ClassResetter.getInstance().getResetMethod(className);
             if (resetMethod != null) {
                 LoopCounter.getInstance().setActive(false);
                 resetMethod.invoke(null, (Object[]) null);
+                reset = true;
             }
         } catch (Throwable e) {
             ClassResetter.getInstance().logWarn(className,
@@ -122,5 +129,10 @@ class ClassReInitializeExecutor {
             MutationObserver.activateMutation(mutationActive);
             LoopCounter.getInstance().setActive(wasLoopCheckOn);
         }
+
+        if (reset && Properties.RESET_STATIC_FIELDS_SNAPSHOT) {
+            // the fields now hold the values of a clean initialization
+            StaticFieldSnapshot.getInstance().capture(resetMethod.getDeclaringClass());
+        }
     }
 }
@@ -54,6 +54,7 @@ public class ClassReInitializer {
 
     public static void resetSingleton() {
         instance = null;
+        StaticFieldSnapshot.getInstance().clear();
     }
 
     public static ClassReInitializer getInstance() {
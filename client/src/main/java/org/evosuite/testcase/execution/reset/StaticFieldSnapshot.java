@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution.reset;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the static field values of classes as they are right after their
+ * first static reset. A class whose static fields then only hold immutable
+ * values can be reset again by writing these values back, instead of
+ * re-running its class initializer through __STATIC_RESET().
+ */
+class StaticFieldSnapshot {
+
+    private final static Logger logger = LoggerFactory.getLogger(StaticFieldSnapshot.class);
+
+    private static final StaticFieldSnapshot instance = new StaticFieldSnapshot();
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(String.class,
+            Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class,
+            Double.class, Class.class));
+
+    /**
+     * Snapshot for each captured class, or null if the class cannot be
+     * restored from a snapshot
+     */
+    private final Map<Class<?>, ClassSnapshot> snapshots = new HashMap<>();
+
+    private StaticFieldSnapshot() {
+    }
+
+    public static StaticFieldSnapshot getInstance() {
+        return instance;
+    }
+
+    /**
+     * Records the current static field values of the class, unless the class
+     * was already captured
+     *
+     * @param clazz a class that has just been reset
+     */
+    public synchronized void capture(Class<?> clazz) {
+        if (snapshots.containsKey(clazz)) {
+            return;
+        }
+        ClassSnapshot snapshot = null;
+        try {
+            snapshot = ClassSnapshot.of(clazz);
+        } catch (Throwable e) {
+            logger.debug("Cannot capture static fields of class " + clazz.getName() + ": " + e);
+        }
+        snapshots.put(clazz, snapshot);
+    }
+
+    /**
+     * Writes back the static field values captured for the class
+     *
+     * @param clazz the class to reset
+     * @return false if the class has to be reset by its class initializer
+     */
+    public synchronized boolean restore(Class<?> clazz) {
+        ClassSnapshot snapshot = snapshots.get(clazz);
+        if (snapshot == null) {
+            return false;
+        }
+        try {
+            snapshot.restore();
+            return true;
+        } catch (Throwable e) {
+            logger.debug("Cannot restore static fields of class " + clazz.getName() + ": " + e);
+            snapshots.put(clazz, null);
+            return false;
+        }
+    }
+
+    /**
+     * @param clazz a class
+     * @return whether the class can be reset by {@link #restore(Class)}
+     */
+    public synchronized boolean isRestorable(Class<?> clazz) {
+        return snapshots.get(clazz) != null;
+    }
+
+    public synchronized void clear() {
+        snapshots.clear();
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value == null || value instanceof Enum || IMMUTABLE_TYPES.contains(value.getClass());
+    }
+
+    private static final class ClassSnapshot {
+
+        private final MethodHandle[] setters;
+
+        private final Object[] values;
+
+        private ClassSnapshot(MethodHandle[] setters, Object[] values) {
+            this.setters = setters;
+            this.values = values;
+        }
+
+        /**
+         * @return null if a static field holds a possibly mutable object,
+         * which the class initializer would have to create again
+         */
+        static ClassSnapshot of(Class<?> clazz) throws IllegalAccessException {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodType setterType = MethodType.methodType(void.class, Object.class);
+            List<MethodHandle> setters = new ArrayList<>();
+            List<Object> values = new ArrayList<>();
+            for (Field field : clazz.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                // final fields are not changed by tests
+                if (!Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)) {
+                    continue;
+                }
+                field.setAccessible(true);
+                Object value = field.get(null);
+                if (!isImmutable(value)) {
+                    return null;
+                }
+                setters.add(lookup.unreflectSetter(field).asType(setterType));
+                values.add(value);
+            }
+            return new ClassSnapshot(setters.toArray(new MethodHandle[0]), values.toArray());
+        }
+
+        void restore() throws Throwable {
+            for (int i = 0; i < setters.length; i++) {
+                setters[i].invokeExact(values[i]);
+            }
+        }
+    }
+}
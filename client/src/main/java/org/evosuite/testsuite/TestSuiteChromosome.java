@@ -198,7 +198,7 @@ public final class TestSuiteChromosome
      */
     public void deleteTest(TestCase testCase) {
         if (testCase != null) {
-            tests.removeIf(t -> t.getTestCase().equals(testCase));
+            tests.removeIf(t -> t.getReadOnlyTestCase().equals(testCase));
         }
     }
 
@@ -212,14 +212,14 @@ public final class TestSuiteChromosome
     public Set<TestFitnessFunction> getCoveredGoals() {
         Set<TestFitnessFunction> goals = new LinkedHashSet<>();
         for (TestChromosome t : tests) {
-            Set<TestFitnessFunction> coveredGoals = t.getTestCase().getCoveredGoals();
+            Set<TestFitnessFunction> coveredGoals = t.getReadOnlyTestCase().getCoveredGoals();
             goals.addAll(coveredGoals);
         }
         return goals;
     }
 
     public void removeCoveredGoal(TestFitnessFunction f) {
-        tests.forEach(t -> t.getTestCase().removeCoveredGoal(f));
+        tests.forEach(t -> t.removeCoveredGoal(f));
     }
 
     /**
@@ -274,9 +274,9 @@ public final class TestSuiteChromosome
             result += "Test " + i + ": \n";
             i++;
             if (test.getLastExecutionResult() != null) {
-                result += test.getTestCase().toCode(test.getLastExecutionResult().exposeExceptionMapping());
+                result += test.getReadOnlyTestCase().toCode(test.getLastExecutionResult().exposeExceptionMapping());
             } else {
-                result += test.getTestCase().toCode() + "\n";
+                result += test.getReadOnlyTestCase().toCode() + "\n";
             }
         }
         return result;
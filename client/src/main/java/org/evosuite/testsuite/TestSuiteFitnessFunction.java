@@ -60,7 +60,7 @@ public abstract class TestSuiteFitnessFunction extends FitnessFunction<TestSuite
         ExecutionResult result = new ExecutionResult(test, null);
 
         try {
-            result = TestCaseExecutor.getInstance().execute(test);
+            result = TestCaseExecutor.getInstance().executeOrReuse(test);
             MaxStatementsStoppingCondition.statementsExecuted(result.getExecutedStatements());
         } catch (Exception e) {
             logger.warn("TG: Exception caught: " + e.getMessage(), e);
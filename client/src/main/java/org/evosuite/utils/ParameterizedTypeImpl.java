@@ -74,7 +74,7 @@ public class ParameterizedTypeImpl implements ParameterizedType {
 
     public ParameterizedTypeImpl(Class<?> rawType, Type[] actualTypeArguments, Type owner) {
         this.rawType = rawType;
-        this.actualTypeArguments = actualTypeArguments;
+        this.actualTypeArguments = Arrays.copyOf(actualTypeArguments, actualTypeArguments.length, Type[].class);
         this.ownerType = owner;
     }
 
@@ -85,7 +85,8 @@ public class ParameterizedTypeImpl implements ParameterizedType {
 
     @Override
     public Type[] getActualTypeArguments() {
-        return actualTypeArguments;
+        // Instances are shared, e.g. by the GenericTypeCache
+        return actualTypeArguments.clone();
     }
 
     @Override
@@ -102,8 +103,10 @@ public class ParameterizedTypeImpl implements ParameterizedType {
         if (this == other) {
             return true;
         }
+        Type[] otherArguments = other instanceof ParameterizedTypeImpl
+                ? ((ParameterizedTypeImpl) other).actualTypeArguments : other.getActualTypeArguments();
         return rawType.equals(other.getRawType())
-                && Arrays.equals(actualTypeArguments, other.getActualTypeArguments())
+                && Arrays.equals(actualTypeArguments, otherArguments)
                 && (ownerType == null ? other.getOwnerType() == null
                 : ownerType.equals(other.getOwnerType()));
     }
@@ -44,6 +44,13 @@ public class Randomness implements Serializable {
 
     private static Random random = null;
 
+    private static final ThreadLocal<Random> threadStream = new ThreadLocal<>();
+
+    /**
+     * Avoids looking up the thread stream as long as no thread has one
+     */
+    private static volatile boolean threadStreamsUsed = false;
+
     private static Randomness instance = new Randomness();
 
     private Randomness() {
@@ -55,7 +62,71 @@ public class Randomness implements Serializable {
             seed = System.currentTimeMillis();
             logger.info("No seed given. Using {}.", seed);
         }
-        random = new MersenneTwister(seed);
+        random = createGenerator(seed);
+    }
+
+    private static Random createGenerator(long seed) {
+        if (Properties.RANDOM_GENERATOR == Properties.RandomGenerator.SPLITMIX) {
+            return new SplittableRandomStream(seed);
+        }
+        return new MersenneTwister(seed);
+    }
+
+    private static boolean isConfiguredGenerator(Random generator) {
+        if (Properties.RANDOM_GENERATOR == Properties.RandomGenerator.SPLITMIX) {
+            return generator instanceof SplittableRandomStream;
+        }
+        return generator instanceof MersenneTwister;
+    }
+
+    /**
+     * Generator used by the current thread: its own stream if one was set
+     * with {@link #setThreadStream(Random)}, else the shared one
+     */
+    private static Random generator() {
+        if (threadStreamsUsed) {
+            Random stream = threadStream.get();
+            if (stream != null) {
+                return stream;
+            }
+        }
+        return random;
+    }
+
+    /**
+     * Independent stream of random numbers for a search worker, an island, a
+     * phase, etc. It only depends on the seed, the name and the index, so
+     * results are the same regardless of how many threads are used and in
+     * which order streams are requested.
+     *
+     * @param name  what the stream is used for, eg "island"
+     * @param index index of the worker, island, etc
+     * @return a new generator
+     */
+    public static Random getStream(String name, int index) {
+        long streamId = ((long) name.hashCode() << 32) | (index & 0xffffffffL);
+        return SplittableRandomStream.forStream(seed, streamId);
+    }
+
+    /**
+     * Make all the static methods of this class use the given stream when
+     * called from the current thread
+     *
+     * @param stream e.g. obtained with {@link #getStream(String, int)}
+     */
+    public static void setThreadStream(Random stream) {
+        if (stream == null) {
+            throw new IllegalArgumentException("Stream cannot be null");
+        }
+        threadStreamsUsed = true;
+        threadStream.set(stream);
+    }
+
+    /**
+     * Make the current thread use the shared generator again
+     */
+    public static void clearThreadStream() {
+        threadStream.remove();
     }
 
     /**
@@ -80,7 +151,7 @@ public class Randomness implements Serializable {
      * @return a boolean.
      */
     public static boolean nextBoolean() {
-        return random.nextBoolean();
+        return generator().nextBoolean();
     }
 
     /**
@@ -92,11 +163,11 @@ public class Randomness implements Serializable {
      * @see Random#nextInt(int)
      */
     public static int nextInt(int max) {
-        return random.nextInt(max);
+        return generator().nextInt(max);
     }
 
     public static double nextGaussian() {
-        return random.nextGaussian();
+        return generator().nextGaussian();
     }
 
     /**
@@ -108,7 +179,7 @@ public class Randomness implements Serializable {
      * @return a random number between {@code min} and {@code max}
      */
     public static int nextInt(int min, int max) {
-        return random.nextInt(max - min) + min;
+        return generator().nextInt(max - min) + min;
     }
 
     /**
@@ -119,7 +190,7 @@ public class Randomness implements Serializable {
      * @return a int.
      */
     public static int nextInt() {
-        return random.nextInt();
+        return generator().nextInt();
     }
 
     /**
@@ -142,7 +213,7 @@ public class Randomness implements Serializable {
      * @return a short.
      */
     public static short nextShort() {
-        return (short) (random.nextInt(2 * 32767) - 32767);
+        return (short) (generator().nextInt(2 * 32767) - 32767);
     }
 
     /**
@@ -153,7 +224,7 @@ public class Randomness implements Serializable {
      * @return a long.
      */
     public static long nextLong() {
-        return random.nextLong();
+        return generator().nextLong();
     }
 
     /**
@@ -164,7 +235,7 @@ public class Randomness implements Serializable {
      * @return a byte.
      */
     public static byte nextByte() {
-        return (byte) (random.nextInt(256) - 128);
+        return (byte) (generator().nextInt(256) - 128);
     }
 
     /**
@@ -175,7 +246,7 @@ public class Randomness implements Serializable {
      * @return a double between 0.0 and 1.0
      */
     public static double nextDouble() {
-        return random.nextDouble();
+        return generator().nextDouble();
     }
 
     /**
@@ -188,7 +259,7 @@ public class Randomness implements Serializable {
      * @return a double.
      */
     public static double nextDouble(double min, double max) {
-        return min + (random.nextDouble() * (max - min));
+        return min + (generator().nextDouble() * (max - min));
     }
 
     /**
@@ -199,7 +270,7 @@ public class Randomness implements Serializable {
      * @return a float.
      */
     public static float nextFloat() {
-        return random.nextFloat();
+        return generator().nextFloat();
     }
 
     /**
@@ -211,7 +282,11 @@ public class Randomness implements Serializable {
      */
     public static void setSeed(long seed) {
         Randomness.seed = seed;
-        random.setSeed(seed);
+        if (isConfiguredGenerator(random)) {
+            random.setSeed(seed);
+        } else {
+            random = createGenerator(seed);
+        }
     }
 
     /**
@@ -238,7 +313,7 @@ public class Randomness implements Serializable {
         if (list.isEmpty())
             return null;
 
-        int position = random.nextInt(list.size());
+        int position = generator().nextInt(list.size());
         return list.get(position);
     }
 
@@ -256,7 +331,7 @@ public class Randomness implements Serializable {
         if (set.isEmpty())
             return null;
 
-        int position = random.nextInt(set.size());
+        int position = generator().nextInt(set.size());
         return (T) set.toArray()[position];
     }
 
@@ -273,7 +348,7 @@ public class Randomness implements Serializable {
         if (elements.length == 0)
             return null;
 
-        int position = random.nextInt(elements.length);
+        int position = generator().nextInt(elements.length);
         return elements[position];
     }
 
@@ -285,7 +360,7 @@ public class Randomness implements Serializable {
      * @param list a {@link java.util.List} object.
      */
     public static void shuffle(List<?> list) {
-        Collections.shuffle(list, random);
+        Collections.shuffle(list, generator());
     }
 
     /**
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils;
+
+import java.util.Random;
+
+/**
+ * SplitMix64 generator, as used by {@link java.util.SplittableRandom}, but
+ * usable wherever a {@link Random} is expected and serializable.
+ *
+ * <p>
+ * It is not synchronized and much cheaper than {@link MersenneTwister}, so
+ * every search worker should have its own stream. Streams are either split
+ * off an existing one, or derived from a seed and a stream id with
+ * {@link #forStream(long, long)}, which does not depend on the order in
+ * which streams are created.
+ */
+public class SplittableRandomStream extends Random {
+
+    private static final long serialVersionUID = 6466155016290146375L;
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long state;
+
+    /**
+     * Odd increment of the state
+     */
+    private long gamma;
+
+    public SplittableRandomStream(long seed) {
+        // Random(long) would call setSeed before the fields are initialized
+        super(0L);
+        setSeed(seed);
+    }
+
+    private SplittableRandomStream(long state, long gamma) {
+        super(0L);
+        this.state = state;
+        this.gamma = gamma;
+    }
+
+    /**
+     * The stream with the given id derived from the given seed. The same
+     * seed and id always give the same stream.
+     *
+     * @param seed
+     * @param streamId
+     * @return
+     */
+    public static SplittableRandomStream forStream(long seed, long streamId) {
+        return new SplittableRandomStream(mix64(seed ^ mix64(streamId)),
+                mixGamma(seed + streamId * GOLDEN_GAMMA));
+    }
+
+    /**
+     * A new stream that is statistically independent of this one. This
+     * advances the state of this stream.
+     *
+     * @return
+     */
+    public SplittableRandomStream split() {
+        return new SplittableRandomStream(mix64(nextSeed()), mixGamma(nextSeed()));
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        state = seed;
+        gamma = GOLDEN_GAMMA;
+    }
+
+    private long nextSeed() {
+        return state += gamma;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int n = Long.bitCount(z ^ (z >>> 1));
+        return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+
+    @Override
+    protected int next(int bits) {
+        return mix32(nextSeed()) >>> (32 - bits);
+    }
+
+    @Override
+    public int nextInt() {
+        return mix32(nextSeed());
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        int r = mix32(nextSeed());
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            return r & m;
+        }
+        // Reject values that would make the result biased
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = mix32(nextSeed()) >>> 1)
+            ;
+        return r;
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return mix32(nextSeed()) < 0;
+    }
+
+    @Override
+    public float nextFloat() {
+        return (mix32(nextSeed()) >>> 8) * 0x1.0p-24f;
+    }
+
+    @Override
+    public double nextDouble() {
+        return (mix64(nextSeed()) >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Polar method, without keeping the second value, so that the sequence
+     * only depends on the state
+     */
+    @Override
+    public double nextGaussian() {
+        double v1, v2, s;
+        do {
+            v1 = 2 * nextDouble() - 1;
+            v2 = 2 * nextDouble() - 1;
+            s = v1 * v1 + v2 * v2;
+        } while (s >= 1 || s == 0);
+        return v1 * StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+    }
+}
@@ -163,7 +163,7 @@ public class GenericClassImpl implements Serializable, GenericClass<GenericClass
      * @param clazz a {@link java.lang.Class} object.
      */
     public GenericClassImpl(Class<?> clazz) {
-        this.type = addTypeParameters(clazz); //GenericTypeReflector.addWildcardParameters(clazz);
+        this.type = GenericTypeCache.getInstance().getType(clazz); //GenericTypeReflector.addWildcardParameters(clazz);
         this.rawClass = clazz;
     }
 
@@ -182,7 +182,7 @@ public class GenericClassImpl implements Serializable, GenericClass<GenericClass
      */
     public GenericClassImpl(Type type) {
         if (type instanceof Class<?>) {
-            this.type = addTypeParameters((Class<?>) type); //GenericTypeReflector.addWildcardParameters((Class<?>) type);
+            this.type = GenericTypeCache.getInstance().getType((Class<?>) type); //GenericTypeReflector.addWildcardParameters((Class<?>) type);
             this.rawClass = (Class<?>) type;
         } else {
             if (!handleGenericArraySpecialCase(type)) {
@@ -247,7 +247,7 @@ public class GenericClassImpl implements Serializable, GenericClass<GenericClass
         if (otherRawClass.isAssignableFrom(rawClass)) {
             Map<TypeVariable<?>, Type> typeMap = otherType.getTypeVariableMap();
             if (otherType.isParameterizedType()) {
-                typeMap.putAll(TypeUtils.determineTypeArguments(rawClass,
+                typeMap.putAll(GenericTypeCache.getInstance().determineTypeArguments(rawClass,
                         (ParameterizedType) otherType.getType()));
             }
             try {
@@ -594,7 +594,7 @@ public class GenericClassImpl implements Serializable, GenericClass<GenericClass
             if (boundClass.isParameterizedType()) {
                 Class<?> boundRawClass = boundClass.getRawClass();
                 if (boundRawClass.isAssignableFrom(selectedClass.getRawClass())) {
-                    Map<TypeVariable<?>, Type> xmap = TypeUtils.determineTypeArguments(selectedClass.getRawClass(), (ParameterizedType) boundClass.getType());
+                    Map<TypeVariable<?>, Type> xmap = GenericTypeCache.getInstance().determineTypeArguments(selectedClass.getRawClass(), (ParameterizedType) boundClass.getType());
                     extendedMap.putAll(xmap);
                 }
             }
@@ -979,7 +979,7 @@ public class GenericClassImpl implements Serializable, GenericClass<GenericClass
         ParameterizedType pType = (ParameterizedType) type;
 
         if (superClass.isParameterizedType()) {
-            Map<TypeVariable<?>, Type> typeMap = TypeUtils.determineTypeArguments(rawClass,
+            Map<TypeVariable<?>, Type> typeMap = GenericTypeCache.getInstance().determineTypeArguments(rawClass,
                     (ParameterizedType) superClass.getType());
             return getGenericInstantiation(typeMap);
         }
@@ -1408,7 +1408,7 @@ public class GenericClassImpl implements Serializable, GenericClass<GenericClass
             if (bound instanceof ParameterizedType) {
                 Class<?> boundClass = GenericTypeReflector.erase(bound);
                 if (boundClass.isAssignableFrom(rawClass)) {
-                    Map<TypeVariable<?>, Type> xmap = TypeUtils.determineTypeArguments(rawClass, (ParameterizedType) bound);
+                    Map<TypeVariable<?>, Type> xmap = GenericTypeCache.getInstance().determineTypeArguments(rawClass, (ParameterizedType) bound);
                     ownerVariableMap.putAll(xmap);
                 }
             }
@@ -49,6 +49,13 @@ public class GenericClassUtils {
     public static boolean isAssignable(Type lhsType, Type rhsType) {
         if (rhsType == null || lhsType == null) return false;
 
+        return GenericTypeCache.getInstance().isAssignable(lhsType, rhsType);
+    }
+
+    /**
+     * Uncached version of {@link #isAssignable(Type, Type)}, for non-null types
+     */
+    static boolean computeAssignable(Type lhsType, Type rhsType) {
         try {
             return TypeUtils.isAssignable(rhsType, lhsType);
         } catch (Throwable e) {
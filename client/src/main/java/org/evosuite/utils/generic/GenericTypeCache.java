@@ -0,0 +1,287 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils.generic;
+
+import org.apache.commons.lang3.reflect.TypeUtils;
+import org.evosuite.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memoises the pure, and expensive, questions asked about generic types:
+ * assignability of a pair of types, the type arguments a class inherits from a
+ * parameterized super type, and the canonical type of a raw class.
+ *
+ * <p>
+ * Keys are compared structurally, so two different {@link Type} implementations
+ * describing the same type (e.g., the JDK ones and ours) share an entry.
+ * Each cache is bounded by {@link Properties#GENERIC_TYPE_CACHE_SIZE}, and is
+ * simply emptied when it gets full.
+ *
+ * <p>
+ * As classes loaded by different class loaders are different keys, an entry never
+ * becomes wrong when {@link GenericClass#changeClassLoader(ClassLoader)} is used,
+ * but it would keep the old classes alive: the cache is cleared whenever the
+ * instrumenting class loader is replaced.
+ */
+public class GenericTypeCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(GenericTypeCache.class);
+
+    private static final GenericTypeCache instance = new GenericTypeCache();
+
+    /**
+     * Stands for a {@code null} result of {@link TypeUtils#determineTypeArguments},
+     * as a concurrent map cannot contain null values
+     */
+    private static final Map<TypeVariable<?>, Type> NO_TYPE_ARGUMENTS = new HashMap<>(0);
+
+    private final Cache<TypePair, Boolean> assignable = new Cache<>();
+
+    private final Cache<TypePair, Map<TypeVariable<?>, Type>> typeArguments = new Cache<>();
+
+    private final Cache<Class<?>, Type> classTypes = new Cache<>();
+
+    private GenericTypeCache() {
+    }
+
+    public static GenericTypeCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Memoised version of {@code TypeUtils.isAssignable(rhsType, lhsType)}
+     *
+     * @param lhsType non-null target type
+     * @param rhsType non-null type to assign to {@code lhsType}
+     * @return
+     */
+    public boolean isAssignable(Type lhsType, Type rhsType) {
+        TypePair key = new TypePair(lhsType, rhsType);
+        Boolean result = assignable.get(key);
+        if (result == null) {
+            result = GenericClassUtils.computeAssignable(lhsType, rhsType);
+            assignable.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Memoised version of {@link TypeUtils#determineTypeArguments(Class, ParameterizedType)}.
+     *
+     * @param cls
+     * @param superType
+     * @return a new map, that the caller is free to modify, or {@code null}
+     * if {@code cls} is not assignable to the raw type of {@code superType}
+     */
+    public Map<TypeVariable<?>, Type> determineTypeArguments(Class<?> cls, ParameterizedType superType) {
+        TypePair key = new TypePair(cls, superType);
+        Map<TypeVariable<?>, Type> result = typeArguments.get(key);
+        if (result == null) {
+            result = TypeUtils.determineTypeArguments(cls, superType);
+            if (result == null) {
+                result = NO_TYPE_ARGUMENTS;
+            }
+            typeArguments.put(key, result);
+        }
+        return result == NO_TYPE_ARGUMENTS ? null : new HashMap<>(result);
+    }
+
+    /**
+     * The type of a raw class, with its missing type parameters added.
+     * The same instance is returned for the same class, so that the
+     * (immutable) types held by different {@link GenericClass} instances are shared.
+     *
+     * @param clazz
+     * @return
+     */
+    public Type getType(Class<?> clazz) {
+        Type type = classTypes.get(clazz);
+        if (type == null) {
+            type = GenericClassImpl.addTypeParameters(clazz);
+            Type previous = classTypes.put(clazz, type);
+            if (previous != null) {
+                type = previous;
+            }
+        }
+        return type;
+    }
+
+    /**
+     * @return the number of assignability and type argument questions answered by the cache
+     */
+    public long getHits() {
+        return getAssignabilityHits() + getTypeArgumentsHits();
+    }
+
+    /**
+     * @return the number of assignability and type argument questions computed
+     */
+    public long getMisses() {
+        return getAssignabilityMisses() + getTypeArgumentsMisses();
+    }
+
+    public long getAssignabilityHits() {
+        return assignable.hits.sum();
+    }
+
+    public long getAssignabilityMisses() {
+        return assignable.misses.sum();
+    }
+
+    public long getTypeArgumentsHits() {
+        return typeArguments.hits.sum();
+    }
+
+    public long getTypeArgumentsMisses() {
+        return typeArguments.misses.sum();
+    }
+
+    public int size() {
+        return assignable.map.size() + typeArguments.map.size() + classTypes.map.size();
+    }
+
+    /**
+     * Empty all the caches and reset the counters
+     */
+    public void clear() {
+        logger.debug("Clearing generic type cache: {} assignability hits, {} misses",
+                getAssignabilityHits(), getAssignabilityMisses());
+        assignable.clear();
+        typeArguments.clear();
+        classTypes.clear();
+    }
+
+    private static class Cache<K, V> {
+
+        private final ConcurrentHashMap<K, V> map = new ConcurrentHashMap<>();
+
+        private final LongAdder hits = new LongAdder();
+
+        private final LongAdder misses = new LongAdder();
+
+        V get(K key) {
+            V value = map.get(key);
+            if (value == null) {
+                misses.increment();
+            } else {
+                hits.increment();
+            }
+            return value;
+        }
+
+        /**
+         * @return the value already in the cache for the key, if any
+         */
+        V put(K key, V value) {
+            int maxSize = Properties.GENERIC_TYPE_CACHE_SIZE;
+            if (maxSize <= 0) {
+                return null;
+            }
+            if (map.size() >= maxSize) {
+                map.clear();
+            }
+            return map.putIfAbsent(key, value);
+        }
+
+        void clear() {
+            map.clear();
+            hits.reset();
+            misses.reset();
+        }
+    }
+
+    /**
+     * Ordered pair of types, with a hash code that only depends on the
+     * structure of the types and not on their implementation
+     */
+    private static final class TypePair {
+
+        private final Type first;
+
+        private final Type second;
+
+        private final int hashCode;
+
+        TypePair(Type first, Type second) {
+            this.first = first;
+            this.second = second;
+            this.hashCode = 31 * structuralHashCode(first) + structuralHashCode(second);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof TypePair)) {
+                return false;
+            }
+            TypePair other = (TypePair) obj;
+            return hashCode == other.hashCode
+                    && typeEquals(first, other.first)
+                    && typeEquals(second, other.second);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        private static boolean typeEquals(Type a, Type b) {
+            return a == b || a.equals(b);
+        }
+    }
+
+    static int structuralHashCode(Type type) {
+        if (type == null) {
+            return 0;
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType pt = (ParameterizedType) type;
+            int result = structuralHashCode(pt.getRawType());
+            result = 31 * result + structuralHashCode(pt.getOwnerType());
+            for (Type argument : pt.getActualTypeArguments()) {
+                result = 31 * result + structuralHashCode(argument);
+            }
+            return result;
+        } else if (type instanceof WildcardType) {
+            WildcardType wt = (WildcardType) type;
+            int result = 17;
+            for (Type bound : wt.getUpperBounds()) {
+                result = 31 * result + structuralHashCode(bound);
+            }
+            for (Type bound : wt.getLowerBounds()) {
+                result = 37 * result + structuralHashCode(bound);
+            }
+            return result;
+        } else if (type instanceof GenericArrayType) {
+            return 7 * structuralHashCode(((GenericArrayType) type).getGenericComponentType()) + 1;
+        } else {
+            // Class, TypeVariable and capture types
+            return type.hashCode();
+        }
+    }
+}
@@ -19,7 +19,6 @@
  */
 package org.evosuite.utils.generic;
 
-import org.apache.commons.lang3.reflect.TypeUtils;
 import org.evosuite.utils.ParameterizedTypeImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -199,7 +198,7 @@ public class GenericUtils {
 
             if (GenericClassUtils.isSubclass(p1.getRawType(), p2.getRawType())) {
                 logger.debug(p1 + " is a super type of " + p2);
-                Map<TypeVariable<?>, Type> commonsMap = TypeUtils.determineTypeArguments((Class<?>) p2.getRawType(), p1);
+                Map<TypeVariable<?>, Type> commonsMap = GenericTypeCache.getInstance().determineTypeArguments((Class<?>) p2.getRawType(), p1);
                 logger.debug("Adding to map: " + commonsMap);
                 // TODO: Now we would need to iterate over the type parameters, and update the map?
                 //map.putAll(commonsMap);
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.classpath;
+
+import org.evosuite.Properties;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ClassPathIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File jar;
+
+    @Before
+    public void init() throws Exception {
+        File localJar = new File("local_test_data" + File.separator + "water-simulator.jar");
+        Assert.assertTrue("ERROR: file " + localJar + " should be available on local file system", localJar.exists());
+        jar = new File(folder.getRoot(), localJar.getName());
+        Files.copy(localJar.toPath(), jar.toPath());
+    }
+
+    @After
+    public void reset() {
+        Properties.CLASSPATH_INDEX_FILE = "";
+        ClassPathIndex.resetSingleton();
+    }
+
+    @Test
+    public void testRoundTrip() {
+        File file = new File(folder.getRoot(), "classpath.index");
+        ClassPathIndex index = ClassPathIndex.load(file);
+        Assert.assertNull(index.getClassNames(jar));
+
+        List<String> classes = Arrays.asList("foo.Bar", "foo.Bar$1");
+        index.putClassNames(jar, classes);
+        ClassHeader header = new ClassHeader("foo/Bar", 1, "java/lang/Object", new String[]{"java/io/Serializable"},
+                new String[]{"<init>"}, new String[]{"()V"});
+        Map<Integer, ClassHeader> read = new HashMap<>();
+        read.put(0, header);
+        read.put(1, null);
+        index.putHeaders(jar, read);
+        index.save();
+        Assert.assertTrue(file.exists());
+
+        ClassPathIndex loaded = ClassPathIndex.load(file);
+        Assert.assertEquals(classes, loaded.getClassNames(jar));
+        Map<Integer, ClassHeader> headers = loaded.getHeaders(jar, Arrays.asList(0, 1));
+        Assert.assertEquals(2, headers.size());
+        Assert.assertTrue(headers.containsKey(1));
+        Assert.assertNull(headers.get(1));
+        Assert.assertEquals("foo/Bar", headers.get(0).getName());
+        Assert.assertEquals("java/lang/Object", headers.get(0).getSuperName());
+        Assert.assertArrayEquals(new String[]{"java/io/Serializable"}, headers.get(0).getInterfaces());
+        Assert.assertEquals("()V", headers.get(0).getMethodDescriptor(0));
+    }
+
+    @Test
+    public void testSaveMergesWithFile() throws Exception {
+        File file = new File(folder.getRoot(), "classpath.index");
+        File otherJar = new File(folder.getRoot(), "other.jar");
+        Files.copy(jar.toPath(), otherJar.toPath());
+
+        // two clients loading the same (empty) index
+        ClassPathIndex first = ClassPathIndex.load(file);
+        ClassPathIndex second = ClassPathIndex.load(file);
+        first.putClassNames(jar, Collections.singletonList("foo.Bar"));
+        first.putHeaders(jar, Collections.singletonMap(0, null));
+        second.putClassNames(otherJar, Collections.singletonList("foo.Baz"));
+        first.save();
+        second.save();
+
+        ClassPathIndex loaded = ClassPathIndex.load(file);
+        Assert.assertEquals(Collections.singletonList("foo.Bar"), loaded.getClassNames(jar));
+        Assert.assertTrue(loaded.getHeaders(jar, Collections.singletonList(0)).containsKey(0));
+        Assert.assertEquals(Collections.singletonList("foo.Baz"), loaded.getClassNames(otherJar));
+    }
+
+    @Test
+    public void testModifiedJarIsNotValid() {
+        File file = new File(folder.getRoot(), "classpath.index");
+        ClassPathIndex index = ClassPathIndex.load(file);
+        index.putClassNames(jar, Collections.singletonList("foo.Bar"));
+        Assert.assertNotNull(index.getClassNames(jar));
+
+        Assert.assertTrue(jar.setLastModified(jar.lastModified() - 10_000));
+        Assert.assertNull(index.getClassNames(jar));
+    }
+
+    @Test
+    public void testScannerUsesIndex() {
+        File file = new File(folder.getRoot(), "classpath.index");
+        Properties.CLASSPATH_INDEX_FILE = file.getPath();
+
+        List<String> entries = Collections.singletonList(jar.getAbsolutePath());
+        List<String> classes = ClassPathScanner.scanEntries(entries).get(0);
+        Assert.assertTrue(classes.contains("simulator.DAWN"));
+        // saved only after the bulk reads
+        Assert.assertFalse(file.exists());
+
+        List<ClassHeader> headers = ClassPathScanner.readHeaders(entries,
+                Collections.singletonList(Collections.singleton("simulator.DAWN"))).get(0);
+        Assert.assertTrue(file.exists());
+        Assert.assertEquals(1, headers.size());
+        Assert.assertEquals("simulator/DAWN", headers.get(0).getName());
+
+        // only the headers of the classes that were read are indexed
+        ClassPathIndex loaded = ClassPathIndex.load(file);
+        Assert.assertEquals(classes, loaded.getClassNames(jar));
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < classes.size(); i++) {
+            positions.add(i);
+        }
+        Map<Integer, ClassHeader> indexed = loaded.getHeaders(jar, positions);
+        Assert.assertEquals(1, indexed.size());
+        Assert.assertEquals("simulator/DAWN", indexed.get(classes.indexOf("simulator.DAWN")).getName());
+    }
+}
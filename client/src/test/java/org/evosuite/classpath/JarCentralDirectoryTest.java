@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.classpath;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+public class JarCentralDirectoryTest {
+
+    @Test
+    public void testSameEntriesAsJarFile() throws Exception {
+        File localJar = new File("local_test_data" + File.separator + "asm-all-4.2.jar");
+        Assert.assertTrue("ERROR: file " + localJar + " should be available on local file system", localJar.exists());
+
+        List<String> expected = new ArrayList<>();
+        try (JarFile jar = new JarFile(localJar)) {
+            Enumeration<JarEntry> e = jar.entries();
+            while (e.hasMoreElements()) {
+                expected.add(e.nextElement().getName());
+            }
+        }
+
+        Assert.assertFalse(expected.isEmpty());
+        Assert.assertEquals(expected, JarCentralDirectory.getEntryNames(localJar));
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.branch;
+
+import com.examples.with.different.packagename.NestedIfExample;
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.coverage.ControlFlowDistance;
+import org.evosuite.graphs.cdg.ControlDependenceTable;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionTracer;
+import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.evosuite.testcase.statements.ConstructorStatement;
+import org.evosuite.testcase.statements.MethodStatement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.utils.generic.GenericClass;
+import org.evosuite.utils.generic.GenericClassFactory;
+import org.evosuite.utils.generic.GenericConstructor;
+import org.evosuite.utils.generic.GenericMethod;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+public class ControlFlowDistanceCalculatorTest {
+
+    @Before
+    public void setUp() {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        Properties.getInstance().resetToDefaults();
+        TestGenerationContext.getInstance().resetContext();
+        Properties.TARGET_CLASS = NestedIfExample.class.getCanonicalName();
+        ExecutionTracer.enableTraceCalls();
+    }
+
+    @After
+    public void tearDown() {
+        ExecutionTracer.disableTraceCalls();
+        TestGenerationContext.getInstance().resetContext();
+        Properties.getInstance().resetToDefaults();
+    }
+
+    private ExecutionResult run(int x, int y) throws Exception {
+        Class<?> sut = TestGenerationContext.getInstance().getClassLoaderForSUT().loadClass(Properties.TARGET_CLASS);
+        GenericClass<?> clazz = GenericClassFactory.get(sut);
+
+        DefaultTestCase test = new DefaultTestCase();
+        GenericConstructor gc = new GenericConstructor(sut.getConstructors()[0], clazz);
+        VariableReference callee = test.addStatement(new ConstructorStatement(test, gc,
+                Collections.emptyList()));
+        VariableReference int0 = test.addStatement(new IntPrimitiveStatement(test, x));
+        VariableReference int1 = test.addStatement(new IntPrimitiveStatement(test, y));
+        GenericMethod method = new GenericMethod(sut.getMethod("testMe", int.class, int.class), sut);
+        test.addStatement(new MethodStatement(test, method, callee, Arrays.asList(int0, int1)));
+
+        return TestCaseExecutor.runTest(test);
+    }
+
+    private static List<BranchCoverageGoal> getBranchGoals() {
+        List<BranchCoverageGoal> goals = new ArrayList<>();
+        for (BranchCoverageTestFitness ff : new BranchCoverageFactory().getCoverageGoals()) {
+            if (ff.getBranch() != null) {
+                goals.add(ff.getBranchGoal());
+            }
+        }
+        return goals;
+    }
+
+    @Test
+    public void testNestedBranchIsOneLevelAway() throws Exception {
+        ExecutionResult result = run(0, 42);
+        List<BranchCoverageGoal> goals = getBranchGoals();
+        Assert.assertEquals(4, goals.size());
+
+        Set<Integer> executed = new HashSet<>(result.getTrace().getCoveredTrueBranches());
+        executed.addAll(result.getTrace().getCoveredFalseBranches());
+
+        int numExecuted = 0;
+        for (BranchCoverageGoal goal : goals) {
+            ControlFlowDistance distance = goal.getDistance(result);
+            if (executed.contains(goal.getBranch().getActualBranchId())) {
+                numExecuted++;
+                Assert.assertEquals(0, distance.getApproachLevel());
+            } else {
+                // Would need the outer condition to evaluate the other way
+                Assert.assertEquals(1, distance.getApproachLevel());
+                Assert.assertEquals(11.0, distance.getBranchDistance(), 0.0);
+            }
+        }
+        Assert.assertEquals(2, numExecuted);
+    }
+
+    @Test
+    public void testBatchMatchesSingleGoals() throws Exception {
+        ExecutionResult result = run(20, 40);
+        List<BranchCoverageGoal> goals = getBranchGoals();
+
+        Map<BranchCoverageGoal, ControlFlowDistance> batch = ControlFlowDistanceCalculator.getDistances(result, goals);
+        Assert.assertEquals(goals.size(), batch.size());
+        for (BranchCoverageGoal goal : goals) {
+            Assert.assertEquals(0, goal.getDistance(result).compareTo(batch.get(goal)));
+            Assert.assertEquals(0, batch.get(goal).getApproachLevel());
+        }
+
+        ControlDependenceTable table = goals.get(0).getBranch().getInstruction().getCDG().getControlDependenceTable();
+        Assert.assertEquals(2, table.size());
+        Assert.assertSame(ControlFlowDistanceCalculator.getDistances(result, table),
+                ControlFlowDistanceCalculator.getDistances(result, table));
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.dataflow;
+
+import org.evosuite.testcase.execution.ExecutionTraceImpl;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+public class DefUseTraceIndexTest {
+
+    private ExecutionTraceImpl trace;
+
+    @Before
+    public void setUp() {
+        trace = new ExecutionTraceImpl();
+    }
+
+    private void define(String variable, int objectId, int position, int defId) {
+        trace.passedDefinitions.computeIfAbsent(variable, v -> new HashMap<>())
+                .computeIfAbsent(objectId, o -> new HashMap<>()).put(position, defId);
+    }
+
+    private void use(String variable, int objectId, int position, int useId) {
+        trace.passedUses.computeIfAbsent(variable, v -> new HashMap<>())
+                .computeIfAbsent(objectId, o -> new HashMap<>()).put(position, useId);
+    }
+
+    @Test
+    public void testCoveredPairs() {
+        define("x", 1, 0, 3);
+        use("x", 1, 1, 7);
+        define("x", 1, 2, 4);
+        use("x", 1, 3, 7);
+        use("x", 2, 4, 8);
+        define("x", 2, 5, 3);
+        use("x", 2, 6, 8);
+
+        DefUseTraceIndex index = new DefUseTraceIndex(trace);
+        Assert.assertTrue(index.isCovered(3, 7));
+        Assert.assertTrue(index.isCovered(4, 7));
+        Assert.assertTrue(index.isCovered(3, 8));
+        Assert.assertFalse(index.isCovered(4, 8));
+        Assert.assertEquals(1, index.getCoveringObject(3, 7));
+        Assert.assertEquals(2, index.getCoveringObject(3, 8));
+        Assert.assertEquals(-1, index.getCoveringObject(4, 8));
+
+        Assert.assertTrue(index.isDefinitionPassed("x", 4));
+        Assert.assertFalse(index.isDefinitionPassed("y", 4));
+        Assert.assertFalse(index.isDefinitionPassed("x", 5));
+        Assert.assertTrue(index.isDefinitionPassed("x", 1, 4));
+        Assert.assertFalse(index.isDefinitionPassed("x", 2, 4));
+        Assert.assertTrue(index.isUsePassed("x", 8));
+        Assert.assertFalse(index.isUsePassed("x", 9));
+    }
+
+    @Test
+    public void testPositions() {
+        define("x", 1, 0, 3);
+        define("x", 1, 2, 3);
+        define("x", 1, 5, 4);
+        define("x", 1, 7, 3);
+        use("x", 1, 6, 7);
+        use("x", 1, 1, 7);
+
+        DefUseTraceIndex index = new DefUseTraceIndex(trace);
+        Assert.assertArrayEquals(new int[]{0, 2, 7}, index.getDefinitionPositions("x", 1, 3));
+        Assert.assertArrayEquals(new int[]{1, 6}, index.getUsePositions("x", 1, 7));
+        Assert.assertArrayEquals(new int[0], index.getUsePositions("x", 2, 7));
+        Assert.assertArrayEquals(new int[0], index.getUsePositions("y", 1, 7));
+
+        Assert.assertEquals(5, index.getNextOverwritingDefinitionPosition("x", 1, 0, 3));
+        Assert.assertEquals(7, index.getNextOverwritingDefinitionPosition("x", 1, 5, 4));
+        Assert.assertEquals(Integer.MAX_VALUE, index.getNextOverwritingDefinitionPosition("x", 1, 7, 3));
+        Assert.assertEquals(Integer.MAX_VALUE, index.getNextOverwritingDefinitionPosition("y", 1, 0, 3));
+    }
+
+    @Test
+    public void testMatchesTraceAnalyzer() {
+        Random random = new Random(42);
+        for (int position = 0; position < 500; position++) {
+            String variable = random.nextBoolean() ? "x" : "y";
+            int objectId = random.nextInt(4);
+            if (random.nextBoolean())
+                define(variable, objectId, position, random.nextInt(5));
+            else
+                use(variable, objectId, position, 10 + random.nextInt(5));
+        }
+
+        DefUseTraceIndex index = new DefUseTraceIndex(trace);
+        for (String variable : new String[]{"x", "y"}) {
+            for (int objectId = 0; objectId < 4; objectId++) {
+                for (int position = 0; position <= 500; position++) {
+                    Assert.assertEquals(DefUseExecutionTraceAnalyzer.getActiveDefinitionIdAt(variable, trace, position, objectId),
+                            index.getActiveDefinitionIdAt(variable, objectId, position));
+                    Assert.assertEquals(DefUseExecutionTraceAnalyzer.getPreviousDefinitionId(variable, trace, position, objectId),
+                            index.getPreviousDefinitionId(variable, objectId, position));
+                }
+                HashMap<Integer, Integer> uses = trace.passedUses.get(variable).get(objectId);
+                for (int position : uses.keySet()) {
+                    int activeDef = DefUseExecutionTraceAnalyzer.getActiveDefinitionIdAt(variable, trace, position, objectId);
+                    if (activeDef != -1)
+                        Assert.assertTrue(index.isCovered(activeDef, uses.get(position)));
+                }
+            }
+        }
+    }
+}
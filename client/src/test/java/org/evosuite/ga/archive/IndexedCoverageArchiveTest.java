@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.archive;
+
+import org.evosuite.Properties;
+import org.evosuite.coverage.method.MethodCoverageTestFitness;
+import org.evosuite.ga.SecondaryObjective;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.secondaryobjectives.MinimizeLengthSecondaryObjective;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class IndexedCoverageArchiveTest {
+
+    private Properties.Criterion[] criteria;
+
+    private final SecondaryObjective<TestChromosome> length = new MinimizeLengthSecondaryObjective();
+
+    private IndexedCoverageArchive archive;
+
+    @Before
+    public void init() {
+        criteria = Properties.CRITERION;
+        Properties.CRITERION = new Properties.Criterion[]{Properties.Criterion.METHOD};
+        TestChromosome.addSecondaryObjective(length);
+        archive = new IndexedCoverageArchive();
+    }
+
+    @After
+    public void reset() {
+        Properties.CRITERION = criteria;
+        TestChromosome.getSecondaryObjectives().remove(length);
+    }
+
+    private static TestChromosome createSolution(int length) {
+        DefaultTestCase test = new DefaultTestCase();
+        for (int i = 0; i < length; i++) {
+            test.addStatement(new IntPrimitiveStatement(test, i));
+        }
+        TestChromosome chromosome = new TestChromosome();
+        chromosome.setTestCase(test);
+        return chromosome;
+    }
+
+    private List<TestFitnessFunction> addTargets(int number) {
+        List<TestFitnessFunction> targets = new ArrayList<>();
+        for (int i = 0; i < number; i++) {
+            TestFitnessFunction target = new MethodCoverageTestFitness("com.example.Foo", "m" + i + "()V");
+            targets.add(target);
+            archive.addTarget(target);
+        }
+        return targets;
+    }
+
+    @Test
+    public void testCountersAndViews() {
+        List<TestFitnessFunction> targets = addTargets(100);
+        Assert.assertEquals(100, archive.getNumberOfTargets());
+        Assert.assertEquals(100, archive.getNumberOfUncoveredTargets(MethodCoverageTestFitness.class));
+        Assert.assertTrue(archive.isArchiveEmpty());
+
+        TestChromosome solution = createSolution(3);
+        archive.updateArchive(targets.get(10), solution, 0.0);
+        archive.updateArchive(targets.get(20), solution, 0.0);
+        archive.updateArchive(targets.get(30), createSolution(3), 1.0); // not covered
+
+        Assert.assertEquals(2, archive.getNumberOfCoveredTargets());
+        Assert.assertEquals(2, archive.getNumberOfCoveredTargets(MethodCoverageTestFitness.class));
+        Assert.assertEquals(98, archive.getNumberOfUncoveredTargets());
+        Assert.assertEquals(1, archive.getNumberOfSolutions());
+        Assert.assertSame(solution, archive.getSolution(targets.get(20)));
+        Assert.assertTrue(archive.getSolutions().contains(solution));
+
+        List<TestFitnessFunction> covered = new ArrayList<>(archive.getCoveredTargets());
+        Assert.assertEquals(2, covered.size());
+        Assert.assertEquals(targets.get(10), covered.get(0));
+        Assert.assertEquals(targets.get(20), covered.get(1));
+        Assert.assertFalse(archive.getUncoveredTargets().contains(targets.get(10)));
+        Assert.assertTrue(archive.getUncoveredTargets().contains(targets.get(30)));
+        Assert.assertEquals(98, new ArrayList<>(archive.getUncoveredTargets()).size());
+
+        // views are not copies
+        Assert.assertSame(archive.getCoveredTargets(), archive.getCoveredTargets());
+    }
+
+    @Test
+    public void testBetterSolutionReplacesCurrent() {
+        List<TestFitnessFunction> targets = addTargets(2);
+        TestChromosome longer = createSolution(5);
+        archive.updateArchive(targets.get(0), longer, 0.0);
+        archive.updateArchive(targets.get(1), longer, 0.0);
+
+        TestChromosome shorter = createSolution(1);
+        archive.updateArchive(targets.get(0), shorter, 0.0);
+        Assert.assertSame(shorter, archive.getSolution(targets.get(0)));
+        Assert.assertSame(longer, archive.getSolution(targets.get(1)));
+        Assert.assertEquals(2, archive.getNumberOfSolutions());
+
+        archive.updateArchive(targets.get(1), shorter, 0.0);
+        Assert.assertEquals(1, archive.getNumberOfSolutions());
+        Assert.assertFalse(archive.getSolutions().contains(longer));
+        Assert.assertEquals(2, archive.getNumberOfCoveredTargets());
+
+        // a longer solution does not replace a shorter one
+        archive.updateArchive(targets.get(1), createSolution(4), 0.0);
+        Assert.assertSame(shorter, archive.getSolution(targets.get(1)));
+    }
+
+    @Test
+    public void testViewsCanBeIteratedDuringUpdates() {
+        Assert.assertTrue(archive.hasConcurrentViews());
+        List<TestFitnessFunction> targets = addTargets(3);
+        TestChromosome first = createSolution(3);
+        TestChromosome second = createSolution(3);
+        archive.updateArchive(targets.get(0), first, 0.0);
+        archive.updateArchive(targets.get(1), second, 0.0);
+
+        Iterator<TestChromosome> solutions = archive.getSolutions().iterator();
+        Iterator<TestFitnessFunction> uncovered = archive.getUncoveredTargets().iterator();
+        Assert.assertSame(first, solutions.next());
+
+        // replaces the first solution, which swaps the unique solutions
+        archive.updateArchive(targets.get(0), createSolution(1), 0.0);
+        archive.updateArchive(targets.get(2), first, 0.0);
+        addTargets(100);
+
+        Assert.assertSame(second, solutions.next());
+        Assert.assertFalse(solutions.hasNext());
+        Assert.assertEquals(targets.get(2), uncovered.next());
+        Assert.assertFalse(uncovered.hasNext());
+
+        Assert.assertEquals(3, archive.getSolutions().size());
+        Assert.assertEquals(3, new ArrayList<>(archive.getSolutions()).size());
+        // the first three of the new targets were already there, and are covered
+        Assert.assertEquals(97, new ArrayList<>(archive.getUncoveredTargets()).size());
+    }
+
+    @Test
+    public void testConcurrentUpdates() throws Exception {
+        List<TestFitnessFunction> targets = addTargets(1000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int length = 5; length > 0; length--) {
+                        TestChromosome solution = createSolution(length);
+                        for (int i = offset; i < targets.size(); i += 2) {
+                            archive.updateArchive(targets.get(i), solution, 0.0);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assert.assertEquals(1000, archive.getNumberOfCoveredTargets());
+        Assert.assertEquals(0, archive.getNumberOfUncoveredTargets(MethodCoverageTestFitness.class));
+        for (TestFitnessFunction target : targets) {
+            Assert.assertEquals(1, archive.getSolution(target).size());
+        }
+        Assert.assertTrue(archive.getNumberOfSolutions() <= 4);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.metaheuristics.mosa.structural;
+
+import com.examples.with.different.packagename.NestedIfExample;
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.coverage.branch.BranchCoverageFactory;
+import org.evosuite.coverage.line.LineCoverageFactory;
+import org.evosuite.coverage.method.MethodCoverageTestFitness;
+import org.evosuite.ga.archive.Archive;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionTracer;
+import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.evosuite.testcase.statements.ConstructorStatement;
+import org.evosuite.testcase.statements.MethodStatement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.utils.generic.GenericClass;
+import org.evosuite.utils.generic.GenericClassFactory;
+import org.evosuite.utils.generic.GenericConstructor;
+import org.evosuite.utils.generic.GenericMethod;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ParallelGoalEvaluatorTest {
+
+    @Before
+    public void setUp() {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        Properties.getInstance().resetToDefaults();
+        TestGenerationContext.getInstance().resetContext();
+        Properties.TARGET_CLASS = NestedIfExample.class.getCanonicalName();
+        Properties.CRITERION = new Properties.Criterion[]{Properties.Criterion.LINE, Properties.Criterion.BRANCH};
+        Properties.GOAL_EVALUATION_THREADS = 4;
+        ExecutionTracer.enableTraceCalls();
+        Archive.getArchiveInstance().reset();
+    }
+
+    @After
+    public void tearDown() {
+        ExecutionTracer.disableTraceCalls();
+        Archive.getArchiveInstance().reset();
+        TestGenerationContext.getInstance().resetContext();
+        Properties.getInstance().resetToDefaults();
+    }
+
+    private ExecutionResult run(int x, int y) throws Exception {
+        Class<?> sut = TestGenerationContext.getInstance().getClassLoaderForSUT().loadClass(Properties.TARGET_CLASS);
+        GenericClass<?> clazz = GenericClassFactory.get(sut);
+
+        DefaultTestCase test = new DefaultTestCase();
+        GenericConstructor gc = new GenericConstructor(sut.getConstructors()[0], clazz);
+        VariableReference callee = test.addStatement(new ConstructorStatement(test, gc,
+                Collections.emptyList()));
+        VariableReference int0 = test.addStatement(new IntPrimitiveStatement(test, x));
+        VariableReference int1 = test.addStatement(new IntPrimitiveStatement(test, y));
+        GenericMethod method = new GenericMethod(sut.getMethod("testMe", int.class, int.class), sut);
+        test.addStatement(new MethodStatement(test, method, callee, Arrays.asList(int0, int1)));
+
+        return TestCaseExecutor.runTest(test);
+    }
+
+    private static List<TestFitnessFunction> getGoals() {
+        List<TestFitnessFunction> goals = new ArrayList<>();
+        goals.addAll(new BranchCoverageFactory().getCoverageGoals());
+        goals.addAll(new LineCoverageFactory().getCoverageGoals());
+        return goals;
+    }
+
+    @Test
+    public void testMatchesSequentialEvaluation() throws Exception {
+        ExecutionResult result = run(20, 40);
+        List<TestFitnessFunction> goals = getGoals();
+        Assert.assertFalse(goals.isEmpty());
+        goals.forEach(Archive.getArchiveInstance()::addTarget);
+
+        double[] fitness = ParallelGoalEvaluator.evaluate(goals, result);
+        Assert.assertTrue(TestFitnessFunction.isArchiveUpdateEnabled());
+        Assert.assertTrue(Archive.getArchiveInstance().isArchiveEmpty());
+        Assert.assertEquals(goals.size(), fitness.length);
+
+        Properties.TEST_ARCHIVE = false;
+        int covered = 0;
+        for (int i = 0; i < goals.size(); i++) {
+            double expected = goals.get(i).getFitness(new TestChromosome(), result);
+            Assert.assertEquals(goals.get(i).toString(), expected, fitness[i], 0.0);
+            if (expected == 0.0)
+                covered++;
+        }
+        Assert.assertTrue(covered > 0);
+        Assert.assertTrue(covered < goals.size());
+    }
+
+    @Test
+    public void testApplyFitness() {
+        TestFitnessFunction goal = new MethodCoverageTestFitness("com.example.Foo", "m()V");
+        TestChromosome test = new TestChromosome();
+        goal.applyFitness(test, 0.5);
+        Assert.assertEquals(0.5, test.getFitness(goal), 0.0);
+        // same as getFitness(TestChromosome)
+        Assert.assertEquals(2, test.getNumberOfEvaluations());
+    }
+
+    @Test
+    public void testIsEnabled() {
+        Assert.assertTrue(ParallelGoalEvaluator.isEnabled());
+
+        Properties.ARCHIVE_TYPE = Properties.ArchiveType.MIO;
+        Assert.assertFalse(ParallelGoalEvaluator.isEnabled());
+
+        Properties.ARCHIVE_TYPE = Properties.ArchiveType.COVERAGE;
+        Properties.GOAL_EVALUATION_THREADS = 1;
+        Assert.assertFalse(ParallelGoalEvaluator.isEnabled());
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.graphs.cdg;
+
+import com.examples.with.different.packagename.NestedIfExample;
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.coverage.branch.Branch;
+import org.evosuite.ga.metaheuristics.mosa.structural.BranchFitnessGraph;
+import org.evosuite.graphs.GraphPool;
+import org.evosuite.graphs.cfg.BasicBlock;
+import org.evosuite.graphs.cfg.BytecodeInstruction;
+import org.evosuite.graphs.cfg.BytecodeInstructionPool;
+import org.evosuite.graphs.cfg.ControlDependency;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.*;
+import java.util.*;
+import java.util.stream.Collectors;
+
+public class MethodDependenceTableTest {
+
+    private static final String METHOD = "testMe(II)I";
+
+    private ClassLoader classLoader;
+
+    private String className;
+
+    @Before
+    public void setUp() throws ClassNotFoundException {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        Properties.getInstance().resetToDefaults();
+        TestGenerationContext.getInstance().resetContext();
+        className = NestedIfExample.class.getCanonicalName();
+        Properties.TARGET_CLASS = className;
+        classLoader = TestGenerationContext.getInstance().getClassLoaderForSUT();
+        classLoader.loadClass(className);
+    }
+
+    @After
+    public void tearDown() {
+        TestGenerationContext.getInstance().resetContext();
+        Properties.getInstance().resetToDefaults();
+    }
+
+    private List<BytecodeInstruction> getInstructions(MethodDependenceTable table) {
+        return BytecodeInstructionPool.getInstance(classLoader).getInstructionsIn(className, METHOD)
+                .stream().filter(i -> table.knowsInstruction(i.getInstructionId())).collect(Collectors.toList());
+    }
+
+    private List<BytecodeInstruction> getBranches(MethodDependenceTable table) {
+        return getInstructions(table).stream().filter(BytecodeInstruction::isActualBranch)
+                .collect(Collectors.toList());
+    }
+
+    private List<BytecodeInstruction> getReturns(MethodDependenceTable table) {
+        return getInstructions(table).stream().filter(BytecodeInstruction::isReturn)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testControlDependenciesMatchCDG() {
+        MethodDependenceTable table = GraphPool.getInstance(classLoader).getDependenceTable(className, METHOD);
+        Assert.assertNotNull(table);
+        Assert.assertSame(table, GraphPool.getInstance(classLoader).getDependenceTable(className, METHOD));
+
+        ControlDependenceGraph cdg = GraphPool.getInstance(classLoader).getCDG(className, METHOD);
+        List<BytecodeInstruction> instructions = getInstructions(table);
+        Assert.assertFalse(instructions.isEmpty());
+        for (BytecodeInstruction instruction : instructions) {
+            int id = instruction.getInstructionId();
+            Set<ControlDependency> cds = instruction.getControlDependencies();
+            List<Integer> expected = new ArrayList<>();
+            int depth = cds.isEmpty() ? 1 : Integer.MAX_VALUE;
+            for (ControlDependency cd : cds) {
+                expected.add(2 * cd.getBranch().getActualBranchId() + (cd.getBranchExpressionValue() ? 1 : 0));
+                depth = Math.min(depth, cdg.getControlDependenceDepth(cd));
+                Assert.assertTrue(table.isDirectlyControlDependentOn(id, cd.getBranch().getActualBranchId()));
+            }
+            List<Integer> actual = new ArrayList<>();
+            for (int cd : table.getControlDependencies(id)) {
+                actual.add(cd);
+            }
+            Assert.assertEquals(expected, actual);
+            Assert.assertEquals(instruction.getControlDependentBranchIds().contains(-1), table.isRootDependent(id));
+            Assert.assertEquals(depth, table.getCDGDepth(id));
+            Assert.assertEquals(depth, instruction.getCDGDepth());
+        }
+    }
+
+    @Test
+    public void testDominators() {
+        MethodDependenceTable table = GraphPool.getInstance(classLoader).getDependenceTable(className, METHOD);
+        List<BytecodeInstruction> instructions = getInstructions(table);
+        int first = instructions.get(0).getInstructionId();
+        Assert.assertEquals(-1, table.getImmediateDominator(first));
+        for (BytecodeInstruction instruction : instructions) {
+            Assert.assertTrue(table.dominates(first, instruction.getInstructionId()));
+            Assert.assertTrue(table.dominates(instruction.getInstructionId(), instruction.getInstructionId()));
+        }
+
+        List<BytecodeInstruction> branches = getBranches(table);
+        Assert.assertEquals(2, branches.size());
+        int outer = branches.get(0).getInstructionId();
+        int inner = branches.get(1).getInstructionId();
+        Assert.assertTrue(table.dominates(outer, inner));
+        Assert.assertFalse(table.dominates(inner, outer));
+        Assert.assertTrue(table.postDominates(outer, first));
+        Assert.assertFalse(table.postDominates(inner, outer));
+
+        // None of the three returns dominates or post-dominates another one
+        List<BytecodeInstruction> returns = getReturns(table);
+        Assert.assertEquals(3, returns.size());
+        for (BytecodeInstruction a : returns) {
+            Assert.assertEquals(-1, table.getImmediatePostDominator(a.getInstructionId()));
+            for (BytecodeInstruction b : returns) {
+                if (a != b) {
+                    Assert.assertFalse(table.dominates(a.getInstructionId(), b.getInstructionId()));
+                    Assert.assertFalse(table.postDominates(a.getInstructionId(), b.getInstructionId()));
+                }
+            }
+        }
+
+        // Walking up the immediate dominators leads to the first instruction
+        int current = returns.get(0).getInstructionId();
+        while (table.getImmediateDominator(current) >= 0) {
+            int idom = table.getImmediateDominator(current);
+            Assert.assertTrue(table.dominates(idom, current));
+            current = idom;
+        }
+        Assert.assertEquals(first, current);
+    }
+
+    @Test
+    public void testBranchDistances() {
+        MethodDependenceTable table = GraphPool.getInstance(classLoader).getDependenceTable(className, METHOD);
+        int outer = getBranches(table).get(0).toBranch().getActualBranchId();
+        int inner = getBranches(table).get(1).toBranch().getActualBranchId();
+        Assert.assertArrayEquals(new int[]{Math.min(outer, inner), Math.max(outer, inner)}, table.getBranchIds());
+
+        Assert.assertEquals(0, table.getBranchDistance(outer, outer));
+        Assert.assertEquals(1, table.getBranchDistance(outer, inner));
+        Assert.assertEquals(-1, table.getBranchDistance(inner, outer));
+    }
+
+    @Test
+    public void testSerializedTableGivesSameAnswers() throws IOException, ClassNotFoundException {
+        MethodDependenceTable table = GraphPool.getInstance(classLoader).getDependenceTable(className, METHOD);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(table);
+        }
+        MethodDependenceTable copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (MethodDependenceTable) in.readObject();
+        }
+
+        List<BytecodeInstruction> instructions = getInstructions(table);
+        for (BytecodeInstruction a : instructions) {
+            int id = a.getInstructionId();
+            Assert.assertArrayEquals(table.getControlDependencies(id), copy.getControlDependencies(id));
+            Assert.assertEquals(table.getCDGDepth(id), copy.getCDGDepth(id));
+            Assert.assertEquals(table.getImmediateDominator(id), copy.getImmediateDominator(id));
+            for (BytecodeInstruction b : instructions) {
+                Assert.assertEquals(table.dominates(id, b.getInstructionId()),
+                        copy.dominates(id, b.getInstructionId()));
+                Assert.assertEquals(table.postDominates(id, b.getInstructionId()),
+                        copy.postDominates(id, b.getInstructionId()));
+            }
+        }
+    }
+
+    @Test
+    public void testPrecedingBranchesMatchCFGWalk() {
+        MethodDependenceTable table = GraphPool.getInstance(classLoader).getDependenceTable(className, METHOD);
+        BranchFitnessGraph graph = new BranchFitnessGraph(Collections.emptySet());
+        for (BytecodeInstruction instruction : getBranches(table)) {
+            Branch branch = instruction.toBranch();
+            Set<Integer> expected = new TreeSet<>();
+            for (BasicBlock block : graph.lookForParent(instruction.getBasicBlock(), instruction.getActualCFG(),
+                    new HashSet<>())) {
+                Branch parent = graph.extractBranch(block);
+                expected.add(parent == null ? -1 : parent.getActualBranchId());
+            }
+            List<Integer> actual = new ArrayList<>();
+            for (int id : table.getPrecedingBranches(branch.getActualBranchId())) {
+                actual.add(id);
+            }
+            Assert.assertEquals(new ArrayList<>(expected), actual);
+        }
+
+        // The outer branch follows the method entry, the inner one the outer branch
+        int outer = getBranches(table).get(0).toBranch().getActualBranchId();
+        int inner = getBranches(table).get(1).toBranch().getActualBranchId();
+        Assert.assertArrayEquals(new int[]{-1}, table.getPrecedingBranches(outer));
+        Assert.assertArrayEquals(new int[]{outer}, table.getPrecedingBranches(inner));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import org.evosuite.testcase.execution.ExecutionTraceImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+
+public class MethodRegistryTest {
+
+    private static final String CLASS_NAME = MethodRegistryTest.class.getName();
+
+    @Test
+    public void testRegisterIsIdempotent() {
+        int foo = MethodRegistry.register(CLASS_NAME, "foo()V");
+        int bar = MethodRegistry.register(CLASS_NAME, "bar(I)I");
+        Assert.assertNotEquals(foo, bar);
+        Assert.assertEquals(foo, MethodRegistry.register(CLASS_NAME, "foo()V"));
+        Assert.assertEquals(CLASS_NAME, MethodRegistry.getClassName(bar));
+        Assert.assertEquals("bar(I)I", MethodRegistry.getMethodName(bar));
+        Assert.assertEquals(CLASS_NAME + ".bar(I)I", MethodRegistry.getQualifiedName(bar));
+        Assert.assertTrue(MethodRegistry.size() > Math.max(foo, bar));
+    }
+
+    @Test
+    public void testGrowsBeyondInitialCapacity() {
+        int first = MethodRegistry.register(CLASS_NAME, "grow0()V");
+        for (int i = 1; i < 1000; i++) {
+            Assert.assertEquals(first + i, MethodRegistry.register(CLASS_NAME, "grow" + i + "()V"));
+        }
+        Assert.assertEquals("grow0()V", MethodRegistry.getMethodName(first));
+        Assert.assertEquals("grow999()V", MethodRegistry.getMethodName(first + 999));
+    }
+
+    @Test
+    public void testLineRange() {
+        int id = MethodRegistry.register(CLASS_NAME, "lines()V");
+        Assert.assertEquals(-1, MethodRegistry.getFirstLine(id));
+        MethodRegistry.addLine(id, 20);
+        MethodRegistry.addLine(id, 12);
+        MethodRegistry.addLine(id, 15);
+        Assert.assertEquals(12, MethodRegistry.getFirstLine(id));
+        Assert.assertEquals(20, MethodRegistry.getLastLine(id));
+    }
+
+    @Test
+    public void testTraceResolvesIds() {
+        int method = MethodRegistry.register(CLASS_NAME, "traced()V");
+        int inner = MethodRegistry.register(CLASS_NAME + "$Inner", "traced()V");
+        MethodRegistry.addLine(method, 30);
+        MethodRegistry.addLine(method, 32);
+
+        ExecutionTraceImpl trace = new ExecutionTraceImpl();
+        trace.enteredMethod(method, null);
+        trace.linePassed(method, 30);
+        trace.linePassed(method, 30);
+        // lines outside the instrumented range are still counted
+        trace.linePassed(method, 35);
+        trace.linePassed(method, 28);
+        trace.returnValue(method, 7);
+        trace.returnValue(method, 7);
+        trace.exitMethod(method);
+        trace.enteredMethod(inner, null);
+        trace.linePassed(inner, 40);
+        trace.exitMethod(inner);
+        trace.enteredMethod(method, null);
+        trace.exitMethod(method);
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList(28, 30, 35, 40)), trace.getCoveredLines(CLASS_NAME));
+        Map<Integer, Integer> lines = trace.getCoverageData().get(CLASS_NAME).get("traced()V");
+        Assert.assertEquals(3, lines.size());
+        Assert.assertEquals(2, (int) lines.get(30));
+        Assert.assertEquals(2, (int) trace.getMethodExecutionCount().get(CLASS_NAME + ".traced()V"));
+        Assert.assertTrue(trace.getCoveredMethods().contains(CLASS_NAME + "$Inner.traced()V"));
+        Assert.assertEquals(2, (int) trace.getReturnData().get(CLASS_NAME).get("traced()V").get(7));
+
+        ExecutionTraceImpl copy = trace.clone();
+        trace.linePassed(method, 31);
+        Assert.assertFalse(copy.getCoveredLines(CLASS_NAME).contains(31));
+        Assert.assertTrue(trace.getCoveredLines(CLASS_NAME).contains(31));
+        Assert.assertEquals(4, trace.getCoverageData().get(CLASS_NAME).get("traced()V").size());
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit.writer;
+
+import com.examples.with.different.packagename.NestedIfExample;
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.statements.ConstructorStatement;
+import org.evosuite.testcase.statements.MethodStatement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.utils.generic.GenericClass;
+import org.evosuite.utils.generic.GenericClassFactory;
+import org.evosuite.utils.generic.GenericConstructor;
+import org.evosuite.utils.generic.GenericMethod;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.tools.JavaFileObject;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class TestSuiteWriterTest {
+
+    @Before
+    public void setUp() {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        Properties.getInstance().resetToDefaults();
+        TestGenerationContext.getInstance().resetContext();
+        Properties.TARGET_CLASS = NestedIfExample.class.getCanonicalName();
+        Properties.CLASS_PREFIX = NestedIfExample.class.getPackage().getName();
+    }
+
+    @After
+    public void tearDown() {
+        TestGenerationContext.getInstance().resetContext();
+        Properties.getInstance().resetToDefaults();
+    }
+
+    private static TestCase createTest(int x) throws Exception {
+        Class<?> sut = TestGenerationContext.getInstance().getClassLoaderForSUT().loadClass(Properties.TARGET_CLASS);
+        GenericClass<?> clazz = GenericClassFactory.get(sut);
+
+        DefaultTestCase test = new DefaultTestCase();
+        GenericConstructor gc = new GenericConstructor(sut.getConstructors()[0], clazz);
+        VariableReference callee = test.addStatement(new ConstructorStatement(test, gc,
+                Collections.emptyList()));
+        VariableReference int0 = test.addStatement(new IntPrimitiveStatement(test, x));
+        VariableReference int1 = test.addStatement(new IntPrimitiveStatement(test, 42));
+        GenericMethod method = new GenericMethod(sut.getMethod("testMe", int.class, int.class), sut);
+        test.addStatement(new MethodStatement(test, method, callee, Arrays.asList(int0, int1)));
+        return test;
+    }
+
+    private static List<String> write(InMemoryTestSuiteOutput output) throws Exception {
+        TestSuiteWriter writer = new TestSuiteWriter();
+        writer.insertAllTests(Arrays.asList(createTest(0), createTest(11), createTest(20)));
+        return writer.writeTestSuite("NestedIfExample_ESTest", output, Collections.emptyList());
+    }
+
+    @Test
+    public void testWriteToMemory() throws Exception {
+        InMemoryTestSuiteOutput output = new InMemoryTestSuiteOutput();
+        List<String> classes = write(output);
+
+        Assert.assertEquals(Arrays.asList("NestedIfExample_ESTest", "NestedIfExample_ESTest_scaffolding"), classes);
+        List<JavaFileObject> sources = output.getJavaFileObjects();
+        Assert.assertEquals(2, sources.size());
+        Assert.assertTrue(sources.get(0).isNameCompatible("NestedIfExample_ESTest", JavaFileObject.Kind.SOURCE));
+        String code = sources.get(0).getCharContent(true).toString();
+        Assert.assertTrue(code, code.contains("public class NestedIfExample_ESTest extends NestedIfExample_ESTest_scaffolding"));
+        Assert.assertTrue(code, code.contains("test2()"));
+        Assert.assertTrue(code.trim().endsWith("}"));
+    }
+
+    @Test
+    public void testSplitLargeSuite() throws Exception {
+        Properties.MAX_TEST_CLASS_SIZE = 1;
+        InMemoryTestSuiteOutput output = new InMemoryTestSuiteOutput();
+        List<String> classes = write(output);
+
+        Assert.assertEquals(Arrays.asList("NestedIfExample_ESTest", "NestedIfExample_ESTest_1Test",
+                "NestedIfExample_ESTest_2Test", "NestedIfExample_ESTest_scaffolding"), classes);
+        for (int i = 0; i < 3; i++) {
+            String code = output.getJavaFileObjects().get(i).getCharContent(true).toString();
+            Assert.assertTrue(code, code.contains("public class " + classes.get(i) + " extends NestedIfExample_ESTest_scaffolding"));
+            Assert.assertTrue(code, code.contains("test" + i + "()"));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.lm;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class LangModelTest {
+
+    private static final String MODEL = "ukwac_char_lm";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testScore() throws IOException {
+        LangModel model = LangModel.getInstance(MODEL);
+        assertTrue(model.score("hello world") > model.score("hxq#z wrl~"));
+        assertEquals(model.score("hello world"), model.score(new StringBuilder("hello world")), 0.0);
+        assertTrue(Double.isNaN(model.score("")));
+        assertTrue(model.score("\u4e2d\u6587") > 0);
+    }
+
+    @Test
+    public void testPrediction() throws IOException {
+        LangModel model = LangModel.getInstance(MODEL);
+        assertNotNull(model.predict_char(0));
+        assertTrue(model.predict_char_prob(0) >= model.predict_char_prob(1));
+        assertEquals(model.predict_char("<w>", 0), model.predict_char(" ", 0));
+        assertNull(model.predict_char("a", 10));
+        assertNull(model.predict_char("\u4e2d", 0));
+        assertEquals(0.0, model.predict_char_prob("\u4e2d", 0), 0.0);
+    }
+
+    @Test
+    public void testCompiledModelIsEquivalent() throws IOException {
+        File compiled = folder.newFile("model.bin");
+        LangModel.compile(MODEL, compiled);
+        assertTrue(compiled.length() < new File(getClass().getClassLoader().getResource(MODEL).getFile()).length());
+
+        LangModel text = LangModel.getInstance(MODEL);
+        LangModel binary = new LangModel(compiled.getAbsolutePath());
+
+        for (String s : new String[]{"hello world", "a", " ", "The quick brown fox", "x9#~\t", "<s>", "\u4e2d\u6587"}) {
+            assertEquals(s, text.score(s), binary.score(s), 0.0);
+        }
+        for (String pre : new String[]{"<s>", "<w>", "a", "e", "1", "!"}) {
+            for (int n = 0; n < 10; n++) {
+                assertEquals(text.predict_char(pre, n), binary.predict_char(pre, n));
+                assertEquals(text.predict_char_prob(pre, n), binary.predict_char_prob(pre, n), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testModelIsLoadedOnce() throws IOException {
+        assertSame(LangModel.getInstance(MODEL), LangModel.getInstance(MODEL));
+    }
+
+    @Test(expected = IOException.class)
+    public void testMissingModel() throws IOException {
+        new LangModel("no_such_language_model");
+    }
+}
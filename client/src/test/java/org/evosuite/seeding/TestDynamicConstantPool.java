@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.seeding;
+
+import org.evosuite.Properties;
+import org.evosuite.utils.Randomness;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class TestDynamicConstantPool {
+
+    private int poolSize;
+
+    private int sampling;
+
+    @Before
+    public void setUp() {
+        poolSize = Properties.DYNAMIC_POOL_SIZE;
+        sampling = Properties.DYNAMIC_POOL_SAMPLING;
+    }
+
+    @After
+    public void tearDown() {
+        Properties.DYNAMIC_POOL_SIZE = poolSize;
+        Properties.DYNAMIC_POOL_SAMPLING = sampling;
+    }
+
+    private static Set<Integer> sampleInts(DynamicConstantPool pool) {
+        Set<Integer> values = new HashSet<>();
+        for (int i = 0; i < 2000; i++) {
+            values.add(pool.getRandomInt());
+        }
+        return values;
+    }
+
+    @Test
+    public void testOldestValuesAreEvicted() {
+        Properties.DYNAMIC_POOL_SIZE = 10;
+        DynamicConstantPool pool = new DynamicConstantPool();
+        assertEquals(Collections.singleton(0), sampleInts(pool));
+
+        for (int i = 1; i <= 20; i++) {
+            pool.add(i);
+            // duplicates must not push out other values
+            pool.add(i);
+            pool.add(Integer.valueOf(i));
+        }
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 11; i <= 20; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, sampleInts(pool));
+    }
+
+    @Test
+    public void testQueueMatchesReference() {
+        DynamicConstantPool.PrimitiveQueue queue = new DynamicConstantPool.PrimitiveQueue(16);
+        LinkedHashSet<Long> reference = new LinkedHashSet<>();
+        Random random = new Random(0);
+        for (int i = 0; i < 10000; i++) {
+            // small range to force collisions and repeated removals
+            long value = random.nextInt(64) * 1024L;
+            queue.add(value, 1);
+            if (reference.add(value) && reference.size() > 16) {
+                Iterator<Long> oldest = reference.iterator();
+                oldest.next();
+                oldest.remove();
+            }
+            assertEquals(reference.size(), queue.size());
+        }
+        List<Long> values = new ArrayList<>();
+        for (int i = 0; i < queue.size(); i++) {
+            values.add(queue.get(i));
+            assertTrue(queue.contains(queue.get(i)));
+        }
+        assertEquals(new ArrayList<>(reference), values);
+    }
+
+    @Test
+    public void testFloatingPointValues() {
+        Properties.DYNAMIC_POOL_SIZE = 3;
+        DynamicConstantPool pool = new DynamicConstantPool();
+        pool.add(Double.NaN);
+        pool.add(Double.NaN);
+        pool.add(-0.0);
+        Set<Double> doubles = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            doubles.add(pool.getRandomDouble());
+        }
+        assertEquals(new HashSet<>(Arrays.asList(0.0, -0.0, Double.NaN)), doubles);
+
+        pool.add(1.5f);
+        pool.add(Float.valueOf(2.5f));
+        Set<Float> floats = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            floats.add(pool.getRandomFloat());
+        }
+        assertEquals(new HashSet<>(Arrays.asList(0.0f, 1.5f, 2.5f)), floats);
+
+        pool.add(Long.MAX_VALUE);
+        Set<Long> longs = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            longs.add(pool.getRandomLong());
+        }
+        assertEquals(new HashSet<>(Arrays.asList(0L, Long.MAX_VALUE)), longs);
+    }
+
+    @Test
+    public void testSampling() {
+        Properties.DYNAMIC_POOL_SAMPLING = 3;
+        DynamicConstantPool pool = new DynamicConstantPool();
+        for (int i = 1; i <= 9; i++) {
+            pool.add(i);
+        }
+        assertEquals(new HashSet<>(Arrays.asList(0, 3, 6, 9)), sampleInts(pool));
+    }
+
+    @Test
+    public void testManagerRoutesPrimitives() {
+        ConstantPoolManager.getInstance().reset();
+        try {
+            ConstantPoolManager.getInstance().addDynamicConstant(42);
+            ConstantPoolManager.getInstance().addDynamicConstant("foo");
+            ConstantPool pool = ConstantPoolManager.getInstance().getDynamicConstantPool();
+            Randomness.setSeed(0);
+            boolean found = false;
+            for (int i = 0; i < 100 && !found; i++) {
+                found = pool.getRandomInt() == 42;
+            }
+            assertTrue(found);
+            assertTrue(pool.toString().contains("intPool=[ 0 42 ]"));
+        } finally {
+            ConstantPoolManager.getInstance().reset();
+        }
+    }
+}
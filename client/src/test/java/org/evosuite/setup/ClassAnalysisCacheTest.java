@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.setup;
+
+import com.examples.with.different.packagename.context.complex.EntryPointsClass;
+import org.evosuite.Properties;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.setup.ClassAnalysisCache.ClassCalls;
+import org.evosuite.setup.ClassAnalysisCache.MethodCalls;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.objectweb.asm.tree.ClassNode;
+
+import java.io.File;
+
+public class ClassAnalysisCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void init() {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        ClassAnalysisCache.reset();
+    }
+
+    @After
+    public void reset() {
+        Properties.getInstance().resetToDefaults();
+        ClassAnalysisCache.reset();
+    }
+
+    @Test
+    public void testClassIsParsedOnce() {
+        ClassAnalysisCache cache = ClassAnalysisCache.getInstance();
+        ClassNode cn = cache.getClassNode(EntryPointsClass.class.getName());
+        Assert.assertNotNull(cn);
+        Assert.assertEquals(EntryPointsClass.class.getName().replace('.', '/'), cn.name);
+
+        Assert.assertSame(cn, cache.getClassNode(EntryPointsClass.class.getName()));
+        // internal names are the same class
+        Assert.assertSame(cn, cache.getClassNode(EntryPointsClass.class.getName().replace('.', '/')));
+        Assert.assertNotNull(cache.getCalls(EntryPointsClass.class.getName()));
+        Assert.assertSame(cache.getCalls(EntryPointsClass.class.getName()),
+                cache.getCalls(EntryPointsClass.class.getName().replace('.', '/')));
+        Assert.assertEquals(1, cache.getNumberOfParsedClasses());
+    }
+
+    @Test
+    public void testMissingClass() {
+        ClassAnalysisCache cache = ClassAnalysisCache.getInstance();
+        Assert.assertNull(cache.getClassNode("does.not.Exist"));
+        Assert.assertNull(cache.getCalls("does.not.Exist"));
+    }
+
+    @Test
+    public void testCallsArePersisted() {
+        File file = new File(folder.getRoot(), "analysis.cache");
+        Properties.CLASS_ANALYSIS_CACHE_FILE = file.getAbsolutePath();
+
+        ClassCalls calls = ClassAnalysisCache.getInstance().getCalls(EntryPointsClass.class.getName());
+        Assert.assertNotNull(calls);
+        ClassAnalysisCache.getInstance().save();
+        Assert.assertTrue(file.exists());
+
+        ClassAnalysisCache.reset();
+        ClassCalls loaded = ClassAnalysisCache.getInstance().getCalls(EntryPointsClass.class.getName());
+        Assert.assertEquals(0, ClassAnalysisCache.getInstance().getNumberOfParsedClasses());
+
+        Assert.assertEquals(calls.getSuperName(), loaded.getSuperName());
+        Assert.assertEquals(calls.getMethods().size(), loaded.getMethods().size());
+        for (int i = 0; i < calls.getMethods().size(); i++) {
+            MethodCalls expected = calls.getMethods().get(i);
+            MethodCalls actual = loaded.getMethods().get(i);
+            Assert.assertEquals(expected.getName() + expected.getDesc(), actual.getName() + actual.getDesc());
+            Assert.assertEquals(expected.getNumberOfCalls(), actual.getNumberOfCalls());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.setup;
+
+import org.evosuite.utils.generic.GenericClass;
+import org.evosuite.utils.generic.GenericClassFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+public class GeneratorIndexTest {
+
+    private static final GenericClass<?> OBJECT = GenericClassFactory.get(Object.class);
+    private static final GenericClass<?> STRING = GenericClassFactory.get(String.class);
+    private static final GenericClass<?> LIST = GenericClassFactory.get(List.class);
+    private static final GenericClass<?> ARRAY_LIST = GenericClassFactory.get(ArrayList.class);
+    private static final GenericClass<?> COLLECTION = GenericClassFactory.get(Collection.class);
+    private static final GenericClass<?> INTEGER = GenericClassFactory.get(Integer.class);
+    private static final GenericClass<?> TYPE_VARIABLE = GenericClassFactory.get(List.class.getTypeParameters()[0]);
+
+    @Test
+    public void testGeneratorTypesAreFilteredByRawClass() {
+        GeneratorIndex index = new GeneratorIndex();
+        index.addGeneratorType(STRING);
+        index.addGeneratorType(ARRAY_LIST);
+        index.addGeneratorType(INTEGER);
+        index.addGeneratorType(LIST);
+
+        Assert.assertEquals(Arrays.asList(ARRAY_LIST, INTEGER, LIST), index.getGeneratorTypes(COLLECTION));
+        Assert.assertEquals(Arrays.asList(STRING, INTEGER), index.getGeneratorTypes(STRING));
+
+        // types added later are appended to the types computed before
+        index.addGeneratorType(TYPE_VARIABLE);
+        index.addGeneratorType(GenericClassFactory.get(AbstractList.class));
+        Assert.assertEquals(Arrays.asList(ARRAY_LIST, INTEGER, LIST, TYPE_VARIABLE,
+                GenericClassFactory.get(AbstractList.class)), index.getGeneratorTypes(COLLECTION));
+
+        // no filtering for types that are not indexed
+        Assert.assertEquals(6, index.getGeneratorTypes(TYPE_VARIABLE).size());
+    }
+
+    @Test
+    public void testCachedTypesAssignableFrom() {
+        GeneratorIndex index = new GeneratorIndex();
+        for (GenericClass<?> type : Arrays.asList(OBJECT, STRING, LIST, ARRAY_LIST, COLLECTION, INTEGER))
+            index.addCachedType(type);
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList(INTEGER, OBJECT, LIST, ARRAY_LIST, COLLECTION)),
+                new HashSet<>(index.getCachedTypesAssignableFrom(ARRAY_LIST)));
+        Assert.assertEquals(new HashSet<>(Arrays.asList(INTEGER, OBJECT, LIST, COLLECTION)),
+                new HashSet<>(index.getCachedTypesAssignableFrom(LIST)));
+
+        index.removeCachedType(LIST);
+        index.removeCachedType(INTEGER);
+        Assert.assertEquals(new HashSet<>(Arrays.asList(OBJECT, COLLECTION)),
+                new HashSet<>(index.getCachedTypesAssignableFrom(LIST)));
+
+        index.clearCachedTypes();
+        Assert.assertTrue(index.getCachedTypesAssignableFrom(TYPE_VARIABLE).isEmpty());
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class StatisticsEventBatchTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static class RecordingHandler implements StatisticsEventBatch.Handler {
+        final List<Object> events = new ArrayList<>();
+
+        @Override
+        public void variable(RuntimeVariable variable, long timeStamp, Object value) {
+            events.add(variable + "@" + timeStamp + "=" + value);
+        }
+
+        @Override
+        public void timelineSample(long timeStamp, Map<RuntimeVariable, Number> values) {
+            events.add(timeStamp + ":" + values);
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        StatisticsEventBatch batch = new StatisticsEventBatch();
+        batch.addVariable(RuntimeVariable.Covered_Goals, 10L, 3);
+        batch.addVariable(RuntimeVariable.Total_Time, 11L, 123456789L);
+        batch.addVariable(RuntimeVariable.Coverage, 12L, 0.5);
+        batch.addVariable(RuntimeVariable.Covered_Goals, 13L, 4);
+        batch.addVariable(RuntimeVariable.Random_Seed, 14L, null);
+        batch.addVariable(RuntimeVariable.Explicit_MethodExceptions, 15L, "foo");
+
+        Map<RuntimeVariable, Number> sample = new LinkedHashMap<>();
+        sample.put(RuntimeVariable.CoverageTimeline, 0.75);
+        sample.put(RuntimeVariable.SizeTimeline, 7);
+        batch.addTimelineSample(20L, sample);
+        Assert.assertEquals(7, batch.getNumberOfEvents());
+
+        RecordingHandler handler = new RecordingHandler();
+        StatisticsEventBatch.read(batch.toByteArray(), handler);
+
+        List<Object> expected = new ArrayList<>();
+        expected.add("Covered_Goals@10=3");
+        expected.add("Total_Time@11=123456789");
+        expected.add("Coverage@12=0.5");
+        expected.add("Covered_Goals@13=4");
+        expected.add("Random_Seed@14=null");
+        expected.add("Explicit_MethodExceptions@15=foo");
+        expected.add("20:" + sample);
+        Assert.assertEquals(expected, handler.events);
+    }
+
+    @Test
+    public void testValueTypesArePreserved() throws IOException {
+        StatisticsEventBatch batch = new StatisticsEventBatch();
+        Map<RuntimeVariable, Number> sample = new LinkedHashMap<>();
+        sample.put(RuntimeVariable.FitnessTimeline, 1.0);
+        sample.put(RuntimeVariable.LengthTimeline, 1);
+        batch.addTimelineSample(0L, sample);
+
+        List<Map<RuntimeVariable, Number>> samples = new ArrayList<>();
+        StatisticsEventBatch.read(batch.toByteArray(), new StatisticsEventBatch.Handler() {
+            @Override
+            public void variable(RuntimeVariable variable, long timeStamp, Object value) {
+                Assert.fail();
+            }
+
+            @Override
+            public void timelineSample(long timeStamp, Map<RuntimeVariable, Number> values) {
+                samples.add(values);
+            }
+        });
+        Assert.assertEquals(1, samples.size());
+        Assert.assertEquals(Double.class, samples.get(0).get(RuntimeVariable.FitnessTimeline).getClass());
+        Assert.assertEquals(Integer.class, samples.get(0).get(RuntimeVariable.LengthTimeline).getClass());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedValue() {
+        Assert.assertFalse(StatisticsEventBatch.isSupported(new Object()));
+        new StatisticsEventBatch().addVariable(RuntimeVariable.Covered_Goals, 0L, new Object());
+    }
+
+    @Test
+    public void testEventLog() throws IOException {
+        File file = new File(folder.getRoot(), "statistics.events");
+        StatisticsEventBatch first = new StatisticsEventBatch();
+        first.addVariable(RuntimeVariable.Covered_Goals, 1L, 1);
+        StatisticsEventBatch second = new StatisticsEventBatch();
+        second.addVariable(RuntimeVariable.Covered_Goals, 2L, 2);
+
+        StatisticsEventLog.append(file, "ClientNode0", first.toByteArray());
+        StatisticsEventLog.append(file, "ClientNode1", second.toByteArray());
+
+        RecordingHandler handler = new RecordingHandler();
+        List<String> clients = new ArrayList<>();
+        StatisticsEventLog.read(file, (client, batch) -> {
+            clients.add(client);
+            try {
+                StatisticsEventBatch.read(batch, handler);
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        });
+        Assert.assertEquals(2, clients.size());
+        Assert.assertEquals("ClientNode0", clients.get(0));
+        Assert.assertEquals("ClientNode1", clients.get(1));
+        Assert.assertEquals(2, handler.events.size());
+        Assert.assertEquals("Covered_Goals@2=2", handler.events.get(1));
+    }
+
+    @Test
+    public void testOutOfOrderTimelineValues() {
+        SequenceOutputVariableFactory<Integer> factory = DirectSequenceOutputVariableFactory.getInteger(RuntimeVariable.SizeTimeline);
+        factory.setStartTime(100L);
+        factory.update(130L, 3);
+        factory.update(110L, 1);
+        factory.update(120L, 2);
+        Assert.assertEquals(3, factory.timeStamps.size());
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(10L * (i + 1), (long) factory.timeStamps.get(i));
+            Assert.assertEquals(i + 1, (int) factory.values.get(i));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcarver.capture;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class CaptureLogTest {
+
+    public static class Foo {
+        private int x = 0;
+
+        public void set(int x) {
+            this.x = x;
+        }
+    }
+
+    private static final String INIT_DESC = "()V";
+
+    @Test
+    public void testLogConstructorAndMethod() {
+        CaptureLog log = new CaptureLog();
+        Foo foo = new Foo();
+        int oid = System.identityHashCode(foo);
+
+        log.log(1, foo, CaptureLog.OBSERVED_INIT, INIT_DESC);
+        log.logEnd(1, foo, CaptureLog.RETURN_TYPE_VOID);
+        log.log(2, foo, "set", "(I)V", 42);
+        log.logEnd(2, foo, CaptureLog.RETURN_TYPE_VOID);
+
+        assertEquals(Foo.class.getName(), log.getTypeName(oid));
+        assertEquals(Collections.singletonList(oid),
+                log.getTargetOIDs(Collections.singleton(Foo.class.getName())));
+
+        int call = log.methodNames.indexOf("set");
+        assertTrue(call > 0);
+        assertEquals(oid, log.objectIds.getInt(call));
+        assertEquals(2, log.captureIds.getInt(call));
+        assertEquals("(I)V", log.descList.get(call));
+        assertEquals(CaptureLog.END_CAPTURE_PSEUDO_METHOD, log.methodNames.get(log.methodNames.size() - 1));
+        // The same strings share the same id
+        assertEquals(log.methodNames.getId(call - 1), log.methodNames.getId(log.methodNames.size() - 1));
+
+        // The parameter is logged as a plain value and referenced by its OID
+        int paramOID = (Integer) log.params.get(call)[0];
+        int paramRecord = log.objectIds.indexOf(paramOID);
+        assertEquals(CaptureLog.PLAIN_INIT, log.methodNames.get(paramRecord));
+    }
+
+    @Test
+    public void testThisAsParameterIsSnapshot() {
+        CaptureLog log = new CaptureLog();
+        ArrayList<Object> list = new ArrayList<>();
+        int oid = System.identityHashCode(list);
+
+        log.log(1, list, CaptureLog.OBSERVED_INIT, INIT_DESC);
+        log.logEnd(1, list, CaptureLog.RETURN_TYPE_VOID);
+        log.log(2, list, "add", "(Ljava/lang/Object;)Z", list);
+        log.logEnd(2, list, Boolean.TRUE);
+
+        int call = log.methodNames.indexOf("add");
+        int snapshotOID = (Integer) log.params.get(call)[0];
+        assertNotEquals(oid, snapshotOID);
+
+        int snapshotRecord = log.objectIds.indexOf(snapshotOID);
+        assertEquals(CaptureLog.NOT_OBSERVED_INIT, log.methodNames.get(snapshotRecord));
+        assertTrue(log.params.get(snapshotRecord)[0] instanceof String);
+        assertEquals(ArrayList.class.getName(), log.getTypeName(snapshotOID));
+        assertEquals(CaptureLog.END_CAPTURE_PSEUDO_METHOD, log.methodNames.get(snapshotRecord + 1));
+        assertEquals(snapshotOID, log.objectIds.getInt(snapshotRecord + 1));
+    }
+
+    @Test
+    public void testClone() {
+        CaptureLog log = new CaptureLog();
+        Foo foo = new Foo();
+        log.log(1, foo, CaptureLog.OBSERVED_INIT, INIT_DESC);
+        log.logEnd(1, foo, CaptureLog.RETURN_TYPE_VOID);
+
+        CaptureLog copy = log.clone();
+        assertEquals(log.toString(), copy.toString());
+
+        copy.log(2, foo, "set", "(I)V", 1);
+        assertNotEquals(log.objectIds.size(), copy.objectIds.size());
+        assertEquals(-1, log.methodNames.indexOf("set"));
+
+        log.clear();
+        assertTrue(log.objectIds.isEmpty());
+        assertEquals(Foo.class.getName(), copy.getTypeName(System.identityHashCode(foo)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownOID() {
+        new CaptureLog().getRecordIndex(42);
+    }
+
+    @Test
+    public void testIntIntHashMap() {
+        IntIntHashMap map = new IntIntHashMap();
+        for (int i = -1000; i < 1000; i++) {
+            map.put(i * 64, i);
+        }
+        assertEquals(2000, map.size());
+        for (int i = -1000; i < 1000; i++) {
+            assertTrue(map.containsKey(i * 64));
+            assertEquals(i, map.get(i * 64));
+        }
+        assertFalse(map.containsKey(1));
+        assertEquals(IntIntHashMap.NO_VALUE, map.get(1));
+
+        map.put(0, 7);
+        assertEquals(7, map.get(0));
+        assertEquals(2000, map.size());
+
+        map.clear();
+        assertFalse(map.containsKey(0));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcarver.extraction;
+
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+
+public class ShardedCarverTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testPartition() {
+        List<Integer> elements = Arrays.asList(0, 1, 2, 3, 4, 5, 6);
+        List<List<Integer>> shards = ShardedCarver.partition(elements, 3);
+        assertEquals(Arrays.asList(Arrays.asList(0, 1), Arrays.asList(2, 3), Arrays.asList(4, 5, 6)), shards);
+
+        // Never more shards than elements
+        assertEquals(2, ShardedCarver.partition(Arrays.asList(0, 1), 4).size());
+    }
+
+    private static TestCase createTest(int value) {
+        DefaultTestCase test = new DefaultTestCase();
+        test.addStatement(new IntPrimitiveStatement(test, value));
+        return test;
+    }
+
+    @Test
+    public void testResultsRoundTrip() throws IOException {
+        File file = folder.newFile("shard.carved");
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(file))) {
+            Map<Class<?>, List<TestCase>> tests = new LinkedHashMap<>();
+            tests.put(String.class, Arrays.asList(createTest(1), createTest(2)));
+            tests.put(Integer.class, new ArrayList<>());
+            ShardedCarver.writeResults(out, "FooTest", tests);
+
+            ShardedCarver.writeResults(out, "BarTest",
+                    Collections.singletonMap(String.class, Collections.singletonList(createTest(3))));
+        }
+
+        List<String> junitClasses = new ArrayList<>();
+        List<String> codes = new ArrayList<>();
+        ShardedCarver.readResults(file, (junitClassName, tests) -> {
+            junitClasses.add(junitClassName);
+            for (Map.Entry<Class<?>, List<TestCase>> entry : tests.entrySet()) {
+                for (TestCase test : entry.getValue()) {
+                    codes.add(entry.getKey().getSimpleName() + ": " + test.toCode().trim());
+                }
+            }
+        });
+        assertEquals(Arrays.asList("FooTest", "BarTest"), junitClasses);
+        assertEquals(Arrays.asList("String: int int0 = 1;", "String: int int0 = 2;", "String: int int0 = 3;"), codes);
+    }
+
+    @Test
+    public void testIncompleteResultsAreSkipped() throws IOException {
+        File file = folder.newFile("shard.carved");
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(file))) {
+            ShardedCarver.writeResults(out, "FooTest",
+                    Collections.singletonMap(String.class, Collections.singletonList(createTest(1))));
+            ShardedCarver.writeResults(out, "BarTest",
+                    Collections.singletonMap(String.class, Collections.singletonList(createTest(2))));
+        }
+        // As if the worker was stopped while writing the second record
+        byte[] data = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), Arrays.copyOf(data, data.length - 10));
+
+        List<String> junitClasses = new ArrayList<>();
+        ShardedCarver.readResults(file, (junitClassName, tests) -> junitClasses.add(junitClassName));
+        assertEquals(Collections.singletonList("FooTest"), junitClasses);
+    }
+
+    @Test
+    public void testCorruptResultsAreSkipped() throws IOException {
+        File file = folder.newFile("shard.carved");
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(file))) {
+            ShardedCarver.writeResults(out, "FooTest",
+                    Collections.singletonMap(String.class, Collections.singletonList(createTest(1))));
+        }
+        // As if the worker was killed while writing the second record
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file, true))) {
+            out.writeUTF("BarTest");
+            out.writeInt(1);
+            out.writeUTF(String.class.getName());
+            out.write(new byte[]{0x7f, 0x7f, 0x7f, 0x7f});
+        }
+
+        List<String> junitClasses = new ArrayList<>();
+        ShardedCarver.readResults(file, (junitClassName, tests) -> junitClasses.add(junitClassName));
+        assertEquals(Collections.singletonList("FooTest"), junitClasses);
+    }
+}
@@ -19,9 +19,16 @@
  */
 package org.evosuite.testcase;
 
+import org.evosuite.testcase.statements.ArrayStatement;
+import org.evosuite.testcase.statements.NullStatement;
+import org.evosuite.testcase.statements.StringPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.variable.VariableReference;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
+
 public class DefaultTestCaseTest {
 
     @Test
@@ -31,4 +38,42 @@ public class DefaultTestCaseTest {
         DefaultTestCase clone = tc.clone();
         Assert.assertTrue(tc.statements != clone.statements);
     }
+
+    @Test
+    public void testGetObjectsByType() {
+        DefaultTestCase tc = new DefaultTestCase();
+        VariableReference int0 = tc.addStatement(new IntPrimitiveStatement(tc, 0));
+        VariableReference string0 = tc.addStatement(new StringPrimitiveStatement(tc, "foo"));
+        VariableReference int1 = tc.addStatement(new IntPrimitiveStatement(tc, 1));
+        VariableReference string1 = tc.addStatement(new NullStatement(tc, String.class));
+        VariableReference array0 = tc.addStatement(new ArrayStatement(tc, int[].class, 2));
+
+        Assert.assertEquals(Arrays.asList(int0, int1), tc.getObjects(int.class, tc.size()));
+        Assert.assertEquals(Arrays.asList(int0), tc.getObjects(int.class, 2));
+        Assert.assertEquals(Arrays.asList(string0, string1), tc.getObjects(String.class, tc.size()));
+        Assert.assertEquals(Arrays.asList(array0), tc.getObjects(int[].class, tc.size()));
+        Assert.assertTrue(tc.getObjects(String.class, 1).isEmpty());
+    }
+
+    @Test
+    public void testGetObjectsAfterChanges() {
+        DefaultTestCase tc = new DefaultTestCase();
+        VariableReference int0 = tc.addStatement(new IntPrimitiveStatement(tc, 0));
+        VariableReference string0 = tc.addStatement(new StringPrimitiveStatement(tc, "foo"));
+        Assert.assertEquals(Arrays.asList(int0), tc.getObjects(int.class, tc.size()));
+
+        VariableReference int1 = tc.addStatement(new IntPrimitiveStatement(tc, 1), 0);
+        Assert.assertEquals(Arrays.asList(int1, int0), tc.getObjects(int.class, tc.size()));
+
+        tc.remove(1);
+        Assert.assertEquals(Arrays.asList(int1), tc.getObjects(int.class, tc.size()));
+
+        VariableReference string1 = tc.setStatement(new StringPrimitiveStatement(tc, "bar"), 0);
+        Assert.assertTrue(tc.getObjects(int.class, tc.size()).isEmpty());
+        Assert.assertEquals(Arrays.asList(string1, string0), tc.getObjects(String.class, tc.size()));
+
+        string0.setType(Object.class);
+        Assert.assertEquals(Arrays.asList(string1), tc.getObjects(String.class, tc.size()));
+        Assert.assertEquals(Arrays.asList(string1, string0), tc.getObjects(Object.class, tc.size()));
+    }
 }
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase;
+
+import com.examples.with.different.packagename.FlagExample1;
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.coverage.branch.BranchCoverageFactory;
+import org.evosuite.coverage.branch.BranchCoverageTestFitness;
+import org.evosuite.ga.ConstructionFailedException;
+import org.evosuite.testcase.execution.reset.ClassReInitializer;
+import org.evosuite.testcase.statements.MethodStatement;
+import org.evosuite.testcase.statements.NullStatement;
+import org.evosuite.testcase.statements.Statement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.utils.Randomness;
+import org.evosuite.utils.generic.GenericClass;
+import org.evosuite.utils.generic.GenericClassFactory;
+import org.evosuite.utils.generic.GenericConstructor;
+import org.evosuite.utils.generic.GenericMethod;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TestCaseMinimizerTest {
+
+    @Before
+    public void setUp() {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        Properties.getInstance().resetToDefaults();
+        Randomness.setSeed(42);
+        TestGenerationContext.getInstance().resetContext();
+        ClassReInitializer.resetSingleton();
+        Properties.TARGET_CLASS = FlagExample1.class.getCanonicalName();
+        Properties.TEST_ARCHIVE = false;
+    }
+
+    @After
+    public void tearDown() {
+        TestGenerationContext.getInstance().resetContext();
+        Properties.getInstance().resetToDefaults();
+    }
+
+    /**
+     * new FlagExample1(), ten ints of which the last one is the flag value,
+     * and testMe(int) on the flag value
+     */
+    private DefaultTestCase createTest() throws ClassNotFoundException, NoSuchMethodException, ConstructionFailedException {
+        Class<?> sut = TestGenerationContext.getInstance().getClassLoaderForSUT().loadClass(Properties.TARGET_CLASS);
+        GenericClass<?> clazz = GenericClassFactory.get(sut);
+
+        DefaultTestCase test = new DefaultTestCase();
+        GenericConstructor gc = new GenericConstructor(clazz.getRawClass().getConstructors()[0], clazz);
+        TestFactory testFactory = TestFactory.getInstance();
+        testFactory.addConstructor(test, gc, 0, 0);
+        for (int i = 0; i < 10; i++) {
+            test.addStatement(new IntPrimitiveStatement(test, 28232 + i), i + 1);
+        }
+
+        Method m = clazz.getRawClass().getMethod("testMe", int.class);
+        MethodStatement ms = new MethodStatement(test, new GenericMethod(m, sut), test.getReturnValue(0),
+                Collections.singletonList(test.getReturnValue(10)));
+        test.addStatement(ms);
+        assertEquals(12, test.size());
+        return test;
+    }
+
+    private String minimize(boolean chunks) throws Exception {
+        Properties.MINIMIZE_CHUNKS = chunks;
+        DefaultTestCase test = createTest();
+        TestChromosome chromosome = new TestChromosome();
+        chromosome.setTestCase(test);
+
+        BranchCoverageTestFitness goal = null;
+        for (BranchCoverageTestFitness g : new BranchCoverageFactory().getCoverageGoals()) {
+            // The branch that is only covered with the flag value
+            if (g.getBranch() != null && !g.getValue() && g.isCovered(chromosome)) {
+                goal = g;
+                break;
+            }
+        }
+        assertNotNull(goal);
+
+        new TestCaseMinimizer(goal).minimize(chromosome);
+        assertTrue(goal.isCovered(chromosome));
+        assertEquals(3, chromosome.getTestCase().size());
+        return chromosome.getTestCase().toCode();
+    }
+
+    @Test
+    public void testChunksMinimizeLikeSingleStatements() throws Exception {
+        String chunks = minimize(true);
+        String statements = minimize(false);
+        assertEquals(statements, chunks);
+        assertTrue(chunks.contains("28241"));
+    }
+
+    @Test
+    public void testRemoveDeadStatements() throws Exception {
+        DefaultTestCase test = createTest();
+        Set<Statement> used = TestCaseMinimizer.getUsedStatements(test);
+        // the constructor and the flag value, used by testMe
+        assertEquals(2, used.size());
+
+        test.remove(11);
+        assertTrue(TestCaseMinimizer.removeDeadStatements(test, used));
+        // Only the ints that were never used remain
+        assertEquals(9, test.size());
+        for (Statement s : test) {
+            assertTrue(s instanceof IntPrimitiveStatement);
+            assertFalse(used.contains(s));
+        }
+        assertFalse(TestCaseMinimizer.removeDeadStatements(test, used));
+    }
+
+    @Test
+    public void testRemoveUnusedValues() throws Exception {
+        DefaultTestCase test = createTest();
+        test.addStatement(new NullStatement(test, Object.class));
+        assertEquals(13, test.size());
+
+        assertTrue(TestCaseMinimizer.removeUnusedValues(test));
+        // Only the constructor, the parameter of testMe and testMe remain
+        assertEquals(3, test.size());
+        assertFalse(TestCaseMinimizer.removeUnusedValues(test));
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase;
+
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionTraceImpl;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.evosuite.testsuite.TestSuiteFitnessFunction;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TestChromosomeTest {
+
+    /**
+     * A goal every test covers
+     */
+    private static class CoveredGoal extends TestFitnessFunction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+
+        CoveredGoal(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public double getFitness(TestChromosome individual, ExecutionResult result) {
+            updateIndividual(individual, 0.0);
+            return 0.0;
+        }
+
+        @Override
+        public int compareTo(TestFitnessFunction other) {
+            return compareClassName(other);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof CoveredGoal && ((CoveredGoal) other).name.equals(name);
+        }
+
+        @Override
+        public String getTargetClass() {
+            return name;
+        }
+
+        @Override
+        public String getTargetMethod() {
+            return name;
+        }
+    }
+
+    /**
+     * Records the goal in the tests of the suite, as the suite fitness
+     * functions of the coverage criteria do
+     */
+    private static class CoveredGoalSuiteFitness extends TestSuiteFitnessFunction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final TestFitnessFunction goal;
+
+        CoveredGoalSuiteFitness(TestFitnessFunction goal) {
+            this.goal = goal;
+        }
+
+        @Override
+        public double getFitness(TestSuiteChromosome suite) {
+            runTestSuite(suite);
+            for (TestChromosome testChromosome : suite.getTestChromosomes()) {
+                TestChromosome test = TestChromosome.forEvaluation(testChromosome);
+                goal.isCovered(test, testChromosome.getLastExecutionResult());
+            }
+            return 0.0;
+        }
+    }
+
+    private static TestChromosome createChromosome() {
+        DefaultTestCase test = new DefaultTestCase();
+        test.addStatement(new IntPrimitiveStatement(test, 1));
+        test.addStatement(new IntPrimitiveStatement(test, 2));
+        TestChromosome chromosome = new TestChromosome();
+        chromosome.setTestCase(test);
+        // the clone has the only reference to its test case
+        return chromosome.clone();
+    }
+
+    @Test
+    public void testExposedTestCaseIsCopied() {
+        TestChromosome chromosome = new TestChromosome();
+        TestCase test = chromosome.getTestCase();
+        TestChromosome clone = chromosome.clone();
+        assertNotSame(test, clone.test);
+    }
+
+    @Test
+    public void testCloneSharesTestCase() {
+        TestChromosome original = createChromosome();
+        TestChromosome clone = original.clone();
+        assertSame(original.test, clone.test);
+        assertEquals(original, clone);
+    }
+
+    @Test
+    public void testCopyOnAccess() {
+        TestChromosome original = createChromosome();
+        TestChromosome clone = original.clone();
+        String code = original.toString();
+
+        TestCase test = clone.getTestCase();
+        assertNotSame(original.test, test);
+        test.addStatement(new IntPrimitiveStatement(test, 3));
+
+        assertEquals(3, clone.size());
+        assertEquals(2, original.size());
+        assertEquals(code, original.toString());
+
+        // the original still has its own copy
+        TestCase originalTest = original.getTestCase();
+        originalTest.remove(0);
+        assertEquals(1, original.size());
+        assertEquals(3, clone.size());
+    }
+
+    @Test
+    public void testGoalRunsOnOwnTestCase() {
+        TestChromosome original = createChromosome();
+        TestChromosome clone = original.clone();
+        clone.setChanged(true);
+        new CoveredGoal("goal").getFitness(clone);
+        assertNotSame(original.test, clone.test);
+        assertSame(clone.test, clone.getLastExecutionResult().test);
+    }
+
+    @Test
+    public void testSuiteCloneSharesTests() {
+        TestSuiteChromosome suite = new TestSuiteChromosome();
+        suite.addTest(createChromosome());
+        TestSuiteChromosome copy = suite.clone();
+        assertSame(suite.getTestChromosome(0).test, copy.getTestChromosome(0).test);
+
+        copy.getTestChromosome(0).getTestCase().remove(1);
+        assertEquals(2, suite.getTestChromosome(0).size());
+        assertEquals(1, copy.getTestChromosome(0).size());
+    }
+
+    @Test
+    public void testClonedSuiteIsEvaluatedWithoutCopies() {
+        TestChromosome test = createChromosome();
+        ExecutionResult result = new ExecutionResult(test.test);
+        result.setTrace(new ExecutionTraceImpl());
+        test.setLastExecutionResult(result);
+        test.setChanged(false);
+        TestSuiteChromosome suite = new TestSuiteChromosome();
+        suite.addTest(test);
+        TestFitnessFunction goal = new CoveredGoal("goal");
+        new CoveredGoalSuiteFitness(goal).getFitness(suite);
+        assertTrue(test.test.isGoalCovered(goal));
+
+        TestSuiteChromosome copy = suite.clone();
+        TestChromosome copiedTest = copy.getTestChromosome(0);
+        new CoveredGoalSuiteFitness(goal).getFitness(copy);
+        assertSame(test.test, copiedTest.test);
+        assertTrue(copiedTest.getFitnessValues().isEmpty());
+
+        // a newly covered goal changes the test case, which is copied first
+        TestFitnessFunction otherGoal = new CoveredGoal("other");
+        new CoveredGoalSuiteFitness(otherGoal).getFitness(copy);
+        assertNotSame(test.test, copiedTest.test);
+        assertTrue(copiedTest.test.isGoalCovered(otherGoal));
+        assertFalse(test.test.isGoalCovered(otherGoal));
+        assertSame(copiedTest.test, copiedTest.getLastExecutionResult().test);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import com.examples.with.different.packagename.FlagExample1;
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.ga.stoppingconditions.MaxTestsStoppingCondition;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.statements.ConstructorStatement;
+import org.evosuite.testcase.statements.MethodStatement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.utils.generic.GenericClass;
+import org.evosuite.utils.generic.GenericClassFactory;
+import org.evosuite.utils.generic.GenericConstructor;
+import org.evosuite.utils.generic.GenericMethod;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class ExecutionResultCacheTest {
+
+    @Before
+    public void setUp() {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        Properties.getInstance().resetToDefaults();
+        Properties.TARGET_CLASS = FlagExample1.class.getCanonicalName();
+        Properties.EXECUTION_CACHE_SIZE = 2;
+        TestGenerationContext.getInstance().resetContext();
+    }
+
+    @After
+    public void tearDown() {
+        Properties.getInstance().resetToDefaults();
+        TestGenerationContext.getInstance().resetContext();
+    }
+
+    /**
+     * new FlagExample1().testMe(value)
+     */
+    private static TestCase createTest(int value) throws Exception {
+        Class<?> sut = TestGenerationContext.getInstance().getClassLoaderForSUT().loadClass(Properties.TARGET_CLASS);
+        GenericClass<?> clazz = GenericClassFactory.get(sut);
+        DefaultTestCase test = new DefaultTestCase();
+        GenericConstructor gc = new GenericConstructor(clazz.getRawClass().getConstructors()[0], clazz);
+        VariableReference callee = test.addStatement(new ConstructorStatement(test, gc, Collections.emptyList()));
+        VariableReference arg = test.addStatement(new IntPrimitiveStatement(test, value));
+        GenericMethod m = new GenericMethod(sut.getMethod("testMe", int.class), sut);
+        test.addStatement(new MethodStatement(test, m, callee, Collections.singletonList(arg)));
+        return test;
+    }
+
+    @Test
+    public void testIdenticalTestReusesResult() throws Exception {
+        ExecutionResultCache cache = ExecutionResultCache.getInstance();
+        TestCase test = createTest(28234);
+        ExecutionResult first = TestCaseExecutor.runTest(test);
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.size());
+
+        TestCase copy = test.clone();
+        ExecutionResult second = TestCaseExecutor.runTest(copy);
+        assertEquals(1, cache.getHits());
+        assertSame(copy, second.test);
+        assertNotSame(first, second);
+        assertEquals(first.getExecutedStatements(), second.getExecutedStatements());
+        assertEquals(first.getTrace().getCoveredLines(), second.getTrace().getCoveredLines());
+        assertEquals(0.5, cache.getHitRate(), 0.0);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() throws Exception {
+        ExecutionResultCache cache = ExecutionResultCache.getInstance();
+        TestCaseExecutor.runTest(createTest(1));
+        TestCaseExecutor.runTest(createTest(2));
+        TestCaseExecutor.runTest(createTest(1));
+        TestCaseExecutor.runTest(createTest(3));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getHits());
+
+        TestCaseExecutor.runTest(createTest(1));
+        assertEquals(2, cache.getHits());
+        TestCaseExecutor.runTest(createTest(2));
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    public void testReusedResultCountsAsExecutedTest() throws Exception {
+        TestCase test = createTest(1);
+        TestCaseExecutor.runTest(test);
+        long executed = MaxTestsStoppingCondition.getNumExecutedTests();
+        TestCaseExecutor.runTest(test.clone());
+        assertEquals(1, ExecutionResultCache.getInstance().getHits());
+        assertEquals(executed + 1, MaxTestsStoppingCondition.getNumExecutedTests());
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        Properties.EXECUTION_CACHE_SIZE = 0;
+        ExecutionResultCache cache = ExecutionResultCache.getInstance();
+        TestCase test = createTest(1);
+        assertNull(cache.getKey(test));
+        TestCaseExecutor.runTest(test);
+        TestCaseExecutor.runTest(test.clone());
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHits());
+    }
+}
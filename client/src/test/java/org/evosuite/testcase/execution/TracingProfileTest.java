@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.Algorithm;
+import org.evosuite.Properties.Criterion;
+import org.evosuite.instrumentation.MethodRegistry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TracingProfileTest {
+
+    private Criterion[] criteria;
+
+    private Algorithm algorithm;
+
+    private boolean traceCalls;
+
+    @Before
+    public void setUp() {
+        criteria = Properties.CRITERION;
+        algorithm = Properties.ALGORITHM;
+        traceCalls = ExecutionTraceImpl.isTraceCallsEnabled();
+        ExecutionTraceImpl.enableTraceCalls();
+    }
+
+    @After
+    public void tearDown() {
+        Properties.CRITERION = criteria;
+        Properties.ALGORITHM = algorithm;
+        if (!traceCalls)
+            ExecutionTraceImpl.disableTraceCalls();
+    }
+
+    @Test
+    public void testBranchAndLine() {
+        TracingProfile profile = TracingProfile.forCriteria(Criterion.BRANCH, Criterion.LINE);
+        Assert.assertTrue(profile.isCallTracing());
+        Assert.assertTrue(profile.isCallStackTracing());
+        Assert.assertFalse(profile.isBranchContextTracing());
+        Assert.assertFalse(profile.isMethodContextTracing());
+        Assert.assertFalse(profile.isDefUseTracing());
+    }
+
+    @Test
+    public void testContextAndDefUse() {
+        TracingProfile profile = TracingProfile.forCriteria(Criterion.CBRANCH, Criterion.DEFUSE);
+        Assert.assertTrue(profile.isBranchContextTracing());
+        Assert.assertTrue(profile.isMethodContextTracing());
+        Assert.assertTrue(profile.isDefUseTracing());
+    }
+
+    @Test
+    public void testMethodOnly() {
+        TracingProfile profile = TracingProfile.forCriteria(Criterion.METHOD, Criterion.OUTPUT, Criterion.EXCEPTION);
+        Assert.assertFalse(profile.isCallTracing());
+        Assert.assertFalse(profile.isCallStackTracing());
+    }
+
+    @Test
+    public void testSearchWithBranchGoals() {
+        Assert.assertTrue(TracingProfile.forSearch(Algorithm.DYNAMOSA, Criterion.METHOD).isCallTracing());
+        Assert.assertTrue(TracingProfile.forSearch(Algorithm.MOSA, Criterion.METHOD).isCallTracing());
+        Assert.assertFalse(TracingProfile.forSearch(Algorithm.MONOTONIC_GA, Criterion.METHOD).isCallTracing());
+    }
+
+    @Test
+    public void testTraceSkipsCallsNotNeeded() {
+        int methodId = MethodRegistry.register(TracingProfileTest.class.getName(), "foo()V");
+
+        Properties.ALGORITHM = Algorithm.MONOTONIC_GA;
+        Properties.CRITERION = new Criterion[]{Criterion.METHOD};
+        ExecutionTraceImpl trace = new ExecutionTraceImpl();
+        trace.enteredMethod(methodId, null);
+        trace.branchPassed(1, 1, 0.0, 1.0);
+        trace.exitMethod(methodId);
+        Assert.assertTrue(trace.getMethodCalls().isEmpty());
+        Assert.assertEquals(1, trace.getMethodExecutionCount().size());
+        Assert.assertEquals(1, (int) trace.getPredicateExecutionCount().get(1));
+
+        Properties.CRITERION = new Criterion[]{Criterion.BRANCH};
+        trace.clear();
+        trace.enteredMethod(methodId, null);
+        trace.branchPassed(1, 1, 0.0, 1.0);
+        trace.exitMethod(methodId);
+        Assert.assertEquals(1, trace.getMethodCalls().size());
+        MethodCall call = trace.getMethodCalls().get(0);
+        Assert.assertEquals("foo()V", call.methodName);
+        Assert.assertEquals(1, call.branchTrace.size());
+        Assert.assertTrue(call.defuseCounterTrace.isEmpty());
+        Assert.assertTrue(trace.getMethodContextCount().isEmpty());
+    }
+}
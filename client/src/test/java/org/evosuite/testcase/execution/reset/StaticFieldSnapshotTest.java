@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution.reset;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.annotation.ElementType;
+import java.util.ArrayList;
+import java.util.List;
+
+public class StaticFieldSnapshotTest {
+
+    private static class ImmutableStatics {
+        private static int counter = 1;
+        private static long total = 2L;
+        private static String name = "foo";
+        private static Integer boxed = 3;
+        private static ElementType type = ElementType.FIELD;
+        private static Object empty = null;
+        private static final List<String> CONSTANT = new ArrayList<>();
+    }
+
+    private static class MutableStatics {
+        private static int counter = 1;
+        private static List<String> names = new ArrayList<>();
+    }
+
+    @After
+    public void tearDown() {
+        StaticFieldSnapshot.getInstance().clear();
+    }
+
+    @Test
+    public void testRestoreImmutableValues() {
+        StaticFieldSnapshot snapshot = StaticFieldSnapshot.getInstance();
+        Assert.assertFalse(snapshot.restore(ImmutableStatics.class));
+
+        snapshot.capture(ImmutableStatics.class);
+        Assert.assertTrue(snapshot.isRestorable(ImmutableStatics.class));
+
+        ImmutableStatics.counter = 42;
+        ImmutableStatics.total = 43L;
+        ImmutableStatics.name = "bar";
+        ImmutableStatics.boxed = 44;
+        ImmutableStatics.type = ElementType.METHOD;
+        ImmutableStatics.empty = new Object();
+        ImmutableStatics.CONSTANT.add("bar");
+
+        Assert.assertTrue(snapshot.restore(ImmutableStatics.class));
+        Assert.assertEquals(1, ImmutableStatics.counter);
+        Assert.assertEquals(2L, ImmutableStatics.total);
+        Assert.assertEquals("foo", ImmutableStatics.name);
+        Assert.assertEquals(Integer.valueOf(3), ImmutableStatics.boxed);
+        Assert.assertEquals(ElementType.FIELD, ImmutableStatics.type);
+        Assert.assertNull(ImmutableStatics.empty);
+        ImmutableStatics.CONSTANT.clear();
+    }
+
+    @Test
+    public void testMutableValuesAreNotRestored() {
+        StaticFieldSnapshot snapshot = StaticFieldSnapshot.getInstance();
+        snapshot.capture(MutableStatics.class);
+        Assert.assertFalse(snapshot.isRestorable(MutableStatics.class));
+
+        MutableStatics.counter = 42;
+        Assert.assertFalse(snapshot.restore(MutableStatics.class));
+        Assert.assertEquals(42, MutableStatics.counter);
+        MutableStatics.counter = 1;
+    }
+
+    @Test
+    public void testCaptureOnlyOnce() {
+        StaticFieldSnapshot snapshot = StaticFieldSnapshot.getInstance();
+        snapshot.capture(ImmutableStatics.class);
+        ImmutableStatics.counter = 42;
+        snapshot.capture(ImmutableStatics.class);
+        Assert.assertTrue(snapshot.restore(ImmutableStatics.class));
+        Assert.assertEquals(1, ImmutableStatics.counter);
+    }
+}
@@ -19,8 +19,15 @@
  */
 package org.evosuite.utils;
 
+import org.evosuite.Properties;
+import org.junit.After;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -40,4 +47,44 @@ public class RandomnessTest {
                     (Double.compare(r, min) >= 0) && (Double.compare(r, max) <= 0));
         }
     }
+
+    @After
+    public void tearDown() {
+        Randomness.clearThreadStream();
+        Properties.RANDOM_GENERATOR = Properties.RandomGenerator.MERSENNE_TWISTER;
+        Randomness.setSeed(42);
+    }
+
+    @Test
+    public void testSplitMixGenerator() {
+        Properties.RANDOM_GENERATOR = Properties.RandomGenerator.SPLITMIX;
+        Randomness.setSeed(42);
+        int first = Randomness.nextInt();
+        Randomness.setSeed(42);
+        assertEquals(first, Randomness.nextInt());
+    }
+
+    @Test
+    public void testStreamsPerThread() throws InterruptedException {
+        Randomness.setSeed(42);
+        int expected = Randomness.getStream("worker", 1).nextInt();
+
+        List<Integer> values = new ArrayList<>();
+        Thread worker = new Thread(() -> {
+            Randomness.setThreadStream(Randomness.getStream("worker", 1));
+            values.add(Randomness.nextInt());
+        });
+        worker.start();
+        worker.join();
+        assertEquals(1, values.size());
+        assertEquals(expected, (int) values.get(0));
+
+        // The shared generator is not affected by the worker
+        Randomness.setSeed(42);
+        int shared = Randomness.nextInt();
+        Randomness.setSeed(42);
+        Randomness.setThreadStream(new Random(0));
+        Randomness.clearThreadStream();
+        assertEquals(shared, Randomness.nextInt());
+    }
 }
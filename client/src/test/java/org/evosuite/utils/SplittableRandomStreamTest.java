@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SplittableRandomStreamTest {
+
+    @Test
+    public void testSameSeedSameSequence() {
+        SplittableRandomStream a = new SplittableRandomStream(42);
+        SplittableRandomStream b = new SplittableRandomStream(42);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(a.nextLong(), b.nextLong());
+        }
+        a.setSeed(7);
+        b.setSeed(7);
+        assertEquals(a.nextInt(100), b.nextInt(100));
+    }
+
+    @Test
+    public void testStreamsDoNotDependOnCreationOrder() {
+        SplittableRandomStream first = SplittableRandomStream.forStream(42, 1);
+        SplittableRandomStream second = SplittableRandomStream.forStream(42, 2);
+        long v1 = first.nextLong();
+        long v2 = second.nextLong();
+
+        assertEquals(v2, SplittableRandomStream.forStream(42, 2).nextLong());
+        assertEquals(v1, SplittableRandomStream.forStream(42, 1).nextLong());
+        assertNotEquals(v1, v2);
+        assertNotEquals(v1, SplittableRandomStream.forStream(43, 1).nextLong());
+    }
+
+    @Test
+    public void testSplitIsDeterministic() {
+        SplittableRandomStream a = new SplittableRandomStream(42).split();
+        SplittableRandomStream b = new SplittableRandomStream(42).split();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(a.nextDouble(), b.nextDouble(), 0.0);
+        }
+    }
+
+    @Test
+    public void testBounds() {
+        SplittableRandomStream random = new SplittableRandomStream(0);
+        int[] counts = new int[7];
+        for (int i = 0; i < 70_000; i++) {
+            int r = random.nextInt(7);
+            assertTrue(r >= 0 && r < 7);
+            counts[r]++;
+
+            double d = random.nextDouble();
+            assertTrue(d >= 0.0 && d < 1.0);
+            float f = random.nextFloat();
+            assertTrue(f >= 0.0f && f < 1.0f);
+            assertTrue(random.nextInt(16) < 16);
+        }
+        for (int count : counts) {
+            assertTrue(count > 9000 && count < 11000);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveBound() {
+        new SplittableRandomStream(0).nextInt(0);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils.generic;
+
+import org.apache.commons.lang3.reflect.TypeUtils;
+import org.evosuite.Properties;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.*;
+
+public class GenericTypeCacheTest {
+
+    private static class Foo<T> extends ArrayList<T> {
+        private static final long serialVersionUID = 1L;
+    }
+
+    public List<String> listOfStrings;
+
+    public List<? extends Number> listOfNumbers;
+
+    private final int defaultSize = Properties.GENERIC_TYPE_CACHE_SIZE;
+
+    @Before
+    public void setUp() {
+        GenericTypeCache.getInstance().clear();
+    }
+
+    @After
+    public void tearDown() {
+        Properties.GENERIC_TYPE_CACHE_SIZE = defaultSize;
+        GenericTypeCache.getInstance().clear();
+    }
+
+    private static Type fieldType(String name) throws NoSuchFieldException {
+        return GenericTypeCacheTest.class.getField(name).getGenericType();
+    }
+
+    @Test
+    public void testAssignabilityIsMemoised() throws Exception {
+        GenericTypeCache cache = GenericTypeCache.getInstance();
+        Type lhs = fieldType("listOfNumbers");
+        Type rhs = TypeUtils.parameterize(ArrayList.class, Integer.class);
+
+        Assert.assertTrue(GenericClassUtils.isAssignable(lhs, rhs));
+        Assert.assertEquals(0, cache.getAssignabilityHits());
+        Assert.assertEquals(1, cache.getAssignabilityMisses());
+
+        Assert.assertTrue(GenericClassUtils.isAssignable(lhs, rhs));
+        Assert.assertFalse(GenericClassUtils.isAssignable(rhs, lhs));
+        Assert.assertEquals(1, cache.getAssignabilityHits());
+        Assert.assertEquals(2, cache.getAssignabilityMisses());
+    }
+
+    @Test
+    public void testStructurallyEqualTypesShareEntries() throws Exception {
+        GenericTypeCache cache = GenericTypeCache.getInstance();
+        // JDK implementation of List<String>
+        Type jdkType = fieldType("listOfStrings");
+        // Our implementation of the same type
+        Type ownType = new org.evosuite.utils.ParameterizedTypeImpl(List.class, new Type[]{String.class}, null);
+        Assert.assertNotSame(jdkType.getClass(), ownType.getClass());
+
+        Assert.assertTrue(GenericClassUtils.isAssignable(Collection.class, jdkType));
+        Assert.assertTrue(GenericClassUtils.isAssignable(Collection.class, ownType));
+        Assert.assertEquals(1, cache.getAssignabilityHits());
+        Assert.assertEquals(1, cache.getAssignabilityMisses());
+    }
+
+    @Test
+    public void testTypeArgumentsAreCopied() {
+        GenericTypeCache cache = GenericTypeCache.getInstance();
+        ParameterizedType superType = TypeUtils.parameterize(List.class, String.class);
+
+        Map<TypeVariable<?>, Type> first = cache.determineTypeArguments(Foo.class, superType);
+        Assert.assertEquals(TypeUtils.determineTypeArguments(Foo.class, superType), first);
+        first.clear();
+
+        Map<TypeVariable<?>, Type> second = cache.determineTypeArguments(Foo.class, superType);
+        Assert.assertFalse(second.isEmpty());
+        Assert.assertEquals(1, cache.getTypeArgumentsHits());
+
+        Assert.assertNull(cache.determineTypeArguments(String.class, superType));
+        Assert.assertNull(cache.determineTypeArguments(String.class, superType));
+        Assert.assertEquals(2, cache.getTypeArgumentsHits());
+        Assert.assertEquals(2, cache.getHits());
+        Assert.assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testClassTypesAreInterned() {
+        GenericClass<?> a = GenericClassFactory.get(Foo.class);
+        GenericClass<?> b = GenericClassFactory.get(Foo.class);
+        Assert.assertNotSame(a, b);
+        Assert.assertSame(a.getType(), b.getType());
+        Assert.assertTrue(a.getType() instanceof ParameterizedType);
+        Assert.assertSame(String.class, GenericClassFactory.get(String.class).getType());
+
+        // The shared type cannot be changed through its arguments
+        Type[] arguments = ((ParameterizedType) a.getType()).getActualTypeArguments();
+        arguments[0] = String.class;
+        Assert.assertNotSame(String.class, ((ParameterizedType) b.getType()).getActualTypeArguments()[0]);
+    }
+
+    @Test
+    public void testBoundedAndDisabled() {
+        GenericTypeCache cache = GenericTypeCache.getInstance();
+        Properties.GENERIC_TYPE_CACHE_SIZE = 2;
+        Class<?>[] classes = {Integer.class, Long.class, Double.class, Float.class};
+        for (Class<?> c : classes) {
+            Assert.assertTrue(GenericClassUtils.isAssignable(Number.class, c));
+        }
+        Assert.assertTrue(cache.size() <= 2);
+
+        cache.clear();
+        Properties.GENERIC_TYPE_CACHE_SIZE = 0;
+        Assert.assertTrue(GenericClassUtils.isAssignable(Number.class, Integer.class));
+        Assert.assertTrue(GenericClassUtils.isAssignable(Number.class, Integer.class));
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.getAssignabilityHits());
+    }
+}
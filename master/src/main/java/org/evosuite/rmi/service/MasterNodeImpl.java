@@ -169,6 +169,12 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
         SearchStatistics.getInstance(clientRmiIdentifier).setOutputVariable(variable, value);
     }
 
+    @Override
+    public void evosuite_collectStatisticsBatch(String clientRmiIdentifier, byte[] events)
+            throws RemoteException {
+        SearchStatistics.getInstance(clientRmiIdentifier).collectEvents(clientRmiIdentifier, events);
+    }
+
     @Override
     public void evosuite_collectTestGenerationResult(
             String clientRmiIdentifier, List<TestGenerationResult> results)
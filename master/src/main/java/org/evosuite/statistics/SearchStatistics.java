@@ -21,20 +21,6 @@ package org.evosuite.statistics;
 
 import org.evosuite.ClientProcess;
 import org.evosuite.Properties;
-import org.evosuite.coverage.ambiguity.AmbiguityCoverageSuiteFitness;
-import org.evosuite.coverage.branch.BranchCoverageSuiteFitness;
-import org.evosuite.coverage.branch.OnlyBranchCoverageSuiteFitness;
-import org.evosuite.coverage.cbranch.CBranchSuiteFitness;
-import org.evosuite.coverage.exception.ExceptionCoverageSuiteFitness;
-import org.evosuite.coverage.io.input.InputCoverageSuiteFitness;
-import org.evosuite.coverage.io.output.OutputCoverageSuiteFitness;
-import org.evosuite.coverage.line.LineCoverageSuiteFitness;
-import org.evosuite.coverage.method.MethodCoverageSuiteFitness;
-import org.evosuite.coverage.method.MethodNoExceptionCoverageSuiteFitness;
-import org.evosuite.coverage.method.MethodTraceCoverageSuiteFitness;
-import org.evosuite.coverage.mutation.OnlyMutationSuiteFitness;
-import org.evosuite.coverage.mutation.WeakMutationSuiteFitness;
-import org.evosuite.coverage.rho.RhoCoverageSuiteFitness;
 import org.evosuite.ga.Chromosome;
 import org.evosuite.result.TestGenerationResult;
 import org.evosuite.rmi.MasterServices;
@@ -51,6 +37,8 @@ import org.evosuite.utils.Randomness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.*;
 
 
@@ -114,45 +102,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         initFactories();
 
         setOutputVariable(RuntimeVariable.Random_Seed, Randomness.getSeed());
-        sequenceOutputVariableFactories.put(RuntimeVariable.CoverageTimeline.name(), new CoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.FitnessTimeline.name(), new FitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.SizeTimeline.name(), new SizeSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.LengthTimeline.name(), new LengthSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.TotalExceptionsTimeline.name(), DirectSequenceOutputVariableFactory.getInteger(RuntimeVariable.TotalExceptionsTimeline));
-        sequenceOutputVariableFactories.put(RuntimeVariable.IBranchGoalsTimeline.name(), new IBranchGoalsSequenceOutputVariableFactory());
-
-        sequenceOutputVariableFactories.put(RuntimeVariable.BranchCoverageTimeline.name(), new BranchCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.OnlyBranchFitnessTimeline.name(), new OnlyBranchFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.OnlyBranchCoverageTimeline.name(), new OnlyBranchCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.CBranchFitnessTimeline.name(), new CBranchFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.CBranchCoverageTimeline.name(), new CBranchCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.MethodTraceFitnessTimeline.name(), new MethodTraceFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.MethodTraceCoverageTimeline.name(), new MethodTraceCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.MethodFitnessTimeline.name(), new MethodFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.MethodCoverageTimeline.name(), new MethodCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.MethodNoExceptionFitnessTimeline.name(), new MethodNoExceptionFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.MethodNoExceptionCoverageTimeline.name(), new MethodNoExceptionCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.RhoScoreTimeline.name(), new RhoFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.AmbiguityScoreTimeline.name(), new AmbiguityFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.LineFitnessTimeline.name(), new LineFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.LineCoverageTimeline.name(), new LineCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.OutputFitnessTimeline.name(), new OutputFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.OutputCoverageTimeline.name(), new OutputCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.InputFitnessTimeline.name(), new InputFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.InputCoverageTimeline.name(), new InputCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.ExceptionFitnessTimeline.name(), new ExceptionFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.ExceptionCoverageTimeline.name(), new ExceptionCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.WeakMutationCoverageTimeline.name(), new WeakMutationCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.OnlyMutationFitnessTimeline.name(), new OnlyMutationFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.OnlyMutationCoverageTimeline.name(), new OnlyMutationCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.DiversityTimeline.name(),
-                DirectSequenceOutputVariableFactory.getDouble(RuntimeVariable.DiversityTimeline));
-
-        sequenceOutputVariableFactories.put(RuntimeVariable.DensityTimeline.name(),
-                DirectSequenceOutputVariableFactory.getDouble(RuntimeVariable.DensityTimeline));
-
-        sequenceOutputVariableFactories.put(RuntimeVariable.FeaturesFound.name(),
-                DirectSequenceOutputVariableFactory.getInteger(RuntimeVariable.FeaturesFound));
+        sequenceOutputVariableFactories.putAll(TimelineSampler.createFactories());
 
         // sequenceOutputVariableFactories.put("Generation_History", new GenerationSequenceOutputVariableFactory());
         if (MasterServices.getInstance().getMasterNode() != null)
@@ -228,6 +178,49 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
             outputVariables.put(variable.getName(), variable);
     }
 
+    /**
+     * This method is called when a batch of events is sent from a client.
+     * Timeline samples are appended to their sequences, at the time they were
+     * computed on the client, together with the current values of the
+     * sequences that are set directly.
+     *
+     * @param rmiClientIdentifier client that sent the batch
+     * @param events              encoded {@link StatisticsEventBatch}
+     */
+    public void collectEvents(String rmiClientIdentifier, byte[] events) {
+        if (!Properties.STATISTICS_STREAM_FILE.isEmpty()) {
+            try {
+                StatisticsEventLog.append(new File(Properties.STATISTICS_STREAM_FILE), rmiClientIdentifier, events);
+            } catch (IOException e) {
+                AtMostOnceLogger.warn(logger, "Failed to write statistics events to "
+                        + Properties.STATISTICS_STREAM_FILE + ": " + e.getMessage());
+            }
+        }
+
+        try {
+            StatisticsEventBatch.read(events, new StatisticsEventBatch.Handler() {
+                @Override
+                public void variable(RuntimeVariable variable, long timeStamp, Object value) {
+                    setOutputVariable(variable, value);
+                }
+
+                @Override
+                public void timelineSample(long timeStamp, Map<RuntimeVariable, Number> values) {
+                    for (SequenceOutputVariableFactory<?> factory : sequenceOutputVariableFactories.values()) {
+                        Number value = values.get(factory.getRuntimeVariable());
+                        if (value != null) {
+                            factory.update(timeStamp, value);
+                        } else if (factory instanceof DirectSequenceOutputVariableFactory) {
+                            factory.update(timeStamp, factory.getValue(null));
+                        }
+                    }
+                }
+            });
+        } catch (IOException e) {
+            logger.error("Malformed statistics events from client " + rmiClientIdentifier, e);
+        }
+    }
+
     public void addTestGenerationResult(List<TestGenerationResult> result) {
         results.add(result);
     }
@@ -522,368 +515,4 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
             return individual.getCoverage();
         }
     }
-
-    /**
-     * Sequence variable for fitness values
-     */
-    private static class FitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public FitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.FitnessTimeline);
-        }
-
-        @Override
-        protected Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitness();
-        }
-    }
-
-    /**
-     * Sequence variable for coverage values
-     */
-    private static class CoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public CoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.CoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverage();
-        }
-    }
-
-    /**
-     * Sequence variable for number of tests
-     */
-    private static class SizeSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Integer> {
-
-        public SizeSequenceOutputVariableFactory() {
-            super(RuntimeVariable.SizeTimeline);
-        }
-
-        @Override
-        public Integer getValue(TestSuiteChromosome individual) {
-            return individual.size();
-        }
-    }
-
-    /**
-     * Sequence variable for total length of tests
-     */
-    private static class LengthSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Integer> {
-
-        public LengthSequenceOutputVariableFactory() {
-            super(RuntimeVariable.LengthTimeline);
-        }
-
-        @Override
-        public Integer getValue(TestSuiteChromosome individual) {
-            return individual.totalLengthOfTestCases();
-        }
-    }
-
-    /**
-     * Sequence variable for coverage values
-     */
-    private static class IBranchGoalsSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Integer> {
-
-        public IBranchGoalsSequenceOutputVariableFactory() {
-            super(RuntimeVariable.IBranchGoalsTimeline);
-        }
-
-        @Override
-        public Integer getValue(TestSuiteChromosome individual) {
-            return individual.getNumOfNotCoveredGoals();
-        }
-    }
-
-    private static class BranchCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public BranchCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.BranchCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(BranchCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class OnlyBranchFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public OnlyBranchFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.OnlyBranchFitnessTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(OnlyBranchCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class OnlyBranchCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public OnlyBranchCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.OnlyBranchCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(OnlyBranchCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class CBranchFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public CBranchFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.CBranchFitnessTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(CBranchSuiteFitness.class);
-        }
-    }
-
-    private static class CBranchCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public CBranchCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.CBranchCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(CBranchSuiteFitness.class);
-        }
-    }
-
-    private static class MethodTraceFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public MethodTraceFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.MethodTraceFitnessTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(MethodTraceCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class MethodTraceCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public MethodTraceCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.MethodTraceCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(MethodTraceCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class MethodFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public MethodFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.MethodFitnessTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(MethodCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class MethodCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public MethodCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.MethodCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(MethodCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class MethodNoExceptionFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public MethodNoExceptionFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.MethodNoExceptionFitnessTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(MethodNoExceptionCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class MethodNoExceptionCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public MethodNoExceptionCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.MethodNoExceptionCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(MethodNoExceptionCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class RhoFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public RhoFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.RhoScoreTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            Double d = individual.getFitnessInstanceOf(RhoCoverageSuiteFitness.class);
-            return d > 1.0 ? 0.0 : d;
-        }
-    }
-
-    private static class AmbiguityFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public AmbiguityFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.AmbiguityScoreTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(AmbiguityCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class LineFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public LineFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.LineFitnessTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(LineCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class LineCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public LineCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.LineCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(LineCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class OutputFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public OutputFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.OutputFitnessTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(OutputCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class OutputCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public OutputCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.OutputCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(OutputCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class InputFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public InputFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.InputFitnessTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(InputCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class InputCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public InputCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.InputCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(InputCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class ExceptionFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public ExceptionFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.ExceptionFitnessTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(ExceptionCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class ExceptionCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public ExceptionCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.ExceptionCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(ExceptionCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class WeakMutationCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public WeakMutationCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.WeakMutationCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(WeakMutationSuiteFitness.class);
-        }
-    }
-
-    private static class OnlyMutationFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public OnlyMutationFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.OnlyMutationFitnessTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(OnlyMutationSuiteFitness.class);
-        }
-    }
-
-    private static class OnlyMutationCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public OnlyMutationCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.OnlyMutationCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(OnlyMutationSuiteFitness.class);
-        }
-    }
 }
@@ -0,0 +1,432 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics.backend;
+
+import org.evosuite.Properties;
+import org.evosuite.ga.Chromosome;
+import org.evosuite.statistics.OutputVariable;
+import org.evosuite.statistics.RuntimeVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This statistics backend writes all (selected) output variables to a
+ * columnar dataset, ie a folder of {@link ColumnarTable} files.
+ *
+ * <p>
+ * Each call writes a new part file, that only becomes visible once it is
+ * completely written, so any number of processes can append to the same
+ * dataset. As each part has its own schema, adding output variables does
+ * not invalidate the data written before. Timelines are stored as a single
+ * array column instead of one column per interval.
+ *
+ * <p>
+ * Once {@link Properties#COLUMNAR_COMPACTION_THRESHOLD} parts of the same
+ * level have been written, they are merged into one part of the next level,
+ * so that the dataset keeps a logarithmic number of parts with many rows each.
+ * A merge is committed by a journal file listing the parts it replaces, and
+ * is completed by the next process that takes the lock of the dataset if it
+ * was interrupted. Reading also takes the lock, so it never sees the rows
+ * of a merge twice.
+ */
+public class ColumnarStatisticsBackend implements StatisticsBackend {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarStatisticsBackend.class);
+
+    public static final String DATASET_NAME = "statistics.columnar";
+
+    public static final String PART_SUFFIX = ".evcol";
+
+    private static long lastTimeStamp = 0L;
+
+    /**
+     * Held while the parts of a dataset are merged or read
+     */
+    private static final String LOCK_NAME = ".compaction.lock";
+
+    /**
+     * Journal of a merge: the name of the merged part, followed by the names
+     * of the parts it replaces
+     */
+    static final String JOURNAL_NAME = ".merge.journal";
+
+    /**
+     * Suffix of a merged part that is not committed yet
+     */
+    static final String MERGING_SUFFIX = ".merging";
+
+    /**
+     * The file lock cannot be taken twice in the same process
+     */
+    private static final ReentrantLock processLock = new ReentrantLock();
+
+    /**
+     * Names of part files: time stamp, level and unique id. Parts without a
+     * level are of level 0.
+     */
+    private static final Pattern PART_NAME = Pattern.compile("part-(\\d{13})(?:-L(\\d+))?-.*" + Pattern.quote(PART_SUFFIX));
+
+    /**
+     * Names of the values of timelines at each interval, eg CoverageTimeline_T3
+     */
+    private static final Pattern TIMELINE_VALUE = Pattern.compile("(.+)_T(\\d+)");
+
+    @Override
+    public void writeData(Chromosome<?> result, Map<String, OutputVariable<?>> data) {
+        // Write to evosuite-report/statistics.columnar/
+        try {
+            File dataset = new File(CSVStatisticsBackend.getReportDir(), DATASET_NAME);
+            ColumnarTable table = new ColumnarTable();
+            table.addRow(toRow(data));
+            writePart(dataset, table);
+            if (Properties.COLUMNAR_COMPACTION_THRESHOLD > 1) {
+                compact(dataset, Properties.COLUMNAR_COMPACTION_THRESHOLD, false);
+            }
+        } catch (IOException e) {
+            logger.warn("Error while writing statistics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Convert output variables to a row, merging the values of each timeline into an array
+     *
+     * @param data
+     * @return
+     */
+    static Map<String, Object> toRow(Map<String, OutputVariable<?>> data) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        Map<String, TreeMap<Integer, Object>> timelines = new LinkedHashMap<>();
+        for (Map.Entry<String, OutputVariable<?>> entry : data.entrySet()) {
+            Matcher matcher = TIMELINE_VALUE.matcher(entry.getKey());
+            if (matcher.matches() && isRuntimeVariable(matcher.group(1))) {
+                String timeline = matcher.group(1);
+                if (!timelines.containsKey(timeline)) {
+                    timelines.put(timeline, new TreeMap<>());
+                    row.put(timeline, null); // keep the column order
+                }
+                timelines.get(timeline).put(Integer.parseInt(matcher.group(2)), entry.getValue().getValue());
+            } else {
+                row.put(entry.getKey(), entry.getValue().getValue());
+            }
+        }
+        for (Map.Entry<String, TreeMap<Integer, Object>> entry : timelines.entrySet()) {
+            // intervals start from T1
+            double[] values = new double[entry.getValue().lastKey()];
+            Arrays.fill(values, Double.NaN);
+            for (Map.Entry<Integer, Object> value : entry.getValue().entrySet()) {
+                if (value.getKey() > 0 && value.getValue() instanceof Number) {
+                    values[value.getKey() - 1] = ((Number) value.getValue()).doubleValue();
+                }
+            }
+            row.put(entry.getKey(), values);
+        }
+        return row;
+    }
+
+    private static boolean isRuntimeVariable(String name) {
+        try {
+            RuntimeVariable.valueOf(name);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Atomically add a part file with the given table to the dataset
+     *
+     * @param dataset folder of the dataset, created if needed
+     * @param table
+     * @return the new part file
+     * @throws IOException
+     */
+    public static File writePart(File dataset, ColumnarTable table) throws IOException {
+        return writePart(dataset, table, nextTimeStamp(), 0);
+    }
+
+    /**
+     * @return the current time, but always later than for the previous part
+     * written by this process
+     */
+    private static synchronized long nextTimeStamp() {
+        lastTimeStamp = Math.max(System.currentTimeMillis(), lastTimeStamp + 1);
+        return lastTimeStamp;
+    }
+
+    private static File writePart(File dataset, ColumnarTable table, long timeStamp, int level) throws IOException {
+        createDataset(dataset);
+        File part = new File(dataset, getPartName(timeStamp, level));
+        writeAtomically(part, out -> table.write(out));
+        return part;
+    }
+
+    /**
+     * Part names sort by creation time, and are unique across processes
+     */
+    private static String getPartName(long timeStamp, int level) {
+        return String.format("part-%013d-L%d-%s", timeStamp, level, UUID.randomUUID()) + PART_SUFFIX;
+    }
+
+    private interface Writer {
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Write a file through a temporary file, so that it only appears once complete
+     */
+    private static void writeAtomically(File file, Writer writer) throws IOException {
+        File tmp = new File(file.getParentFile(), "." + file.getName() + ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tmp))) {
+                writer.write(out);
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp.toPath());
+        }
+    }
+
+    private static void createDataset(File dataset) throws IOException {
+        if (!dataset.exists() && !dataset.mkdirs() && !dataset.isDirectory()) {
+            throw new IOException("Cannot create statistics dataset: " + dataset);
+        }
+    }
+
+    /**
+     * @param dataset
+     * @return the part files of the dataset, in the order they were written
+     */
+    public static List<File> getParts(File dataset) {
+        List<File> parts = new ArrayList<>();
+        File[] files = dataset.listFiles((dir, name) -> name.startsWith("part-") && name.endsWith(PART_SUFFIX));
+        if (files != null) {
+            parts.addAll(Arrays.asList(files));
+            parts.sort((a, b) -> a.getName().compareTo(b.getName()));
+        }
+        return parts;
+    }
+
+    /**
+     * Read all the rows of the dataset, with the union of the columns of all parts
+     *
+     * @param dataset
+     * @return
+     * @throws IOException
+     */
+    public static ColumnarTable read(File dataset) throws IOException {
+        ColumnarTable table = new ColumnarTable();
+        if (!dataset.isDirectory()) {
+            return table;
+        }
+        withLock(dataset, true, () -> {
+            for (File part : getParts(dataset)) {
+                table.addRows(readPart(part));
+            }
+        });
+        return table;
+    }
+
+    /**
+     * Merge all the current parts of the dataset into a single one.
+     * Parts written while compacting are left untouched. If another process
+     * is compacting the same dataset, this waits until it is done.
+     *
+     * @param dataset
+     * @throws IOException
+     */
+    public static void compact(File dataset) throws IOException {
+        compact(dataset, 0, true);
+    }
+
+    /**
+     * Merge parts of the dataset while holding its compaction lock. With a
+     * threshold, each level that has at least that many parts is merged into
+     * a single part of the next level, otherwise all parts are merged.
+     *
+     * @param dataset
+     * @param threshold number of parts of a level to merge, or 0 to merge all parts
+     * @param wait      whether to wait for another process compacting the dataset
+     * @throws IOException
+     */
+    private static void compact(File dataset, int threshold, boolean wait) throws IOException {
+        createDataset(dataset);
+        withLock(dataset, wait, () -> {
+            if (threshold > 0) {
+                mergeLevels(dataset, threshold);
+            } else {
+                List<File> parts = getParts(dataset);
+                int level = 0;
+                for (File part : parts) {
+                    level = Math.max(level, getLevel(part));
+                }
+                merge(dataset, parts, level + 1);
+            }
+        });
+    }
+
+    private interface LockedAction {
+        void run() throws IOException;
+    }
+
+    /**
+     * Run the action while holding the lock of the dataset, once any merge
+     * interrupted by a crash has been completed
+     *
+     * @param wait whether to wait for the lock, or to skip the action if it is held
+     */
+    private static void withLock(File dataset, boolean wait, LockedAction action) throws IOException {
+        if (wait) {
+            processLock.lock();
+        } else if (!processLock.tryLock()) {
+            return;
+        }
+        try (FileChannel channel = new RandomAccessFile(new File(dataset, LOCK_NAME), "rw").getChannel()) {
+            FileLock lock = wait ? channel.lock() : channel.tryLock();
+            if (lock == null) {
+                return;
+            }
+            try {
+                recover(dataset);
+                action.run();
+            } finally {
+                lock.release();
+            }
+        } finally {
+            processLock.unlock();
+        }
+    }
+
+    private static void mergeLevels(File dataset, int threshold) throws IOException {
+        for (int level = 0; ; level++) {
+            List<File> parts = new ArrayList<>();
+            int higherLevels = 0;
+            for (File part : getParts(dataset)) {
+                int partLevel = getLevel(part);
+                if (partLevel == level) {
+                    parts.add(part);
+                } else if (partLevel > level) {
+                    higherLevels++;
+                }
+            }
+            if (parts.size() < threshold) {
+                if (higherLevels == 0) {
+                    return;
+                }
+                continue;
+            }
+            merge(dataset, parts, level + 1);
+        }
+    }
+
+    /**
+     * Replace the given parts with a single part of the given level. The
+     * merged part is first written under a name that is not listed, and the
+     * merge is committed by writing the journal.
+     */
+    private static void merge(File dataset, List<File> parts, int level) throws IOException {
+        if (parts.size() < 2) {
+            return;
+        }
+        ColumnarTable table = new ColumnarTable();
+        for (File part : parts) {
+            table.addRows(readPart(part));
+        }
+        // the merged part takes the place of the parts it replaces in the order
+        File last = parts.get(parts.size() - 1);
+        String name = getPartName(getTimeStamp(last), level);
+        File merging = new File(dataset, name + MERGING_SUFFIX);
+        writeAtomically(merging, out -> table.write(out));
+
+        List<String> journal = new ArrayList<>();
+        journal.add(name);
+        for (File part : parts) {
+            journal.add(part.getName());
+        }
+        writeAtomically(new File(dataset, JOURNAL_NAME),
+                out -> out.write(String.join("\n", journal).getBytes(StandardCharsets.UTF_8)));
+        recover(dataset);
+    }
+
+    /**
+     * Complete the committed merge, if any, and remove the merged parts
+     * that were not committed. Must hold the lock of the dataset.
+     */
+    private static void recover(File dataset) throws IOException {
+        File journal = new File(dataset, JOURNAL_NAME);
+        if (journal.exists()) {
+            List<String> names = Files.readAllLines(journal.toPath(), StandardCharsets.UTF_8);
+            File merging = new File(dataset, names.get(0) + MERGING_SUFFIX);
+            if (merging.exists()) {
+                Files.move(merging.toPath(), new File(dataset, names.get(0)).toPath(), StandardCopyOption.ATOMIC_MOVE);
+            }
+            for (String name : names.subList(1, names.size())) {
+                Files.deleteIfExists(new File(dataset, name).toPath());
+            }
+            Files.delete(journal.toPath());
+        }
+        File[] uncommitted = dataset.listFiles((dir, name) -> name.endsWith(MERGING_SUFFIX));
+        if (uncommitted != null) {
+            for (File file : uncommitted) {
+                Files.delete(file.toPath());
+            }
+        }
+    }
+
+    private static long getTimeStamp(File part) {
+        Matcher matcher = PART_NAME.matcher(part.getName());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : 0L;
+    }
+
+    private static int getLevel(File part) {
+        Matcher matcher = PART_NAME.matcher(part.getName());
+        return matcher.matches() && matcher.group(2) != null ? Integer.parseInt(matcher.group(2)) : 0;
+    }
+
+    private static ColumnarTable readPart(File part) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(part))) {
+            return ColumnarTable.read(in);
+        }
+    }
+}
@@ -0,0 +1,506 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics.backend;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Table of statistics stored column by column, used by the
+ * {@link ColumnarStatisticsBackend}.
+ *
+ * <p>
+ * Each column has a type, inferred from its values and widened if needed
+ * (integers to doubles, anything to strings). Missing values are null.
+ * In the serialized form, each column is compressed on its own, strings are
+ * dictionary encoded, and timelines are stored as arrays of doubles. The
+ * compressed length of each column is stored before its content, so readers
+ * can skip the columns they do not need.
+ */
+public class ColumnarTable {
+
+    public enum Type {
+        BOOLEAN, LONG, DOUBLE, STRING, DOUBLE_ARRAY
+    }
+
+    private static final int MAGIC = 0x4556434f; // "EVCO"
+    private static final int VERSION = 1;
+
+    /**
+     * A column, with one (possibly null) value per row of the table
+     */
+    private static class Column {
+        Type type;
+        final List<Object> values = new ArrayList<>();
+
+        /**
+         * Whether any value is not null, kept so that adding rows does not
+         * scan the column
+         */
+        boolean hasValues = false;
+
+        Column(Type type) {
+            this.type = type;
+        }
+
+        void add(Object value) {
+            values.add(value);
+            hasValues |= value != null;
+        }
+
+        void addAll(Column other) {
+            values.addAll(other.values);
+            hasValues |= other.hasValues;
+        }
+    }
+
+    private int numRows = 0;
+
+    /**
+     * Column name -> column, in the order the columns were first added
+     */
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+
+    public int getNumberOfRows() {
+        return numRows;
+    }
+
+    public Set<String> getColumnNames() {
+        return Collections.unmodifiableSet(columns.keySet());
+    }
+
+    public Type getType(String column) {
+        Column c = columns.get(column);
+        if (c == null) {
+            throw new IllegalArgumentException("No such column: " + column);
+        }
+        return c.type;
+    }
+
+    /**
+     * @param column
+     * @param row
+     * @return the value, as a {@link Boolean}, {@link Long}, {@link Double},
+     * {@link String} or {@code double[]} depending on the type of the column,
+     * or {@code null} if missing
+     */
+    public Object getValue(String column, int row) {
+        if (row < 0 || row >= numRows) {
+            throw new IllegalArgumentException("Invalid row " + row + ", table has " + numRows + " rows");
+        }
+        Column c = columns.get(column);
+        if (c == null) {
+            throw new IllegalArgumentException("No such column: " + column);
+        }
+        return convert(c.values.get(row), c.type);
+    }
+
+    /**
+     * Add a row. Columns that are not in the table yet are added, with null
+     * values for the previous rows
+     *
+     * @param row column name -> value; values can be numbers, booleans,
+     *            arrays of numbers (for timelines), or anything else that is
+     *            then stored as string
+     */
+    public void addRow(Map<String, ?> row) {
+        for (Map.Entry<String, ?> entry : row.entrySet()) {
+            Object value = normalize(entry.getValue());
+            Type type = value == null ? null : typeOf(value);
+            Column column = columns.get(entry.getKey());
+            if (column == null) {
+                column = new Column(type == null ? Type.STRING : type);
+                for (int i = 0; i < numRows; i++) {
+                    column.add(null);
+                }
+                columns.put(entry.getKey(), column);
+            } else if (type != null) {
+                column.type = widen(column.type, type, !column.hasValues);
+            }
+            column.add(value);
+        }
+        numRows++;
+        for (Column column : columns.values()) {
+            if (column.values.size() < numRows) {
+                column.add(null);
+            }
+        }
+    }
+
+    /**
+     * Append all the rows of the given table
+     *
+     * @param other
+     */
+    public void addRows(ColumnarTable other) {
+        for (Map.Entry<String, Column> entry : other.columns.entrySet()) {
+            Column otherColumn = entry.getValue();
+            Column column = columns.get(entry.getKey());
+            if (column == null) {
+                column = new Column(otherColumn.type);
+                for (int i = 0; i < numRows; i++) {
+                    column.add(null);
+                }
+                columns.put(entry.getKey(), column);
+            } else if (otherColumn.hasValues) {
+                column.type = widen(column.type, otherColumn.type, !column.hasValues);
+            }
+            column.addAll(otherColumn);
+        }
+        numRows += other.numRows;
+        for (Column column : columns.values()) {
+            while (column.values.size() < numRows) {
+                column.add(null);
+            }
+        }
+    }
+
+    private static Object normalize(Object value) {
+        if (value instanceof Byte || value instanceof Short || value instanceof Integer) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Float) {
+            return ((Float) value).doubleValue();
+        }
+        if (value instanceof Number[]) {
+            Number[] numbers = (Number[]) value;
+            double[] array = new double[numbers.length];
+            for (int i = 0; i < numbers.length; i++) {
+                array[i] = numbers[i] == null ? Double.NaN : numbers[i].doubleValue();
+            }
+            return array;
+        }
+        if (value instanceof Long || value instanceof Double || value instanceof Boolean
+                || value instanceof double[] || value == null) {
+            return value;
+        }
+        return value.toString();
+    }
+
+    private static Type typeOf(Object normalized) {
+        if (normalized instanceof Boolean) {
+            return Type.BOOLEAN;
+        } else if (normalized instanceof Long) {
+            return Type.LONG;
+        } else if (normalized instanceof Double) {
+            return Type.DOUBLE;
+        } else if (normalized instanceof double[]) {
+            return Type.DOUBLE_ARRAY;
+        } else {
+            return Type.STRING;
+        }
+    }
+
+    /**
+     * @param onlyNulls whether the column has only null values so far, in
+     *                  which case its type is just replaced
+     */
+    private static Type widen(Type current, Type other, boolean onlyNulls) {
+        if (onlyNulls || current == other) {
+            return onlyNulls ? other : current;
+        }
+        if ((current == Type.LONG && other == Type.DOUBLE) || (current == Type.DOUBLE && other == Type.LONG)) {
+            return Type.DOUBLE;
+        }
+        return Type.STRING;
+    }
+
+    private static Object convert(Object value, Type type) {
+        if (value == null) {
+            return null;
+        }
+        switch (type) {
+            case DOUBLE:
+                return ((Number) value).doubleValue();
+            case STRING:
+                if (value instanceof double[]) {
+                    return Arrays.toString((double[]) value);
+                }
+                return value.toString();
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * Write the table. The stream is not closed
+     *
+     * @param output
+     * @throws IOException
+     */
+    public void write(OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(numRows);
+        out.writeInt(columns.size());
+        for (Map.Entry<String, Column> entry : columns.entrySet()) {
+            Column column = entry.getValue();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream columnOut = new DataOutputStream(new DeflaterOutputStream(bytes,
+                    new Deflater(Deflater.BEST_COMPRESSION)))) {
+                writeColumn(column, columnOut);
+            }
+            out.writeUTF(entry.getKey());
+            out.writeByte(column.type.ordinal());
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+        }
+        out.flush();
+    }
+
+    /**
+     * Read a table written with {@link #write(OutputStream)}. The stream is not closed
+     *
+     * @param input
+     * @return
+     * @throws IOException if the content is not a valid table
+     */
+    public static ColumnarTable read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not a columnar statistics table");
+        }
+        ColumnarTable table = new ColumnarTable();
+        table.numRows = in.readInt();
+        int numColumns = in.readInt();
+        for (int i = 0; i < numColumns; i++) {
+            String name = in.readUTF();
+            int typeIndex = in.readUnsignedByte();
+            if (typeIndex >= Type.values().length) {
+                throw new IOException("Unknown column type " + typeIndex + " for column " + name);
+            }
+            Column column = new Column(Type.values()[typeIndex]);
+            byte[] compressed = new byte[in.readInt()];
+            in.readFully(compressed);
+            readColumn(column, table.numRows, new DataInputStream(new ByteArrayInputStream(inflate(compressed))));
+            table.columns.put(name, column);
+        }
+        return table;
+    }
+
+    private static byte[] inflate(byte[] compressed) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new EOFException("Truncated column");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted column: " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private void writeColumn(Column column, DataOutputStream out) throws IOException {
+        // validity bitmap
+        byte[] valid = new byte[(numRows + 7) / 8];
+        for (int i = 0; i < numRows; i++) {
+            if (column.values.get(i) != null) {
+                valid[i / 8] |= 1 << (i % 8);
+            }
+        }
+        out.write(valid);
+
+        if (column.type == Type.STRING) {
+            // dictionary encoding: class names, criteria and the like are repeated a lot
+            Map<String, Integer> dictionary = new LinkedHashMap<>();
+            int[] indices = new int[numRows];
+            for (int i = 0; i < numRows; i++) {
+                Object value = column.values.get(i);
+                if (value != null) {
+                    String s = (String) convert(value, Type.STRING);
+                    Integer index = dictionary.get(s);
+                    if (index == null) {
+                        index = dictionary.size();
+                        dictionary.put(s, index);
+                    }
+                    indices[i] = index;
+                }
+            }
+            writeVarInt(out, dictionary.size());
+            for (String s : dictionary.keySet()) {
+                byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(out, utf8.length);
+                out.write(utf8);
+            }
+            for (int i = 0; i < numRows; i++) {
+                if (column.values.get(i) != null) {
+                    writeVarInt(out, indices[i]);
+                }
+            }
+            return;
+        }
+
+        long previous = 0L;
+        for (int i = 0; i < numRows; i++) {
+            Object value = column.values.get(i);
+            if (value == null) {
+                continue;
+            }
+            switch (column.type) {
+                case BOOLEAN:
+                    out.writeBoolean((Boolean) value);
+                    break;
+                case LONG: {
+                    // delta encoding, as eg time stamps and seeds are close to each other
+                    long l = (Long) value;
+                    long delta = l - previous;
+                    writeVarLong(out, (delta << 1) ^ (delta >> 63));
+                    previous = l;
+                    break;
+                }
+                case DOUBLE:
+                    out.writeDouble(((Number) value).doubleValue());
+                    break;
+                case DOUBLE_ARRAY: {
+                    double[] array = (double[]) value;
+                    writeVarInt(out, array.length);
+                    for (double d : array) {
+                        out.writeDouble(d);
+                    }
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("Unexpected type " + column.type);
+            }
+        }
+    }
+
+    private static void readColumn(Column column, int numRows, DataInputStream in) throws IOException {
+        byte[] valid = new byte[(numRows + 7) / 8];
+        in.readFully(valid);
+
+        if (column.type == Type.STRING) {
+            String[] dictionary = new String[readVarInt(in)];
+            for (int i = 0; i < dictionary.length; i++) {
+                byte[] utf8 = new byte[readVarInt(in)];
+                in.readFully(utf8);
+                dictionary[i] = new String(utf8, StandardCharsets.UTF_8);
+            }
+            for (int i = 0; i < numRows; i++) {
+                if (isValid(valid, i)) {
+                    int index = readVarInt(in);
+                    if (index >= dictionary.length) {
+                        throw new IOException("Invalid dictionary index " + index);
+                    }
+                    column.add(dictionary[index]);
+                } else {
+                    column.add(null);
+                }
+            }
+            return;
+        }
+
+        long previous = 0L;
+        for (int i = 0; i < numRows; i++) {
+            if (!isValid(valid, i)) {
+                column.add(null);
+                continue;
+            }
+            switch (column.type) {
+                case BOOLEAN:
+                    column.add(in.readBoolean());
+                    break;
+                case LONG: {
+                    long zigzag = readVarLong(in);
+                    previous += (zigzag >>> 1) ^ -(zigzag & 1);
+                    column.add(previous);
+                    break;
+                }
+                case DOUBLE:
+                    column.add(in.readDouble());
+                    break;
+                case DOUBLE_ARRAY: {
+                    double[] array = new double[readVarInt(in)];
+                    for (int j = 0; j < array.length; j++) {
+                        array[j] = in.readDouble();
+                    }
+                    column.add(array);
+                    break;
+                }
+                default:
+                    throw new IOException("Unexpected type " + column.type);
+            }
+        }
+    }
+
+    private static boolean isValid(byte[] valid, int row) {
+        return (valid[row / 8] & (1 << (row % 8))) != 0;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        long value = readVarLong(in);
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IOException("Invalid length " + value);
+        }
+        return (int) value;
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length number");
+    }
+}
@@ -19,8 +19,12 @@
  */
 package org.evosuite.statistics;
 
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public class SearchStatisticsTest {
 
     @Test
@@ -28,4 +32,27 @@ public class SearchStatisticsTest {
         SearchStatistics statistics = SearchStatistics.getInstance();
         statistics.setOutputVariable(RuntimeVariable.DiversityTimeline, 0.42);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_collectEvents() {
+        String client = "SearchStatisticsTest";
+        SearchStatistics statistics = SearchStatistics.getInstance(client);
+        try {
+            StatisticsEventBatch batch = new StatisticsEventBatch();
+            batch.addVariable(RuntimeVariable.Covered_Goals, System.currentTimeMillis(), 42);
+            batch.addVariable(RuntimeVariable.DiversityTimeline, System.currentTimeMillis(), 0.5);
+            Map<RuntimeVariable, Number> sample = new LinkedHashMap<>();
+            sample.put(RuntimeVariable.CoverageTimeline, 0.25);
+            batch.addTimelineSample(System.currentTimeMillis(), sample);
+
+            statistics.collectEvents(client, batch.toByteArray());
+
+            Assert.assertEquals(42, statistics.getOutputVariables().get(RuntimeVariable.Covered_Goals.name()).getValue());
+            // timelines are not plain output variables
+            Assert.assertNull(statistics.getOutputVariables().get(RuntimeVariable.DiversityTimeline.name()));
+            Assert.assertNull(statistics.getOutputVariables().get(RuntimeVariable.CoverageTimeline.name()));
+        } finally {
+            SearchStatistics.clearInstance(client);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics.backend;
+
+import org.evosuite.Properties;
+import org.evosuite.statistics.OutputVariable;
+import org.evosuite.statistics.RuntimeVariable;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class ColumnarStatisticsBackendTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String reportDir;
+
+    private int compactionThreshold;
+
+    @Before
+    public void init() {
+        reportDir = Properties.REPORT_DIR;
+        compactionThreshold = Properties.COLUMNAR_COMPACTION_THRESHOLD;
+        Properties.REPORT_DIR = folder.getRoot().getAbsolutePath();
+    }
+
+    @After
+    public void reset() {
+        Properties.REPORT_DIR = reportDir;
+        Properties.COLUMNAR_COMPACTION_THRESHOLD = compactionThreshold;
+    }
+
+    private static void put(Map<String, OutputVariable<?>> data, String name, Object value) {
+        data.put(name, new OutputVariable<>(name, value));
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        Map<String, OutputVariable<?>> first = new LinkedHashMap<>();
+        put(first, "TARGET_CLASS", "com.example.Foo");
+        put(first, RuntimeVariable.Coverage.name(), 0.5);
+        put(first, RuntimeVariable.CoverageTimeline.name() + "_T1", 0.25);
+        put(first, RuntimeVariable.CoverageTimeline.name() + "_T2", 0.5);
+        put(first, RuntimeVariable.Total_Goals.name(), 10);
+
+        Map<String, OutputVariable<?>> second = new LinkedHashMap<>();
+        put(second, "TARGET_CLASS", "com.example.Foo");
+        put(second, RuntimeVariable.Coverage.name(), 1);
+        put(second, RuntimeVariable.CoverageTimeline.name() + "_T1", 1);
+        put(second, RuntimeVariable.CoverageTimeline.name() + "_T2", 1);
+        put(second, RuntimeVariable.Covered_Goals.name(), 10);
+
+        ColumnarStatisticsBackend backend = new ColumnarStatisticsBackend();
+        backend.writeData(null, first);
+        backend.writeData(null, second);
+
+        File dataset = new File(folder.getRoot(), ColumnarStatisticsBackend.DATASET_NAME);
+        Assert.assertEquals(2, ColumnarStatisticsBackend.getParts(dataset).size());
+
+        ColumnarTable table = ColumnarStatisticsBackend.read(dataset);
+        Assert.assertEquals(2, table.getNumberOfRows());
+        Assert.assertFalse(table.getColumnNames().contains(RuntimeVariable.CoverageTimeline.name() + "_T1"));
+
+        Assert.assertEquals(ColumnarTable.Type.DOUBLE_ARRAY, table.getType(RuntimeVariable.CoverageTimeline.name()));
+        Assert.assertArrayEquals(new double[]{0.25, 0.5},
+                (double[]) table.getValue(RuntimeVariable.CoverageTimeline.name(), 0), 0.0);
+        Assert.assertArrayEquals(new double[]{1.0, 1.0},
+                (double[]) table.getValue(RuntimeVariable.CoverageTimeline.name(), 1), 0.0);
+
+        // 0.5 and 1 are widened to doubles
+        Assert.assertEquals(ColumnarTable.Type.DOUBLE, table.getType(RuntimeVariable.Coverage.name()));
+        Assert.assertEquals(1.0, table.getValue(RuntimeVariable.Coverage.name(), 1));
+
+        // columns missing in a part are null
+        Assert.assertEquals(10L, table.getValue(RuntimeVariable.Total_Goals.name(), 0));
+        Assert.assertNull(table.getValue(RuntimeVariable.Total_Goals.name(), 1));
+        Assert.assertNull(table.getValue(RuntimeVariable.Covered_Goals.name(), 0));
+        Assert.assertEquals("com.example.Foo", table.getValue("TARGET_CLASS", 1));
+    }
+
+    @Test
+    public void testCompact() throws IOException {
+        File dataset = new File(folder.getRoot(), "dataset");
+        for (int i = 0; i < 3; i++) {
+            ColumnarTable part = new ColumnarTable();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("run", i);
+            part.addRow(row);
+            ColumnarStatisticsBackend.writePart(dataset, part);
+        }
+        Assert.assertEquals(3, ColumnarStatisticsBackend.getParts(dataset).size());
+
+        ColumnarStatisticsBackend.compact(dataset);
+        Assert.assertEquals(1, ColumnarStatisticsBackend.getParts(dataset).size());
+        ColumnarTable table = ColumnarStatisticsBackend.read(dataset);
+        Assert.assertEquals(3, table.getNumberOfRows());
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals((long) i, table.getValue("run", i));
+        }
+    }
+
+    @Test
+    public void testAutomaticCompaction() throws IOException {
+        Properties.COLUMNAR_COMPACTION_THRESHOLD = 3;
+        ColumnarStatisticsBackend backend = new ColumnarStatisticsBackend();
+        File dataset = new File(folder.getRoot(), ColumnarStatisticsBackend.DATASET_NAME);
+        int[] expectedParts = {1, 2, 1, 2, 3, 2, 3, 4, 1};
+        for (int i = 0; i < 9; i++) {
+            Map<String, OutputVariable<?>> data = new LinkedHashMap<>();
+            put(data, "run", i);
+            backend.writeData(null, data);
+            Assert.assertEquals(expectedParts[i], ColumnarStatisticsBackend.getParts(dataset).size());
+        }
+
+        ColumnarTable table = ColumnarStatisticsBackend.read(dataset);
+        Assert.assertEquals(9, table.getNumberOfRows());
+        for (int i = 0; i < 9; i++) {
+            Assert.assertEquals((long) i, table.getValue("run", i));
+        }
+    }
+
+    private static File writeRun(File dataset, int run) throws IOException {
+        ColumnarTable part = new ColumnarTable();
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("run", run);
+        part.addRow(row);
+        return ColumnarStatisticsBackend.writePart(dataset, part);
+    }
+
+    @Test
+    public void testInterruptedMerges() throws IOException {
+        File dataset = new File(folder.getRoot(), "dataset");
+        File first = writeRun(dataset, 0);
+        File second = writeRun(dataset, 1);
+        ColumnarTable merged = ColumnarStatisticsBackend.read(dataset);
+
+        // Crash before the merge was committed: the merged part is dropped
+        File uncommitted = new File(dataset, "part-0000000000001-L1-x.evcol" + ColumnarStatisticsBackend.MERGING_SUFFIX);
+        try (OutputStream out = new FileOutputStream(uncommitted)) {
+            merged.write(out);
+        }
+        Assert.assertEquals(2, ColumnarStatisticsBackend.read(dataset).getNumberOfRows());
+        Assert.assertFalse(uncommitted.exists());
+
+        // Crash after the merge was committed: the merge is completed
+        String name = "part-0000000000002-L1-y.evcol";
+        try (OutputStream out = new FileOutputStream(new File(dataset, name + ColumnarStatisticsBackend.MERGING_SUFFIX))) {
+            merged.write(out);
+        }
+        Files.write(new File(dataset, ColumnarStatisticsBackend.JOURNAL_NAME).toPath(),
+                Arrays.asList(name, first.getName(), second.getName()), StandardCharsets.UTF_8);
+        ColumnarTable table = ColumnarStatisticsBackend.read(dataset);
+        Assert.assertEquals(2, table.getNumberOfRows());
+        Assert.assertEquals(1L, table.getValue("run", 1));
+        Assert.assertEquals(Collections.singletonList(new File(dataset, name)), ColumnarStatisticsBackend.getParts(dataset));
+        Assert.assertFalse(new File(dataset, ColumnarStatisticsBackend.JOURNAL_NAME).exists());
+    }
+
+    @Test
+    public void testDictionaryEncodingIsCompact() throws IOException {
+        ColumnarTable table = new ColumnarTable();
+        for (int i = 0; i < 1000; i++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("TARGET_CLASS", "com.example.SomeRatherLongClassName" + (i % 3));
+            row.put("criterion", "LINE;BRANCH;EXCEPTION;WEAKMUTATION;OUTPUT;METHOD;METHODNOEXCEPTION;CBRANCH");
+            row.put("Random_Seed", 1500000000000L + i);
+            row.put("Valid", i % 2 == 0);
+            table.addRow(row);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        table.write(bytes);
+        Assert.assertTrue("Unexpected size " + bytes.size(), bytes.size() < 2000);
+
+        ColumnarTable read = ColumnarTable.read(new ByteArrayInputStream(bytes.toByteArray()));
+        Assert.assertEquals(1000, read.getNumberOfRows());
+        Assert.assertEquals("com.example.SomeRatherLongClassName2", read.getValue("TARGET_CLASS", 998));
+        Assert.assertEquals(1500000000999L, read.getValue("Random_Seed", 999));
+        Assert.assertEquals(Boolean.FALSE, read.getValue("Valid", 999));
+    }
+}
@@ -27,6 +27,7 @@ import org.evosuite.Properties;
 import org.evosuite.SystemTestBase;
 import org.evosuite.Properties.TestFactory;
 import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
+import org.evosuite.testcarver.extraction.CarvingManager;
 import org.evosuite.testcarver.testcase.CarvedTestCase;
 import org.evosuite.testcase.factories.JUnitTestCarvedChromosomeFactory;
 import org.evosuite.testcase.statements.Statement;
@@ -36,12 +37,16 @@ import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class JUnitTestCarvedChromosomeFactorySystemTest extends SystemTestBase {
 
     private static final String defaultSelectedJUnit = Properties.SELECTED_JUNIT;
     private static final int defaultSeedMutations = Properties.SEED_MUTATIONS;
     private static final double defaultSeedClone = Properties.SEED_CLONE;
     private static final boolean defaultChopExceptions = Properties.CHOP_CARVED_EXCEPTIONS;
+    private static final int defaultCarvingWorkers = Properties.CARVING_WORKERS;
 
     @After
     public void reset() {
@@ -49,6 +54,7 @@ public class JUnitTestCarvedChromosomeFactorySystemTest extends SystemTestBase {
         Properties.SEED_MUTATIONS = defaultSeedMutations;
         Properties.SEED_CLONE = defaultSeedClone;
         Properties.CHOP_CARVED_EXCEPTIONS = defaultChopExceptions;
+        Properties.CARVING_WORKERS = defaultCarvingWorkers;
     }
 
     @SuppressWarnings("unused")
@@ -825,4 +831,34 @@ public class JUnitTestCarvedChromosomeFactorySystemTest extends SystemTestBase {
         System.out.println("Carved Test Case # " + tc2.getID() + ": " + tc2.getName());
         System.out.println(tc2.toCode());
     }
+
+    @Test
+    public void testCarvingInWorkersGivesSameTests() {
+        StringBuilder junit = new StringBuilder();
+        for (int i = 1; i <= 11; i++) {
+            if (i > 1)
+                junit.append(":");
+            junit.append(DateConverterTestCase.class.getPackage().getName()).append(".DateConverterTest").append(i);
+        }
+        Properties.SELECTED_JUNIT = junit.toString();
+        Properties.TARGET_CLASS = DateConverter.class.getCanonicalName();
+
+        Properties.SEED_MUTATIONS = 1;
+        Properties.SEED_CLONE = 1;
+
+        // The carved code contains current times, so compare the shape of the tests
+        List<String> sequential = new ArrayList<>();
+        for (TestCase test : new JUnitTestCarvedChromosomeFactory(null).getCarvedTestCases()) {
+            sequential.add(((CarvedTestCase) test).getName() + ":" + test.size());
+        }
+        Assert.assertEquals(11, sequential.size());
+
+        CarvingManager.getInstance().clear();
+        Properties.CARVING_WORKERS = 3;
+        List<String> sharded = new ArrayList<>();
+        for (TestCase test : new JUnitTestCarvedChromosomeFactory(null).getCarvedTestCases()) {
+            sharded.add(((CarvedTestCase) test).getName() + ":" + test.size());
+        }
+        Assert.assertEquals(sequential, sharded);
+    }
 }
@@ -19,8 +19,7 @@
  */
 package org.evosuite.runtime;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * In some cases, we can end up with infinite loops: eg due to a bug, a seeded mutation,
@@ -40,13 +39,19 @@ public class LoopCounter {
     private boolean activated = true;
 
     /**
-     * Number of iterations so far
+     * Number of iterations so far, indexed by loop
      */
-    private final List<Long> counters;
+    private long[] counters;
+
+    /**
+     * Number of loop indexes handed out or checked since the last reset
+     */
+    private int size;
 
 
     private LoopCounter() {
-        counters = new ArrayList<>();
+        counters = new long[64];
+        size = 0;
     }
 
     public static LoopCounter getInstance() {
@@ -54,7 +59,8 @@ public class LoopCounter {
     }
 
     public void reset() {
-        counters.clear();
+        Arrays.fill(counters, 0, Math.min(size, counters.length), 0L);
+        size = 0;
     }
 
     public void setActive(boolean active) {
@@ -72,11 +78,22 @@ public class LoopCounter {
      * @return the next valid index for a new loop
      */
     public int getNewIndex() {
-        int index = counters.size();
-        counters.add(0L);
+        int index = size;
+        ensureSize(index + 1);
         return index;
     }
 
+    private long[] ensureSize(int newSize) {
+        long[] c = counters;
+        if (newSize > c.length) {
+            c = Arrays.copyOf(c, Math.max(newSize, 2 * c.length));
+            counters = c;
+        }
+        if (newSize > size)
+            size = newSize;
+        return c;
+    }
+
 
     /**
      * This is added directly in the instrumented CUT after each loop statement
@@ -99,37 +116,18 @@ public class LoopCounter {
         }
 
         //first check initialization
-        int size = counters.size();
-        if (index >= size) {
-            for (int i = 0; i < 1 + (index - size); i++) {
-                counters.add(0L);
-            }
+        long[] c = counters;
+        if (index >= size || index >= c.length) {
+            c = ensureSize(index + 1);
         }
-        assert index < counters.size();
 
         //do increment
-        try {
-            long value = counters.get(index) + 1L;
-            counters.set(index, value);
-
-            if (value >= RuntimeSettings.maxNumberOfIterationsPerLoop && !isInStaticInit()) {
-                this.reset();
-                throw new TooManyResourcesException("Loop has been executed more times than the allowed " +
-                        RuntimeSettings.maxNumberOfIterationsPerLoop);
-            }
-        } catch (NullPointerException e) {
-            // Some weird Java internal NPE can happen:
-            // https://github.com/EvoSuite/evosuite/issues/143
-            // Seems safe to swallow this instead of crashing EvoSuite
-        }
-    }
-
+        long value = ++c[index];
 
-    private boolean isInStaticInit() {
-        for (StackTraceElement elem : new Throwable().getStackTrace()) {
-            if (elem.getMethodName().startsWith("<clinit>"))
-                return true;
+        if (value >= RuntimeSettings.maxNumberOfIterationsPerLoop && !StaticInitGuard.isInStaticInit()) {
+            this.reset();
+            throw new TooManyResourcesException("Loop has been executed more times than the allowed " +
+                    RuntimeSettings.maxNumberOfIterationsPerLoop);
         }
-        return false;
     }
 }
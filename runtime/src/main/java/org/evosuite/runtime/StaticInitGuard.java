@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime;
+
+/**
+ * Tracks whether the current thread is executing a static initializer.
+ * <p>
+ * Instrumented {@code <clinit>} methods call {@link #enter()} and {@link #exit()},
+ * so that the loop and timeout guards can skip them without walking the stack.
+ * Static initializers of classes that were not instrumented this way are still
+ * detected by a stack walk, which is only done once a guard is about to fire.
+ */
+public class StaticInitGuard {
+
+    /**
+     * Number of static initializers currently executing on each thread
+     */
+    private static final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    private StaticInitGuard() {
+    }
+
+    /**
+     * This is added at the beginning of each instrumented {@code <clinit>}
+     */
+    public static void enter() {
+        depth.get()[0]++;
+    }
+
+    /**
+     * This is added on each exit of an instrumented {@code <clinit>}
+     */
+    public static void exit() {
+        int[] d = depth.get();
+        if (d[0] > 0)
+            d[0]--;
+    }
+
+    /**
+     * @return whether the current thread is inside a static initializer
+     */
+    public static boolean isInStaticInit() {
+        if (depth.get()[0] > 0)
+            return true;
+        for (StackTraceElement elem : Thread.currentThread().getStackTrace()) {
+            if (elem.getMethodName().equals("<clinit>"))
+                return true;
+        }
+        return false;
+    }
+}
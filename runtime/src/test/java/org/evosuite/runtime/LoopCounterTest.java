@@ -74,4 +74,29 @@ public class LoopCounterTest {
         LoopCounter.getInstance().checkLoop(5);
         LoopCounter.getInstance().checkLoop(6);
     }
+
+    @Test
+    public void testResetClearsCounters() {
+        int index = LoopCounter.getInstance().getNewIndex();
+        for (int round = 0; round < 3; round++) {
+            for (long i = 1; i < RuntimeSettings.maxNumberOfIterationsPerLoop; i++) {
+                LoopCounter.getInstance().checkLoop(index);
+            }
+            LoopCounter.getInstance().reset();
+        }
+    }
+
+    @Test
+    public void testLargeIndex() {
+        int index = 100_000;
+        for (long i = 1; i < RuntimeSettings.maxNumberOfIterationsPerLoop; i++) {
+            LoopCounter.getInstance().checkLoop(index);
+        }
+        try {
+            LoopCounter.getInstance().checkLoop(index);
+            Assert.fail();
+        } catch (TooManyResourcesException e) {
+            //expected
+        }
+    }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StaticInitGuardTest {
+
+    private static class LoopingInitializer {
+
+        static int iterations = 0;
+
+        static {
+            StaticInitGuard.enter();
+            try {
+                for (int i = 0; i < 2 * RuntimeSettings.maxNumberOfIterationsPerLoop; i++) {
+                    LoopCounter.getInstance().checkLoop(0);
+                    iterations++;
+                }
+            } finally {
+                StaticInitGuard.exit();
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        LoopCounter.getInstance().reset();
+    }
+
+    @Test
+    public void testNotInStaticInit() {
+        Assert.assertFalse(StaticInitGuard.isInStaticInit());
+        StaticInitGuard.enter();
+        StaticInitGuard.enter();
+        Assert.assertTrue(StaticInitGuard.isInStaticInit());
+        StaticInitGuard.exit();
+        Assert.assertTrue(StaticInitGuard.isInStaticInit());
+        StaticInitGuard.exit();
+        Assert.assertFalse(StaticInitGuard.isInStaticInit());
+
+        // unbalanced exits must not hide a later static initializer
+        StaticInitGuard.exit();
+        StaticInitGuard.enter();
+        Assert.assertTrue(StaticInitGuard.isInStaticInit());
+        StaticInitGuard.exit();
+    }
+
+    @Test
+    public void testLoopInStaticInitIsNotStopped() {
+        Assert.assertTrue(RuntimeSettings.maxNumberOfIterationsPerLoop > 0);
+        LoopCounter.getInstance().reset();
+        Assert.assertEquals(2 * RuntimeSettings.maxNumberOfIterationsPerLoop, LoopingInitializer.iterations);
+        Assert.assertFalse(StaticInitGuard.isInStaticInit());
+    }
+
+    @Test
+    public void testGuardIsPerThread() throws InterruptedException {
+        StaticInitGuard.enter();
+        try {
+            boolean[] other = new boolean[1];
+            Thread thread = new Thread(() -> other[0] = StaticInitGuard.isInStaticInit());
+            thread.start();
+            thread.join();
+            Assert.assertFalse(other[0]);
+        } finally {
+            StaticInitGuard.exit();
+        }
+    }
+}